@@ -10,6 +10,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
@@ -22,6 +23,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.fullstack.venuesync.events.domain.CreateEventRequest;
 import com.fullstack.venuesync.events.domain.UpdateEventRequest;
@@ -35,6 +37,7 @@ import com.fullstack.venuesync.events.domain.Event;
 import com.fullstack.venuesync.events.domain.EventStatusEnum;
 import com.fullstack.venuesync.events.mapper.EventMapper;
 import com.fullstack.venuesync.events.service.EventService;
+import com.fullstack.venuesync.validation.attendance.EventAttendanceTracker;
 
 @RestController
 @RequestMapping(path = "/api/v1/events")
@@ -43,6 +46,7 @@ public class EventController {
 
   private final EventMapper eventMapper;
   private final EventService eventService;
+  private final EventAttendanceTracker eventAttendanceTracker;
 
   @PostMapping
   public ResponseEntity<CreateEventResponseDto> createEvent(
@@ -121,6 +125,21 @@ public class EventController {
         .orElse(ResponseEntity.notFound().build());
   }
 
+  /**
+   * Streams the live admitted and scanned counts of an event as Server-Sent Events,
+   * starting with the current counts and then at most once per publish interval.
+   */
+  @GetMapping(path = "/{eventId}/attendance", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public ResponseEntity<SseEmitter> streamAttendance(
+      @AuthenticationPrincipal Jwt jwt,
+      @PathVariable UUID eventId
+  ) {
+    UUID userId = parseUserId(jwt);
+    return eventService.getEventForOrganizer(userId, eventId)
+        .map(event -> ResponseEntity.ok(eventAttendanceTracker.subscribe(eventId)))
+        .orElse(ResponseEntity.notFound().build());
+  }
+
   @DeleteMapping(path = "/{eventId}")
   public ResponseEntity<Void> deleteEvent(
       @AuthenticationPrincipal Jwt jwt,
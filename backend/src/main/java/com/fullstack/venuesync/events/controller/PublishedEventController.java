@@ -1,6 +1,8 @@
 package com.fullstack.venuesync.events.controller;
 
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -16,6 +18,8 @@ import com.fullstack.venuesync.events.dto.ListPublishedEventResponseDto;
 import com.fullstack.venuesync.events.domain.Event;
 import com.fullstack.venuesync.events.mapper.EventMapper;
 import com.fullstack.venuesync.events.service.EventService;
+import com.fullstack.venuesync.tickets.domain.TicketType;
+import com.fullstack.venuesync.tickets.inventory.SoldOutRegistry;
 
 @RestController
 @RequestMapping(path = "/api/v1/published-events")
@@ -24,6 +28,7 @@ public class PublishedEventController {
 
   private final EventService eventService;
   private final EventMapper eventMapper;
+  private final SoldOutRegistry soldOutRegistry;
 
   @GetMapping
   public ResponseEntity<Page<ListPublishedEventResponseDto>> listPublishedEvents(
@@ -47,8 +52,21 @@ public class PublishedEventController {
       @PathVariable UUID eventId
   ) {
     return eventService.getPublishedEvent(eventId)
-        .map(eventMapper::toGetPublishedEventDetailsResponseDto)
+        .map(this::toGetPublishedEventDetailsResponseDto)
         .map(ResponseEntity::ok)
         .orElse(ResponseEntity.notFound().build());
   }
+
+  private GetPublishedEventDetailsResponseDto toGetPublishedEventDetailsResponseDto(Event event) {
+    GetPublishedEventDetailsResponseDto dto = eventMapper.toGetPublishedEventDetailsResponseDto(event);
+
+    Set<UUID> soldOutIds = event.getTicketTypes().stream()
+        .filter(soldOutRegistry::isSoldOut)
+        .map(TicketType::getId)
+        .collect(Collectors.toSet());
+    dto.getTicketTypes().forEach(ticketType ->
+        ticketType.setSoldOut(soldOutIds.contains(ticketType.getId())));
+
+    return dto;
+  }
 }
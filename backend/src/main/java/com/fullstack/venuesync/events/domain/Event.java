@@ -7,8 +7,6 @@ import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToMany;
@@ -32,6 +30,7 @@ import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import com.fullstack.venuesync.shared.domain.User;
+import com.fullstack.venuesync.shared.id.TimeOrderedUuid;
 import com.fullstack.venuesync.tickets.domain.TicketType;
 
 @Entity
@@ -46,7 +45,7 @@ public class Event {
 
   @Id
   @Column(name = "id", updatable = false, nullable = false)
-  @GeneratedValue(strategy = GenerationType.UUID)
+  @TimeOrderedUuid
   private UUID id;
 
   @Column(name = "name", nullable = false)
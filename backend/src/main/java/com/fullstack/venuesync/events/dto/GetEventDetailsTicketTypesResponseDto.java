@@ -6,6 +6,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import com.fullstack.venuesync.tickets.domain.TicketInventoryStrategyEnum;
+
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -16,6 +18,7 @@ public class GetEventDetailsTicketTypesResponseDto {
   private Double price;
   private String description;
   private Integer totalAvailable;
+  private TicketInventoryStrategyEnum inventoryStrategy;
   private LocalDateTime createdAt;
   private LocalDateTime updatedAt;
 }
@@ -1,6 +1,7 @@
 package com.fullstack.venuesync.events.repository;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.domain.Page;
@@ -36,8 +37,42 @@ public interface EventRepository extends JpaRepository<Event, UUID> {
       nativeQuery = true)
   Page<Event> searchEvents(@Param("searchTerm") String searchTerm, Pageable pageable);
 
+  /**
+   * Searches published events by name and venue like {@link #searchEvents}, most
+   * relevant first. Requires PostgreSQL with pg_trgm: the ILIKE matches are served by
+   * the trigram indexes of {@link com.fullstack.venuesync.events.search.EventSearchIndex}
+   * and ranked by how closely a word of the name or venue matches the search term.
+   */
+  @Query(value = "SELECT * FROM events WHERE " +
+      "status = 'PUBLISHED' AND " +
+      "(name ILIKE CONCAT('%', :searchTerm, '%') OR venue ILIKE CONCAT('%', :searchTerm, '%')) " +
+      "ORDER BY GREATEST(word_similarity(:searchTerm, name), word_similarity(:searchTerm, venue)) DESC, " +
+      "event_start, id",
+      countQuery = "SELECT count(*) FROM events WHERE " +
+          "status = 'PUBLISHED' AND " +
+          "(name ILIKE CONCAT('%', :searchTerm, '%') OR venue ILIKE CONCAT('%', :searchTerm, '%'))",
+      nativeQuery = true)
+  Page<Event> searchEventsRanked(@Param("searchTerm") String searchTerm, Pageable pageable);
+
   Optional<Event> findByIdAndStatus(UUID id, EventStatusEnum status);
 
+  /**
+   * Finds events in a status whose start is at or before a given time and that have
+   * not ended yet. Events without an end only match until they have started.
+   *
+   * @param status the event status to filter (PUBLISHED)
+   * @param startsBefore the latest start to include
+   * @param now the current timestamp
+   * @return the matching events
+   */
+  @Query("SELECT e FROM Event e WHERE e.status = :status AND e.start <= :startsBefore " +
+         "AND COALESCE(e.end, e.start) > :now")
+  List<Event> findStartingBefore(
+      @Param("status") EventStatusEnum status,
+      @Param("startsBefore") LocalDateTime startsBefore,
+      @Param("now") LocalDateTime now
+  );
+
   // Count events by status for organizer (for stats)
   long countByOrganizerIdAndStatus(UUID organizerId, EventStatusEnum status);
 
@@ -0,0 +1,113 @@
+package com.fullstack.venuesync.events.search;
+
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Trigram indexes for searching published events by name and venue. Hibernate's schema
+ * update cannot create them, so on PostgreSQL they are created at startup with the
+ * pg_trgm extension: GIN indexes over the name and venue columns, which serve the
+ * case-insensitive substring matches of a search and whose similarity ranks the results.
+ * <p>
+ * Until the extension is installed and both indexes are valid, and on other databases
+ * such as the H2 used in tests, searches fall back to unindexed, unranked LIKE matching.
+ */
+@Component
+@Slf4j
+public class EventSearchIndex {
+
+  static final List<String> INDEX_NAMES = List.of("idx_events_name_trgm", "idx_events_venue_trgm");
+
+  private static final String[] INDEX_STATEMENTS = {
+      "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_events_name_trgm ON events USING gin (name gin_trgm_ops)",
+      "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_events_venue_trgm ON events USING gin (venue gin_trgm_ops)"
+  };
+
+  private static final String INDEX_VALIDITY_QUERY =
+      "SELECT c.relname FROM pg_class c JOIN pg_index i ON i.indexrelid = c.oid " +
+      "WHERE c.relname IN ('idx_events_name_trgm', 'idx_events_venue_trgm') AND i.indisvalid = ?";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final boolean enabled;
+  private volatile boolean trigramAvailable;
+
+  public EventSearchIndex(
+      JdbcTemplate jdbcTemplate,
+      @Value("${app.events.search.trigram.enabled:true}") boolean enabled
+  ) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.enabled = enabled;
+  }
+
+  /**
+   * Creates the extension and indexes if missing. Runs once the schema is up to date;
+   * failures leave searches on the fallback.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void createIndexes() {
+    if (!enabled || !isPostgres()) {
+      log.info("Event search uses LIKE matching");
+      return;
+    }
+
+    try {
+      jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+    } catch (DataAccessException ex) {
+      log.warn("Could not create the pg_trgm extension: {}", ex.getMessage());
+    }
+    Integer installed = jdbcTemplate.queryForObject(
+        "SELECT count(*) FROM pg_extension WHERE extname = 'pg_trgm'", Integer.class);
+    if (installed == null || installed == 0) {
+      log.warn("pg_trgm is not installed, event search uses LIKE matching");
+      return;
+    }
+
+    // A concurrent build that failed leaves an invalid index behind, which IF NOT EXISTS
+    // would keep forever
+    for (String invalid : indexNames(false)) {
+      try {
+        jdbcTemplate.execute("DROP INDEX CONCURRENTLY IF EXISTS " + invalid);
+        log.warn("Dropped invalid event search index {}", invalid);
+      } catch (DataAccessException ex) {
+        log.warn("Could not drop invalid event search index {}: {}", invalid, ex.getMessage());
+      }
+    }
+
+    // Built concurrently so that event writes are not blocked while they build
+    for (String statement : INDEX_STATEMENTS) {
+      try {
+        jdbcTemplate.execute(statement);
+      } catch (DataAccessException ex) {
+        log.warn("Could not create event search index: {}", ex.getMessage());
+      }
+    }
+    List<String> valid = indexNames(true);
+    if (!valid.containsAll(INDEX_NAMES)) {
+      log.warn("Event search indexes are not all valid ({}), event search uses LIKE matching", valid);
+      return;
+    }
+    trigramAvailable = true;
+    log.info("Event search uses trigram indexes");
+  }
+
+  public boolean isTrigramAvailable() {
+    return trigramAvailable;
+  }
+
+  private List<String> indexNames(boolean valid) {
+    return jdbcTemplate.queryForList(INDEX_VALIDITY_QUERY, String.class, valid);
+  }
+
+  private boolean isPostgres() {
+    String product = jdbcTemplate.execute(
+        (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+    return "PostgreSQL".equals(product);
+  }
+}
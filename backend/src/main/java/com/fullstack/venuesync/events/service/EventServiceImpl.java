@@ -10,6 +10,7 @@ import java.util.UUID;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -21,12 +22,17 @@ import com.fullstack.venuesync.events.domain.EventStatusEnum;
 import com.fullstack.venuesync.events.exception.EventNotFoundException;
 import com.fullstack.venuesync.events.exception.EventUpdateException;
 import com.fullstack.venuesync.events.repository.EventRepository;
+import com.fullstack.venuesync.events.search.EventSearchIndex;
 import com.fullstack.venuesync.shared.domain.User;
 import com.fullstack.venuesync.shared.domain.UserRepository;
 import com.fullstack.venuesync.shared.exceptions.UserNotFoundException;
+import com.fullstack.venuesync.tickets.domain.TicketInventoryChangedEvent;
+import com.fullstack.venuesync.tickets.domain.TicketInventoryStrategyEnum;
 import com.fullstack.venuesync.tickets.domain.TicketType;
 import com.fullstack.venuesync.tickets.domain.UpdateTicketTypeRequest;
+import com.fullstack.venuesync.tickets.exception.InventoryStrategyException;
 import com.fullstack.venuesync.tickets.exception.TicketTypeNotFoundException;
+import com.fullstack.venuesync.tickets.service.TicketPoolService;
 
 @Service
 @RequiredArgsConstructor
@@ -34,6 +40,9 @@ public class EventServiceImpl implements EventService {
 
   private final UserRepository userRepository;
   private final EventRepository eventRepository;
+  private final ApplicationEventPublisher applicationEventPublisher;
+  private final TicketPoolService ticketPoolService;
+  private final EventSearchIndex eventSearchIndex;
 
   @Override
   @Transactional
@@ -52,6 +61,8 @@ public class EventServiceImpl implements EventService {
           ticketTypeToCreate.setPrice(ticketType.getPrice());
           ticketTypeToCreate.setDescription(ticketType.getDescription());
           ticketTypeToCreate.setTotalAvailable(ticketType.getTotalAvailable());
+          ticketTypeToCreate.setInventoryStrategy(
+              inventoryStrategyOrDefault(ticketType.getInventoryStrategy()));
           ticketTypeToCreate.setEvent(eventToCreate);
           return ticketTypeToCreate;
         }).toList();
@@ -66,7 +77,7 @@ public class EventServiceImpl implements EventService {
     eventToCreate.setOrganizer(organizer);
     eventToCreate.setTicketTypes(ticketTypesToCreate);
 
-    return eventRepository.save(eventToCreate);
+    return resizeTicketPools(eventRepository.save(eventToCreate));
   }
 
   @Override
@@ -120,9 +131,14 @@ public class EventServiceImpl implements EventService {
         .filter(Objects::nonNull)
         .collect(Collectors.toSet());
 
-    existingEvent.getTicketTypes().removeIf(existingTicketType ->
-        !requestTicketTypeIds.contains(existingTicketType.getId())
-    );
+    existingEvent.getTicketTypes().removeIf(existingTicketType -> {
+      if (requestTicketTypeIds.contains(existingTicketType.getId())) {
+        return false;
+      }
+      applicationEventPublisher.publishEvent(
+          new TicketInventoryChangedEvent(existingTicketType.getId()));
+      return true;
+    });
 
     Map<UUID, TicketType> existingTicketTypesIndex = existingEvent.getTicketTypes().stream()
         .collect(Collectors.toMap(TicketType::getId, Function.identity()));
@@ -135,12 +151,23 @@ public class EventServiceImpl implements EventService {
         ticketTypeToCreate.setPrice(ticketType.getPrice());
         ticketTypeToCreate.setDescription(ticketType.getDescription());
         ticketTypeToCreate.setTotalAvailable(ticketType.getTotalAvailable());
+        ticketTypeToCreate.setInventoryStrategy(
+            inventoryStrategyOrDefault(ticketType.getInventoryStrategy()));
         ticketTypeToCreate.setEvent(existingEvent);
         existingEvent.getTicketTypes().add(ticketTypeToCreate);
 
       } else if (existingTicketTypesIndex.containsKey(ticketType.getId())) {
         // Update
         TicketType existingTicketType = existingTicketTypesIndex.get(ticketType.getId());
+        if (ticketType.getInventoryStrategy() != null
+            && ticketType.getInventoryStrategy() != existingTicketType.getInventoryStrategy()) {
+          throw new InventoryStrategyException(String.format(
+              "Cannot change the inventory strategy of ticket type '%s'", ticketType.getId()));
+        }
+        if (!Objects.equals(existingTicketType.getTotalAvailable(), ticketType.getTotalAvailable())) {
+          applicationEventPublisher.publishEvent(
+              new TicketInventoryChangedEvent(existingTicketType.getId()));
+        }
         existingTicketType.setName(ticketType.getName());
         existingTicketType.setPrice(ticketType.getPrice());
         existingTicketType.setDescription(ticketType.getDescription());
@@ -152,7 +179,7 @@ public class EventServiceImpl implements EventService {
       }
     }
 
-    return eventRepository.save(existingEvent);
+    return resizeTicketPools(eventRepository.save(existingEvent));
   }
 
   @Override
@@ -168,7 +195,9 @@ public class EventServiceImpl implements EventService {
 
   @Override
   public Page<Event> searchPublishedEvents(String query, Pageable pageable) {
-    return eventRepository.searchEvents(query, pageable);
+    return eventSearchIndex.isTrigramAvailable()
+        ? eventRepository.searchEventsRanked(query, pageable)
+        : eventRepository.searchEvents(query, pageable);
   }
 
   @Override
@@ -176,5 +205,15 @@ public class EventServiceImpl implements EventService {
     return eventRepository.findByIdAndStatus(id, EventStatusEnum.PUBLISHED);
   }
 
+  private TicketInventoryStrategyEnum inventoryStrategyOrDefault(TicketInventoryStrategyEnum strategy) {
+    return strategy != null ? strategy : TicketInventoryStrategyEnum.COUNTER;
+  }
 
+  private Event resizeTicketPools(Event savedEvent) {
+    // Pooled ticket types need their tickets to exist before they can be sold
+    savedEvent.getTicketTypes().stream()
+        .filter(ticketType -> ticketType.getInventoryStrategy() == TicketInventoryStrategyEnum.POOL)
+        .forEach(ticketPoolService::resizePool);
+    return savedEvent;
+  }
 }
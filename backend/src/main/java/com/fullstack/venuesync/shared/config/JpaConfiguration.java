@@ -1,10 +1,33 @@
 package com.fullstack.venuesync.shared.config;
 
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
 @EnableJpaAuditing
 public class JpaConfiguration {
 
+  /**
+   * Keeps the entity manager open until the view is rendered, as
+   * {@code spring.jpa.open-in-view} does, except for the attendance stream: the entity
+   * manager holds its connection until the request completes, and a stream stays open
+   * for as long as a dashboard watches.
+   */
+  @Bean
+  public WebMvcConfigurer openEntityManagerInViewConfigurer(EntityManagerFactory entityManagerFactory) {
+    OpenEntityManagerInViewInterceptor interceptor = new OpenEntityManagerInViewInterceptor();
+    interceptor.setEntityManagerFactory(entityManagerFactory);
+    return new WebMvcConfigurer() {
+      @Override
+      public void addInterceptors(InterceptorRegistry registry) {
+        registry.addWebRequestInterceptor(interceptor)
+            .excludePathPatterns("/api/v1/events/*/attendance");
+      }
+    };
+  }
 }
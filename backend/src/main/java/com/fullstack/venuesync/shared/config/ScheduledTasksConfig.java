@@ -7,11 +7,24 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.annotation.Scheduled;
 
 import com.fullstack.venuesync.events.service.EventStatusService;
+import com.fullstack.venuesync.tickets.service.IdempotencyService;
 import com.fullstack.venuesync.tickets.service.TicketExpirationService;
+import com.fullstack.venuesync.tickets.service.TicketInventoryReconciliationService;
+import com.fullstack.venuesync.tickets.service.WaitingRoomService;
+import com.fullstack.venuesync.validation.admission.EventDayWarmup;
+import com.fullstack.venuesync.validation.attendance.EventAttendanceTracker;
+import com.fullstack.venuesync.validation.filter.QrCodeIdFilter;
+import com.fullstack.venuesync.validation.writer.TicketValidationWriter;
+import com.fullstack.venuesync.validation.service.QrCodeJobProcessor;
 
 /**
  * Configuration class for scheduled tasks.
- * Handles automatic ticket expiration and event status updates.
+ * Handles automatic ticket expiration, event status updates, inventory reconciliation,
+ * the QR code outbox, waiting room cleanup, idempotency record cleanup, the
+ * batched writes of ticket validations, rebuilds of the QR code filter, the
+ * event-day warm-up and live attendance updates.
+ * The tasks run on a pool sized by {@code spring.task.scheduling.pool.size}, so that a
+ * slow task does not delay the frequent ones.
  */
 @Configuration
 @EnableScheduling
@@ -21,6 +34,14 @@ public class ScheduledTasksConfig {
 
   private final TicketExpirationService ticketExpirationService;
   private final EventStatusService eventStatusService;
+  private final TicketInventoryReconciliationService ticketInventoryReconciliationService;
+  private final QrCodeJobProcessor qrCodeJobProcessor;
+  private final WaitingRoomService waitingRoomService;
+  private final IdempotencyService idempotencyService;
+  private final TicketValidationWriter ticketValidationWriter;
+  private final QrCodeIdFilter qrCodeIdFilter;
+  private final EventDayWarmup eventDayWarmup;
+  private final EventAttendanceTracker eventAttendanceTracker;
 
   /**
    * Runs every 5 minutes to check for and expire tickets for events that have ended.
@@ -50,4 +71,120 @@ public class ScheduledTasksConfig {
       log.error("Error during scheduled event completion", e);
     }
   }
+
+  /**
+   * Runs every hour to recompute ticket type sold counters that drifted from the
+   * tickets table (e.g. after manual data fixes).
+   * Also runs 10 seconds after application startup.
+   */
+  @Scheduled(fixedRate = 3600000, initialDelay = 10000) // Every hour, 10 seconds after startup
+  public void reconcileInventoryTask() {
+    log.debug("Running scheduled inventory reconciliation task...");
+    try {
+      ticketInventoryReconciliationService.reconcileSoldCounters();
+    } catch (Exception e) {
+      log.error("Error during scheduled inventory reconciliation", e);
+    }
+  }
+
+  /**
+   * Polls the QR code outbox every second for retries and for jobs whose
+   * commit notification was missed (e.g. jobs left behind by a crashed instance).
+   */
+  @Scheduled(fixedDelayString = "${app.qr.jobs.poll-interval-ms:1000}")
+  public void processQrCodeJobsTask() {
+    qrCodeJobProcessor.requestDrain();
+  }
+
+  /**
+   * Runs every minute to forget waiting room purchases whose outcome has been
+   * available for longer than the retention period.
+   */
+  @Scheduled(fixedRate = 60000) // Every minute
+  public void evictWaitingRoomPurchasesTask() {
+    int evicted = waitingRoomService.evictFinishedPurchases();
+    if (evicted > 0) {
+      log.debug("Evicted {} finished waiting room purchases", evicted);
+    }
+  }
+
+  /**
+   * Runs every hour to delete idempotency records older than their retention period.
+   */
+  @Scheduled(fixedRate = 3600000, initialDelay = 60000) // Every hour, 1 minute after startup
+  public void purgeIdempotencyRecordsTask() {
+    log.debug("Running scheduled idempotency record cleanup task...");
+    try {
+      int purged = idempotencyService.purgeExpiredRecords();
+      if (purged > 0) {
+        log.info("Purged {} expired idempotency records", purged);
+      }
+    } catch (Exception e) {
+      log.error("Error during scheduled idempotency record cleanup", e);
+    }
+  }
+
+  /**
+   * Writes queued ticket validations every 100 milliseconds, so that the audit trail
+   * and ticket statuses in the database trail the gates only briefly. Full batches
+   * are written as soon as they fill up.
+   */
+  @Scheduled(fixedDelayString = "${app.validation.writer.flush-interval-ms:100}")
+  public void flushTicketValidationsTask() {
+    try {
+      int written = ticketValidationWriter.flush();
+      if (written > 0) {
+        log.debug("Wrote {} ticket validations", written);
+      }
+    } catch (Exception e) {
+      log.error("Error during ticket validation write", e);
+    }
+  }
+
+  /**
+   * Rebuilds the filter of active QR code IDs every hour, so that it is sized for the
+   * current number of codes. Also runs 5 seconds after application startup, before
+   * which scans of unsigned QR codes are all looked up.
+   */
+  @Scheduled(fixedDelayString = "${app.validation.qr-filter.rebuild-interval-ms:3600000}",
+             initialDelay = 5000)
+  public void rebuildQrCodeFilterTask() {
+    try {
+      qrCodeIdFilter.rebuild();
+    } catch (Exception e) {
+      log.error("Error during QR code filter rebuild", e);
+    }
+  }
+
+  /**
+   * Runs every minute to close events that have ended, warm the validation path and,
+   * with auto-open enabled, open events for in-memory admission once their doors are
+   * within the warm-up lead time.
+   * Also runs 10 seconds after application startup, after which the instance reports ready.
+   */
+  @Scheduled(fixedDelayString = "${app.validation.warmup.poll-interval-ms:60000}",
+             initialDelay = 10000)
+  public void warmUpcomingEventsTask() {
+    try {
+      int opened = eventDayWarmup.warmUpcomingEvents();
+      if (opened > 0) {
+        log.info("Opened {} upcoming events for admission", opened);
+      }
+    } catch (Exception e) {
+      log.error("Error during event-day warm-up", e);
+    }
+  }
+
+  /**
+   * Sends the attendance counts that changed in the last 500 milliseconds to the
+   * organizers watching them, coalescing the scans in between into one update.
+   */
+  @Scheduled(fixedDelayString = "${app.validation.attendance.publish-interval-ms:500}")
+  public void publishAttendanceTask() {
+    try {
+      eventAttendanceTracker.publish();
+    } catch (Exception e) {
+      log.error("Error during attendance publish", e);
+    }
+  }
 }
@@ -34,13 +34,19 @@ public class SecurityConfig {
 
                 // ── Public endpoints ───────────────────────────────────────
                 .requestMatchers(HttpMethod.GET, "/api/v1/published-events/**").permitAll()
+                .requestMatchers("/actuator/gatelatency").hasRole("STAFF")
                 .requestMatchers("/actuator/**", "/health", "/actuator/health").permitAll()
 
                 // ── ATTENDEE: purchase tickets + view own tickets ───────────
                 // More specific rules MUST come BEFORE catch-all rules!
                 .requestMatchers(HttpMethod.POST, "/api/v1/events/*/ticket-types/*/tickets").hasRole("ATTENDEE")
+                .requestMatchers(HttpMethod.POST, "/api/v1/events/*/ticket-types/*/tickets/batch").hasRole("ATTENDEE")
+                .requestMatchers(HttpMethod.POST, "/api/v1/events/*/ticket-types/*/holds").hasRole("ATTENDEE")
+                .requestMatchers(HttpMethod.POST, "/api/v1/events/*/ticket-types/*/queue").hasRole("ATTENDEE")
+                .requestMatchers(HttpMethod.GET, "/api/v1/events/*/ticket-types/*/queue/*").hasRole("ATTENDEE")
                 .requestMatchers(HttpMethod.POST, "/api/v1/users/me/roles/organizer").hasRole("ATTENDEE")
                 .requestMatchers("/api/v1/tickets/**").hasRole("ATTENDEE")
+                .requestMatchers("/api/v1/ticket-holds/**").hasRole("ATTENDEE")
 
                 // ── ORGANIZER: full CRUD on their own events + ticket types ─
                 .requestMatchers(HttpMethod.POST,   "/api/v1/events").hasRole("ORGANIZER")
@@ -77,6 +83,7 @@ public class SecurityConfig {
         .toList());
     configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
     configuration.setAllowedHeaders(Arrays.asList("*"));
+    configuration.setExposedHeaders(Arrays.asList("Idempotent-Replayed"));
     configuration.setAllowCredentials(true);
 
     UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
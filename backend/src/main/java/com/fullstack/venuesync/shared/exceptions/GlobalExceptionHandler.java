@@ -15,9 +15,16 @@ import com.fullstack.venuesync.shared.domain.ErrorDto;
 import com.fullstack.venuesync.events.exception.EventNotFoundException;
 import com.fullstack.venuesync.events.exception.EventUpdateException;
 import com.fullstack.venuesync.events.exception.SalesPeriodException;
+import com.fullstack.venuesync.tickets.exception.IdempotencyKeyMismatchException;
+import com.fullstack.venuesync.tickets.exception.InventoryStrategyException;
+import com.fullstack.venuesync.tickets.exception.QueuedPurchaseNotFoundException;
+import com.fullstack.venuesync.tickets.exception.TicketHoldExpiredException;
+import com.fullstack.venuesync.tickets.exception.TicketHoldNotFoundException;
 import com.fullstack.venuesync.tickets.exception.TicketNotFoundException;
 import com.fullstack.venuesync.tickets.exception.TicketTypeNotFoundException;
 import com.fullstack.venuesync.tickets.exception.TicketsSoldOutException;
+import com.fullstack.venuesync.tickets.exception.WaitingRoomFullException;
+import com.fullstack.venuesync.tickets.exception.WaitingRoomRequiredException;
 import com.fullstack.venuesync.validation.exception.QrCodeGenerationException;
 import com.fullstack.venuesync.validation.exception.QrCodeNotFoundException;
 
@@ -37,12 +44,72 @@ public class GlobalExceptionHandler {
 
   @ExceptionHandler(TicketsSoldOutException.class)
   public ResponseEntity<ErrorDto> handleTicketsSoldOutException(TicketsSoldOutException ex) {
-    log.error("Caught TicketsSoldOutException", ex);
+    // Expected in bulk once a ticket type sells out, so no stack trace
+    log.debug("Caught TicketsSoldOutException: {}", ex.getMessage());
     ErrorDto errorDto = new ErrorDto();
     errorDto.setError("Tickets are sold out for this ticket type");
     return new ResponseEntity<>(errorDto, HttpStatus.BAD_REQUEST);
   }
 
+  @ExceptionHandler(IdempotencyKeyMismatchException.class)
+  public ResponseEntity<ErrorDto> handleIdempotencyKeyMismatchException(
+      IdempotencyKeyMismatchException ex) {
+    log.error("Caught IdempotencyKeyMismatchException", ex);
+    ErrorDto errorDto = new ErrorDto();
+    errorDto.setError("Idempotency key was already used for a different purchase");
+    return new ResponseEntity<>(errorDto, HttpStatus.UNPROCESSABLE_ENTITY);
+  }
+
+  @ExceptionHandler(TicketHoldNotFoundException.class)
+  public ResponseEntity<ErrorDto> handleTicketHoldNotFoundException(TicketHoldNotFoundException ex) {
+    log.error("Caught TicketHoldNotFoundException", ex);
+    ErrorDto errorDto = new ErrorDto();
+    errorDto.setError("Ticket hold not found");
+    return new ResponseEntity<>(errorDto, HttpStatus.BAD_REQUEST);
+  }
+
+  @ExceptionHandler(TicketHoldExpiredException.class)
+  public ResponseEntity<ErrorDto> handleTicketHoldExpiredException(TicketHoldExpiredException ex) {
+    log.error("Caught TicketHoldExpiredException", ex);
+    ErrorDto errorDto = new ErrorDto();
+    errorDto.setError("Ticket hold has expired or is no longer active");
+    return new ResponseEntity<>(errorDto, HttpStatus.CONFLICT);
+  }
+
+  @ExceptionHandler(InventoryStrategyException.class)
+  public ResponseEntity<ErrorDto> handleInventoryStrategyException(InventoryStrategyException ex) {
+    log.error("Caught InventoryStrategyException", ex);
+    ErrorDto errorDto = new ErrorDto();
+    errorDto.setError(ex.getMessage() != null ? ex.getMessage() : "Not supported by the ticket type's inventory strategy");
+    return new ResponseEntity<>(errorDto, HttpStatus.BAD_REQUEST);
+  }
+
+  @ExceptionHandler(WaitingRoomFullException.class)
+  public ResponseEntity<ErrorDto> handleWaitingRoomFullException(WaitingRoomFullException ex) {
+    log.warn("Caught WaitingRoomFullException: {}", ex.getMessage());
+    ErrorDto errorDto = new ErrorDto();
+    errorDto.setError("The waiting room is full, please try again later");
+    return new ResponseEntity<>(errorDto, HttpStatus.SERVICE_UNAVAILABLE);
+  }
+
+  @ExceptionHandler(WaitingRoomRequiredException.class)
+  public ResponseEntity<ErrorDto> handleWaitingRoomRequiredException(
+      WaitingRoomRequiredException ex) {
+    log.warn("Caught WaitingRoomRequiredException: {}", ex.getMessage());
+    ErrorDto errorDto = new ErrorDto();
+    errorDto.setError("Tickets must be purchased through the waiting room");
+    return new ResponseEntity<>(errorDto, HttpStatus.CONFLICT);
+  }
+
+  @ExceptionHandler(QueuedPurchaseNotFoundException.class)
+  public ResponseEntity<ErrorDto> handleQueuedPurchaseNotFoundException(
+      QueuedPurchaseNotFoundException ex) {
+    log.error("Caught QueuedPurchaseNotFoundException", ex);
+    ErrorDto errorDto = new ErrorDto();
+    errorDto.setError("Queued purchase not found");
+    return new ResponseEntity<>(errorDto, HttpStatus.BAD_REQUEST);
+  }
+
   @ExceptionHandler(SalesPeriodException.class)
   public ResponseEntity<ErrorDto> handleSalesPeriodException(SalesPeriodException ex) {
     log.error("Caught SalesPeriodException", ex);
@@ -0,0 +1,54 @@
+package com.fullstack.venuesync.shared.http;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+public final class ETags {
+  private ETags() {
+  }
+
+  /**
+   * Builds a strong entity tag from the given parts, e.g. {@code "id-version"}.
+   */
+  public static String strong(Object... parts) {
+    StringBuilder etag = new StringBuilder("\"");
+    for (int i = 0; i < parts.length; i++) {
+      if (i > 0) {
+        etag.append('-');
+      }
+      etag.append(parts[i]);
+    }
+    return etag.append('"').toString();
+  }
+
+  /**
+   * Encodes a timestamp as hexadecimal microseconds, the precision it is stored with.
+   */
+  public static String version(LocalDateTime timestamp) {
+    long micros = timestamp.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + timestamp.getNano() / 1_000;
+    return Long.toHexString(micros);
+  }
+
+  /**
+   * Checks an If-None-Match header against an entity tag using the weak comparison
+   * that RFC 9110 prescribes for it, so {@code W/} prefixes are ignored.
+   */
+  public static boolean matches(String ifNoneMatch, String etag) {
+    if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+      return false;
+    }
+    for (String candidate : ifNoneMatch.split(",")) {
+      String tag = candidate.trim();
+      if (tag.equals("*")) {
+        return true;
+      }
+      if (tag.startsWith("W/")) {
+        tag = tag.substring(2);
+      }
+      if (tag.equals(etag)) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,18 @@
+package com.fullstack.venuesync.shared.id;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import org.hibernate.annotations.IdGeneratorType;
+
+/**
+ * Generates the annotated identifier as a time-ordered version 7 UUID, see {@link UuidV7}.
+ * Used instead of {@code @GeneratedValue(strategy = GenerationType.UUID)}, whose random
+ * version 4 UUIDs scatter inserts across the primary key index.
+ */
+@IdGeneratorType(TimeOrderedUuidGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface TimeOrderedUuid {
+}
@@ -2,32 +2,57 @@ package com.fullstack.venuesync.tickets.controller;
 
 import static com.fullstack.venuesync.shared.security.JwtUtil.parseUserId;
 
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.fullstack.venuesync.shared.http.ETags;
+import com.fullstack.venuesync.tickets.domain.TicketVersion;
 import com.fullstack.venuesync.tickets.dto.GetTicketResponseDto;
 import com.fullstack.venuesync.tickets.dto.ListTicketResponseDto;
 import com.fullstack.venuesync.tickets.mapper.TicketMapper;
 import com.fullstack.venuesync.tickets.service.TicketService;
+import com.fullstack.venuesync.validation.domain.QrCodeImageFormatEnum;
+import com.fullstack.venuesync.validation.image.QrCodeRenderer;
 import com.fullstack.venuesync.validation.service.QrCodeService;
 
 @RestController
+@Validated
 @RequestMapping(path = "/api/v1/tickets")
 @RequiredArgsConstructor
 public class TicketController {
 
+  private static final MediaType IMAGE_SVG = MediaType.parseMediaType("image/svg+xml");
+
+  // Ticket details are private to the purchaser and must be revalidated on every use
+  private static final CacheControl TICKET_CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
+  private static final CacheControl QR_CODE_CACHE_CONTROL =
+      CacheControl.maxAge(Duration.ofDays(365)).cachePrivate().immutable();
+
   private final TicketService ticketService;
   private final TicketMapper ticketMapper;
   private final QrCodeService qrCodeService;
@@ -53,30 +78,79 @@ public class TicketController {
         .map(ticketMapper::toListTicketResponseDto);
   }
 
+  /**
+   * Returns the ticket's details with an ETag built from the modification times behind
+   * them. A matching If-None-Match is answered with 304 without loading the ticket.
+   */
   @GetMapping(path = "/{ticketId}")
   public ResponseEntity<GetTicketResponseDto> getTicket(
       @AuthenticationPrincipal Jwt jwt,
-      @PathVariable UUID ticketId
+      @PathVariable UUID ticketId,
+      @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
   ) {
+    UUID userId = parseUserId(jwt);
+
+    if (ifNoneMatch != null) {
+      Optional<TicketVersion> version = ticketService.getTicketVersionForUser(userId, ticketId);
+      if (version.isEmpty()) {
+        return ResponseEntity.notFound().build();
+      }
+      String etag = ticketETag(version.get());
+      if (ETags.matches(ifNoneMatch, etag)) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+            .eTag(etag)
+            .cacheControl(TICKET_CACHE_CONTROL)
+            .build();
+      }
+    }
+
     return ticketService
-        .getTicketForUser(parseUserId(jwt), ticketId)
-        .map(ticketMapper::toGetTicketResponseDto)
-        .map(ResponseEntity::ok)
+        .getTicketForUser(userId, ticketId)
+        .map(ticket -> ResponseEntity.ok()
+            .eTag(ticketETag(TicketVersion.of(ticket)))
+            .cacheControl(TICKET_CACHE_CONTROL)
+            .body(ticketMapper.toGetTicketResponseDto(ticket)))
         .orElse(ResponseEntity.notFound().build());
   }
 
+  /**
+   * Returns the ticket's QR code as a PNG, or as an SVG when the Accept header prefers
+   * {@code image/svg+xml}. A scale renders a compact PNG with that many pixels per module.
+   * Images never change for a QR code, so they are cacheable as immutable and a matching
+   * If-None-Match is answered with 304 without rendering anything.
+   */
   @GetMapping(path = "/{ticketId}/qr-codes")
   public ResponseEntity<byte[]> getTicketQrCode(
       @AuthenticationPrincipal Jwt jwt,
-      @PathVariable UUID ticketId
+      @PathVariable UUID ticketId,
+      @RequestParam(required = false) @Min(1) @Max(QrCodeRenderer.MAX_SCALE) Integer scale,
+      @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept,
+      @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
   ) {
+    UUID userId = parseUserId(jwt);
+    QrCodeImageFormatEnum format = negotiateQrCodeFormat(accept);
+    UUID qrCodeId = qrCodeService.getQrCodeIdForUserAndTicket(userId, ticketId);
+    String etag = ETags.strong(qrCodeId, format.name().toLowerCase(), scale != null ? scale : "default");
+
+    HttpHeaders headers = new HttpHeaders();
+    headers.setETag(etag);
+    headers.setCacheControl(QR_CODE_CACHE_CONTROL);
+    headers.setVary(List.of(HttpHeaders.ACCEPT));
+
+    if (ETags.matches(ifNoneMatch, etag)) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+          .headers(headers)
+          .build();
+    }
+
     byte[] qrCodeImage = qrCodeService.getQrCodeImageForUserAndTicket(
-        parseUserId(jwt),
-        ticketId
+        userId,
+        ticketId,
+        format,
+        scale
     );
 
-    HttpHeaders headers = new HttpHeaders();
-    headers.setContentType(MediaType.IMAGE_PNG);
+    headers.setContentType(format == QrCodeImageFormatEnum.SVG ? IMAGE_SVG : MediaType.IMAGE_PNG);
     headers.setContentLength(qrCodeImage.length);
 
     return ResponseEntity.ok()
@@ -84,4 +158,43 @@ public class TicketController {
         .body(qrCodeImage);
   }
 
+  private static String ticketETag(TicketVersion version) {
+    return ETags.strong(
+        version.ticketId(),
+        ETags.version(version.ticketUpdatedAt()),
+        ETags.version(version.ticketTypeUpdatedAt()),
+        ETags.version(version.eventUpdatedAt())
+    );
+  }
+
+  /**
+   * Picks the most preferred of the QR code formats, falling back to PNG when the
+   * Accept header is missing, malformed or names neither format explicitly.
+   */
+  private static QrCodeImageFormatEnum negotiateQrCodeFormat(String accept) {
+    if (accept == null || accept.isBlank()) {
+      return QrCodeImageFormatEnum.PNG;
+    }
+
+    List<MediaType> mediaTypes;
+    try {
+      mediaTypes = new ArrayList<>(MediaType.parseMediaTypes(accept));
+    } catch (InvalidMediaTypeException ex) {
+      return QrCodeImageFormatEnum.PNG;
+    }
+    // Stable sort, so types of equal quality keep the order the client sent them in
+    mediaTypes.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+    for (MediaType mediaType : mediaTypes) {
+      if (mediaType.getQualityValue() == 0) {
+        break;
+      }
+      if (IMAGE_SVG.equalsTypeAndSubtype(mediaType)) {
+        return QrCodeImageFormatEnum.SVG;
+      }
+      if (MediaType.IMAGE_PNG.equalsTypeAndSubtype(mediaType)) {
+        return QrCodeImageFormatEnum.PNG;
+      }
+    }
+    return QrCodeImageFormatEnum.PNG;
+  }
 }
@@ -0,0 +1,47 @@
+package com.fullstack.venuesync.tickets.controller;
+
+import static com.fullstack.venuesync.shared.security.JwtUtil.parseUserId;
+
+import java.util.List;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.fullstack.venuesync.tickets.domain.Ticket;
+import com.fullstack.venuesync.tickets.dto.PurchaseTicketsResponseDto;
+import com.fullstack.venuesync.tickets.service.TicketTypeService;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping(path = "/api/v1/ticket-holds")
+public class TicketHoldController {
+
+  private final TicketTypeService ticketTypeService;
+
+  @PostMapping(path = "/{holdId}/confirm")
+  public ResponseEntity<PurchaseTicketsResponseDto> confirmHold(
+      @AuthenticationPrincipal Jwt jwt,
+      @PathVariable UUID holdId
+  ) {
+    List<Ticket> tickets = ticketTypeService.confirmHold(parseUserId(jwt), holdId);
+    List<UUID> ticketIds = tickets.stream().map(Ticket::getId).toList();
+    return new ResponseEntity<>(new PurchaseTicketsResponseDto(ticketIds), HttpStatus.CREATED);
+  }
+
+  @DeleteMapping(path = "/{holdId}")
+  public ResponseEntity<Void> releaseHold(
+      @AuthenticationPrincipal Jwt jwt,
+      @PathVariable UUID holdId
+  ) {
+    ticketTypeService.releaseHold(parseUserId(jwt), holdId);
+    return ResponseEntity.noContent().build();
+  }
+}
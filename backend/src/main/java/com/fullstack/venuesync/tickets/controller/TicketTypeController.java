@@ -2,33 +2,125 @@ package com.fullstack.venuesync.tickets.controller;
 
 import static com.fullstack.venuesync.shared.security.JwtUtil.parseUserId;
 
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.fullstack.venuesync.tickets.domain.PurchaseResult;
+import com.fullstack.venuesync.tickets.domain.QueuedPurchase;
+import com.fullstack.venuesync.tickets.domain.TicketHold;
+import com.fullstack.venuesync.tickets.dto.PurchaseTicketsRequestDto;
+import com.fullstack.venuesync.tickets.dto.PurchaseTicketsResponseDto;
+import com.fullstack.venuesync.tickets.dto.QueuedPurchaseResponseDto;
+import com.fullstack.venuesync.tickets.dto.TicketHoldResponseDto;
+import com.fullstack.venuesync.tickets.exception.WaitingRoomRequiredException;
+import com.fullstack.venuesync.tickets.mapper.TicketMapper;
 import com.fullstack.venuesync.tickets.service.TicketTypeService;
+import com.fullstack.venuesync.tickets.service.WaitingRoomService;
 
 @RestController
 @RequiredArgsConstructor
+@Validated
 @RequestMapping(path = "/api/v1/events/{eventId}/ticket-types")
 public class TicketTypeController {
 
+  private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+  private static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
   private final TicketTypeService ticketTypeService;
+  private final WaitingRoomService waitingRoomService;
+  private final TicketMapper ticketMapper;
 
   @PostMapping(path = "/{ticketTypeId}/tickets")
   public ResponseEntity<Void> purchaseTicket(
       @AuthenticationPrincipal Jwt jwt,
-      @PathVariable UUID ticketTypeId
+      @PathVariable UUID ticketTypeId,
+      @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) @Size(max = 255) String idempotencyKey
+  ) {
+    requireDirectPurchase();
+    PurchaseResult result = ticketTypeService.purchaseTickets(
+        parseUserId(jwt), ticketTypeId, 1, idempotencyKey);
+    return ResponseEntity.noContent()
+        .header(IDEMPOTENT_REPLAYED_HEADER, String.valueOf(result.replayed()))
+        .build();
+  }
+
+  @PostMapping(path = "/{ticketTypeId}/tickets/batch")
+  public ResponseEntity<PurchaseTicketsResponseDto> purchaseTickets(
+      @AuthenticationPrincipal Jwt jwt,
+      @PathVariable UUID ticketTypeId,
+      @Valid @RequestBody PurchaseTicketsRequestDto purchaseTicketsRequestDto,
+      @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) @Size(max = 255) String idempotencyKey
+  ) {
+    requireDirectPurchase();
+    PurchaseResult result = ticketTypeService.purchaseTickets(
+        parseUserId(jwt), ticketTypeId, purchaseTicketsRequestDto.getQuantity(), idempotencyKey);
+    return ResponseEntity.status(HttpStatus.CREATED)
+        .header(IDEMPOTENT_REPLAYED_HEADER, String.valueOf(result.replayed()))
+        .body(new PurchaseTicketsResponseDto(result.ticketIds()));
+  }
+
+  @PostMapping(path = "/{ticketTypeId}/holds")
+  public ResponseEntity<TicketHoldResponseDto> holdTickets(
+      @AuthenticationPrincipal Jwt jwt,
+      @PathVariable UUID ticketTypeId,
+      @Valid @RequestBody PurchaseTicketsRequestDto purchaseTicketsRequestDto
+  ) {
+    requireDirectPurchase();
+    TicketHold hold = ticketTypeService.holdTickets(
+        parseUserId(jwt), ticketTypeId, purchaseTicketsRequestDto.getQuantity());
+    return new ResponseEntity<>(ticketMapper.toTicketHoldResponseDto(hold), HttpStatus.CREATED);
+  }
+
+  @PostMapping(path = "/{ticketTypeId}/queue")
+  public ResponseEntity<QueuedPurchaseResponseDto> joinWaitingRoom(
+      @AuthenticationPrincipal Jwt jwt,
+      @PathVariable UUID ticketTypeId,
+      @Valid @RequestBody PurchaseTicketsRequestDto purchaseTicketsRequestDto
+  ) {
+    QueuedPurchase queuedPurchase = waitingRoomService.joinWaitingRoom(
+        parseUserId(jwt), ticketTypeId, purchaseTicketsRequestDto.getQuantity());
+    return new ResponseEntity<>(toQueuedPurchaseResponseDto(queuedPurchase), HttpStatus.ACCEPTED);
+  }
+
+  @GetMapping(path = "/{ticketTypeId}/queue/{queuedPurchaseId}")
+  public ResponseEntity<QueuedPurchaseResponseDto> getQueuedPurchase(
+      @AuthenticationPrincipal Jwt jwt,
+      @PathVariable UUID queuedPurchaseId
   ) {
-    ticketTypeService.purchaseTicket(parseUserId(jwt), ticketTypeId);
-    return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    QueuedPurchase queuedPurchase = waitingRoomService.getQueuedPurchase(
+        parseUserId(jwt), queuedPurchaseId);
+    return ResponseEntity.ok(toQueuedPurchaseResponseDto(queuedPurchase));
   }
 
+  private void requireDirectPurchase() {
+    if (waitingRoomService.isEnabled()) {
+      throw new WaitingRoomRequiredException("Tickets must be purchased through the waiting room");
+    }
+  }
+
+  private QueuedPurchaseResponseDto toQueuedPurchaseResponseDto(QueuedPurchase queuedPurchase) {
+    return new QueuedPurchaseResponseDto(
+        queuedPurchase.getId(),
+        queuedPurchase.getTicketTypeId(),
+        queuedPurchase.getStatus(),
+        waitingRoomService.getPosition(queuedPurchase),
+        queuedPurchase.getQuantity(),
+        queuedPurchase.getTicketIds(),
+        queuedPurchase.getError()
+    );
+  }
 }
@@ -13,4 +13,5 @@ public class CreateTicketTypeRequest {
   private Double price;
   private String description;
   private Integer totalAvailable;
+  private TicketInventoryStrategyEnum inventoryStrategy;
 }
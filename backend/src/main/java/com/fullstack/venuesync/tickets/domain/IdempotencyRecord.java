@@ -0,0 +1,89 @@
+package com.fullstack.venuesync.tickets.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import com.fullstack.venuesync.shared.id.TimeOrderedUuid;
+
+/**
+ * Outcome of a purchase made with an {@code Idempotency-Key}, written in the purchase
+ * transaction so that a retried request can be answered without buying again.
+ * The unique constraint makes concurrent retries wait for, then replay, the first one.
+ */
+@Entity
+@Table(name = "idempotency_records",
+    uniqueConstraints = @UniqueConstraint(
+        name = "uk_idempotency_records_user_key", columnNames = {"user_id", "idempotency_key"}),
+    indexes = @Index(name = "idx_idempotency_records_expires_at", columnList = "expires_at"))
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class IdempotencyRecord {
+
+  @Id
+  @Column(name = "id", nullable = false, updatable = false)
+  @TimeOrderedUuid
+  private UUID id;
+
+  @Column(name = "user_id", nullable = false, updatable = false)
+  private UUID userId;
+
+  @Column(name = "idempotency_key", nullable = false, updatable = false)
+  private String idempotencyKey;
+
+  @Column(name = "ticket_type_id", nullable = false, updatable = false)
+  private UUID ticketTypeId;
+
+  @Column(name = "quantity", nullable = false, updatable = false)
+  private int quantity;
+
+  /**
+   * Comma-separated IDs of the tickets issued by the purchase.
+   */
+  @Column(name = "ticket_ids", length = 1000)
+  private String ticketIds;
+
+  @Column(name = "expires_at", nullable = false)
+  private LocalDateTime expiresAt;
+
+  @Column(name = "created_at", updatable = false, nullable = false)
+  private LocalDateTime createdAt;
+
+  @PrePersist
+  protected void onCreate() {
+    createdAt = LocalDateTime.now();
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    IdempotencyRecord that = (IdempotencyRecord) o;
+    return quantity == that.quantity && Objects.equals(id, that.id)
+        && Objects.equals(userId, that.userId) && Objects.equals(idempotencyKey, that.idempotencyKey)
+        && Objects.equals(ticketTypeId, that.ticketTypeId) && Objects.equals(ticketIds, that.ticketIds)
+        && Objects.equals(expiresAt, that.expiresAt) && Objects.equals(createdAt, that.createdAt);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(id, userId, idempotencyKey, ticketTypeId, quantity, ticketIds, expiresAt,
+        createdAt);
+  }
+}
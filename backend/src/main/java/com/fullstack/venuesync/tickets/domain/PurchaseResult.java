@@ -0,0 +1,13 @@
+package com.fullstack.venuesync.tickets.domain;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Outcome of an idempotent purchase.
+ *
+ * @param ticketIds the IDs of the tickets issued by the purchase
+ * @param replayed whether the outcome was replayed from an earlier request with the same key
+ */
+public record PurchaseResult(List<UUID> ticketIds, boolean replayed) {
+}
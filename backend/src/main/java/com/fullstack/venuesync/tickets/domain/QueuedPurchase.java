@@ -0,0 +1,40 @@
+package com.fullstack.venuesync.tickets.domain;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * A buyer's place in the waiting room of a ticket type. Lives in memory only:
+ * the outcome is kept for a while after processing so that clients can poll it.
+ */
+@Getter
+public class QueuedPurchase {
+
+  private final UUID id = UUID.randomUUID();
+  private final UUID userId;
+  private final UUID ticketTypeId;
+  private final int quantity;
+  private final long sequence;
+
+  @Setter
+  private volatile QueuedPurchaseStatusEnum status = QueuedPurchaseStatusEnum.WAITING;
+
+  @Setter
+  private volatile List<UUID> ticketIds = List.of();
+
+  @Setter
+  private volatile String error;
+
+  @Setter
+  private volatile LocalDateTime finishedAt;
+
+  public QueuedPurchase(UUID userId, UUID ticketTypeId, int quantity, long sequence) {
+    this.userId = userId;
+    this.ticketTypeId = ticketTypeId;
+    this.quantity = quantity;
+    this.sequence = sequence;
+  }
+}
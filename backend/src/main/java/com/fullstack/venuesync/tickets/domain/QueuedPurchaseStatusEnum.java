@@ -0,0 +1,5 @@
+package com.fullstack.venuesync.tickets.domain;
+
+public enum QueuedPurchaseStatusEnum {
+  WAITING, PROCESSING, COMPLETED, FAILED
+}
@@ -7,9 +7,8 @@ import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
@@ -31,11 +30,14 @@ import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import com.fullstack.venuesync.shared.domain.User;
+import com.fullstack.venuesync.shared.id.TimeOrderedUuid;
 import com.fullstack.venuesync.validation.domain.TicketValidation;
 import com.fullstack.venuesync.validation.domain.QrCode;
 
 @Entity
-@Table(name = "tickets")
+@Table(name = "tickets", indexes = {
+    @Index(name = "idx_tickets_ticket_type_status", columnList = "ticket_type_id, status")
+})
 @EntityListeners(AuditingEntityListener.class)
 @Getter
 @Setter
@@ -46,7 +48,7 @@ public class Ticket {
 
   @Id
   @Column(name = "id", nullable = false, updatable = false)
-  @GeneratedValue(strategy = GenerationType.UUID)
+  @TimeOrderedUuid
   private UUID id;
 
   @Column(name = "status", nullable = false)
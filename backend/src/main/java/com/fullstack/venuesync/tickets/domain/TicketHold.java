@@ -0,0 +1,105 @@
+package com.fullstack.venuesync.tickets.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import com.fullstack.venuesync.shared.domain.User;
+import com.fullstack.venuesync.shared.id.TimeOrderedUuid;
+
+/**
+ * Tickets set aside for a buyer while they check out. The held quantity is counted in
+ * the ticket type's sold counter for as long as the hold is ACTIVE, and given back
+ * when the hold is released or expires.
+ */
+@Entity
+@Table(name = "ticket_holds", indexes = {
+    @Index(name = "idx_ticket_holds_ticket_type_status", columnList = "ticket_type_id, status")
+})
+@EntityListeners(AuditingEntityListener.class)
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TicketHold {
+
+  @Id
+  @Column(name = "id", nullable = false, updatable = false)
+  @TimeOrderedUuid
+  private UUID id;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "ticket_type_id", nullable = false, updatable = false)
+  private TicketType ticketType;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "purchaser_id", nullable = false, updatable = false)
+  private User purchaser;
+
+  @Column(name = "quantity", nullable = false, updatable = false)
+  private int quantity;
+
+  @Column(name = "status", nullable = false)
+  @Enumerated(EnumType.STRING)
+  private TicketHoldStatusEnum status;
+
+  @Column(name = "expires_at", nullable = false)
+  private LocalDateTime expiresAt;
+
+  @CreatedDate
+  @Column(name = "created_at", updatable = false, nullable = false)
+  private LocalDateTime createdAt;
+
+  @LastModifiedDate
+  @Column(name = "updated_at", nullable = false)
+  private LocalDateTime updatedAt;
+
+  @PrePersist
+  protected void onCreate() {
+    createdAt = LocalDateTime.now();
+    updatedAt = LocalDateTime.now();
+  }
+
+  @PreUpdate
+  protected void onUpdate() {
+    updatedAt = LocalDateTime.now();
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    TicketHold that = (TicketHold) o;
+    return quantity == that.quantity && Objects.equals(id, that.id) && status == that.status
+        && Objects.equals(expiresAt, that.expiresAt) && Objects.equals(createdAt, that.createdAt)
+        && Objects.equals(updatedAt, that.updatedAt);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(id, quantity, status, expiresAt, createdAt, updatedAt);
+  }
+}
@@ -0,0 +1,5 @@
+package com.fullstack.venuesync.tickets.domain;
+
+public enum TicketHoldStatusEnum {
+  ACTIVE, CONFIRMED, RELEASED, EXPIRED
+}
@@ -0,0 +1,10 @@
+package com.fullstack.venuesync.tickets.domain;
+
+import java.util.UUID;
+
+/**
+ * Published when the capacity of a ticket type changes or the ticket type is removed,
+ * so that in-memory inventory state can be refreshed once the change commits.
+ */
+public record TicketInventoryChangedEvent(UUID ticketTypeId) {
+}
@@ -0,0 +1,14 @@
+package com.fullstack.venuesync.tickets.domain;
+
+/**
+ * How the inventory of a ticket type is claimed at purchase time.
+ * <ul>
+ *   <li>{@code COUNTER}: a conditional update of the ticket type's sold counter, or
+ *   blocks leased from it by the in-memory inventory engine</li>
+ *   <li>{@code POOL}: tickets are pre-created as AVAILABLE rows and buyers claim
+ *   them with {@code FOR UPDATE SKIP LOCKED}, so no shared row is contended</li>
+ * </ul>
+ */
+public enum TicketInventoryStrategyEnum {
+  COUNTER, POOL
+}
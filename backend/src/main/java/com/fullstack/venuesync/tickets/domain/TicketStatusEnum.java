@@ -1,5 +1,5 @@
 package com.fullstack.venuesync.tickets.domain;
 
 public enum TicketStatusEnum {
-  PURCHASED, USED, EXPIRED, CANCELLED
+  AVAILABLE, PURCHASED, USED, EXPIRED, CANCELLED
 }
@@ -4,9 +4,9 @@ import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
@@ -29,6 +29,7 @@ import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import com.fullstack.venuesync.events.domain.Event;
+import com.fullstack.venuesync.shared.id.TimeOrderedUuid;
 
 @Entity
 @Table(name = "ticket_types")
@@ -42,7 +43,7 @@ public class TicketType {
 
   @Id
   @Column(name = "id", nullable = false, updatable = false)
-  @GeneratedValue(strategy = GenerationType.UUID)
+  @TimeOrderedUuid
   private UUID id;
 
   @Column(name = "name", nullable = false)
@@ -57,6 +58,25 @@ public class TicketType {
   @Column(name = "total_available")
   private Integer totalAvailable;
 
+  /**
+   * Denormalized count of tickets sold for this type. Only ever changed through
+   * the conditional update in {@code TicketTypeRepository#incrementSold} and
+   * recomputed from the tickets table by the inventory reconciliation job.
+   */
+  @Column(name = "sold", nullable = false, columnDefinition = "integer default 0")
+  @Builder.Default
+  private Integer sold = 0;
+
+  /**
+   * How purchases claim inventory. Ticket types using {@code POOL} have their
+   * tickets pre-created as AVAILABLE rows and do not maintain the sold counter.
+   */
+  @Column(name = "inventory_strategy", nullable = false,
+      columnDefinition = "varchar(16) default 'COUNTER'")
+  @Enumerated(EnumType.STRING)
+  @Builder.Default
+  private TicketInventoryStrategyEnum inventoryStrategy = TicketInventoryStrategyEnum.COUNTER;
+
   @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "event_id")
   private Event event;
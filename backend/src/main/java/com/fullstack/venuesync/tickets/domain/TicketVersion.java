@@ -0,0 +1,26 @@
+package com.fullstack.venuesync.tickets.domain;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Last modification times of a ticket and of the ticket type and event shown with it,
+ * read without loading the entities to answer conditional requests.
+ */
+public record TicketVersion(
+    UUID ticketId,
+    LocalDateTime ticketUpdatedAt,
+    LocalDateTime ticketTypeUpdatedAt,
+    LocalDateTime eventUpdatedAt
+) {
+
+  public static TicketVersion of(Ticket ticket) {
+    TicketType ticketType = ticket.getTicketType();
+    return new TicketVersion(
+        ticket.getId(),
+        ticket.getUpdatedAt(),
+        ticketType.getUpdatedAt(),
+        ticketType.getEvent().getUpdatedAt()
+    );
+  }
+}
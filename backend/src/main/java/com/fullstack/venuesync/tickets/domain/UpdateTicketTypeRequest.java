@@ -15,4 +15,5 @@ public class UpdateTicketTypeRequest {
   private Double price;
   private String description;
   private Integer totalAvailable;
+  private TicketInventoryStrategyEnum inventoryStrategy;
 }
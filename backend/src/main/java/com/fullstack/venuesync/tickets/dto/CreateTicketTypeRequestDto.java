@@ -9,6 +9,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import com.fullstack.venuesync.tickets.domain.TicketInventoryStrategyEnum;
+
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -27,4 +29,5 @@ public class CreateTicketTypeRequestDto {
 
   @Min(value = 0, message = "Total available must be zero or greater")
   private Integer totalAvailable;
+  private TicketInventoryStrategyEnum inventoryStrategy;
 }
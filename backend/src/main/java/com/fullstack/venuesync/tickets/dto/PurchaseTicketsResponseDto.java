@@ -0,0 +1,14 @@
+package com.fullstack.venuesync.tickets.dto;
+
+import java.util.List;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PurchaseTicketsResponseDto {
+  private List<UUID> ticketIds;
+}
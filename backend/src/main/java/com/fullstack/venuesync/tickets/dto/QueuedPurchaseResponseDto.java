@@ -0,0 +1,22 @@
+package com.fullstack.venuesync.tickets.dto;
+
+import java.util.List;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import com.fullstack.venuesync.tickets.domain.QueuedPurchaseStatusEnum;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class QueuedPurchaseResponseDto {
+  private UUID id;
+  private UUID ticketTypeId;
+  private QueuedPurchaseStatusEnum status;
+  private long position;
+  private int quantity;
+  private List<UUID> ticketIds;
+  private String error;
+}
@@ -0,0 +1,20 @@
+package com.fullstack.venuesync.tickets.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import com.fullstack.venuesync.tickets.domain.TicketHoldStatusEnum;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TicketHoldResponseDto {
+  private UUID id;
+  private UUID ticketTypeId;
+  private int quantity;
+  private TicketHoldStatusEnum status;
+  private LocalDateTime expiresAt;
+}
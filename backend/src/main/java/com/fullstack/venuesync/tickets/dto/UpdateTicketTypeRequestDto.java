@@ -10,6 +10,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import com.fullstack.venuesync.tickets.domain.TicketInventoryStrategyEnum;
+
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -30,4 +32,5 @@ public class UpdateTicketTypeRequestDto {
 
   @Min(value = 0, message = "Total available must be zero or greater")
   private Integer totalAvailable;
+  private TicketInventoryStrategyEnum inventoryStrategy;
 }
@@ -0,0 +1,26 @@
+package com.fullstack.venuesync.tickets.exception;
+
+import com.fullstack.venuesync.shared.exceptions.VenueSyncException;
+
+public class IdempotencyKeyMismatchException extends VenueSyncException {
+
+  public IdempotencyKeyMismatchException() {
+  }
+
+  public IdempotencyKeyMismatchException(String message) {
+    super(message);
+  }
+
+  public IdempotencyKeyMismatchException(String message, Throwable cause) {
+    super(message, cause);
+  }
+
+  public IdempotencyKeyMismatchException(Throwable cause) {
+    super(cause);
+  }
+
+  public IdempotencyKeyMismatchException(String message, Throwable cause, boolean enableSuppression,
+      boolean writableStackTrace) {
+    super(message, cause, enableSuppression, writableStackTrace);
+  }
+}
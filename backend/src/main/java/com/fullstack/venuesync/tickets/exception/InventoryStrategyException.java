@@ -0,0 +1,26 @@
+package com.fullstack.venuesync.tickets.exception;
+
+import com.fullstack.venuesync.shared.exceptions.VenueSyncException;
+
+public class InventoryStrategyException extends VenueSyncException {
+
+  public InventoryStrategyException() {
+  }
+
+  public InventoryStrategyException(String message) {
+    super(message);
+  }
+
+  public InventoryStrategyException(String message, Throwable cause) {
+    super(message, cause);
+  }
+
+  public InventoryStrategyException(Throwable cause) {
+    super(cause);
+  }
+
+  public InventoryStrategyException(String message, Throwable cause, boolean enableSuppression,
+      boolean writableStackTrace) {
+    super(message, cause, enableSuppression, writableStackTrace);
+  }
+}
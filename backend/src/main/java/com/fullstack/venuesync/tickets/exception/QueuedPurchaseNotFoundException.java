@@ -0,0 +1,26 @@
+package com.fullstack.venuesync.tickets.exception;
+
+import com.fullstack.venuesync.shared.exceptions.VenueSyncException;
+
+public class QueuedPurchaseNotFoundException extends VenueSyncException {
+
+  public QueuedPurchaseNotFoundException() {
+  }
+
+  public QueuedPurchaseNotFoundException(String message) {
+    super(message);
+  }
+
+  public QueuedPurchaseNotFoundException(String message, Throwable cause) {
+    super(message, cause);
+  }
+
+  public QueuedPurchaseNotFoundException(Throwable cause) {
+    super(cause);
+  }
+
+  public QueuedPurchaseNotFoundException(String message, Throwable cause, boolean enableSuppression,
+      boolean writableStackTrace) {
+    super(message, cause, enableSuppression, writableStackTrace);
+  }
+}
@@ -0,0 +1,26 @@
+package com.fullstack.venuesync.tickets.exception;
+
+import com.fullstack.venuesync.shared.exceptions.VenueSyncException;
+
+public class TicketHoldExpiredException extends VenueSyncException {
+
+  public TicketHoldExpiredException() {
+  }
+
+  public TicketHoldExpiredException(String message) {
+    super(message);
+  }
+
+  public TicketHoldExpiredException(String message, Throwable cause) {
+    super(message, cause);
+  }
+
+  public TicketHoldExpiredException(Throwable cause) {
+    super(cause);
+  }
+
+  public TicketHoldExpiredException(String message, Throwable cause, boolean enableSuppression,
+      boolean writableStackTrace) {
+    super(message, cause, enableSuppression, writableStackTrace);
+  }
+}
@@ -0,0 +1,26 @@
+package com.fullstack.venuesync.tickets.exception;
+
+import com.fullstack.venuesync.shared.exceptions.VenueSyncException;
+
+public class TicketHoldNotFoundException extends VenueSyncException {
+
+  public TicketHoldNotFoundException() {
+  }
+
+  public TicketHoldNotFoundException(String message) {
+    super(message);
+  }
+
+  public TicketHoldNotFoundException(String message, Throwable cause) {
+    super(message, cause);
+  }
+
+  public TicketHoldNotFoundException(Throwable cause) {
+    super(cause);
+  }
+
+  public TicketHoldNotFoundException(String message, Throwable cause, boolean enableSuppression,
+      boolean writableStackTrace) {
+    super(message, cause, enableSuppression, writableStackTrace);
+  }
+}
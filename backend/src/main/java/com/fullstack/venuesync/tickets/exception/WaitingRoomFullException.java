@@ -0,0 +1,26 @@
+package com.fullstack.venuesync.tickets.exception;
+
+import com.fullstack.venuesync.shared.exceptions.VenueSyncException;
+
+public class WaitingRoomFullException extends VenueSyncException {
+
+  public WaitingRoomFullException() {
+  }
+
+  public WaitingRoomFullException(String message) {
+    super(message);
+  }
+
+  public WaitingRoomFullException(String message, Throwable cause) {
+    super(message, cause);
+  }
+
+  public WaitingRoomFullException(Throwable cause) {
+    super(cause);
+  }
+
+  public WaitingRoomFullException(String message, Throwable cause, boolean enableSuppression,
+      boolean writableStackTrace) {
+    super(message, cause, enableSuppression, writableStackTrace);
+  }
+}
@@ -0,0 +1,26 @@
+package com.fullstack.venuesync.tickets.exception;
+
+import com.fullstack.venuesync.shared.exceptions.VenueSyncException;
+
+public class WaitingRoomRequiredException extends VenueSyncException {
+
+  public WaitingRoomRequiredException() {
+  }
+
+  public WaitingRoomRequiredException(String message) {
+    super(message);
+  }
+
+  public WaitingRoomRequiredException(String message, Throwable cause) {
+    super(message, cause);
+  }
+
+  public WaitingRoomRequiredException(Throwable cause) {
+    super(cause);
+  }
+
+  public WaitingRoomRequiredException(String message, Throwable cause, boolean enableSuppression,
+      boolean writableStackTrace) {
+    super(message, cause, enableSuppression, writableStackTrace);
+  }
+}
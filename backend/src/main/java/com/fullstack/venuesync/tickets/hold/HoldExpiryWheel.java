@@ -0,0 +1,79 @@
+package com.fullstack.venuesync.tickets.hold;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Hashed timing wheel of hold deadlines. Scheduling is a lock-free enqueue from any
+ * thread; expiring is done by a single ticking thread that only looks at the buckets
+ * whose time has come, so both cost O(1) per hold regardless of how many are pending.
+ * Deadlines further away than one revolution stay in their bucket until a later pass.
+ */
+final class HoldExpiryWheel {
+
+  private final long tickMillis;
+  private final int mask;
+  private final Queue<Entry>[] buckets;
+  private final Queue<Entry> incoming = new ConcurrentLinkedQueue<>();
+  private long currentTick;
+
+  @SuppressWarnings("unchecked")
+  HoldExpiryWheel(int wheelSize, long tickMillis, long startMillis) {
+    if (Integer.bitCount(wheelSize) != 1) {
+      throw new IllegalArgumentException("Wheel size must be a power of two");
+    }
+    this.tickMillis = tickMillis;
+    this.mask = wheelSize - 1;
+    this.buckets = new Queue[wheelSize];
+    for (int i = 0; i < wheelSize; i++) {
+      buckets[i] = new ArrayDeque<>();
+    }
+    this.currentTick = startMillis / tickMillis;
+  }
+
+  /**
+   * Schedules a hold to expire at the given time. Safe to call from any thread.
+   */
+  void schedule(UUID holdId, long deadlineMillis) {
+    incoming.add(new Entry(holdId, deadlineMillis / tickMillis));
+  }
+
+  /**
+   * Advances the wheel to the given time and returns the holds that are due.
+   * Must only be called from the ticking thread.
+   */
+  List<UUID> advance(long nowMillis) {
+    long targetTick = nowMillis / tickMillis;
+
+    Entry entry;
+    while ((entry = incoming.poll()) != null) {
+      // Overdue deadlines go into the next bucket to be visited
+      buckets[(int) (Math.max(entry.deadlineTick, currentTick) & mask)].add(entry);
+    }
+
+    List<UUID> due = new ArrayList<>();
+    // After a long pause every bucket is visited once, which is enough to find all due holds
+    long ticks = Math.min(targetTick - currentTick + 1, buckets.length);
+    for (long i = 0; i < ticks; i++) {
+      Iterator<Entry> iterator = buckets[(int) ((currentTick + i) & mask)].iterator();
+      while (iterator.hasNext()) {
+        Entry candidate = iterator.next();
+        if (candidate.deadlineTick <= targetTick) {
+          iterator.remove();
+          due.add(candidate.holdId);
+        }
+      }
+    }
+    currentTick = Math.max(currentTick, targetTick + 1);
+
+    return due;
+  }
+
+  private record Entry(UUID holdId, long deadlineTick) {
+  }
+}
@@ -0,0 +1,140 @@
+package com.fullstack.venuesync.tickets.hold;
+
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fullstack.venuesync.tickets.domain.TicketHold;
+import com.fullstack.venuesync.tickets.domain.TicketHoldStatusEnum;
+import com.fullstack.venuesync.tickets.inventory.SoldOutRegistry;
+import com.fullstack.venuesync.tickets.inventory.TicketInventoryEngine;
+import com.fullstack.venuesync.tickets.repository.TicketHoldRepository;
+import com.fullstack.venuesync.tickets.repository.TicketTypeRepository;
+
+/**
+ * Ends ticket holds and gives their inventory back, either on request or when their
+ * time-to-live runs out. Deadlines are tracked in a {@link HoldExpiryWheel} rather than
+ * by scanning the holds table; the wheel is rebuilt from the active holds on startup.
+ */
+@Component
+@Slf4j
+public class TicketHoldExpirer {
+
+  private static final int WHEEL_SIZE = 512;
+
+  private final TicketHoldRepository ticketHoldRepository;
+  private final TicketTypeRepository ticketTypeRepository;
+  private final TicketInventoryEngine ticketInventoryEngine;
+  private final SoldOutRegistry soldOutRegistry;
+  private final TransactionTemplate transactionTemplate;
+  private final long ttlSeconds;
+  private final long tickMillis;
+  private final HoldExpiryWheel wheel;
+  private final ScheduledExecutorService ticker;
+
+  public TicketHoldExpirer(
+      TicketHoldRepository ticketHoldRepository,
+      TicketTypeRepository ticketTypeRepository,
+      TicketInventoryEngine ticketInventoryEngine,
+      SoldOutRegistry soldOutRegistry,
+      PlatformTransactionManager transactionManager,
+      @Value("${app.tickets.holds.ttl-seconds:600}") long ttlSeconds,
+      @Value("${app.tickets.holds.tick-ms:1000}") long tickMillis
+  ) {
+    this.ticketHoldRepository = ticketHoldRepository;
+    this.ticketTypeRepository = ticketTypeRepository;
+    this.ticketInventoryEngine = ticketInventoryEngine;
+    this.soldOutRegistry = soldOutRegistry;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.ttlSeconds = ttlSeconds;
+    this.tickMillis = tickMillis;
+    this.wheel = new HoldExpiryWheel(WHEEL_SIZE, tickMillis, System.currentTimeMillis());
+    this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "ticket-hold-expirer");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * Returns the expiry time for a hold created now.
+   */
+  public LocalDateTime nextExpiry() {
+    return LocalDateTime.now().plusSeconds(ttlSeconds);
+  }
+
+  /**
+   * Schedules a hold to be expired at the given time.
+   */
+  public void schedule(UUID holdId, LocalDateTime expiresAt) {
+    wheel.schedule(holdId, expiresAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+  }
+
+  /**
+   * Ends an active hold with the given outcome and gives its inventory back.
+   * Does nothing if the hold was already confirmed, released or expired.
+   *
+   * @return true if the hold was ended by this call
+   */
+  public boolean endHold(UUID holdId, TicketHoldStatusEnum outcome) {
+    UUID ticketTypeId = transactionTemplate.execute(status -> {
+      TicketHold hold = ticketHoldRepository.findById(holdId).orElse(null);
+      if (hold == null
+          || ticketHoldRepository.endHold(holdId, outcome, LocalDateTime.now()) == 0) {
+        return null;
+      }
+      ticketTypeRepository.returnInventory(hold.getTicketType().getId(), hold.getQuantity());
+      return hold.getTicketType().getId();
+    });
+
+    if (ticketTypeId == null) {
+      return false;
+    }
+    // Only after commit, so that the engine's next lease sees the returned units
+    ticketInventoryEngine.inventoryReturned(ticketTypeId);
+    soldOutRegistry.markReplenished(ticketTypeId);
+    return true;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    List<TicketHold> activeHolds = ticketHoldRepository.findByStatus(TicketHoldStatusEnum.ACTIVE);
+    activeHolds.forEach(hold -> schedule(hold.getId(), hold.getExpiresAt()));
+    if (!activeHolds.isEmpty()) {
+      log.info("Scheduled expiry of {} active ticket holds", activeHolds.size());
+    }
+
+    ticker.scheduleWithFixedDelay(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+  }
+
+  void tick() {
+    for (UUID holdId : wheel.advance(System.currentTimeMillis())) {
+      try {
+        if (endHold(holdId, TicketHoldStatusEnum.EXPIRED)) {
+          log.debug("Expired ticket hold {}", holdId);
+        }
+      } catch (RuntimeException ex) {
+        // Retry shortly; the hold stays counted as sold until it is expired
+        log.error("Failed to expire ticket hold {}", holdId, ex);
+        wheel.schedule(holdId, System.currentTimeMillis() + tickMillis * 5);
+      }
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    ticker.shutdownNow();
+  }
+}
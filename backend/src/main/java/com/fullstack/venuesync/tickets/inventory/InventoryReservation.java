@@ -0,0 +1,65 @@
+package com.fullstack.venuesync.tickets.inventory;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Units of stock handed out by the {@link TicketInventoryEngine} that are not yet
+ * backed by ticket rows. The reservation must either be bound to the transaction
+ * that inserts the tickets, or released.
+ */
+public final class InventoryReservation {
+
+  private final UUID ticketTypeId;
+  private final int quantity;
+  private final TicketInventoryEngine.Inventory inventory;
+  private final AtomicBoolean completed = new AtomicBoolean();
+
+  InventoryReservation(UUID ticketTypeId, int quantity, TicketInventoryEngine.Inventory inventory) {
+    this.ticketTypeId = ticketTypeId;
+    this.quantity = quantity;
+    this.inventory = inventory;
+  }
+
+  public UUID getTicketTypeId() {
+    return ticketTypeId;
+  }
+
+  public int getQuantity() {
+    return quantity;
+  }
+
+  /**
+   * Ties the reservation to the current transaction: it is handed back to the stock
+   * if the transaction rolls back. Without an active transaction the reservation is
+   * kept immediately.
+   */
+  public void bindToTransaction() {
+    if (!completed.compareAndSet(false, true)
+        || !TransactionSynchronizationManager.isSynchronizationActive()) {
+      return;
+    }
+
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCompletion(int status) {
+        // An unknown outcome may have committed; keeping the units counted can only undersell
+        if (status == STATUS_ROLLED_BACK) {
+          inventory.release(quantity);
+        }
+      }
+    });
+  }
+
+  /**
+   * Hands the units back to the stock unless the reservation was already bound
+   * to a transaction. Safe to call from a {@code finally} block.
+   */
+  public void releaseIfUnbound() {
+    if (completed.compareAndSet(false, true)) {
+      inventory.release(quantity);
+    }
+  }
+}
@@ -0,0 +1,76 @@
+package com.fullstack.venuesync.tickets.inventory;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.fullstack.venuesync.tickets.domain.TicketInventoryChangedEvent;
+import com.fullstack.venuesync.tickets.domain.TicketInventoryStrategyEnum;
+import com.fullstack.venuesync.tickets.domain.TicketType;
+
+/**
+ * Remembers which ticket types are sold out, so that further purchase attempts can be
+ * rejected before any database work. A ticket type is marked when a claim for a single
+ * ticket fails and cleared when inventory is given back or its capacity changes.
+ * Marks also lapse after a short TTL, which covers inventory returned by other
+ * instances or by the reconciliation job.
+ */
+@Component
+public class SoldOutRegistry {
+
+  private final TicketInventoryEngine ticketInventoryEngine;
+  private final long ttlNanos;
+  private final Map<UUID, Long> soldOutUntil = new ConcurrentHashMap<>();
+
+  public SoldOutRegistry(
+      TicketInventoryEngine ticketInventoryEngine,
+      @Value("${app.tickets.sold-out.ttl-seconds:30}") long ttlSeconds
+  ) {
+    this.ticketInventoryEngine = ticketInventoryEngine;
+    this.ttlNanos = ttlSeconds * 1_000_000_000L;
+  }
+
+  public boolean isSoldOut(UUID ticketTypeId) {
+    Long until = soldOutUntil.get(ticketTypeId);
+    if (until == null) {
+      return false;
+    }
+    if (System.nanoTime() - until >= 0) {
+      soldOutUntil.remove(ticketTypeId, until);
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Whether a loaded ticket type should be shown as sold out. Besides the marks, the
+   * sold counter is trusted unless the inventory engine leases from it, in which case
+   * it also counts units that are still for sale in memory. Pooled ticket types do not
+   * maintain the counter and rely on the marks alone.
+   */
+  public boolean isSoldOut(TicketType ticketType) {
+    if (isSoldOut(ticketType.getId())) {
+      return true;
+    }
+    return ticketType.getTotalAvailable() != null
+        && ticketType.getInventoryStrategy() == TicketInventoryStrategyEnum.COUNTER
+        && !ticketInventoryEngine.handles(ticketType)
+        && ticketType.getSold() >= ticketType.getTotalAvailable();
+  }
+
+  public void markSoldOut(UUID ticketTypeId) {
+    soldOutUntil.put(ticketTypeId, System.nanoTime() + ttlNanos);
+  }
+
+  public void markReplenished(UUID ticketTypeId) {
+    soldOutUntil.remove(ticketTypeId);
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onTicketInventoryChanged(TicketInventoryChangedEvent event) {
+    markReplenished(event.ticketTypeId());
+  }
+}
@@ -0,0 +1,118 @@
+package com.fullstack.venuesync.tickets.inventory;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free counter of remaining stock, split across stripes so that buyers running
+ * on different cores rarely compete for the same cache line.
+ * Each thread starts at its own home stripe and only falls back to the others
+ * when its stripe cannot satisfy the request.
+ */
+final class StripedStockCounter {
+
+  // Spread the stripes 128 bytes apart so that neighbouring stripes never share a cache line
+  private static final int PADDING = 16;
+
+  private final AtomicLongArray cells;
+  private final int stripes;
+  private final int mask;
+
+  StripedStockCounter(int minStripes) {
+    int size = 1;
+    while (size < minStripes) {
+      size <<= 1;
+    }
+    this.stripes = size;
+    this.mask = size - 1;
+    this.cells = new AtomicLongArray(size * PADDING);
+  }
+
+  /**
+   * Takes {@code quantity} units from the stock, or nothing at all.
+   *
+   * @return true if the units were taken
+   */
+  boolean tryAcquire(int quantity) {
+    int home = homeStripe();
+
+    // Fast path: a single stripe holds enough stock
+    for (int i = 0; i < stripes; i++) {
+      int index = cellIndex(home + i);
+      long available;
+      while ((available = cells.get(index)) >= quantity) {
+        if (cells.compareAndSet(index, available, available - quantity)) {
+          return true;
+        }
+      }
+    }
+
+    // Slow path: the remaining stock is fragmented across stripes
+    long collected = 0;
+    for (int i = 0; i < stripes && collected < quantity; i++) {
+      int index = cellIndex(home + i);
+      long available;
+      while ((available = cells.get(index)) > 0) {
+        long taken = Math.min(available, quantity - collected);
+        if (cells.compareAndSet(index, available, available - taken)) {
+          collected += taken;
+          break;
+        }
+      }
+    }
+
+    if (collected < quantity) {
+      add(collected);
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Adds units to the stock, spread evenly across the stripes.
+   */
+  void add(long quantity) {
+    if (quantity <= 0) {
+      return;
+    }
+    long share = quantity / stripes;
+    long remainder = quantity % stripes;
+    int home = homeStripe();
+    for (int i = 0; i < stripes; i++) {
+      long amount = share + (i < remainder ? 1 : 0);
+      if (amount > 0) {
+        cells.getAndAdd(cellIndex(home + i), amount);
+      }
+    }
+  }
+
+  /**
+   * Removes and returns all units currently held.
+   */
+  long drain() {
+    long drained = 0;
+    for (int i = 0; i < stripes; i++) {
+      drained += cells.getAndSet(cellIndex(i), 0);
+    }
+    return drained;
+  }
+
+  /**
+   * Returns the current stock. Only a snapshot while other threads are active.
+   */
+  long sum() {
+    long sum = 0;
+    for (int i = 0; i < stripes; i++) {
+      sum += cells.get(cellIndex(i));
+    }
+    return sum;
+  }
+
+  private int cellIndex(int stripe) {
+    return (stripe & mask) * PADDING;
+  }
+
+  private int homeStripe() {
+    // Fibonacci hashing spreads sequential thread ids across the stripes
+    return (int) ((Thread.currentThread().threadId() * 0x9E3779B97F4A7C15L) >>> 40) & mask;
+  }
+}
@@ -0,0 +1,204 @@
+package com.fullstack.venuesync.tickets.inventory;
+
+import jakarta.annotation.PreDestroy;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fullstack.venuesync.tickets.domain.TicketInventoryChangedEvent;
+import com.fullstack.venuesync.tickets.domain.TicketInventoryStrategyEnum;
+import com.fullstack.venuesync.tickets.domain.TicketType;
+import com.fullstack.venuesync.tickets.repository.TicketTypeRepository;
+
+/**
+ * In-memory inventory for limited ticket types, used so that buyers of the same
+ * ticket type do not all queue on its database row.
+ *
+ * <p>Stock is leased from the database in blocks: a lease advances the ticket type's
+ * sold counter in its own committed transaction before the units are handed out in
+ * memory, so the database never allows more tickets than exist even if the process
+ * crashes. Leases may be held by several instances at once, so while the engine is
+ * enabled the inventory reconciliation job leaves limited ticket types alone: units
+ * leased by a crashed instance stay counted as sold rather than risk being sold twice.
+ * The setting must therefore be the same on every instance. Units still unsold when
+ * the application shuts down are returned to the database.</p>
+ *
+ * <p>Reservations must be taken outside of any transaction: a lease needs its own
+ * connection, and waiting for one while holding another can exhaust the pool.</p>
+ */
+@Component
+@Slf4j
+public class TicketInventoryEngine {
+
+  private final TicketTypeRepository ticketTypeRepository;
+  private final TransactionTemplate leaseTransaction;
+  private final boolean enabled;
+  private final int leaseSize;
+  private final int stripes;
+  private final Map<UUID, Inventory> inventories = new ConcurrentHashMap<>();
+
+  public TicketInventoryEngine(
+      TicketTypeRepository ticketTypeRepository,
+      PlatformTransactionManager transactionManager,
+      @Value("${app.tickets.inventory.striped.enabled:false}") boolean enabled,
+      @Value("${app.tickets.inventory.striped.lease-size:64}") int leaseSize
+  ) {
+    this.ticketTypeRepository = ticketTypeRepository;
+    this.leaseTransaction = new TransactionTemplate(transactionManager);
+    this.leaseTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.enabled = enabled;
+    this.leaseSize = Math.max(1, leaseSize);
+    this.stripes = Runtime.getRuntime().availableProcessors();
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Whether purchases of the given ticket type should go through the engine.
+   * Unlimited ticket types have nothing to protect and always use the database counter,
+   * and pooled ticket types claim their pre-created tickets instead.
+   */
+  public boolean handles(TicketType ticketType) {
+    return enabled && ticketType.getTotalAvailable() != null
+        && ticketType.getInventoryStrategy() == TicketInventoryStrategyEnum.COUNTER;
+  }
+
+  /**
+   * Reserves {@code quantity} tickets of a ticket type, leasing a new block from the
+   * database when the in-memory stock runs dry.
+   *
+   * @return the reservation, or null if the ticket type is sold out
+   */
+  public InventoryReservation tryReserve(UUID ticketTypeId, int quantity) {
+    Inventory inventory = inventories.computeIfAbsent(ticketTypeId, id -> new Inventory(stripes));
+
+    while (!inventory.stock.tryAcquire(quantity)) {
+      if (!refill(ticketTypeId, inventory, quantity)) {
+        return null;
+      }
+    }
+
+    return new InventoryReservation(ticketTypeId, quantity, inventory);
+  }
+
+  /**
+   * Signals that inventory was given back to the database outside of the engine
+   * (e.g. an expired ticket hold), so that a sold-out ticket type may lease again.
+   */
+  public void inventoryReturned(UUID ticketTypeId) {
+    Inventory inventory = inventories.get(ticketTypeId);
+    if (inventory != null) {
+      inventory.exhausted = false;
+    }
+  }
+
+  /**
+   * Returns unsold leased units to the database after the capacity of a ticket type
+   * changed, so that the next lease is taken against the new capacity.
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onTicketInventoryChanged(TicketInventoryChangedEvent event) {
+    Inventory inventory = inventories.get(event.ticketTypeId());
+    if (inventory == null) {
+      return;
+    }
+
+    returnStock(event.ticketTypeId(), inventory);
+    inventory.exhausted = false;
+  }
+
+  /**
+   * Returns the unsold leased units of every ticket type to the database, so that they
+   * are not lost to the sold counter until the next capacity change.
+   */
+  @PreDestroy
+  public void shutdown() {
+    inventories.forEach(this::returnStock);
+  }
+
+  private void returnStock(UUID ticketTypeId, Inventory inventory) {
+    inventory.leaseLock.lock();
+    try {
+      long drained = inventory.stock.drain();
+      if (drained > 0) {
+        try {
+          leaseTransaction.executeWithoutResult(status ->
+              ticketTypeRepository.returnInventory(ticketTypeId, (int) drained));
+        } catch (RuntimeException ex) {
+          log.error("Failed to return {} leased units for ticket type {}",
+              drained, ticketTypeId, ex);
+          inventory.stock.add(drained);
+        }
+      }
+    } finally {
+      inventory.leaseLock.unlock();
+    }
+  }
+
+  private boolean refill(UUID ticketTypeId, Inventory inventory, int quantity) {
+    inventory.leaseLock.lock();
+    try {
+      // Another buyer may have refilled the stock while we were waiting
+      if (inventory.stock.sum() >= quantity) {
+        return true;
+      }
+      if (inventory.exhausted) {
+        return false;
+      }
+
+      int leased = lease(ticketTypeId, Math.max(leaseSize, quantity));
+      if (leased == 0) {
+        inventory.exhausted = true;
+        return false;
+      }
+
+      inventory.stock.add(leased);
+      log.debug("Leased {} units for ticket type {}", leased, ticketTypeId);
+      return true;
+    } finally {
+      inventory.leaseLock.unlock();
+    }
+  }
+
+  private int lease(UUID ticketTypeId, int requested) {
+    Integer leased = leaseTransaction.execute(status -> {
+      // Other instances may lease concurrently, so retry until the conditional update wins
+      while (true) {
+        Integer remaining = ticketTypeRepository.findRemainingInventory(ticketTypeId);
+        if (remaining == null || remaining <= 0) {
+          return 0;
+        }
+        int quantity = Math.min(requested, remaining);
+        if (ticketTypeRepository.leaseInventory(ticketTypeId, quantity) > 0) {
+          return quantity;
+        }
+      }
+    });
+    return leased == null ? 0 : leased;
+  }
+
+  static final class Inventory {
+
+    private final StripedStockCounter stock;
+    private final ReentrantLock leaseLock = new ReentrantLock();
+    private volatile boolean exhausted;
+
+    Inventory(int stripes) {
+      this.stock = new StripedStockCounter(stripes);
+    }
+
+    void release(int quantity) {
+      stock.add(quantity);
+    }
+  }
+}
@@ -7,7 +7,9 @@ import org.mapstruct.ReportingPolicy;
 import com.fullstack.venuesync.tickets.dto.GetTicketResponseDto;
 import com.fullstack.venuesync.tickets.dto.ListTicketResponseDto;
 import com.fullstack.venuesync.tickets.dto.ListTicketTicketTypeResponseDto;
+import com.fullstack.venuesync.tickets.dto.TicketHoldResponseDto;
 import com.fullstack.venuesync.tickets.domain.Ticket;
+import com.fullstack.venuesync.tickets.domain.TicketHold;
 import com.fullstack.venuesync.tickets.domain.TicketType;
 
 @Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
@@ -28,4 +30,7 @@ public interface TicketMapper {
   @Mapping(target = "eventEnd", source = "ticketType.event.end")
   GetTicketResponseDto toGetTicketResponseDto(Ticket ticket);
 
+  @Mapping(target = "ticketTypeId", source = "ticketType.id")
+  TicketHoldResponseDto toTicketHoldResponseDto(TicketHold ticketHold);
+
 }
@@ -0,0 +1,31 @@
+package com.fullstack.venuesync.tickets.repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.fullstack.venuesync.tickets.domain.IdempotencyRecord;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, UUID> {
+
+  Optional<IdempotencyRecord> findByUserIdAndIdempotencyKey(UUID userId, String idempotencyKey);
+
+  @Modifying
+  @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+  int deleteExpired(@Param("now") LocalDateTime now);
+
+  @Modifying
+  @Query("DELETE FROM IdempotencyRecord r " +
+         "WHERE r.userId = :userId AND r.idempotencyKey = :idempotencyKey AND r.expiresAt < :now")
+  int deleteExpiredByUserIdAndIdempotencyKey(
+      @Param("userId") UUID userId,
+      @Param("idempotencyKey") String idempotencyKey,
+      @Param("now") LocalDateTime now
+  );
+}
@@ -0,0 +1,53 @@
+package com.fullstack.venuesync.tickets.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.fullstack.venuesync.tickets.domain.TicketHold;
+import com.fullstack.venuesync.tickets.domain.TicketHoldStatusEnum;
+
+@Repository
+public interface TicketHoldRepository extends JpaRepository<TicketHold, UUID> {
+
+  Optional<TicketHold> findByIdAndPurchaserId(UUID id, UUID purchaserId);
+
+  /**
+   * Find the holds in a given status, used to rebuild the in-memory expiry schedule on startup.
+   */
+  List<TicketHold> findByStatus(TicketHoldStatusEnum status);
+
+  /**
+   * Atomically confirms an active hold that has not expired yet.
+   *
+   * @return 1 if the hold was confirmed, 0 if it is no longer active or has expired
+   */
+  @Modifying
+  @Query("UPDATE TicketHold h SET h.status = com.fullstack.venuesync.tickets.domain.TicketHoldStatusEnum.CONFIRMED, " +
+         "h.updatedAt = :now " +
+         "WHERE h.id = :id " +
+         "AND h.status = com.fullstack.venuesync.tickets.domain.TicketHoldStatusEnum.ACTIVE " +
+         "AND h.expiresAt > :now")
+  int confirmHold(@Param("id") UUID id, @Param("now") LocalDateTime now);
+
+  /**
+   * Atomically ends an active hold, so that its inventory is given back exactly once.
+   *
+   * @return 1 if the hold was ended, 0 if it was no longer active
+   */
+  @Modifying
+  @Query("UPDATE TicketHold h SET h.status = :status, h.updatedAt = :now " +
+         "WHERE h.id = :id " +
+         "AND h.status = com.fullstack.venuesync.tickets.domain.TicketHoldStatusEnum.ACTIVE")
+  int endHold(
+      @Param("id") UUID id,
+      @Param("status") TicketHoldStatusEnum status,
+      @Param("now") LocalDateTime now
+  );
+}
@@ -1,28 +1,81 @@
 package com.fullstack.venuesync.tickets.repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.fullstack.venuesync.tickets.domain.Ticket;
 import com.fullstack.venuesync.tickets.domain.TicketStatusEnum;
+import com.fullstack.venuesync.tickets.domain.TicketVersion;
 
 @Repository
 public interface TicketRepository extends JpaRepository<Ticket, UUID> {
 
   int countByTicketTypeId(UUID ticketTypeId);
 
+  int countByTicketTypeIdAndStatus(UUID ticketTypeId, TicketStatusEnum status);
+
+  int countByTicketTypeIdAndStatusNot(UUID ticketTypeId, TicketStatusEnum status);
+
+  long countByTicketTypeEventIdAndStatus(UUID eventId, TicketStatusEnum status);
+
+  /**
+   * Find unclaimed tickets of a pooled ticket type, locking them with SKIP LOCKED
+   * (lock timeout -2) so that concurrent buyers each get different rows without
+   * waiting for one another.
+   */
+  @Query("SELECT t FROM Ticket t " +
+         "WHERE t.ticketType.id = :ticketTypeId AND t.status = :status")
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+  List<Ticket> findAvailableForUpdate(
+      @Param("ticketTypeId") UUID ticketTypeId,
+      @Param("status") TicketStatusEnum status,
+      Pageable pageable
+  );
+
+  /**
+   * Delete up to {@code count} unclaimed tickets of a pooled ticket type. The status is
+   * checked again on the deleted rows, so a ticket claimed in the meantime is kept.
+   */
+  @Modifying
+  @Query(value = "DELETE FROM tickets WHERE status = 'AVAILABLE' AND id IN (" +
+                 "SELECT t.id FROM tickets t " +
+                 "WHERE t.ticket_type_id = :ticketTypeId AND t.status = 'AVAILABLE' " +
+                 "LIMIT :count)",
+         nativeQuery = true)
+  int deleteAvailable(@Param("ticketTypeId") UUID ticketTypeId, @Param("count") int count);
+
   Page<Ticket> findByPurchaserId(UUID purchaserId, Pageable pageable);
 
   Optional<Ticket> findByIdAndPurchaserId(UUID id, UUID purchaserId);
 
+  /**
+   * Read only the modification times behind a ticket's details, so that conditional
+   * requests can be answered without loading and mapping the ticket.
+   */
+  @Query("SELECT new com.fullstack.venuesync.tickets.domain.TicketVersion(" +
+         "t.id, t.updatedAt, tt.updatedAt, e.updatedAt) " +
+         "FROM Ticket t JOIN t.ticketType tt JOIN tt.event e " +
+         "WHERE t.id = :id AND t.purchaser.id = :purchaserId")
+  Optional<TicketVersion> findVersionByIdAndPurchaserId(
+      @Param("id") UUID id,
+      @Param("purchaserId") UUID purchaserId
+  );
+
   /**
    * Find all active (PURCHASED) tickets for a user, ordered by event start date.
    * Active tickets are those with status PURCHASED where the event has not ended yet.
@@ -57,6 +110,61 @@ public interface TicketRepository extends JpaRepository<Ticket, UUID> {
       Pageable pageable
   );
 
+  /**
+   * Find the IDs of an event's tickets in the given status.
+   */
+  @Query("SELECT t.id FROM Ticket t WHERE t.ticketType.event.id = :eventId AND t.status = :status")
+  List<UUID> findIdsByEventIdAndStatus(
+      @Param("eventId") UUID eventId,
+      @Param("status") TicketStatusEnum status
+  );
+
+  /**
+   * Find tickets by ID, locking them so that their status can be decided and then
+   * updated in bulk without a concurrent validation slipping in between. Rows are
+   * locked in ID order, so overlapping batches cannot deadlock.
+   */
+  @Query("SELECT t FROM Ticket t WHERE t.id IN :ids ORDER BY t.id")
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  List<Ticket> findAllByIdForUpdate(@Param("ids") Collection<UUID> ids);
+
+  /**
+   * Read a ticket's current status from the database, bypassing any loaded entity.
+   */
+  @Query("SELECT t.status FROM Ticket t WHERE t.id = :id")
+  Optional<TicketStatusEnum> findStatusById(@Param("id") UUID id);
+
+  /**
+   * Move a ticket from one status to another if it is still in {@code currentStatus}.
+   * The row lock taken by the update makes this an atomic check-and-set, so of several
+   * concurrent transitions exactly one sees an updated row.
+   *
+   * @return 1 if the ticket was moved, 0 otherwise
+   */
+  @Modifying
+  @Query("UPDATE Ticket t SET t.status = :newStatus, t.updatedAt = :now " +
+         "WHERE t.id = :id AND t.status = :currentStatus")
+  int updateStatusById(
+      @Param("id") UUID id,
+      @Param("newStatus") TicketStatusEnum newStatus,
+      @Param("currentStatus") TicketStatusEnum currentStatus,
+      @Param("now") LocalDateTime now
+  );
+
+  /**
+   * Move the given tickets from one status to another in a single statement.
+   * Tickets no longer in {@code currentStatus} are left alone.
+   */
+  @Modifying
+  @Query("UPDATE Ticket t SET t.status = :newStatus, t.updatedAt = :now " +
+         "WHERE t.id IN :ids AND t.status = :currentStatus")
+  int updateStatusByIds(
+      @Param("ids") Collection<UUID> ids,
+      @Param("newStatus") TicketStatusEnum newStatus,
+      @Param("currentStatus") TicketStatusEnum currentStatus,
+      @Param("now") LocalDateTime now
+  );
+
   /**
    * Update tickets to EXPIRED status for events that have ended.
    * Only updates tickets that are currently PURCHASED.
@@ -1,10 +1,12 @@
 package com.fullstack.venuesync.tickets.repository;
 
 import jakarta.persistence.LockModeType;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -17,4 +19,81 @@ public interface TicketTypeRepository extends JpaRepository<TicketType, UUID> {
   @Query("SELECT tt FROM TicketType tt WHERE tt.id = :id")
   @Lock(LockModeType.PESSIMISTIC_WRITE)
   Optional<TicketType> findByIdWithLock(@Param("id") UUID id);
+
+  @Query("SELECT tt FROM TicketType tt JOIN FETCH tt.event WHERE tt.id = :id")
+  Optional<TicketType> findByIdWithEvent(@Param("id") UUID id);
+
+  /**
+   * Atomically claims {@code quantity} tickets from the inventory of a ticket type,
+   * all or nothing. The row lock taken by the update is held only until the
+   * surrounding transaction commits, and no count over the tickets table is needed.
+   *
+   * @param id the ticket type to claim from
+   * @param quantity the number of tickets to claim
+   * @return 1 if the tickets were claimed, 0 if not enough tickets are left
+   */
+  @Modifying
+  @Query("UPDATE TicketType tt SET tt.sold = tt.sold + :quantity " +
+         "WHERE tt.id = :id " +
+         "AND (tt.totalAvailable IS NULL OR tt.sold + :quantity <= tt.totalAvailable)")
+  int incrementSold(@Param("id") UUID id, @Param("quantity") int quantity);
+
+  /**
+   * Returns how many tickets of a limited ticket type are still unclaimed,
+   * or null if the ticket type is unlimited or does not exist.
+   */
+  @Query("SELECT tt.totalAvailable - tt.sold FROM TicketType tt WHERE tt.id = :id")
+  Integer findRemainingInventory(@Param("id") UUID id);
+
+  /**
+   * Atomically claims a block of inventory for the in-memory inventory engine.
+   *
+   * @return 1 if the whole block was claimed, 0 if not enough tickets remain
+   */
+  @Modifying
+  @Query("UPDATE TicketType tt SET tt.sold = tt.sold + :quantity " +
+         "WHERE tt.id = :id " +
+         "AND tt.totalAvailable IS NOT NULL " +
+         "AND tt.sold + :quantity <= tt.totalAvailable")
+  int leaseInventory(@Param("id") UUID id, @Param("quantity") int quantity);
+
+  /**
+   * Gives back inventory that was claimed but never turned into tickets.
+   */
+  @Modifying
+  @Query("UPDATE TicketType tt SET tt.sold = tt.sold - :quantity " +
+         "WHERE tt.id = :id AND tt.sold >= :quantity")
+  int returnInventory(@Param("id") UUID id, @Param("quantity") int quantity);
+
+  /**
+   * Find the ticket types whose sold counter no longer matches the number of tickets
+   * issued plus the tickets held by active holds. Pooled ticket types do not use the
+   * sold counter and are skipped, as are limited ticket types unless
+   * {@code includeLimited} is set: while the inventory engine is enabled, their counters
+   * include units leased by instances whose in-memory stock cannot be seen from here.
+   */
+  @Query(value = "SELECT tt.id FROM ticket_types tt " +
+                 "WHERE tt.inventory_strategy = 'COUNTER' " +
+                 "AND (:includeLimited = TRUE OR tt.total_available IS NULL) " +
+                 "AND tt.sold <> (SELECT COUNT(*) FROM tickets t " +
+                 "WHERE t.ticket_type_id = tt.id AND t.status <> 'AVAILABLE') " +
+                 "+ (SELECT COALESCE(SUM(h.quantity), 0) FROM ticket_holds h " +
+                 "WHERE h.ticket_type_id = tt.id AND h.status = 'ACTIVE')",
+         nativeQuery = true)
+  List<UUID> findIdsWithDriftedSoldCounter(@Param("includeLimited") boolean includeLimited);
+
+  /**
+   * Recompute the sold counter of a ticket type from the tickets table and the active
+   * holds. Callers must hold the row lock (see {@link #findByIdWithLock(UUID)}) so that
+   * no purchase commits between the count and the update.
+   */
+  @Modifying
+  @Query(value = "UPDATE ticket_types SET sold = " +
+                 "(SELECT COUNT(*) FROM tickets t " +
+                 "WHERE t.ticket_type_id = ticket_types.id AND t.status <> 'AVAILABLE') " +
+                 "+ (SELECT COALESCE(SUM(h.quantity), 0) FROM ticket_holds h " +
+                 "WHERE h.ticket_type_id = ticket_types.id AND h.status = 'ACTIVE') " +
+                 "WHERE id = :id",
+         nativeQuery = true)
+  int reconcileSoldCounter(@Param("id") UUID id);
 }
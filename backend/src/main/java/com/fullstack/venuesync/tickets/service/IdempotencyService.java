@@ -0,0 +1,46 @@
+package com.fullstack.venuesync.tickets.service;
+
+import java.util.List;
+import java.util.UUID;
+
+import com.fullstack.venuesync.tickets.domain.IdempotencyRecord;
+import com.fullstack.venuesync.tickets.domain.PurchaseResult;
+import com.fullstack.venuesync.tickets.domain.Ticket;
+
+public interface IdempotencyService {
+
+  /**
+   * Looks up the outcome of an earlier purchase made with the same key, first in a
+   * bounded in-memory cache and then in the database.
+   *
+   * @param userId the UUID of the purchasing user
+   * @param idempotencyKey the key sent by the client
+   * @param ticketTypeId the UUID of the ticket type being purchased
+   * @param quantity the number of tickets being purchased
+   * @return the replayed result, or null if the key has not been used yet
+   * @throws com.fullstack.venuesync.tickets.exception.IdempotencyKeyMismatchException if the key was used for a different purchase
+   */
+  PurchaseResult findReplay(UUID userId, String idempotencyKey, UUID ticketTypeId, int quantity);
+
+  /**
+   * Claims a key for a purchase. Must be called first in the purchase transaction: the
+   * insert is flushed immediately, so a concurrent request with the same key blocks on the
+   * unique constraint until this purchase ends, then fails and can be replayed.
+   *
+   * @return the new record, to be completed once the tickets exist
+   */
+  IdempotencyRecord reserve(UUID userId, String idempotencyKey, UUID ticketTypeId, int quantity);
+
+  /**
+   * Stores the issued tickets on a reserved record. Must be called in the purchase
+   * transaction; the result is cached once the transaction commits.
+   */
+  void complete(IdempotencyRecord record, List<Ticket> tickets);
+
+  /**
+   * Deletes records older than the retention period.
+   *
+   * @return the number of records deleted
+   */
+  int purgeExpiredRecords();
+}
@@ -0,0 +1,150 @@
+package com.fullstack.venuesync.tickets.service;
+
+import jakarta.transaction.Transactional;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fullstack.venuesync.tickets.domain.IdempotencyRecord;
+import com.fullstack.venuesync.tickets.domain.PurchaseResult;
+import com.fullstack.venuesync.tickets.domain.Ticket;
+import com.fullstack.venuesync.tickets.exception.IdempotencyKeyMismatchException;
+import com.fullstack.venuesync.tickets.repository.IdempotencyRecordRepository;
+
+@Service
+@Slf4j
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+  private final IdempotencyRecordRepository idempotencyRecordRepository;
+  private final long ttlHours;
+  private final Map<CacheKey, Outcome> cache;
+
+  public IdempotencyServiceImpl(
+      IdempotencyRecordRepository idempotencyRecordRepository,
+      @Value("${app.tickets.idempotency.ttl-hours:24}") long ttlHours,
+      @Value("${app.tickets.idempotency.cache-size:10000}") int cacheSize
+  ) {
+    this.idempotencyRecordRepository = idempotencyRecordRepository;
+    this.ttlHours = ttlHours;
+    // Access-ordered, so the least recently replayed outcome is evicted first
+    this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<CacheKey, Outcome> eldest) {
+        return size() > cacheSize;
+      }
+    };
+  }
+
+  @Override
+  public PurchaseResult findReplay(UUID userId, String idempotencyKey, UUID ticketTypeId,
+      int quantity) {
+    CacheKey cacheKey = new CacheKey(userId, idempotencyKey);
+    Outcome outcome = getCached(cacheKey);
+
+    if (outcome == null) {
+      IdempotencyRecord record = idempotencyRecordRepository
+          .findByUserIdAndIdempotencyKey(userId, idempotencyKey)
+          .orElse(null);
+      if (record == null || record.getExpiresAt().isBefore(LocalDateTime.now())) {
+        return null;
+      }
+      outcome = toOutcome(record);
+      putCached(cacheKey, outcome);
+    }
+
+    if (!outcome.ticketTypeId().equals(ticketTypeId) || outcome.quantity() != quantity) {
+      throw new IdempotencyKeyMismatchException(
+          String.format("Idempotency key %s was already used for a different purchase", idempotencyKey));
+    }
+
+    return new PurchaseResult(outcome.ticketIds(), true);
+  }
+
+  @Override
+  public IdempotencyRecord reserve(UUID userId, String idempotencyKey, UUID ticketTypeId,
+      int quantity) {
+    LocalDateTime now = LocalDateTime.now();
+    // An expired record not purged yet would still hold the key's unique constraint
+    idempotencyRecordRepository.deleteExpiredByUserIdAndIdempotencyKey(userId, idempotencyKey, now);
+
+    IdempotencyRecord record = new IdempotencyRecord();
+    record.setUserId(userId);
+    record.setIdempotencyKey(idempotencyKey);
+    record.setTicketTypeId(ticketTypeId);
+    record.setQuantity(quantity);
+    record.setExpiresAt(now.plusHours(ttlHours));
+    return idempotencyRecordRepository.saveAndFlush(record);
+  }
+
+  @Override
+  public void complete(IdempotencyRecord record, List<Ticket> tickets) {
+    record.setTicketIds(tickets.stream()
+        .map(ticket -> ticket.getId().toString())
+        .collect(Collectors.joining(",")));
+    idempotencyRecordRepository.save(record);
+
+    CacheKey cacheKey = new CacheKey(record.getUserId(), record.getIdempotencyKey());
+    Outcome outcome = toOutcome(record);
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      putCached(cacheKey, outcome);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        putCached(cacheKey, outcome);
+      }
+    });
+  }
+
+  @Override
+  @Transactional
+  public int purgeExpiredRecords() {
+    LocalDateTime now = LocalDateTime.now();
+    synchronized (cache) {
+      cache.values().removeIf(outcome -> outcome.expiresAt().isBefore(now));
+    }
+    return idempotencyRecordRepository.deleteExpired(now);
+  }
+
+  private Outcome getCached(CacheKey cacheKey) {
+    synchronized (cache) {
+      Outcome outcome = cache.get(cacheKey);
+      if (outcome != null && outcome.expiresAt().isBefore(LocalDateTime.now())) {
+        cache.remove(cacheKey);
+        return null;
+      }
+      return outcome;
+    }
+  }
+
+  private void putCached(CacheKey cacheKey, Outcome outcome) {
+    synchronized (cache) {
+      cache.put(cacheKey, outcome);
+    }
+  }
+
+  private Outcome toOutcome(IdempotencyRecord record) {
+    List<UUID> ticketIds = record.getTicketIds() == null || record.getTicketIds().isEmpty()
+        ? List.of()
+        : Arrays.stream(record.getTicketIds().split(",")).map(UUID::fromString).toList();
+    return new Outcome(record.getTicketTypeId(), record.getQuantity(), ticketIds,
+        record.getExpiresAt());
+  }
+
+  private record CacheKey(UUID userId, String idempotencyKey) {
+  }
+
+  private record Outcome(UUID ticketTypeId, int quantity, List<UUID> ticketIds,
+      LocalDateTime expiresAt) {
+  }
+}
@@ -0,0 +1,17 @@
+package com.fullstack.venuesync.tickets.service;
+
+/**
+ * Service interface for keeping the denormalized ticket type inventory counters
+ * consistent with the tickets that were actually issued.
+ */
+public interface TicketInventoryReconciliationService {
+
+  /**
+   * Recomputes the sold counter of every ticket type whose counter has drifted
+   * from the number of tickets stored for it, keeping units that the in-memory
+   * inventory engine has leased but not yet sold.
+   *
+   * @return the number of ticket types whose counter was corrected
+   */
+  int reconcileSoldCounters();
+}
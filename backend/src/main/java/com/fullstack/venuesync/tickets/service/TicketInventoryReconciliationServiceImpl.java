@@ -0,0 +1,44 @@
+package com.fullstack.venuesync.tickets.service;
+
+import jakarta.transaction.Transactional;
+import java.util.List;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import com.fullstack.venuesync.tickets.inventory.TicketInventoryEngine;
+import com.fullstack.venuesync.tickets.repository.TicketTypeRepository;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TicketInventoryReconciliationServiceImpl implements TicketInventoryReconciliationService {
+
+  private final TicketTypeRepository ticketTypeRepository;
+  private final TicketInventoryEngine ticketInventoryEngine;
+
+  @Override
+  @Transactional
+  public int reconcileSoldCounters() {
+    // Leased units of every instance are part of the sold counters of engine-managed
+    // ticket types, and only the instance holding a lease knows how much of it is unsold
+    List<UUID> driftedIds = ticketTypeRepository.findIdsWithDriftedSoldCounter(
+        !ticketInventoryEngine.isEnabled());
+
+    int reconciledCount = 0;
+    for (UUID ticketTypeId : driftedIds) {
+      // Lock first so the count below sees every purchase committed before us
+      if (ticketTypeRepository.findByIdWithLock(ticketTypeId).isEmpty()) {
+        continue;
+      }
+      reconciledCount += ticketTypeRepository.reconcileSoldCounter(ticketTypeId);
+    }
+
+    if (reconciledCount > 0) {
+      log.warn("Reconciled sold counters for {} ticket types", reconciledCount);
+    }
+
+    return reconciledCount;
+  }
+}
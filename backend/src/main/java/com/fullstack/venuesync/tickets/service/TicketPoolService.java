@@ -0,0 +1,21 @@
+package com.fullstack.venuesync.tickets.service;
+
+import com.fullstack.venuesync.tickets.domain.TicketType;
+
+/**
+ * Service interface for the pre-created tickets of ticket types using the
+ * {@code POOL} inventory strategy.
+ */
+public interface TicketPoolService {
+
+  /**
+   * Creates or deletes AVAILABLE tickets so that the pool of a ticket type, together
+   * with the tickets already claimed from it, matches its total available. Must be
+   * called within a transaction, after the ticket type has been persisted.
+   *
+   * @param ticketType a persisted ticket type using the {@code POOL} strategy
+   * @return the number of tickets created, or deleted if negative
+   * @throws com.fullstack.venuesync.tickets.exception.InventoryStrategyException if the ticket type has no total available
+   */
+  int resizePool(TicketType ticketType);
+}
@@ -0,0 +1,59 @@
+package com.fullstack.venuesync.tickets.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import com.fullstack.venuesync.tickets.domain.Ticket;
+import com.fullstack.venuesync.tickets.domain.TicketStatusEnum;
+import com.fullstack.venuesync.tickets.domain.TicketType;
+import com.fullstack.venuesync.tickets.exception.InventoryStrategyException;
+import com.fullstack.venuesync.tickets.repository.TicketRepository;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TicketPoolServiceImpl implements TicketPoolService {
+
+  private final TicketRepository ticketRepository;
+
+  @Override
+  public int resizePool(TicketType ticketType) {
+    if (ticketType.getTotalAvailable() == null) {
+      throw new InventoryStrategyException(String.format(
+          "Pooled ticket type '%s' must have a total available", ticketType.getName()));
+    }
+
+    int claimed = ticketRepository.countByTicketTypeIdAndStatusNot(
+        ticketType.getId(), TicketStatusEnum.AVAILABLE);
+    int available = ticketRepository.countByTicketTypeIdAndStatus(
+        ticketType.getId(), TicketStatusEnum.AVAILABLE);
+    // Tickets already claimed are never taken back, even if the total shrinks below them
+    int target = Math.max(0, ticketType.getTotalAvailable() - claimed);
+
+    if (target > available) {
+      int missing = target - available;
+      List<Ticket> tickets = new ArrayList<>(missing);
+      for (int i = 0; i < missing; i++) {
+        Ticket ticket = new Ticket();
+        ticket.setStatus(TicketStatusEnum.AVAILABLE);
+        ticket.setTicketType(ticketType);
+        tickets.add(ticket);
+      }
+      // Inserted as JDBC batches, see hibernate.jdbc.batch_size
+      ticketRepository.saveAll(tickets);
+      log.info("Minted {} tickets for pooled ticket type {}", missing, ticketType.getId());
+      return missing;
+    }
+
+    if (target < available) {
+      int deleted = ticketRepository.deleteAvailable(ticketType.getId(), available - target);
+      log.info("Removed {} unclaimed tickets from pooled ticket type {}", deleted, ticketType.getId());
+      return -deleted;
+    }
+
+    return 0;
+  }
+}
@@ -6,6 +6,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import com.fullstack.venuesync.tickets.domain.Ticket;
+import com.fullstack.venuesync.tickets.domain.TicketVersion;
 
 public interface TicketService {
 
@@ -45,4 +46,13 @@ public interface TicketService {
    * @return an Optional containing the ticket if found and owned by the user
    */
   Optional<Ticket> getTicketForUser(UUID userId, UUID ticketId);
+
+  /**
+   * Retrieves the modification times of a ticket owned by a user, without loading it.
+   *
+   * @param userId the UUID of the ticket purchaser
+   * @param ticketId the UUID of the ticket
+   * @return an Optional containing the ticket's version if found and owned by the user
+   */
+  Optional<TicketVersion> getTicketVersionForUser(UUID userId, UUID ticketId);
 }
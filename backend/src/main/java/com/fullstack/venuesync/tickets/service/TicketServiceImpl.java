@@ -11,6 +11,7 @@ import org.springframework.stereotype.Service;
 
 import com.fullstack.venuesync.tickets.domain.Ticket;
 import com.fullstack.venuesync.tickets.domain.TicketStatusEnum;
+import com.fullstack.venuesync.tickets.domain.TicketVersion;
 import com.fullstack.venuesync.tickets.repository.TicketRepository;
 
 @Service
@@ -53,4 +54,9 @@ public class TicketServiceImpl implements TicketService {
   public Optional<Ticket> getTicketForUser(UUID userId, UUID ticketId) {
     return ticketRepository.findByIdAndPurchaserId(ticketId, userId);
   }
+
+  @Override
+  public Optional<TicketVersion> getTicketVersionForUser(UUID userId, UUID ticketId) {
+    return ticketRepository.findVersionByIdAndPurchaserId(ticketId, userId);
+  }
 }
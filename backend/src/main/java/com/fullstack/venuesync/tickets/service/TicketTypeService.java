@@ -1,15 +1,22 @@
 package com.fullstack.venuesync.tickets.service;
 
+import java.util.List;
 import java.util.UUID;
 
+import com.fullstack.venuesync.tickets.domain.PurchaseResult;
 import com.fullstack.venuesync.tickets.domain.Ticket;
+import com.fullstack.venuesync.tickets.domain.TicketHold;
 
 public interface TicketTypeService {
 
   /**
-   * Purchases a ticket for a user with pessimistic locking to prevent overselling.
-   * Validates the sales period, checks ticket availability, creates the ticket,
-   * and generates an associated QR code.
+   * Purchases a ticket for a user. Inventory is claimed with an atomic conditional
+   * update of the ticket type's sold counter, or from the in-memory inventory engine
+   * when it is enabled, which prevents overselling without counting the tickets
+   * already issued. Ticket types using the {@code POOL} strategy instead hand out one
+   * of their pre-created AVAILABLE tickets, claimed with {@code FOR UPDATE SKIP LOCKED}.
+   * Validates the sales period, issues the ticket, and queues the creation of its
+   * QR code, which happens asynchronously after the purchase commits.
    *
    * @param userId the UUID of the purchasing user
    * @param ticketTypeId the UUID of the ticket type to purchase
@@ -20,4 +27,73 @@ public interface TicketTypeService {
    * @throws com.fullstack.venuesync.tickets.exception.TicketsSoldOutException if no tickets are available
    */
   Ticket purchaseTicket(UUID userId, UUID ticketTypeId);
+
+  /**
+   * Purchases several tickets of the same type for a user in a single transaction.
+   * The whole quantity is claimed with one inventory step, so either all tickets are
+   * issued or none are. Tickets and their QR code jobs are inserted in JDBC batches.
+   *
+   * @param userId the UUID of the purchasing user
+   * @param ticketTypeId the UUID of the ticket type to purchase
+   * @param quantity the number of tickets to purchase, at least 1
+   * @return the newly created Ticket entities
+   * @throws com.fullstack.venuesync.shared.exceptions.UserNotFoundException if the user is not found
+   * @throws com.fullstack.venuesync.tickets.exception.TicketTypeNotFoundException if the ticket type is not found
+   * @throws com.fullstack.venuesync.events.exception.SalesPeriodException if sales haven't started, have ended, or the event has ended
+   * @throws com.fullstack.venuesync.tickets.exception.TicketsSoldOutException if fewer than {@code quantity} tickets are available
+   */
+  List<Ticket> purchaseTickets(UUID userId, UUID ticketTypeId, int quantity);
+
+  /**
+   * Purchases tickets like {@link #purchaseTickets(UUID, UUID, int)}, but at most once per
+   * idempotency key. A request repeating a key that was already used by the same user is
+   * answered with the recorded outcome, without claiming inventory again.
+   *
+   * @param userId the UUID of the purchasing user
+   * @param ticketTypeId the UUID of the ticket type to purchase
+   * @param quantity the number of tickets to purchase, at least 1
+   * @param idempotencyKey the client-supplied key, or null to purchase unconditionally
+   * @return the issued ticket IDs, and whether they were replayed from an earlier request
+   * @throws com.fullstack.venuesync.tickets.exception.IdempotencyKeyMismatchException if the key was used for a different purchase
+   * @throws com.fullstack.venuesync.tickets.exception.TicketsSoldOutException if fewer than {@code quantity} tickets are available
+   */
+  PurchaseResult purchaseTickets(UUID userId, UUID ticketTypeId, int quantity, String idempotencyKey);
+
+  /**
+   * Holds tickets for a user while they check out. The held quantity is taken from the
+   * available inventory straight away and given back automatically once the hold expires,
+   * unless it is confirmed or released first.
+   *
+   * @param userId the UUID of the user
+   * @param ticketTypeId the UUID of the ticket type to hold
+   * @param quantity the number of tickets to hold, at least 1
+   * @return the new ACTIVE hold
+   * @throws com.fullstack.venuesync.shared.exceptions.UserNotFoundException if the user is not found
+   * @throws com.fullstack.venuesync.tickets.exception.TicketTypeNotFoundException if the ticket type is not found
+   * @throws com.fullstack.venuesync.events.exception.SalesPeriodException if sales haven't started, have ended, or the event has ended
+   * @throws com.fullstack.venuesync.tickets.exception.TicketsSoldOutException if fewer than {@code quantity} tickets are available
+   * @throws com.fullstack.venuesync.tickets.exception.InventoryStrategyException if the ticket type uses the {@code POOL} strategy
+   */
+  TicketHold holdTickets(UUID userId, UUID ticketTypeId, int quantity);
+
+  /**
+   * Turns an active hold into tickets.
+   *
+   * @param userId the UUID of the user owning the hold
+   * @param holdId the UUID of the hold
+   * @return the newly created Ticket entities
+   * @throws com.fullstack.venuesync.tickets.exception.TicketHoldNotFoundException if the hold is not found or not owned by the user
+   * @throws com.fullstack.venuesync.tickets.exception.TicketHoldExpiredException if the hold has expired or was already confirmed or released
+   */
+  List<Ticket> confirmHold(UUID userId, UUID holdId);
+
+  /**
+   * Releases an active hold and gives its tickets back. Releasing a hold that is
+   * no longer active has no effect.
+   *
+   * @param userId the UUID of the user owning the hold
+   * @param holdId the UUID of the hold
+   * @throws com.fullstack.venuesync.tickets.exception.TicketHoldNotFoundException if the hold is not found or not owned by the user
+   */
+  void releaseHold(UUID userId, UUID holdId);
 }
@@ -1,26 +1,43 @@
 package com.fullstack.venuesync.tickets.service;
 
-import jakarta.transaction.Transactional;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.fullstack.venuesync.events.domain.Event;
 import com.fullstack.venuesync.events.exception.SalesPeriodException;
 import com.fullstack.venuesync.shared.domain.User;
 import com.fullstack.venuesync.shared.domain.UserRepository;
 import com.fullstack.venuesync.shared.exceptions.UserNotFoundException;
+import com.fullstack.venuesync.tickets.domain.IdempotencyRecord;
+import com.fullstack.venuesync.tickets.domain.PurchaseResult;
 import com.fullstack.venuesync.tickets.domain.Ticket;
+import com.fullstack.venuesync.tickets.domain.TicketHold;
+import com.fullstack.venuesync.tickets.domain.TicketHoldStatusEnum;
+import com.fullstack.venuesync.tickets.domain.TicketInventoryStrategyEnum;
 import com.fullstack.venuesync.tickets.domain.TicketStatusEnum;
 import com.fullstack.venuesync.tickets.domain.TicketType;
+import com.fullstack.venuesync.tickets.exception.InventoryStrategyException;
+import com.fullstack.venuesync.tickets.exception.TicketHoldExpiredException;
+import com.fullstack.venuesync.tickets.exception.TicketHoldNotFoundException;
 import com.fullstack.venuesync.tickets.exception.TicketTypeNotFoundException;
 import com.fullstack.venuesync.tickets.exception.TicketsSoldOutException;
+import com.fullstack.venuesync.tickets.hold.TicketHoldExpirer;
+import com.fullstack.venuesync.tickets.inventory.InventoryReservation;
+import com.fullstack.venuesync.tickets.inventory.SoldOutRegistry;
+import com.fullstack.venuesync.tickets.inventory.TicketInventoryEngine;
+import com.fullstack.venuesync.tickets.repository.TicketHoldRepository;
 import com.fullstack.venuesync.tickets.repository.TicketRepository;
 import com.fullstack.venuesync.tickets.repository.TicketTypeRepository;
-import com.fullstack.venuesync.validation.service.QrCodeService;
+import com.fullstack.venuesync.validation.service.QrCodeJobService;
 
 @Service
 @RequiredArgsConstructor
@@ -30,23 +47,206 @@ public class TicketTypeServiceImpl implements TicketTypeService {
   private final UserRepository userRepository;
   private final TicketTypeRepository ticketTypeRepository;
   private final TicketRepository ticketRepository;
-  private final QrCodeService qrCodeService;
+  private final QrCodeJobService qrCodeJobService;
+  private final TicketInventoryEngine ticketInventoryEngine;
+  private final TicketHoldRepository ticketHoldRepository;
+  private final TicketHoldExpirer ticketHoldExpirer;
+  private final IdempotencyService idempotencyService;
+  private final SoldOutRegistry soldOutRegistry;
+  private final TransactionTemplate transactionTemplate;
 
   @Override
-  @Transactional
   public Ticket purchaseTicket(UUID userId, UUID ticketTypeId) {
-    User user = userRepository.findById(Objects.requireNonNull(userId)).orElseThrow(() -> new UserNotFoundException(
+    return purchaseTickets(userId, ticketTypeId, 1).get(0);
+  }
+
+  @Override
+  public List<Ticket> purchaseTickets(UUID userId, UUID ticketTypeId, int quantity) {
+    return purchase(userId, ticketTypeId, quantity, null);
+  }
+
+  @Override
+  public PurchaseResult purchaseTickets(UUID userId, UUID ticketTypeId, int quantity,
+      String idempotencyKey) {
+    if (idempotencyKey == null) {
+      return toPurchaseResult(purchase(userId, ticketTypeId, quantity, null));
+    }
+
+    // A retry is answered from the recorded outcome without touching inventory
+    PurchaseResult replay = idempotencyService.findReplay(userId, idempotencyKey, ticketTypeId, quantity);
+    if (replay != null) {
+      return replay;
+    }
+
+    try {
+      return toPurchaseResult(purchase(userId, ticketTypeId, quantity, idempotencyKey));
+    } catch (DataIntegrityViolationException | TicketsSoldOutException ex) {
+      // A concurrent request with the same key may have completed the purchase first
+      PurchaseResult concurrent = idempotencyService.findReplay(
+          userId, idempotencyKey, ticketTypeId, quantity);
+      if (concurrent == null) {
+        throw ex;
+      }
+      return concurrent;
+    }
+  }
+
+  private List<Ticket> purchase(UUID userId, UUID ticketTypeId, int quantity, String idempotencyKey) {
+    if (quantity < 1) {
+      throw new IllegalArgumentException("Quantity must be at least 1");
+    }
+    rejectIfSoldOut(ticketTypeId);
+
+    User user = findUser(userId);
+    TicketType ticketType = findTicketType(ticketTypeId);
+    validateSalesPeriod(ticketType.getEvent());
+
+    if (ticketType.getInventoryStrategy() == TicketInventoryStrategyEnum.POOL) {
+      return transactionTemplate.execute(status -> {
+        IdempotencyRecord record = reserveIdempotencyKey(userId, idempotencyKey, ticketTypeId, quantity);
+        return completeIdempotencyKey(record, claimPooledTickets(user, ticketType, quantity));
+      });
+    }
+
+    if (!ticketInventoryEngine.handles(ticketType)) {
+      return transactionTemplate.execute(status -> {
+        IdempotencyRecord record = reserveIdempotencyKey(userId, idempotencyKey, ticketTypeId, quantity);
+        // Claim inventory with a single conditional update; a null totalAvailable means unlimited
+        if (ticketTypeRepository.incrementSold(ticketType.getId(), quantity) == 0) {
+          throw soldOut(ticketTypeId, quantity);
+        }
+        return completeIdempotencyKey(record, issueTickets(user, ticketType, quantity));
+      });
+    }
+
+    // Reserve in memory before opening a transaction, so no connection is held while leasing
+    InventoryReservation reservation = ticketInventoryEngine.tryReserve(ticketType.getId(), quantity);
+    if (reservation == null) {
+      throw soldOut(ticketTypeId, quantity);
+    }
+
+    try {
+      return transactionTemplate.execute(status -> {
+        IdempotencyRecord record = reserveIdempotencyKey(userId, idempotencyKey, ticketTypeId, quantity);
+        reservation.bindToTransaction();
+        return completeIdempotencyKey(record, issueTickets(user, ticketType, quantity));
+      });
+    } finally {
+      reservation.releaseIfUnbound();
+    }
+  }
+
+  @Override
+  public TicketHold holdTickets(UUID userId, UUID ticketTypeId, int quantity) {
+    if (quantity < 1) {
+      throw new IllegalArgumentException("Quantity must be at least 1");
+    }
+    rejectIfSoldOut(ticketTypeId);
+
+    User user = findUser(userId);
+    TicketType ticketType = findTicketType(ticketTypeId);
+    if (ticketType.getInventoryStrategy() == TicketInventoryStrategyEnum.POOL) {
+      throw new InventoryStrategyException("Tickets of a pooled ticket type cannot be held");
+    }
+    validateSalesPeriod(ticketType.getEvent());
+
+    // Held tickets are claimed like sold ones, so a hold never competes with a purchase
+    TicketHold savedHold = transactionTemplate.execute(status -> {
+      if (ticketTypeRepository.incrementSold(ticketType.getId(), quantity) == 0) {
+        throw soldOut(ticketTypeId, quantity);
+      }
+
+      TicketHold hold = new TicketHold();
+      hold.setTicketType(ticketType);
+      hold.setPurchaser(user);
+      hold.setQuantity(quantity);
+      hold.setStatus(TicketHoldStatusEnum.ACTIVE);
+      hold.setExpiresAt(ticketHoldExpirer.nextExpiry());
+      return ticketHoldRepository.save(hold);
+    });
+
+    ticketHoldExpirer.schedule(savedHold.getId(), savedHold.getExpiresAt());
+    return savedHold;
+  }
+
+  @Override
+  public List<Ticket> confirmHold(UUID userId, UUID holdId) {
+    return transactionTemplate.execute(status -> {
+      TicketHold hold = findHold(userId, holdId);
+
+      if (ticketHoldRepository.confirmHold(holdId, LocalDateTime.now()) == 0) {
+        throw new TicketHoldExpiredException(
+            String.format("Ticket hold with ID %s is no longer active", holdId));
+      }
+
+      // The inventory was claimed when the hold was created
+      return issueTickets(hold.getPurchaser(), hold.getTicketType(), hold.getQuantity());
+    });
+  }
+
+  @Override
+  public void releaseHold(UUID userId, UUID holdId) {
+    findHold(userId, holdId);
+    ticketHoldExpirer.endHold(holdId, TicketHoldStatusEnum.RELEASED);
+  }
+
+  private void rejectIfSoldOut(UUID ticketTypeId) {
+    // Checked before anything touches the database
+    if (soldOutRegistry.isSoldOut(ticketTypeId)) {
+      throw soldOut(ticketTypeId, 0);
+    }
+  }
+
+  private TicketsSoldOutException soldOut(UUID ticketTypeId, int quantity) {
+    // A failed claim for more than one ticket does not mean that none are left
+    if (quantity == 1) {
+      soldOutRegistry.markSoldOut(ticketTypeId);
+    }
+    // Sold-out rejections are expected under load, so skip filling in a stack trace
+    return new TicketsSoldOutException("Tickets are sold out for this ticket type", null, false, false);
+  }
+
+  private IdempotencyRecord reserveIdempotencyKey(UUID userId, String idempotencyKey,
+      UUID ticketTypeId, int quantity) {
+    return idempotencyKey == null
+        ? null
+        : idempotencyService.reserve(userId, idempotencyKey, ticketTypeId, quantity);
+  }
+
+  private List<Ticket> completeIdempotencyKey(IdempotencyRecord record, List<Ticket> tickets) {
+    if (record != null) {
+      idempotencyService.complete(record, tickets);
+    }
+    return tickets;
+  }
+
+  private PurchaseResult toPurchaseResult(List<Ticket> tickets) {
+    return new PurchaseResult(tickets.stream().map(Ticket::getId).toList(), false);
+  }
+
+  private User findUser(UUID userId) {
+    return userRepository.findById(Objects.requireNonNull(userId)).orElseThrow(() -> new UserNotFoundException(
         String.format("User with ID %s was not found", userId)
     ));
+  }
 
-    TicketType ticketType = ticketTypeRepository.findByIdWithLock(ticketTypeId)
+  private TicketType findTicketType(UUID ticketTypeId) {
+    return ticketTypeRepository.findByIdWithEvent(ticketTypeId)
         .orElseThrow(() -> new TicketTypeNotFoundException(
             String.format("Ticket type with ID %s was not found", ticketTypeId)
         ));
+  }
+
+  private TicketHold findHold(UUID userId, UUID holdId) {
+    return ticketHoldRepository.findByIdAndPurchaserId(holdId, userId)
+        .orElseThrow(() -> new TicketHoldNotFoundException(
+            String.format("Ticket hold with ID %s was not found", holdId)
+        ));
+  }
 
+  private void validateSalesPeriod(Event event) {
     // Validate sales period - use system local time to match wall clock times
     // Event times are stored as "wall clock" times without timezone info
-    Event event = ticketType.getEvent();
     LocalDateTime now = LocalDateTime.now();
 
     log.info("Sales validation - Now: {}, SalesStart: {}, SalesEnd: {}, EventEnd: {}", 
@@ -65,23 +265,47 @@ public class TicketTypeServiceImpl implements TicketTypeService {
     if (event.getEnd() != null && now.isAfter(event.getEnd())) {
       throw new SalesPeriodException("This event has already ended");
     }
+  }
 
-    int purchasedTickets = ticketRepository.countByTicketTypeId(ticketType.getId());
-    Integer totalAvailable = ticketType.getTotalAvailable();
+  private List<Ticket> claimPooledTickets(User user, TicketType ticketType, int quantity) {
+    // Rows locked by concurrent buyers are skipped rather than waited for
+    List<Ticket> tickets = ticketRepository.findAvailableForUpdate(
+        ticketType.getId(), TicketStatusEnum.AVAILABLE, PageRequest.of(0, quantity));
+    if (tickets.size() < quantity) {
+      // Skipped rows may be released again by buyers that roll back, so the pool is only
+      // marked sold out once a count that does not skip them finds none left
+      if (ticketRepository.countByTicketTypeIdAndStatus(ticketType.getId(), TicketStatusEnum.AVAILABLE) == 0) {
+        soldOutRegistry.markSoldOut(ticketType.getId());
+      }
+      throw soldOut(ticketType.getId(), 0);
+    }
 
-    // If totalAvailable is null, it means unlimited tickets
-    if(totalAvailable != null && purchasedTickets + 1 > totalAvailable) {
-      throw new TicketsSoldOutException();
+    // Flushed as JDBC batches at commit, see hibernate.order_updates
+    for (Ticket ticket : tickets) {
+      ticket.setStatus(TicketStatusEnum.PURCHASED);
+      ticket.setPurchaser(user);
     }
+    // The QR codes are created after commit by the QrCodeJobProcessor
+    qrCodeJobService.enqueueQrCodes(tickets);
+
+    return tickets;
+  }
 
-    Ticket ticket = new Ticket();
-    ticket.setStatus(TicketStatusEnum.PURCHASED);
-    ticket.setTicketType(ticketType);
-    ticket.setPurchaser(user);
+  private List<Ticket> issueTickets(User user, TicketType ticketType, int quantity) {
+    List<Ticket> tickets = new ArrayList<>(quantity);
+    for (int i = 0; i < quantity; i++) {
+      Ticket ticket = new Ticket();
+      ticket.setStatus(TicketStatusEnum.PURCHASED);
+      ticket.setTicketType(ticketType);
+      ticket.setPurchaser(user);
+      tickets.add(ticket);
+    }
 
-    Ticket savedTicket = ticketRepository.save(ticket);
-    qrCodeService.generateQrCode(savedTicket);
+    // Inserted as JDBC batches, see hibernate.jdbc.batch_size
+    List<Ticket> savedTickets = ticketRepository.saveAll(tickets);
+    // The QR codes are created after commit by the QrCodeJobProcessor
+    qrCodeJobService.enqueueQrCodes(savedTickets);
 
-    return ticketRepository.save(savedTicket);
+    return savedTickets;
   }
 }
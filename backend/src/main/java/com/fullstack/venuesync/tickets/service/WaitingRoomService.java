@@ -0,0 +1,54 @@
+package com.fullstack.venuesync.tickets.service;
+
+import java.util.UUID;
+
+import com.fullstack.venuesync.tickets.domain.QueuedPurchase;
+
+public interface WaitingRoomService {
+
+  /**
+   * Whether purchases must go through the waiting room instead of the direct
+   * purchase endpoints.
+   */
+  boolean isEnabled();
+
+  /**
+   * Places a purchase in the waiting room of a ticket type. Each ticket type is
+   * drained in order by a single writer, so the number of concurrent purchase
+   * transactions is bounded by the number of writers rather than by the number of
+   * buyers. A user who is already waiting for the ticket type gets their existing
+   * place back.
+   *
+   * @param userId the UUID of the purchasing user
+   * @param ticketTypeId the UUID of the ticket type to purchase
+   * @param quantity the number of tickets to purchase
+   * @return the queued purchase
+   * @throws com.fullstack.venuesync.tickets.exception.TicketTypeNotFoundException if the ticket type is not found
+   * @throws com.fullstack.venuesync.tickets.exception.WaitingRoomFullException if the waiting room is full
+   */
+  QueuedPurchase joinWaitingRoom(UUID userId, UUID ticketTypeId, int quantity);
+
+  /**
+   * Retrieves a queued purchase belonging to a user.
+   *
+   * @param userId the UUID of the user
+   * @param queuedPurchaseId the UUID of the queued purchase
+   * @return the queued purchase
+   * @throws com.fullstack.venuesync.tickets.exception.QueuedPurchaseNotFoundException if not found or not owned by the user
+   */
+  QueuedPurchase getQueuedPurchase(UUID userId, UUID queuedPurchaseId);
+
+  /**
+   * Returns how many purchases are ahead of the given one, counting itself,
+   * or 0 once it has left the queue.
+   */
+  long getPosition(QueuedPurchase queuedPurchase);
+
+  /**
+   * Forgets finished purchases whose outcome has been kept for longer than the
+   * retention period.
+   *
+   * @return the number of purchases forgotten
+   */
+  int evictFinishedPurchases();
+}
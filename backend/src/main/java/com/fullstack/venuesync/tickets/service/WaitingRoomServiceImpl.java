@@ -0,0 +1,211 @@
+package com.fullstack.venuesync.tickets.service;
+
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fullstack.venuesync.shared.exceptions.VenueSyncException;
+import com.fullstack.venuesync.tickets.domain.QueuedPurchase;
+import com.fullstack.venuesync.tickets.domain.QueuedPurchaseStatusEnum;
+import com.fullstack.venuesync.tickets.domain.Ticket;
+import com.fullstack.venuesync.tickets.exception.QueuedPurchaseNotFoundException;
+import com.fullstack.venuesync.tickets.exception.TicketTypeNotFoundException;
+import com.fullstack.venuesync.tickets.exception.TicketsSoldOutException;
+import com.fullstack.venuesync.tickets.exception.WaitingRoomFullException;
+import com.fullstack.venuesync.tickets.inventory.SoldOutRegistry;
+import com.fullstack.venuesync.tickets.repository.TicketTypeRepository;
+
+@Service
+@Slf4j
+public class WaitingRoomServiceImpl implements WaitingRoomService {
+
+  private final TicketTypeService ticketTypeService;
+  private final TicketTypeRepository ticketTypeRepository;
+  private final SoldOutRegistry soldOutRegistry;
+  private final boolean enabled;
+  private final int maxSize;
+  private final int batchSize;
+  private final long retentionMinutes;
+  private final ExecutorService writers;
+  private final Map<UUID, Lane> lanes = new ConcurrentHashMap<>();
+  private final Map<UUID, QueuedPurchase> queuedPurchases = new ConcurrentHashMap<>();
+
+  public WaitingRoomServiceImpl(
+      TicketTypeService ticketTypeService,
+      TicketTypeRepository ticketTypeRepository,
+      SoldOutRegistry soldOutRegistry,
+      @Value("${app.tickets.waiting-room.enabled:false}") boolean enabled,
+      @Value("${app.tickets.waiting-room.max-size:10000}") int maxSize,
+      @Value("${app.tickets.waiting-room.batch-size:50}") int batchSize,
+      @Value("${app.tickets.waiting-room.writers:2}") int writerCount,
+      @Value("${app.tickets.waiting-room.retention-minutes:15}") long retentionMinutes
+  ) {
+    this.ticketTypeService = ticketTypeService;
+    this.ticketTypeRepository = ticketTypeRepository;
+    this.soldOutRegistry = soldOutRegistry;
+    this.enabled = enabled;
+    this.maxSize = maxSize;
+    this.batchSize = Math.max(1, batchSize);
+    this.retentionMinutes = retentionMinutes;
+    this.writers = Executors.newFixedThreadPool(Math.max(1, writerCount), runnable -> {
+      Thread thread = new Thread(runnable, "waiting-room-writer");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  @Override
+  public QueuedPurchase joinWaitingRoom(UUID userId, UUID ticketTypeId, int quantity) {
+    if (quantity < 1) {
+      throw new IllegalArgumentException("Quantity must be at least 1");
+    }
+    // No point in queueing for a ticket type that is known to be sold out
+    if (soldOutRegistry.isSoldOut(ticketTypeId)) {
+      throw new TicketsSoldOutException("Tickets are sold out for this ticket type", null, false, false);
+    }
+
+    // Only the first buyer of a ticket type pays for the existence check
+    Lane lane = lanes.get(ticketTypeId);
+    if (lane == null) {
+      if (!ticketTypeRepository.existsById(ticketTypeId)) {
+        throw new TicketTypeNotFoundException(
+            String.format("Ticket type with ID %s was not found", ticketTypeId));
+      }
+      lane = lanes.computeIfAbsent(ticketTypeId, id -> new Lane());
+    }
+
+    QueuedPurchase queuedPurchase;
+    synchronized (lane) {
+      QueuedPurchase existing = lane.waitingByUser.get(userId);
+      if (existing != null) {
+        return existing;
+      }
+
+      if (lane.enqueued.get() - lane.dequeued.get() >= maxSize) {
+        throw new WaitingRoomFullException("The waiting room for this ticket type is full");
+      }
+
+      queuedPurchase = new QueuedPurchase(userId, ticketTypeId, quantity, lane.enqueued.incrementAndGet());
+      lane.queue.add(queuedPurchase);
+      lane.waitingByUser.put(userId, queuedPurchase);
+      queuedPurchases.put(queuedPurchase.getId(), queuedPurchase);
+    }
+
+    scheduleDrain(lane);
+    return queuedPurchase;
+  }
+
+  @Override
+  public QueuedPurchase getQueuedPurchase(UUID userId, UUID queuedPurchaseId) {
+    QueuedPurchase queuedPurchase = queuedPurchases.get(queuedPurchaseId);
+    if (queuedPurchase == null || !queuedPurchase.getUserId().equals(userId)) {
+      throw new QueuedPurchaseNotFoundException(
+          String.format("Queued purchase with ID %s was not found", queuedPurchaseId));
+    }
+    return queuedPurchase;
+  }
+
+  @Override
+  public long getPosition(QueuedPurchase queuedPurchase) {
+    if (queuedPurchase.getStatus() != QueuedPurchaseStatusEnum.WAITING) {
+      return 0;
+    }
+    Lane lane = lanes.get(queuedPurchase.getTicketTypeId());
+    return lane == null ? 0 : Math.max(0, queuedPurchase.getSequence() - lane.dequeued.get());
+  }
+
+  @Override
+  public int evictFinishedPurchases() {
+    LocalDateTime cutoff = LocalDateTime.now().minusMinutes(retentionMinutes);
+    int before = queuedPurchases.size();
+    queuedPurchases.values().removeIf(queuedPurchase -> queuedPurchase.getFinishedAt() != null
+        && queuedPurchase.getFinishedAt().isBefore(cutoff));
+    return before - queuedPurchases.size();
+  }
+
+  private void scheduleDrain(Lane lane) {
+    // At most one writer per ticket type, so its row lock is never contended from here
+    if (lane.draining.compareAndSet(false, true)) {
+      writers.execute(() -> drain(lane));
+    }
+  }
+
+  private void drain(Lane lane) {
+    try {
+      for (int i = 0; i < batchSize; i++) {
+        QueuedPurchase queuedPurchase = lane.queue.poll();
+        if (queuedPurchase == null) {
+          break;
+        }
+        lane.dequeued.incrementAndGet();
+        process(lane, queuedPurchase);
+      }
+    } finally {
+      lane.draining.set(false);
+    }
+
+    // Yield after each batch so that other ticket types get a writer too
+    if (!lane.queue.isEmpty()) {
+      scheduleDrain(lane);
+    }
+  }
+
+  private void process(Lane lane, QueuedPurchase queuedPurchase) {
+    queuedPurchase.setStatus(QueuedPurchaseStatusEnum.PROCESSING);
+    try {
+      List<Ticket> tickets = ticketTypeService.purchaseTickets(
+          queuedPurchase.getUserId(), queuedPurchase.getTicketTypeId(), queuedPurchase.getQuantity());
+      queuedPurchase.setTicketIds(tickets.stream().map(Ticket::getId).toList());
+      queuedPurchase.setStatus(QueuedPurchaseStatusEnum.COMPLETED);
+    } catch (TicketsSoldOutException ex) {
+      fail(queuedPurchase, "Tickets are sold out for this ticket type");
+    } catch (VenueSyncException ex) {
+      fail(queuedPurchase, ex.getMessage() != null ? ex.getMessage() : "Purchase could not be completed");
+    } catch (RuntimeException ex) {
+      log.error("Queued purchase {} for ticket type {} failed",
+          queuedPurchase.getId(), queuedPurchase.getTicketTypeId(), ex);
+      fail(queuedPurchase, "Purchase could not be completed");
+    } finally {
+      queuedPurchase.setFinishedAt(LocalDateTime.now());
+      synchronized (lane) {
+        lane.waitingByUser.remove(queuedPurchase.getUserId(), queuedPurchase);
+      }
+    }
+  }
+
+  private void fail(QueuedPurchase queuedPurchase, String error) {
+    queuedPurchase.setError(error);
+    queuedPurchase.setStatus(QueuedPurchaseStatusEnum.FAILED);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    writers.shutdownNow();
+  }
+
+  private static final class Lane {
+
+    private final Queue<QueuedPurchase> queue = new ConcurrentLinkedQueue<>();
+    private final Map<UUID, QueuedPurchase> waitingByUser = new ConcurrentHashMap<>();
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong dequeued = new AtomicLong();
+    private final AtomicBoolean draining = new AtomicBoolean();
+  }
+}
@@ -0,0 +1,137 @@
+package com.fullstack.venuesync.validation.admission;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The tickets of one event and whether each has been admitted. Ticket IDs are kept
+ * sorted in two parallel arrays and looked up by binary search; the slot found is a
+ * bit in a bitset that is set exactly once, by compare-and-set, on admission.
+ */
+final class AdmissionBitmap {
+
+  private static final Comparator<UUID> ORDER = Comparator
+      .comparingLong(UUID::getMostSignificantBits)
+      .thenComparingLong(UUID::getLeastSignificantBits);
+
+  private final long[] mostSignificantBits;
+  private final long[] leastSignificantBits;
+  private final AtomicLongArray admitted;
+
+  AdmissionBitmap(Collection<UUID> unused, Collection<UUID> used) {
+    UUID[] ids = new UUID[unused.size() + used.size()];
+    int count = 0;
+    for (UUID id : unused) {
+      ids[count++] = id;
+    }
+    for (UUID id : used) {
+      ids[count++] = id;
+    }
+    Arrays.sort(ids, ORDER);
+
+    this.mostSignificantBits = new long[ids.length];
+    this.leastSignificantBits = new long[ids.length];
+    for (int i = 0; i < ids.length; i++) {
+      mostSignificantBits[i] = ids[i].getMostSignificantBits();
+      leastSignificantBits[i] = ids[i].getLeastSignificantBits();
+    }
+    this.admitted = new AtomicLongArray((ids.length + 63) >>> 6);
+    admitAll(used);
+  }
+
+  int size() {
+    return mostSignificantBits.length;
+  }
+
+  /**
+   * Returns the slot of a ticket, or -1 if the ticket is not part of the bitmap.
+   */
+  int slotOf(UUID ticketId) {
+    long msb = ticketId.getMostSignificantBits();
+    long lsb = ticketId.getLeastSignificantBits();
+    int low = 0;
+    int high = mostSignificantBits.length - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int cmp = Long.compare(mostSignificantBits[mid], msb);
+      if (cmp == 0) {
+        cmp = Long.compare(leastSignificantBits[mid], lsb);
+      }
+      if (cmp < 0) {
+        low = mid + 1;
+      } else if (cmp > 0) {
+        high = mid - 1;
+      } else {
+        return mid;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Sets the admission bit of a slot.
+   *
+   * @return true if this call admitted the ticket, false if it had already been admitted
+   */
+  boolean admit(int slot) {
+    int index = slot >>> 6;
+    long bit = 1L << slot;
+    while (true) {
+      long word = admitted.get(index);
+      if ((word & bit) != 0) {
+        return false;
+      }
+      if (admitted.compareAndSet(index, word, word | bit)) {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Sets the admission bits of the given tickets, skipping those not in the bitmap.
+   */
+  void admitAll(Collection<UUID> ticketIds) {
+    for (UUID id : ticketIds) {
+      int slot = slotOf(id);
+      if (slot >= 0) {
+        admit(slot);
+      }
+    }
+  }
+
+  /**
+   * Sets the admission bits of the tickets admitted in another bitmap of the same event,
+   * skipping those not in this one.
+   */
+  void admitAll(AdmissionBitmap other) {
+    for (int slot = 0; slot < other.size(); slot++) {
+      if (other.isAdmitted(slot)) {
+        int own = slotOf(new UUID(other.mostSignificantBits[slot], other.leastSignificantBits[slot]));
+        if (own >= 0) {
+          admit(own);
+        }
+      }
+    }
+  }
+
+  /**
+   * Clears the admission bit of a slot, undoing an admission that could not be recorded.
+   */
+  void release(int slot) {
+    int index = slot >>> 6;
+    long bit = 1L << slot;
+    while (true) {
+      long word = admitted.get(index);
+      if (admitted.compareAndSet(index, word, word & ~bit)) {
+        return;
+      }
+    }
+  }
+
+  boolean isAdmitted(int slot) {
+    return (admitted.get(slot >>> 6) & (1L << slot)) != 0;
+  }
+}
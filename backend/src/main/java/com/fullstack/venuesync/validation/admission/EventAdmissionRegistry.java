@@ -0,0 +1,205 @@
+package com.fullstack.venuesync.validation.admission;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import com.fullstack.venuesync.events.domain.Event;
+import com.fullstack.venuesync.events.exception.EventNotFoundException;
+import com.fullstack.venuesync.events.repository.EventRepository;
+import com.fullstack.venuesync.tickets.domain.TicketStatusEnum;
+import com.fullstack.venuesync.tickets.repository.TicketRepository;
+import com.fullstack.venuesync.validation.domain.TicketValidationMethod;
+import com.fullstack.venuesync.validation.domain.TicketValidationStatusEnum;
+import com.fullstack.venuesync.validation.writer.TicketValidationWriter;
+
+/**
+ * Event-day mode for gate validation. Opening an event preloads its purchased and used
+ * tickets into an {@link AdmissionBitmap}, so that scans of those tickets are answered
+ * by an atomic test-and-set with the outcome written behind by
+ * {@link TicketValidationWriter}.
+ * <p>
+ * Tickets outside the bitmap (bought after opening, expired, cancelled or unknown) and
+ * scans after the event end fall through to database validation. Bitmaps live in this
+ * instance only, so an event's gates must be served by the instance that opened it.
+ * <p>
+ * Scans are admitted under the read lock of their event's bitmap, which a reopen takes
+ * for writing while it swaps in the new bitmap, so that no ticket can be admitted by
+ * the old bitmap after its admissions have been carried over.
+ */
+@Component
+@Slf4j
+public class EventAdmissionRegistry {
+
+  private final EventRepository eventRepository;
+  private final TicketRepository ticketRepository;
+  private final TicketValidationWriter ticketValidationWriter;
+  private final Map<UUID, EventAdmission> admissions = new ConcurrentHashMap<>();
+
+  public EventAdmissionRegistry(
+      EventRepository eventRepository,
+      TicketRepository ticketRepository,
+      TicketValidationWriter ticketValidationWriter
+  ) {
+    this.eventRepository = eventRepository;
+    this.ticketRepository = ticketRepository;
+    this.ticketValidationWriter = ticketValidationWriter;
+  }
+
+  /**
+   * Opens an event for in-memory admission, replacing any bitmap loaded before.
+   * Queued admissions are flushed first, so the bitmap sees every earlier scan.
+   *
+   * @return the number of tickets loaded
+   */
+  public int open(UUID eventId) {
+    Event event = eventRepository.findById(eventId)
+        .orElseThrow(() -> new EventNotFoundException("Event not found: " + eventId));
+    return open(event);
+  }
+
+  /**
+   * Opens a loaded event for in-memory admission.
+   *
+   * @return the number of tickets loaded
+   * @see #open(UUID)
+   */
+  public int open(Event event) {
+    UUID eventId = event.getId();
+    ticketValidationWriter.flush();
+    List<UUID> unused = ticketRepository.findIdsByEventIdAndStatus(eventId, TicketStatusEnum.PURCHASED);
+    List<UUID> used = ticketRepository.findIdsByEventIdAndStatus(eventId, TicketStatusEnum.USED);
+    AdmissionBitmap bitmap = new AdmissionBitmap(unused, used);
+
+    publish(eventId, new EventAdmission(bitmap, event.getEnd(), new ReentrantReadWriteLock()));
+    log.info("Opened admission for event {} with {} tickets ({} already used)",
+        eventId, bitmap.size(), used.size());
+    return bitmap.size();
+  }
+
+  /**
+   * Swaps in a freshly loaded bitmap. Tickets admitted while it was loading, through the
+   * database or through the bitmap it replaces, are marked admitted in it first: queued
+   * admissions are flushed again and the used tickets read again, with the replaced
+   * bitmap locked so that it admits nothing more.
+   */
+  private synchronized void publish(UUID eventId, EventAdmission next) {
+    EventAdmission previous = admissions.get(eventId);
+    if (previous != null) {
+      previous.lock().writeLock().lock();
+    }
+    try {
+      ticketValidationWriter.flush();
+      next.bitmap().admitAll(ticketRepository.findIdsByEventIdAndStatus(eventId, TicketStatusEnum.USED));
+      if (previous != null) {
+        // Admissions whose writes failed and are waiting to be retried
+        next.bitmap().admitAll(previous.bitmap());
+      }
+      admissions.put(eventId, next);
+    } finally {
+      if (previous != null) {
+        previous.lock().writeLock().unlock();
+      }
+    }
+  }
+
+  /**
+   * Closes an event and persists every admission still queued.
+   *
+   * @return true if the event was open
+   */
+  public boolean close(UUID eventId) {
+    boolean open = admissions.remove(eventId) != null;
+    ticketValidationWriter.flush();
+    if (open) {
+      log.info("Closed admission for event {}", eventId);
+    }
+    return open;
+  }
+
+  /**
+   * Closes every event that has ended, whose scans already fall through to the database.
+   *
+   * @return the number of events closed
+   */
+  public int closeEndedEvents() {
+    LocalDateTime now = LocalDateTime.now();
+    List<UUID> ended = admissions.entrySet().stream()
+        .filter(entry -> entry.getValue().eventEnd() != null && now.isAfter(entry.getValue().eventEnd()))
+        .map(Map.Entry::getKey)
+        .toList();
+    ended.forEach(this::close);
+    return ended.size();
+  }
+
+  public boolean hasOpenEvents() {
+    return !admissions.isEmpty();
+  }
+
+  public boolean isOpen(UUID eventId) {
+    return admissions.containsKey(eventId);
+  }
+
+  /**
+   * Admits a ticket from the event's bitmap and queues the outcome to be persisted.
+   * If a durable outcome fails to be written, the admission is undone and the error
+   * propagates, so that a rescan is not answered ALREADY_USED.
+   *
+   * @return VALID or ALREADY_USED, or empty if the scan must be validated against the database
+   */
+  public Optional<TicketValidationStatusEnum> admit(
+      UUID eventId, UUID ticketId, TicketValidationMethod method) {
+    while (true) {
+      EventAdmission admission = admissions.get(eventId);
+      if (admission == null) {
+        return Optional.empty();
+      }
+
+      admission.lock().readLock().lock();
+      try {
+        // A reopen may have replaced the bitmap while we waited for the lock
+        if (admissions.get(eventId) == admission) {
+          return admit(admission, ticketId, method);
+        }
+      } finally {
+        admission.lock().readLock().unlock();
+      }
+    }
+  }
+
+  private Optional<TicketValidationStatusEnum> admit(
+      EventAdmission admission, UUID ticketId, TicketValidationMethod method) {
+    if (admission.eventEnd() != null && LocalDateTime.now().isAfter(admission.eventEnd())) {
+      return Optional.empty();
+    }
+
+    int slot = admission.bitmap().slotOf(ticketId);
+    if (slot < 0) {
+      return Optional.empty();
+    }
+
+    boolean admitted = admission.bitmap().admit(slot);
+    TicketValidationStatusEnum status = admitted
+        ? TicketValidationStatusEnum.VALID
+        : TicketValidationStatusEnum.ALREADY_USED;
+    try {
+      ticketValidationWriter.enqueueAdmission(ticketId, status, method);
+    } catch (RuntimeException ex) {
+      if (admitted) {
+        admission.bitmap().release(slot);
+      }
+      throw ex;
+    }
+    return Optional.of(status);
+  }
+
+  private record EventAdmission(AdmissionBitmap bitmap, LocalDateTime eventEnd, ReadWriteLock lock) {
+  }
+}
@@ -0,0 +1,154 @@
+package com.fullstack.venuesync.validation.admission;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import com.fullstack.venuesync.events.domain.Event;
+import com.fullstack.venuesync.events.domain.EventStatusEnum;
+import com.fullstack.venuesync.events.repository.EventRepository;
+import com.fullstack.venuesync.validation.filter.QrCodeIdFilter;
+import com.fullstack.venuesync.validation.token.QrCodeToken;
+import com.fullstack.venuesync.validation.token.QrCodeTokenCodec;
+
+/**
+ * Prepares gate validation ahead of doors. Run periodically by
+ * {@link com.fullstack.venuesync.shared.config.ScheduledTasksConfig}, it closes events
+ * that have ended and runs the in-memory validation path on synthetic tokens, on every
+ * pass whether or not an event is coming up, so that the JIT has compiled it before the
+ * first scan.
+ * <p>
+ * With auto-open enabled it also opens every published event starting within the lead
+ * time in the {@link EventAdmissionRegistry}. Admission bitmaps are not shared between
+ * instances, so each instance would admit every ticket once; auto-open is only safe when
+ * a single instance serves the gates, and is off by default.
+ * <p>
+ * As a health indicator it reports OUT_OF_SERVICE until the first pass, warm-up
+ * included, has completed, so that the readiness probe keeps gate traffic away from an instance that would
+ * answer its first scans from the database.
+ */
+@Component
+@Slf4j
+public class EventDayWarmup implements HealthIndicator {
+
+  private static final int WARMUP_TICKETS = 1024;
+
+  private final EventRepository eventRepository;
+  private final EventAdmissionRegistry eventAdmissionRegistry;
+  private final QrCodeTokenCodec qrCodeTokenCodec;
+  private final QrCodeIdFilter qrCodeIdFilter;
+  private final long leadMinutes;
+  private final int jitIterations;
+  private final boolean autoOpen;
+  private volatile boolean ready;
+  private volatile boolean jitWarmed;
+
+  public EventDayWarmup(
+      EventRepository eventRepository,
+      EventAdmissionRegistry eventAdmissionRegistry,
+      QrCodeTokenCodec qrCodeTokenCodec,
+      QrCodeIdFilter qrCodeIdFilter,
+      @Value("${app.validation.warmup.lead-minutes:60}") long leadMinutes,
+      @Value("${app.validation.warmup.jit-iterations:20000}") int jitIterations,
+      @Value("${app.validation.warmup.auto-open:false}") boolean autoOpen
+  ) {
+    this.eventRepository = eventRepository;
+    this.eventAdmissionRegistry = eventAdmissionRegistry;
+    this.qrCodeTokenCodec = qrCodeTokenCodec;
+    this.qrCodeIdFilter = qrCodeIdFilter;
+    this.leadMinutes = leadMinutes;
+    this.jitIterations = jitIterations;
+    this.autoOpen = autoOpen;
+  }
+
+  /**
+   * Warms the validation path, then opens the events whose doors are within the lead
+   * time and that are not open yet, if auto-open is enabled.
+   *
+   * @return the number of events opened
+   */
+  public synchronized int warmUpcomingEvents() {
+    eventAdmissionRegistry.closeEndedEvents();
+
+    LocalDateTime now = LocalDateTime.now();
+    List<Event> upcoming = eventRepository.findStartingBefore(
+            EventStatusEnum.PUBLISHED, now.plusMinutes(leadMinutes), now).stream()
+        .filter(event -> !eventAdmissionRegistry.isOpen(event.getId()))
+        .toList();
+
+    long startedAt = System.nanoTime();
+    warmValidationPath();
+    if (!jitWarmed) {
+      jitWarmed = true;
+      log.info("Warmed the validation path in {} ms", (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    int opened = 0;
+    for (Event event : autoOpen ? upcoming : List.<Event>of()) {
+      try {
+        eventAdmissionRegistry.open(event);
+        opened++;
+      } catch (RuntimeException ex) {
+        log.error("Failed to open admission for event {}", event.getId(), ex);
+      }
+    }
+
+    if (!ready) {
+      ready = true;
+      log.info("Event-day warm-up complete, {} events open for admission", opened);
+    }
+    return opened;
+  }
+
+  /**
+   * Runs the steps of an in-memory QR scan on throwaway data: token verification, legacy
+   * payload parsing, the QR code filter and bitmap admission. The tokens are signed
+   * once up front, as scans only ever verify them.
+   */
+  void warmValidationPath() {
+    UUID eventId = UUID.randomUUID();
+    LocalDateTime validFrom = LocalDateTime.now();
+    LocalDateTime validUntil = validFrom.plusHours(1);
+    List<UUID> ticketIds = new ArrayList<>(WARMUP_TICKETS);
+    List<String> payloads = new ArrayList<>(WARMUP_TICKETS);
+    for (int i = 0; i < WARMUP_TICKETS; i++) {
+      UUID ticketId = UUID.randomUUID();
+      ticketIds.add(ticketId);
+      payloads.add(qrCodeTokenCodec.sign(new QrCodeToken(ticketId, eventId, validFrom, validUntil)));
+    }
+    AdmissionBitmap bitmap = new AdmissionBitmap(ticketIds, List.of());
+
+    int admitted = 0;
+    for (int i = 0; i < jitIterations; i++) {
+      UUID ticketId = ticketIds.get(i % WARMUP_TICKETS);
+      Optional<QrCodeToken> token = qrCodeTokenCodec.verify(payloads.get(i % WARMUP_TICKETS));
+      if (token.isPresent() && token.get().isValidAt(validFrom)) {
+        int slot = bitmap.slotOf(token.get().ticketId());
+        if (slot >= 0 && bitmap.admit(slot)) {
+          admitted++;
+        }
+      }
+      qrCodeIdFilter.mightContain(UUID.fromString(ticketId.toString()));
+    }
+    log.debug("Validation warm-up admitted {} of {} tickets", admitted, WARMUP_TICKETS);
+  }
+
+  public boolean isReady() {
+    return ready;
+  }
+
+  @Override
+  public Health health() {
+    Health.Builder builder = ready ? Health.up() : Health.outOfService();
+    return builder
+        .withDetail("jitWarmed", jitWarmed)
+        .build();
+  }
+}
@@ -0,0 +1,181 @@
+package com.fullstack.venuesync.validation.attendance;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fullstack.venuesync.tickets.domain.TicketStatusEnum;
+import com.fullstack.venuesync.tickets.repository.TicketRepository;
+import com.fullstack.venuesync.validation.domain.TicketValidationStatusEnum;
+import com.fullstack.venuesync.validation.dto.EventAttendanceResponseDto;
+import com.fullstack.venuesync.validation.repository.TicketValidationRepository;
+import com.fullstack.venuesync.validation.writer.TicketValidationWriter;
+
+/**
+ * Live admitted and scanned counts per event, streamed to organizer dashboards over
+ * Server-Sent Events. An event's counts are read from the database once, when it is
+ * first watched, and from then on kept in memory from the scans this instance answers.
+ * Events nobody has streamed or read for the idle timeout are forgotten, and read again
+ * when next watched.
+ * <p>
+ * Changes are not pushed per scan: every publish interval,
+ * {@link com.fullstack.venuesync.shared.config.ScheduledTasksConfig} sends the counts of
+ * each event that changed since the previous one, so a busy gate costs its watchers at
+ * most one update per interval.
+ */
+@Component
+@Slf4j
+public class EventAttendanceTracker {
+
+  private static final String EVENT_NAME = "attendance";
+
+  private final TicketRepository ticketRepository;
+  private final TicketValidationRepository ticketValidationRepository;
+  private final TicketValidationWriter ticketValidationWriter;
+  private final long streamTimeoutMs;
+  private final long idleTimeoutNanos;
+  private final Map<UUID, EventAttendance> attendances = new ConcurrentHashMap<>();
+
+  public EventAttendanceTracker(
+      TicketRepository ticketRepository,
+      TicketValidationRepository ticketValidationRepository,
+      TicketValidationWriter ticketValidationWriter,
+      @Value("${app.validation.attendance.stream-timeout-ms:1800000}") long streamTimeoutMs,
+      @Value("${app.validation.attendance.idle-timeout-ms:600000}") long idleTimeoutMs
+  ) {
+    this.ticketRepository = ticketRepository;
+    this.ticketValidationRepository = ticketValidationRepository;
+    this.ticketValidationWriter = ticketValidationWriter;
+    this.streamTimeoutMs = streamTimeoutMs;
+    this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMs);
+  }
+
+  /**
+   * Counts a scan of one of the event's tickets. Scans of events nobody has watched yet
+   * are not counted here; they are read from the database once the event is watched.
+   */
+  public void recordScan(UUID eventId, TicketValidationStatusEnum status) {
+    EventAttendance attendance = attendances.get(eventId);
+    if (attendance == null) {
+      return;
+    }
+    attendance.scanned.increment();
+    if (TicketValidationStatusEnum.VALID.equals(status)) {
+      attendance.admitted.increment();
+    }
+    attendance.changed.set(true);
+  }
+
+  public EventAttendanceResponseDto getAttendance(UUID eventId) {
+    return track(eventId).toDto(eventId);
+  }
+
+  /**
+   * Opens a stream of an event's counts, starting with the current ones.
+   */
+  public SseEmitter subscribe(UUID eventId) {
+    EventAttendance attendance = track(eventId);
+    SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+    emitter.onCompletion(() -> attendance.subscribers.remove(emitter));
+    emitter.onTimeout(emitter::complete);
+    emitter.onError(ex -> attendance.subscribers.remove(emitter));
+    attendance.subscribers.add(emitter);
+
+    send(attendance, emitter, attendance.toDto(eventId));
+    return emitter;
+  }
+
+  /**
+   * Sends the counts of every watched event that changed since the last publish, and
+   * forgets the events that have been idle for the idle timeout.
+   *
+   * @return the number of events whose counts were sent
+   */
+  public int publish() {
+    int published = 0;
+    long now = System.nanoTime();
+    for (Map.Entry<UUID, EventAttendance> entry : attendances.entrySet()) {
+      EventAttendance attendance = entry.getValue();
+      if (attendance.subscribers.isEmpty()) {
+        // Evicted under the map's lock for the event, so a concurrent watcher either
+        // keeps the entry alive or creates a new one
+        attendances.computeIfPresent(entry.getKey(), (id, current) ->
+            current.subscribers.isEmpty() && now - current.lastWatched >= idleTimeoutNanos
+                ? null : current);
+        continue;
+      }
+      if (!attendance.changed.getAndSet(false)) {
+        continue;
+      }
+      EventAttendanceResponseDto counts = attendance.toDto(entry.getKey());
+      for (SseEmitter emitter : attendance.subscribers) {
+        send(attendance, emitter, counts);
+      }
+      published++;
+    }
+    return published;
+  }
+
+  public int subscriberCount(UUID eventId) {
+    EventAttendance attendance = attendances.get(eventId);
+    return attendance != null ? attendance.subscribers.size() : 0;
+  }
+
+  private EventAttendance track(UUID eventId) {
+    // Start counting scans before the counts are read, so that none answered meanwhile
+    // is lost; one written before the read may be counted twice instead
+    EventAttendance attendance = attendances.compute(eventId, (id, current) -> {
+      EventAttendance watched = current != null ? current : new EventAttendance();
+      watched.lastWatched = System.nanoTime();
+      return watched;
+    });
+    if (!attendance.loaded) {
+      synchronized (attendance) {
+        if (!attendance.loaded) {
+          // Write queued validations first, so that the counts read include them
+          ticketValidationWriter.flush();
+          attendance.admitted.add(
+              ticketRepository.countByTicketTypeEventIdAndStatus(eventId, TicketStatusEnum.USED));
+          attendance.scanned.add(ticketValidationRepository.countByTicketTicketTypeEventId(eventId));
+          attendance.loaded = true;
+        }
+      }
+    }
+    return attendance;
+  }
+
+  private void send(EventAttendance attendance, SseEmitter emitter, EventAttendanceResponseDto counts) {
+    try {
+      emitter.send(SseEmitter.event().name(EVENT_NAME).data(counts));
+    } catch (IOException | IllegalStateException ex) {
+      // The dashboard went away
+      log.debug("Dropping attendance subscriber: {}", ex.getMessage());
+      attendance.subscribers.remove(emitter);
+      emitter.completeWithError(ex);
+    }
+  }
+
+  private static final class EventAttendance {
+
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder scanned = new LongAdder();
+    private final AtomicBoolean changed = new AtomicBoolean();
+    private final List<SseEmitter> subscribers = new CopyOnWriteArrayList<>();
+    private volatile boolean loaded;
+    private volatile long lastWatched;
+
+    private EventAttendanceResponseDto toDto(UUID eventId) {
+      return new EventAttendanceResponseDto(eventId, admitted.sum(), scanned.sum());
+    }
+  }
+}
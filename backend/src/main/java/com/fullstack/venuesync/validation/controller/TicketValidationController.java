@@ -1,30 +1,51 @@
 package com.fullstack.venuesync.validation.controller;
 
+import io.micrometer.core.instrument.Timer;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.fullstack.venuesync.validation.admission.EventAdmissionRegistry;
+import com.fullstack.venuesync.validation.dto.EventAdmissionResponseDto;
+import com.fullstack.venuesync.validation.dto.TicketValidationBatchRequestDto;
+import com.fullstack.venuesync.validation.dto.TicketValidationBatchResponseDto;
 import com.fullstack.venuesync.validation.dto.TicketValidationRequestDto;
 import com.fullstack.venuesync.validation.dto.TicketValidationResponseDto;
+import com.fullstack.venuesync.validation.domain.TicketScan;
 import com.fullstack.venuesync.validation.domain.TicketValidation;
 import com.fullstack.venuesync.validation.domain.TicketValidationMethod;
 import com.fullstack.venuesync.validation.domain.TicketValidationStatusEnum;
 import com.fullstack.venuesync.validation.mapper.TicketValidationMapper;
+import com.fullstack.venuesync.validation.metrics.GateMetrics;
+import com.fullstack.venuesync.validation.service.EventManifestService;
 import com.fullstack.venuesync.validation.service.TicketValidationService;
 
+import java.util.List;
 import java.util.UUID;
 
 @RestController
 @RequestMapping(path = "/api/v1/ticket-validations")
 @RequiredArgsConstructor
+@Validated
 public class TicketValidationController {
 
   private final TicketValidationService ticketValidationService;
+  private final EventManifestService eventManifestService;
   private final TicketValidationMapper ticketValidationMapper;
+  private final EventAdmissionRegistry eventAdmissionRegistry;
+  private final GateMetrics gateMetrics;
 
   @PostMapping
   public ResponseEntity<TicketValidationResponseDto> validateTicket(
@@ -32,25 +53,113 @@ public class TicketValidationController {
   ){
     TicketValidationMethod method = ticketValidationRequestDto.getMethod();
     TicketValidation ticketValidation;
-    
-    // Parse UUID - if invalid format, return INVALID status
-    UUID id;
+
+    UUID eventId;
     try {
-      id = UUID.fromString(ticketValidationRequestDto.getId());
-    } catch (IllegalArgumentException | NullPointerException e) {
-      // Invalid UUID format - return INVALID response
-      TicketValidationResponseDto invalidResponse = new TicketValidationResponseDto();
-      invalidResponse.setStatus(TicketValidationStatusEnum.INVALID);
-      return ResponseEntity.ok(invalidResponse);
+      eventId = ticketValidationRequestDto.getEventId() != null
+          ? UUID.fromString(ticketValidationRequestDto.getEventId())
+          : null;
+    } catch (IllegalArgumentException e) {
+      return invalidResponse();
     }
-    
+
     if(TicketValidationMethod.MANUAL.equals(method)) {
-      ticketValidation = ticketValidationService.validateTicketManually(id);
+      // Parse UUID - if invalid format, return INVALID status
+      UUID id;
+      try {
+        id = UUID.fromString(ticketValidationRequestDto.getId());
+      } catch (IllegalArgumentException | NullPointerException e) {
+        return invalidResponse();
+      }
+      Timer.Sample sample = gateMetrics.startScan();
+      TicketValidationStatusEnum outcome = null;
+      try {
+        ticketValidation = ticketValidationService.validateTicketManually(id);
+        outcome = ticketValidation.getStatus();
+      } finally {
+        gateMetrics.recordScan(sample, method, outcome);
+      }
     } else {
-      ticketValidation = ticketValidationService.validateTicketByQrCode(id);
+      // QR payloads are signed tokens, or the QR code ID for codes issued before signing
+      Timer.Sample sample = gateMetrics.startScan();
+      TicketValidationStatusEnum outcome = null;
+      try {
+        ticketValidation = ticketValidationService.validateTicketByQrCode(
+            ticketValidationRequestDto.getId(), eventId);
+        outcome = ticketValidation.getStatus();
+      } finally {
+        gateMetrics.recordScan(sample, TicketValidationMethod.QR_SCAN, outcome);
+      }
     }
     return ResponseEntity.ok(
         ticketValidationMapper.toTicketValidationResponseDto(ticketValidation)
     );
   }
+
+  /**
+   * Uploads the scans a gate scanner recorded while offline and returns a result for
+   * each, in upload order.
+   */
+  @PostMapping(path = "/batch")
+  public ResponseEntity<TicketValidationBatchResponseDto> validateTicketScans(
+      @Valid @RequestBody TicketValidationBatchRequestDto ticketValidationBatchRequestDto
+  ) {
+    UUID eventId;
+    try {
+      eventId = ticketValidationBatchRequestDto.getEventId() != null
+          ? UUID.fromString(ticketValidationBatchRequestDto.getEventId())
+          : null;
+    } catch (IllegalArgumentException e) {
+      TicketValidationResponseDto invalidResponse = new TicketValidationResponseDto();
+      invalidResponse.setStatus(TicketValidationStatusEnum.INVALID);
+      return ResponseEntity.ok(new TicketValidationBatchResponseDto(
+          ticketValidationBatchRequestDto.getScans().stream().map(scan -> invalidResponse).toList()));
+    }
+
+    List<TicketScan> scans = ticketValidationBatchRequestDto.getScans().stream()
+        .map(scan -> new TicketScan(scan.getId(), scan.getMethod(), scan.getScannedAt()))
+        .toList();
+    List<TicketValidationResponseDto> results = ticketValidationService
+        .validateTicketScans(scans, eventId).stream()
+        .map(ticketValidationMapper::toTicketValidationResponseDto)
+        .toList();
+    return ResponseEntity.ok(new TicketValidationBatchResponseDto(results));
+  }
+
+  /**
+   * Downloads the binary manifest of an event's QR codes for offline validation, or the
+   * changes since the version given in {@code since}.
+   */
+  @GetMapping(path = "/events/{eventId}/manifest", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+  public ResponseEntity<byte[]> getEventManifest(
+      @PathVariable UUID eventId,
+      @RequestParam(required = false) @Min(0) Long since
+  ) {
+    return ResponseEntity.ok()
+        .cacheControl(CacheControl.noStore())
+        .body(eventManifestService.getManifest(eventId, since));
+  }
+
+  /**
+   * Switches an event into event-day mode: its tickets are preloaded and scans are
+   * answered in memory, see {@link EventAdmissionRegistry}.
+   */
+  @PostMapping(path = "/events/{eventId}/admission")
+  public ResponseEntity<EventAdmissionResponseDto> openEventAdmission(@PathVariable UUID eventId) {
+    int ticketCount = eventAdmissionRegistry.open(eventId);
+    return ResponseEntity.ok(new EventAdmissionResponseDto(eventId, ticketCount));
+  }
+
+  @DeleteMapping(path = "/events/{eventId}/admission")
+  public ResponseEntity<Void> closeEventAdmission(@PathVariable UUID eventId) {
+    return eventAdmissionRegistry.close(eventId)
+        ? ResponseEntity.noContent().build()
+        : ResponseEntity.notFound().build();
+  }
+
+  private static ResponseEntity<TicketValidationResponseDto> invalidResponse() {
+    TicketValidationResponseDto invalidResponse = new TicketValidationResponseDto();
+    invalidResponse.setStatus(TicketValidationStatusEnum.INVALID);
+    return ResponseEntity.ok(invalidResponse);
+  }
 }
@@ -0,0 +1,32 @@
+package com.fullstack.venuesync.validation.domain;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.fullstack.venuesync.tickets.domain.TicketStatusEnum;
+
+/**
+ * A QR code of an event together with the state of its ticket, as read for the scanner
+ * manifest without loading either entity.
+ */
+public record ManifestEntry(
+    UUID qrCodeId,
+    String payload,
+    QrCodeStatusEnum qrCodeStatus,
+    TicketStatusEnum ticketStatus,
+    LocalDateTime qrCodeUpdatedAt,
+    LocalDateTime ticketUpdatedAt
+) {
+
+  /**
+   * The text a scanner reads from the QR code. Codes that still hold a stored image
+   * encoded their own ID.
+   */
+  public String scannedPayload() {
+    return payload.length() > QrCode.MAX_PAYLOAD_LENGTH ? qrCodeId.toString() : payload;
+  }
+
+  public LocalDateTime changedAt() {
+    return qrCodeUpdatedAt.isAfter(ticketUpdatedAt) ? qrCodeUpdatedAt : ticketUpdatedAt;
+  }
+}
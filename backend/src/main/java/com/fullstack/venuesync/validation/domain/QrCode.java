@@ -36,6 +36,8 @@ import com.fullstack.venuesync.tickets.domain.Ticket;
 @Builder
 public class QrCode {
 
+  public static final int MAX_PAYLOAD_LENGTH = 255;
+
   @Id
   @Column(name = "id", nullable = false, updatable = false)
   private UUID id;
@@ -44,8 +46,12 @@ public class QrCode {
   @Enumerated(EnumType.STRING)
   private QrCodeStatusEnum status;
 
-  @Column(name = "value", columnDefinition = "TEXT",  nullable = false)
-  private String value;
+  /**
+   * The text encoded in the QR code. The image is rendered from it on demand and
+   * never stored; the column keeps its historical name.
+   */
+  @Column(name = "value", nullable = false, length = QrCode.MAX_PAYLOAD_LENGTH)
+  private String payload;
 
   @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "ticket_id")
@@ -76,13 +82,13 @@ public class QrCode {
           return false;
       }
     QrCode qrCode = (QrCode) o;
-    return Objects.equals(id, qrCode.id) && status == qrCode.status && Objects.equals(value,
-        qrCode.value) && Objects.equals(createdAt, qrCode.createdAt) && Objects.equals(updatedAt,
+    return Objects.equals(id, qrCode.id) && status == qrCode.status && Objects.equals(payload,
+        qrCode.payload) && Objects.equals(createdAt, qrCode.createdAt) && Objects.equals(updatedAt,
         qrCode.updatedAt);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(id, status, value, createdAt, updatedAt);
+    return Objects.hash(id, status, payload, createdAt, updatedAt);
   }
 }
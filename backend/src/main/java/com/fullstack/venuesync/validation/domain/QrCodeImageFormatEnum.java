@@ -0,0 +1,5 @@
+package com.fullstack.venuesync.validation.domain;
+
+public enum QrCodeImageFormatEnum {
+  PNG, SVG
+}
@@ -0,0 +1,99 @@
+package com.fullstack.venuesync.validation.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import com.fullstack.venuesync.shared.id.TimeOrderedUuid;
+
+/**
+ * Outbox entry asking for the QR code of a ticket to be created.
+ * Written in the purchase transaction and deleted once the QR code exists.
+ * The ticket is referenced by id only, so deleting an event never has to wait for its jobs.
+ */
+@Entity
+@Table(name = "qr_code_jobs", indexes = {
+    @Index(name = "idx_qr_code_jobs_status_next_attempt", columnList = "status, next_attempt_at")
+})
+@EntityListeners(AuditingEntityListener.class)
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class QrCodeJob {
+
+  @Id
+  @Column(name = "id", nullable = false, updatable = false)
+  @TimeOrderedUuid
+  private UUID id;
+
+  @Column(name = "ticket_id", nullable = false, updatable = false)
+  private UUID ticketId;
+
+  @Column(name = "status", nullable = false)
+  @Enumerated(EnumType.STRING)
+  private QrCodeJobStatusEnum status;
+
+  @Column(name = "attempts", nullable = false)
+  private int attempts;
+
+  @Column(name = "next_attempt_at", nullable = false)
+  private LocalDateTime nextAttemptAt;
+
+  @Column(name = "last_error", length = 1000)
+  private String lastError;
+
+  @CreatedDate
+  @Column(name = "created_at", updatable = false, nullable = false)
+  private LocalDateTime createdAt;
+
+  @LastModifiedDate
+  @Column(name = "updated_at", nullable = false)
+  private LocalDateTime updatedAt;
+
+  @PrePersist
+  protected void onCreate() {
+    createdAt = LocalDateTime.now();
+    updatedAt = LocalDateTime.now();
+  }
+
+  @PreUpdate
+  protected void onUpdate() {
+    updatedAt = LocalDateTime.now();
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    QrCodeJob that = (QrCodeJob) o;
+    return Objects.equals(id, that.id) && Objects.equals(ticketId, that.ticketId)
+        && status == that.status && attempts == that.attempts && Objects.equals(createdAt,
+        that.createdAt) && Objects.equals(updatedAt, that.updatedAt);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(id, ticketId, status, attempts, createdAt, updatedAt);
+  }
+}
@@ -0,0 +1,8 @@
+package com.fullstack.venuesync.validation.domain;
+
+/**
+ * Published when QR code jobs are written, so the processor can pick them up
+ * as soon as the purchase commits instead of waiting for its next poll.
+ */
+public record QrCodeJobsEnqueuedEvent(int count) {
+}
@@ -0,0 +1,13 @@
+package com.fullstack.venuesync.validation.domain;
+
+import java.time.LocalDateTime;
+
+/**
+ * A scan recorded by a gate scanner, possibly while it was offline.
+ *
+ * @param payload   the scanned QR code text, or the ticket ID for manual scans
+ * @param method    how the ticket was scanned
+ * @param scannedAt when the scanner recorded the scan
+ */
+public record TicketScan(String payload, TicketValidationMethod method, LocalDateTime scannedAt) {
+}
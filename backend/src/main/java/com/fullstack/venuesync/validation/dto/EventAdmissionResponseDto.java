@@ -0,0 +1,14 @@
+package com.fullstack.venuesync.validation.dto;
+
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EventAdmissionResponseDto {
+  private UUID eventId;
+  private int ticketCount;
+}
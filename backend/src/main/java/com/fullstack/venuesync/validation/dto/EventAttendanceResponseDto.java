@@ -0,0 +1,15 @@
+package com.fullstack.venuesync.validation.dto;
+
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EventAttendanceResponseDto {
+  private UUID eventId;
+  private long admitted;
+  private long scanned;
+}
@@ -0,0 +1,24 @@
+package com.fullstack.venuesync.validation.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TicketValidationBatchRequestDto {
+
+  // Optional; when set, QR codes for any other event are rejected
+  private String eventId;
+
+  @NotEmpty(message = "At least one scan is required")
+  @Size(max = 5000, message = "At most 5000 scans can be uploaded at once")
+  @Valid
+  private List<TicketScanDto> scans;
+}
@@ -0,0 +1,14 @@
+package com.fullstack.venuesync.validation.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TicketValidationBatchResponseDto {
+  // One result per uploaded scan, in upload order
+  private List<TicketValidationResponseDto> results;
+}
@@ -18,4 +18,7 @@ public class TicketValidationRequestDto {
 
   @NotNull(message = "Validation method is required")
   private TicketValidationMethod method;
+
+  // Optional; when set, QR codes for any other event are rejected
+  private String eventId;
 }
@@ -0,0 +1,76 @@
+package com.fullstack.venuesync.validation.filter;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A Bloom filter of UUIDs that is safe to add to and query concurrently. It answers
+ * "definitely absent" or "possibly present"; the second with the false positive rate it
+ * was sized for, as long as no more than its capacity is added.
+ */
+final class BloomFilter {
+
+  private static final double LN2 = Math.log(2);
+
+  private final AtomicLongArray bits;
+  private final long bitCount;
+  private final int hashCount;
+  private final long capacity;
+  private final AtomicLong size = new AtomicLong();
+
+  BloomFilter(long capacity, double falsePositiveRate) {
+    long bitsNeeded = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (LN2 * LN2));
+    int words = (int) Math.max(1, (bitsNeeded + 63) >>> 6);
+    this.bits = new AtomicLongArray(words);
+    this.bitCount = (long) words << 6;
+    this.hashCount = Math.max(1, (int) Math.round((double) bitCount / capacity * LN2));
+    this.capacity = capacity;
+  }
+
+  void add(UUID id) {
+    long h1 = mix(id.getMostSignificantBits() ^ id.getLeastSignificantBits() * 0x9E3779B97F4A7C15L);
+    long h2 = mix(id.getLeastSignificantBits() ^ id.getMostSignificantBits() * 0xC2B2AE3D27D4EB4FL);
+    for (int i = 0; i < hashCount; i++) {
+      long bit = ((h1 + i * h2) >>> 1) % bitCount;
+      int index = (int) (bit >>> 6);
+      long mask = 1L << bit;
+      long word;
+      while (((word = bits.get(index)) & mask) == 0
+          && !bits.compareAndSet(index, word, word | mask)) {
+        // Lost a race with another add on the same word, retry
+      }
+    }
+    size.incrementAndGet();
+  }
+
+  boolean mightContain(UUID id) {
+    long h1 = mix(id.getMostSignificantBits() ^ id.getLeastSignificantBits() * 0x9E3779B97F4A7C15L);
+    long h2 = mix(id.getLeastSignificantBits() ^ id.getMostSignificantBits() * 0xC2B2AE3D27D4EB4FL);
+    for (int i = 0; i < hashCount; i++) {
+      long bit = ((h1 + i * h2) >>> 1) % bitCount;
+      if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  long size() {
+    return size.get();
+  }
+
+  long capacity() {
+    return capacity;
+  }
+
+  // MurmurHash3 finalizer; UUIDv7 IDs share their leading timestamp bits
+  private static long mix(long h) {
+    h ^= h >>> 33;
+    h *= 0xFF51AFD7ED558CCDL;
+    h ^= h >>> 33;
+    h *= 0xC4CEB9FE1A85EC53L;
+    h ^= h >>> 33;
+    return h;
+  }
+}
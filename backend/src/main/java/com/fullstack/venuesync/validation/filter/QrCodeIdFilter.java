@@ -0,0 +1,117 @@
+package com.fullstack.venuesync.validation.filter;
+
+import java.util.List;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fullstack.venuesync.validation.domain.QrCodeStatusEnum;
+import com.fullstack.venuesync.validation.repository.QrCodeRepository;
+
+/**
+ * Bloom filter of the IDs of active QR codes, consulted before scans of unsigned QR
+ * payloads are looked up in {@code qr_codes}. Codes not in the filter are certainly not
+ * active, so bad prints and guessed IDs are rejected in memory; codes that might be in
+ * it are looked up as before.
+ * <p>
+ * New codes are added as they are generated. The filter is rebuilt from the database
+ * by {@link com.fullstack.venuesync.shared.config.ScheduledTasksConfig}, which sizes it
+ * for the current number of codes and drops codes that are gone. Until the first
+ * build, every code might be present.
+ */
+@Component
+@Slf4j
+public class QrCodeIdFilter {
+
+  private static final int PAGE_SIZE = 10_000;
+  private static final UUID NIL = new UUID(0, 0);
+
+  private final QrCodeRepository qrCodeRepository;
+  private final double falsePositiveRate;
+  private final long minCapacity;
+  private volatile BloomFilter filter;
+  private volatile BloomFilter building;
+
+  public QrCodeIdFilter(
+      QrCodeRepository qrCodeRepository,
+      @Value("${app.validation.qr-filter.false-positive-rate:0.01}") double falsePositiveRate,
+      @Value("${app.validation.qr-filter.min-capacity:100000}") long minCapacity
+  ) {
+    this.qrCodeRepository = qrCodeRepository;
+    this.falsePositiveRate = falsePositiveRate;
+    this.minCapacity = minCapacity;
+  }
+
+  /**
+   * Returns false only if the QR code is certainly not active.
+   */
+  public boolean mightContain(UUID qrCodeId) {
+    BloomFilter current = filter;
+    return current == null || current.mightContain(qrCodeId);
+  }
+
+  /**
+   * Adds a QR code once the current transaction, if any, has committed, so that a
+   * rebuild reading the table either sees the code or is still running to receive it.
+   */
+  public void add(UUID qrCodeId) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          addNow(qrCodeId);
+        }
+      });
+    } else {
+      addNow(qrCodeId);
+    }
+  }
+
+  private void addNow(UUID qrCodeId) {
+    // Read the filter being built first: a rebuild clears it only after swapping in its
+    // result, so whichever filter is read second still receives the code
+    BloomFilter next = building;
+    if (next != null) {
+      next.add(qrCodeId);
+    }
+    BloomFilter current = filter;
+    if (current != null) {
+      current.add(qrCodeId);
+    }
+  }
+
+  /**
+   * Rebuilds the filter from every active QR code, with room for the codes to double
+   * before its false positive rate degrades.
+   *
+   * @return the number of QR codes loaded
+   */
+  public synchronized long rebuild() {
+    long count = qrCodeRepository.countByStatus(QrCodeStatusEnum.ACTIVE);
+    BloomFilter next = new BloomFilter(Math.max(minCapacity, count * 2), falsePositiveRate);
+    building = next;
+    try {
+      UUID after = NIL;
+      List<UUID> page;
+      do {
+        page = qrCodeRepository.findIdsByStatusAfter(
+            QrCodeStatusEnum.ACTIVE, after, PageRequest.ofSize(PAGE_SIZE));
+        for (UUID id : page) {
+          next.add(id);
+        }
+        if (!page.isEmpty()) {
+          after = page.getLast();
+        }
+      } while (page.size() == PAGE_SIZE);
+      filter = next;
+    } finally {
+      building = null;
+    }
+    log.info("Rebuilt QR code filter with {} codes (capacity {})", next.size(), next.capacity());
+    return next.size();
+  }
+}
@@ -0,0 +1,199 @@
+package com.fullstack.venuesync.validation.image;
+
+import com.google.zxing.common.BitArray;
+import com.google.zxing.common.BitMatrix;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Encodes a {@link BitMatrix} as a 1-bit grayscale PNG without going through
+ * {@code BufferedImage} and {@code ImageIO}. Rows are packed straight from the matrix
+ * words into a scratch row and deflated into a scratch output buffer. The buffers, the
+ * {@link Deflater} and the {@link CRC32} are kept per thread, so the only allocation
+ * per image is the returned array.
+ *
+ * <p>Set bits are black, as with {@code MatrixToImageWriter}.</p>
+ */
+final class BitMatrixPngEncoder {
+
+  private static final byte[] SIGNATURE = {
+      (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'
+  };
+  private static final byte[] IHDR = {'I', 'H', 'D', 'R'};
+  private static final byte[] IDAT = {'I', 'D', 'A', 'T'};
+  private static final byte[] IEND = {'I', 'E', 'N', 'D'};
+
+  private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+  private BitMatrixPngEncoder() {
+  }
+
+  static byte[] encode(BitMatrix matrix) {
+    return encode(matrix, 1);
+  }
+
+  /**
+   * Encodes the matrix with every bit drawn as a {@code scale} by {@code scale} square.
+   */
+  static byte[] encode(BitMatrix matrix, int scale) {
+    if (scale < 1) {
+      throw new IllegalArgumentException("Scale must be at least 1");
+    }
+    int width = matrix.getWidth() * scale;
+    int height = matrix.getHeight() * scale;
+    int rowBytes = (width + 7) >>> 3;
+
+    Scratch scratch = SCRATCH.get();
+    scratch.size = 0;
+    scratch.write(SIGNATURE, 0, SIGNATURE.length);
+
+    int chunk = scratch.beginChunk(IHDR);
+    scratch.writeInt(width);
+    scratch.writeInt(height);
+    scratch.writeByte(1); // bit depth
+    scratch.writeByte(0); // color type: grayscale
+    scratch.writeByte(0); // compression: deflate
+    scratch.writeByte(0); // filter method
+    scratch.writeByte(0); // no interlace
+    scratch.endChunk(chunk);
+
+    chunk = scratch.beginChunk(IDAT);
+    Deflater deflater = scratch.deflater;
+    deflater.reset();
+    byte[] row = scratch.row(rowBytes + 1);
+    BitArray bits = scratch.bits(matrix.getWidth());
+    for (int y = 0; y < matrix.getHeight(); y++) {
+      if (scale == 1) {
+        packRow(matrix.getRow(y, bits).getBitArray(), row, rowBytes, width);
+      } else {
+        packScaledRow(matrix, y, scale, row, rowBytes);
+      }
+      // A scaled row is repeated for each of the scanlines it covers
+      for (int repeat = 0; repeat < scale; repeat++) {
+        deflater.setInput(row, 0, rowBytes + 1);
+        while (!deflater.needsInput()) {
+          scratch.deflate(deflater);
+        }
+      }
+    }
+    deflater.finish();
+    while (!deflater.finished()) {
+      scratch.deflate(deflater);
+    }
+    scratch.endChunk(chunk);
+
+    scratch.endChunk(scratch.beginChunk(IEND));
+
+    return Arrays.copyOf(scratch.buffer, scratch.size);
+  }
+
+  /**
+   * Packs a matrix row into a PNG scanline: a filter type byte (0, none) followed by the
+   * pixels, most significant bit first and 1 for white. Matrix rows are stored least
+   * significant bit first and 1 for black, so every word is bit-reversed and inverted.
+   */
+  private static void packRow(int[] words, byte[] row, int rowBytes, int width) {
+    row[0] = 0;
+    int out = 1;
+    for (int i = 0; out <= rowBytes; i++) {
+      int pixels = ~Integer.reverse(words[i]);
+      for (int shift = 24; shift >= 0 && out <= rowBytes; shift -= 8) {
+        row[out++] = (byte) (pixels >>> shift);
+      }
+    }
+    // Clear the padding bits after the last pixel
+    int padding = (rowBytes << 3) - width;
+    row[rowBytes] &= (byte) (0xFF << padding);
+  }
+
+  /**
+   * Packs a matrix row into a PNG scanline with every bit repeated {@code scale} times.
+   */
+  private static void packScaledRow(BitMatrix matrix, int y, int scale, byte[] row, int rowBytes) {
+    Arrays.fill(row, 0, rowBytes + 1, (byte) 0);
+    int out = 0;
+    for (int x = 0; x < matrix.getWidth(); x++) {
+      if (matrix.get(x, y)) {
+        out += scale;
+        continue;
+      }
+      for (int end = out + scale; out < end; out++) {
+        row[1 + (out >>> 3)] |= (byte) (0x80 >>> (out & 7));
+      }
+    }
+  }
+
+  private static final class Scratch {
+
+    private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+    private final CRC32 crc = new CRC32();
+    private byte[] buffer = new byte[4096];
+    private int size;
+    private byte[] row = new byte[0];
+    private BitArray bits = new BitArray(0);
+
+    byte[] row(int length) {
+      if (row.length < length) {
+        row = new byte[length];
+      }
+      return row;
+    }
+
+    BitArray bits(int width) {
+      if (bits.getSize() < width) {
+        bits = new BitArray(width);
+      }
+      return bits;
+    }
+
+    int beginChunk(byte[] type) {
+      int start = size;
+      writeInt(0); // length, filled in by endChunk
+      write(type, 0, type.length);
+      return start;
+    }
+
+    void endChunk(int start) {
+      int length = size - start - 8;
+      buffer[start] = (byte) (length >>> 24);
+      buffer[start + 1] = (byte) (length >>> 16);
+      buffer[start + 2] = (byte) (length >>> 8);
+      buffer[start + 3] = (byte) length;
+
+      crc.reset();
+      crc.update(buffer, start + 4, length + 4);
+      writeInt((int) crc.getValue());
+    }
+
+    void deflate(Deflater deflater) {
+      ensureCapacity(1024);
+      size += deflater.deflate(buffer, size, buffer.length - size);
+    }
+
+    void writeInt(int value) {
+      ensureCapacity(4);
+      buffer[size++] = (byte) (value >>> 24);
+      buffer[size++] = (byte) (value >>> 16);
+      buffer[size++] = (byte) (value >>> 8);
+      buffer[size++] = (byte) value;
+    }
+
+    void writeByte(int value) {
+      ensureCapacity(1);
+      buffer[size++] = (byte) value;
+    }
+
+    void write(byte[] bytes, int offset, int length) {
+      ensureCapacity(length);
+      System.arraycopy(bytes, offset, buffer, size, length);
+      size += length;
+    }
+
+    private void ensureCapacity(int extra) {
+      if (size + extra > buffer.length) {
+        buffer = Arrays.copyOf(buffer, Math.max(buffer.length << 1, size + extra));
+      }
+    }
+  }
+}
@@ -0,0 +1,82 @@
+package com.fullstack.venuesync.validation.image;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Least recently used cache of rendered QR code images, bounded by the total number
+ * of bytes held rather than by the number of entries. Each format and scale of a QR code
+ * is cached separately. Cached arrays are shared between callers and must not be modified.
+ */
+@Component
+public class QrCodeImageCache {
+
+  private final long maxBytes;
+  private final Map<QrCodeImageKey, byte[]> images = new LinkedHashMap<>(16, 0.75f, true);
+  private long totalBytes;
+
+  public QrCodeImageCache(@Value("${app.qr.render-cache.max-bytes:16777216}") long maxBytes) {
+    this.maxBytes = maxBytes;
+  }
+
+  /**
+   * Returns the cached image of a QR code, rendering and caching it on a miss.
+   */
+  public byte[] get(QrCodeImageKey key, Supplier<byte[]> renderer) {
+    synchronized (images) {
+      byte[] cached = images.get(key);
+      if (cached != null) {
+        return cached;
+      }
+    }
+
+    // Rendered outside the lock; callers racing on the same QR code both render it
+    byte[] image = renderer.get();
+    put(key, image);
+    return image;
+  }
+
+  /**
+   * Evicts every cached rendering of a QR code.
+   */
+  public void evict(UUID qrCodeId) {
+    synchronized (images) {
+      Iterator<Map.Entry<QrCodeImageKey, byte[]>> entries = images.entrySet().iterator();
+      while (entries.hasNext()) {
+        Map.Entry<QrCodeImageKey, byte[]> entry = entries.next();
+        if (entry.getKey().qrCodeId().equals(qrCodeId)) {
+          totalBytes -= entry.getValue().length;
+          entries.remove();
+        }
+      }
+    }
+  }
+
+  public long totalBytes() {
+    synchronized (images) {
+      return totalBytes;
+    }
+  }
+
+  private void put(QrCodeImageKey key, byte[] image) {
+    if (image.length > maxBytes) {
+      return;
+    }
+
+    synchronized (images) {
+      byte[] previous = images.put(key, image);
+      totalBytes += image.length - (previous != null ? previous.length : 0);
+
+      Iterator<byte[]> eldest = images.values().iterator();
+      while (totalBytes > maxBytes && eldest.hasNext()) {
+        totalBytes -= eldest.next().length;
+        eldest.remove();
+      }
+    }
+  }
+}
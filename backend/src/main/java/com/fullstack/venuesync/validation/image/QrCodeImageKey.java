@@ -0,0 +1,10 @@
+package com.fullstack.venuesync.validation.image;
+
+import com.fullstack.venuesync.validation.domain.QrCodeImageFormatEnum;
+import java.util.UUID;
+
+/**
+ * Identifies one rendering of a QR code. A scale of 0 stands for the default fixed-size PNG.
+ */
+public record QrCodeImageKey(UUID qrCodeId, QrCodeImageFormatEnum format, int scale) {
+}
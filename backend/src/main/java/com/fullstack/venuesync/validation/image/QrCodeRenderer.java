@@ -0,0 +1,94 @@
+package com.fullstack.venuesync.validation.image;
+
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.WriterException;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.qrcode.QRCodeWriter;
+import java.nio.charset.StandardCharsets;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import com.fullstack.venuesync.validation.exception.QrCodeGenerationException;
+
+/**
+ * Renders QR code payloads as images. Only the payload is stored, so images are
+ * rendered whenever they are requested, see {@link QrCodeImageCache}.
+ */
+@Component
+@RequiredArgsConstructor
+public class QrCodeRenderer {
+
+  private static final int QR_HEIGHT = 300;
+  private static final int QR_WIDTH = 300;
+
+  public static final int MAX_SCALE = 32;
+
+  private final QRCodeWriter qrCodeWriter;
+
+  public byte[] renderPng(String payload) {
+    return BitMatrixPngEncoder.encode(encode(payload, QR_WIDTH, QR_HEIGHT));
+  }
+
+  /**
+   * Renders a PNG that draws every module, including the quiet zone, as a
+   * {@code scale} by {@code scale} pixel square.
+   */
+  public byte[] renderPng(String payload, int scale) {
+    if (scale < 1 || scale > MAX_SCALE) {
+      throw new IllegalArgumentException("Scale must be between 1 and " + MAX_SCALE);
+    }
+    return BitMatrixPngEncoder.encode(modules(payload), scale);
+  }
+
+  /**
+   * Renders an SVG in module units, drawing each horizontal run of dark modules
+   * as a single path segment.
+   */
+  public byte[] renderSvg(String payload) {
+    BitMatrix modules = modules(payload);
+    int width = modules.getWidth();
+    int height = modules.getHeight();
+
+    StringBuilder svg = new StringBuilder(256 + width * height / 2);
+    svg.append("<svg xmlns=\"http://www.w3.org/2000/svg\" viewBox=\"0 0 ")
+        .append(width).append(' ').append(height)
+        .append("\" shape-rendering=\"crispEdges\">")
+        .append("<rect width=\"").append(width).append("\" height=\"").append(height)
+        .append("\" fill=\"#fff\"/><path fill=\"#000\" d=\"");
+    for (int y = 0; y < height; y++) {
+      int x = 0;
+      while (x < width) {
+        if (!modules.get(x, y)) {
+          x++;
+          continue;
+        }
+        int start = x;
+        while (x < width && modules.get(x, y)) {
+          x++;
+        }
+        int run = x - start;
+        svg.append('M').append(start).append(' ').append(y)
+            .append('h').append(run).append("v1h-").append(run).append('z');
+      }
+    }
+    svg.append("\"/></svg>");
+
+    return svg.toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Encodes the payload at one pixel per module. A requested size of zero makes
+   * the writer use the smallest size that fits the symbol and its quiet zone.
+   */
+  private BitMatrix modules(String payload) {
+    return encode(payload, 0, 0);
+  }
+
+  private BitMatrix encode(String payload, int width, int height) {
+    try {
+      return qrCodeWriter.encode(payload, BarcodeFormat.QR_CODE, width, height);
+    } catch (WriterException ex) {
+      throw new QrCodeGenerationException("Failed to render QR Code", ex);
+    }
+  }
+}
@@ -0,0 +1,81 @@
+package com.fullstack.venuesync.validation.manifest;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.List;
+
+import com.fullstack.venuesync.validation.domain.ManifestEntry;
+
+/**
+ * Writes the binary manifest that gate scanners download to validate QR codes offline.
+ * <pre>
+ * manifest = format (varint, 1) version (varint) count (varint) entry*
+ * entry    = hash delta (varint) state (byte, see {@link ManifestEntryState})
+ * </pre>
+ * The hash of a QR code is the first 8 bytes of the SHA-256 of its UTF-8 payload, read
+ * as an unsigned big-endian number. Entries are sorted by hash and each stores the
+ * difference to the previous hash (the first to zero), so a scanner can binary search
+ * the decoded list. Varints are unsigned LEB128, 7 bits per byte, low bits first.
+ * Scanners keep only hashes, so the manifest cannot be turned back into valid codes.
+ */
+public final class EventManifestEncoder {
+
+  public static final int FORMAT_VERSION = 1;
+
+  private EventManifestEncoder() {
+  }
+
+  public static byte[] encode(long version, List<ManifestEntry> entries) {
+    MessageDigest sha256 = sha256();
+    long[] hashes = new long[entries.size()];
+    byte[] states = new byte[entries.size()];
+    Integer[] order = new Integer[entries.size()];
+    for (int i = 0; i < entries.size(); i++) {
+      hashes[i] = hash(sha256, entries.get(i).scannedPayload());
+      states[i] = (byte) ManifestEntryState.of(entries.get(i)).getCode();
+      order[i] = i;
+    }
+    Arrays.sort(order, (a, b) -> Long.compareUnsigned(hashes[a], hashes[b]));
+
+    // A hash delta takes at most 10 bytes, but is 7-8 for realistic ticket counts
+    ByteArrayOutputStream out = new ByteArrayOutputStream(16 + entries.size() * 9);
+    writeVarint(out, FORMAT_VERSION);
+    writeVarint(out, version);
+    writeVarint(out, entries.size());
+    long previous = 0;
+    for (int i : order) {
+      writeVarint(out, hashes[i] - previous);
+      out.write(states[i]);
+      previous = hashes[i];
+    }
+    return out.toByteArray();
+  }
+
+  static long hash(MessageDigest sha256, String payload) {
+    byte[] digest = sha256.digest(payload.getBytes(StandardCharsets.UTF_8));
+    long hash = 0;
+    for (int i = 0; i < Long.BYTES; i++) {
+      hash = (hash << 8) | (digest[i] & 0xFF);
+    }
+    return hash;
+  }
+
+  static void writeVarint(ByteArrayOutputStream out, long value) {
+    while ((value & ~0x7FL) != 0) {
+      out.write((int) (value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    out.write((int) value);
+  }
+
+  static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+}
@@ -0,0 +1,35 @@
+package com.fullstack.venuesync.validation.manifest;
+
+import com.fullstack.venuesync.tickets.domain.TicketStatusEnum;
+import com.fullstack.venuesync.validation.domain.ManifestEntry;
+import com.fullstack.venuesync.validation.domain.QrCodeStatusEnum;
+
+/**
+ * What a scanner should answer for a QR code in the manifest. The code is the byte
+ * written on the wire.
+ */
+public enum ManifestEntryState {
+  ADMISSIBLE(0),
+  USED(1),
+  REVOKED(2);
+
+  private final int code;
+
+  ManifestEntryState(int code) {
+    this.code = code;
+  }
+
+  public int getCode() {
+    return code;
+  }
+
+  public static ManifestEntryState of(ManifestEntry entry) {
+    if (!QrCodeStatusEnum.ACTIVE.equals(entry.qrCodeStatus())) {
+      return REVOKED;
+    }
+    if (TicketStatusEnum.PURCHASED.equals(entry.ticketStatus())) {
+      return ADMISSIBLE;
+    }
+    return TicketStatusEnum.USED.equals(entry.ticketStatus()) ? USED : REVOKED;
+  }
+}
@@ -0,0 +1,92 @@
+package com.fullstack.venuesync.validation.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import com.fullstack.venuesync.validation.domain.TicketValidationMethod;
+import com.fullstack.venuesync.validation.domain.TicketValidationStatusEnum;
+
+/**
+ * Actuator endpoint at {@code /actuator/gatelatency} showing the p50, p99 and p999 scan
+ * latency of each method and outcome seen recently, and how many scans each event had
+ * in the last minute.
+ */
+@Component
+@Endpoint(id = "gatelatency")
+public class GateLatencyEndpoint {
+
+  private final GateMetrics gateMetrics;
+
+  public GateLatencyEndpoint(GateMetrics gateMetrics) {
+    this.gateMetrics = gateMetrics;
+  }
+
+  @ReadOperation
+  public GateLatencyReport report() {
+    List<ScanLatency> scans = new ArrayList<>();
+    for (TicketValidationMethod method : TicketValidationMethod.values()) {
+      for (TicketValidationStatusEnum outcome : TicketValidationStatusEnum.values()) {
+        Timer timer = gateMetrics.timer(method, outcome);
+        if (timer.count() > 0) {
+          scans.add(toScanLatency(method, outcome, timer.takeSnapshot()));
+        }
+      }
+    }
+
+    List<EventScans> events = new ArrayList<>();
+    for (Map.Entry<UUID, GateMetrics.EventScanRate> entry : gateMetrics.eventScanRates().entrySet()) {
+      events.add(new EventScans(entry.getKey(), entry.getValue().lastMinute(), entry.getValue().total()));
+    }
+    return new GateLatencyReport(scans, events);
+  }
+
+  private static ScanLatency toScanLatency(TicketValidationMethod method,
+                                           TicketValidationStatusEnum outcome,
+                                           HistogramSnapshot snapshot) {
+    double p50 = Double.NaN;
+    double p99 = Double.NaN;
+    double p999 = Double.NaN;
+    for (ValueAtPercentile value : snapshot.percentileValues()) {
+      double millis = value.value(TimeUnit.MILLISECONDS);
+      if (value.percentile() == 0.5) {
+        p50 = millis;
+      } else if (value.percentile() == 0.99) {
+        p99 = millis;
+      } else if (value.percentile() == 0.999) {
+        p999 = millis;
+      }
+    }
+    return new ScanLatency(method, outcome, snapshot.count(),
+        snapshot.mean(TimeUnit.MILLISECONDS), p50, p99, p999, snapshot.max(TimeUnit.MILLISECONDS));
+  }
+
+  public record GateLatencyReport(List<ScanLatency> scans, List<EventScans> events) {
+  }
+
+  /**
+   * Latencies in milliseconds. Percentiles cover the last few minutes, counts all time.
+   */
+  public record ScanLatency(
+      TicketValidationMethod method,
+      TicketValidationStatusEnum outcome,
+      long count,
+      double meanMs,
+      double p50Ms,
+      double p99Ms,
+      double p999Ms,
+      double maxMs
+  ) {
+  }
+
+  public record EventScans(UUID eventId, long lastMinute, long total) {
+  }
+}
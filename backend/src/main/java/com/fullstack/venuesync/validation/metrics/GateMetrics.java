@@ -0,0 +1,170 @@
+package com.fullstack.venuesync.validation.metrics;
+
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.springframework.stereotype.Component;
+
+import com.fullstack.venuesync.validation.domain.TicketValidationMethod;
+import com.fullstack.venuesync.validation.domain.TicketValidationStatusEnum;
+
+/**
+ * Latency and throughput of gate scans. Every single scan is timed into
+ * {@value #SCAN_TIMER}, tagged by method and outcome ({@value #ERROR_OUTCOME} for scans
+ * that failed with an exception), with a percentile histogram and
+ * client-side p50, p99 and p999 over a sliding window. Scans are also counted per event
+ * and minute for {@link GateLatencyEndpoint}. These counts are kept in memory only,
+ * since a meter per event would grow the registry with every event ever scanned, and
+ * are forgotten once an event has had no scans for {@value #EVENT_IDLE_MINUTES} minutes.
+ */
+@Component
+public class GateMetrics {
+
+  static final String SCAN_TIMER = "venuesync.validation.scan";
+  static final String ERROR_OUTCOME = "ERROR";
+  static final double[] PERCENTILES = {0.5, 0.99, 0.999};
+  static final long EVENT_IDLE_MINUTES = 60;
+
+  private static final long MILLIS_PER_MINUTE = TimeUnit.MINUTES.toMillis(1);
+
+  private final Clock clock;
+  private final Map<TicketValidationMethod, Map<TicketValidationStatusEnum, Timer>> timers =
+      new EnumMap<>(TicketValidationMethod.class);
+  private final Map<TicketValidationMethod, Timer> errorTimers = new EnumMap<>(TicketValidationMethod.class);
+  private final Map<UUID, MinuteWindow> eventScans = new ConcurrentHashMap<>();
+
+  public GateMetrics(MeterRegistry meterRegistry) {
+    this.clock = meterRegistry.config().clock();
+
+    // Registered up front so that recording a scan is a map lookup
+    for (TicketValidationMethod method : TicketValidationMethod.values()) {
+      Map<TicketValidationStatusEnum, Timer> timersByOutcome = new EnumMap<>(TicketValidationStatusEnum.class);
+      for (TicketValidationStatusEnum outcome : TicketValidationStatusEnum.values()) {
+        timersByOutcome.put(outcome, registerTimer(meterRegistry, method, outcome.name()));
+      }
+      timers.put(method, timersByOutcome);
+      errorTimers.put(method, registerTimer(meterRegistry, method, ERROR_OUTCOME));
+    }
+  }
+
+  private static Timer registerTimer(MeterRegistry meterRegistry, TicketValidationMethod method,
+                                     String outcome) {
+    return Timer.builder(SCAN_TIMER)
+        .description("Time to answer a gate scan")
+        .tag("method", method.name())
+        .tag("outcome", outcome)
+        .publishPercentiles(PERCENTILES)
+        .publishPercentileHistogram()
+        .minimumExpectedValue(Duration.ofMillis(1))
+        .maximumExpectedValue(Duration.ofSeconds(10))
+        .register(meterRegistry);
+  }
+
+  public Timer.Sample startScan() {
+    return Timer.start(clock);
+  }
+
+  /**
+   * Stops a scan's sample into the timer of its method and outcome, or of its method's
+   * errors if the outcome is null because the scan failed.
+   */
+  public void recordScan(Timer.Sample sample, TicketValidationMethod method,
+                         TicketValidationStatusEnum outcome) {
+    sample.stop(outcome != null ? timer(method, outcome) : errorTimer(method));
+  }
+
+  public Timer timer(TicketValidationMethod method, TicketValidationStatusEnum outcome) {
+    return timers.get(method).get(outcome);
+  }
+
+  public Timer errorTimer(TicketValidationMethod method) {
+    return errorTimers.get(method);
+  }
+
+  /**
+   * Counts a scan of one of an event's tickets. The first scan of an event also forgets
+   * the events that have gone idle.
+   */
+  public void countScan(UUID eventId) {
+    long minute = currentMinute();
+    MinuteWindow window = eventScans.get(eventId);
+    if (window == null) {
+      forgetIdleEvents(minute);
+      window = eventScans.computeIfAbsent(eventId, id -> new MinuteWindow(minute));
+    }
+    window.increment(minute);
+  }
+
+  /**
+   * Returns the number of scans of each event in the last complete minute, and the
+   * running total.
+   */
+  public Map<UUID, EventScanRate> eventScanRates() {
+    long minute = currentMinute();
+    forgetIdleEvents(minute);
+    Map<UUID, EventScanRate> rates = new HashMap<>();
+    eventScans.forEach((eventId, window) -> rates.put(eventId, window.rate(minute)));
+    return rates;
+  }
+
+  private void forgetIdleEvents(long minute) {
+    eventScans.values().removeIf(window -> window.idleSince(minute - EVENT_IDLE_MINUTES));
+  }
+
+  private long currentMinute() {
+    return clock.wallTime() / MILLIS_PER_MINUTE;
+  }
+
+  public record EventScanRate(long total, long lastMinute) {
+  }
+
+  /**
+   * Scans of an event in the current and the previous minute, and in total.
+   */
+  private static final class MinuteWindow {
+
+    private long minute;
+    private long current;
+    private long previous;
+    private long total;
+    private long lastScanMinute;
+
+    // Starts as if just scanned, so that it is not forgotten before its first count
+    MinuteWindow(long now) {
+      this.minute = now;
+      this.lastScanMinute = now;
+    }
+
+    synchronized void increment(long now) {
+      roll(now);
+      current++;
+      total++;
+      lastScanMinute = now;
+    }
+
+    synchronized EventScanRate rate(long now) {
+      roll(now);
+      return new EventScanRate(total, previous);
+    }
+
+    synchronized boolean idleSince(long cutoff) {
+      return lastScanMinute < cutoff;
+    }
+
+    private void roll(long now) {
+      if (now == minute) {
+        return;
+      }
+      previous = now == minute + 1 ? current : 0;
+      current = 0;
+      minute = now;
+    }
+  }
+}
@@ -0,0 +1,36 @@
+package com.fullstack.venuesync.validation.repository;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.fullstack.venuesync.validation.domain.QrCodeJob;
+import com.fullstack.venuesync.validation.domain.QrCodeJobStatusEnum;
+
+@Repository
+public interface QrCodeJobRepository extends JpaRepository<QrCodeJob, UUID> {
+
+  /**
+   * Find jobs that are due, locking them with SKIP LOCKED (lock timeout -2) so that
+   * several workers or instances can claim jobs concurrently without blocking each other.
+   */
+  @Query("SELECT j FROM QrCodeJob j " +
+         "WHERE j.status = :status AND j.nextAttemptAt <= :now " +
+         "ORDER BY j.nextAttemptAt ASC")
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+  List<QrCodeJob> findDueJobsForUpdate(
+      @Param("status") QrCodeJobStatusEnum status,
+      @Param("now") LocalDateTime now,
+      Pageable pageable
+  );
+}
@@ -1,10 +1,19 @@
 package com.fullstack.venuesync.validation.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.fullstack.venuesync.tickets.domain.TicketStatusEnum;
+import com.fullstack.venuesync.validation.domain.ManifestEntry;
 import com.fullstack.venuesync.validation.domain.QrCode;
 import com.fullstack.venuesync.validation.domain.QrCodeStatusEnum;
 
@@ -12,4 +21,71 @@ import com.fullstack.venuesync.validation.domain.QrCodeStatusEnum;
 public interface QrCodeRepository extends JpaRepository<QrCode, UUID> {
   Optional<QrCode> findByTicketIdAndTicketPurchaserId(UUID ticketId, UUID ticketPurchaseId);
   Optional<QrCode> findByIdAndStatus(UUID id, QrCodeStatusEnum status);
+  List<QrCode> findByIdInAndStatus(Collection<UUID> ids, QrCodeStatusEnum status);
+  long countByStatus(QrCodeStatusEnum status);
+
+  /**
+   * Find the IDs of QR codes in the given status that sort after {@code after}, in ID
+   * order, to page through every code without an offset.
+   */
+  @Query("SELECT q.id FROM QrCode q WHERE q.status = :status AND q.id > :after ORDER BY q.id")
+  List<UUID> findIdsByStatusAfter(
+      @Param("status") QrCodeStatusEnum status,
+      @Param("after") UUID after,
+      Pageable pageable
+  );
+
+  /**
+   * Find only the ID of a ticket's QR code, which identifies its images for caching.
+   */
+  @Query("SELECT q.id FROM QrCode q WHERE q.ticket.id = :ticketId AND q.ticket.purchaser.id = :purchaserId")
+  Optional<UUID> findIdByTicketIdAndTicketPurchaserId(
+      @Param("ticketId") UUID ticketId,
+      @Param("purchaserId") UUID purchaserId
+  );
+
+  /**
+   * Find the QR codes of an event in the given status whose tickets are in one of the
+   * given statuses, for the full scanner manifest.
+   */
+  @Query("SELECT new com.fullstack.venuesync.validation.domain.ManifestEntry(" +
+         "q.id, q.payload, q.status, t.status, q.updatedAt, t.updatedAt) " +
+         "FROM QrCode q JOIN q.ticket t " +
+         "WHERE t.ticketType.event.id = :eventId AND q.status = :qrCodeStatus " +
+         "AND t.status IN :ticketStatuses")
+  List<ManifestEntry> findManifestEntriesByEventId(
+      @Param("eventId") UUID eventId,
+      @Param("qrCodeStatus") QrCodeStatusEnum qrCodeStatus,
+      @Param("ticketStatuses") Collection<TicketStatusEnum> ticketStatuses
+  );
+
+  /**
+   * Find the QR codes of an event where either the code or its ticket changed after
+   * the given time, whatever their status, for the scanner manifest delta.
+   */
+  @Query("SELECT new com.fullstack.venuesync.validation.domain.ManifestEntry(" +
+         "q.id, q.payload, q.status, t.status, q.updatedAt, t.updatedAt) " +
+         "FROM QrCode q JOIN q.ticket t " +
+         "WHERE t.ticketType.event.id = :eventId " +
+         "AND (q.updatedAt > :since OR t.updatedAt > :since)")
+  List<ManifestEntry> findManifestEntriesByEventIdChangedSince(
+      @Param("eventId") UUID eventId,
+      @Param("since") LocalDateTime since
+  );
+
+  /**
+   * Replace up to {@code batchSize} stored Base64 images, written before only the payload
+   * was persisted, with the payload those images encoded: the QR code ID.
+   *
+   * @return the number of rows rewritten
+   */
+  @Modifying
+  @Query(value = "UPDATE qr_codes SET value = CAST(id AS VARCHAR(36)) " +
+                 "WHERE id IN (SELECT q.id FROM qr_codes q " +
+                 "WHERE LENGTH(q.value) > :maxPayloadLength LIMIT :batchSize)",
+         nativeQuery = true)
+  int stripRenderedImages(
+      @Param("maxPayloadLength") int maxPayloadLength,
+      @Param("batchSize") int batchSize
+  );
 }
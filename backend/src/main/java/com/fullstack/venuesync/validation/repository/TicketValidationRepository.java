@@ -8,4 +8,6 @@ import com.fullstack.venuesync.validation.domain.TicketValidation;
 
 @Repository
 public interface  TicketValidationRepository extends JpaRepository<TicketValidation, UUID> {
+
+  long countByTicketTicketTypeEventId(UUID eventId);
 }
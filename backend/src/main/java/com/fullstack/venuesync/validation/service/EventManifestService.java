@@ -0,0 +1,19 @@
+package com.fullstack.venuesync.validation.service;
+
+import java.util.UUID;
+
+public interface EventManifestService {
+
+  /**
+   * Builds the manifest gate scanners use to validate an event's QR codes offline, in
+   * the format written by {@link com.fullstack.venuesync.validation.manifest.EventManifestEncoder}.
+   * Without a version it lists every admissible and used QR code; with one it lists
+   * the QR codes that were issued, used or revoked since, which scanners apply on top
+   * of what they hold. Either way it carries the version to ask for the next delta with.
+   *
+   * @param eventId the event to build the manifest for
+   * @param since   the version of the manifest the scanner holds, or null for a full manifest
+   * @return the encoded manifest
+   */
+  byte[] getManifest(UUID eventId, Long since);
+}
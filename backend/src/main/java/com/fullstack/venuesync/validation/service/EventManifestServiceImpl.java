@@ -0,0 +1,79 @@
+package com.fullstack.venuesync.validation.service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fullstack.venuesync.events.exception.EventNotFoundException;
+import com.fullstack.venuesync.events.repository.EventRepository;
+import com.fullstack.venuesync.tickets.domain.TicketStatusEnum;
+import com.fullstack.venuesync.validation.domain.ManifestEntry;
+import com.fullstack.venuesync.validation.domain.QrCodeStatusEnum;
+import com.fullstack.venuesync.validation.manifest.EventManifestEncoder;
+import com.fullstack.venuesync.validation.repository.QrCodeRepository;
+
+@Service
+public class EventManifestServiceImpl implements EventManifestService {
+
+  private static final List<TicketStatusEnum> MANIFEST_TICKET_STATUSES =
+      List.of(TicketStatusEnum.PURCHASED, TicketStatusEnum.USED);
+
+  private final EventRepository eventRepository;
+  private final QrCodeRepository qrCodeRepository;
+  private final long deltaOverlapMicros;
+
+  public EventManifestServiceImpl(
+      EventRepository eventRepository,
+      QrCodeRepository qrCodeRepository,
+      @Value("${app.validation.manifest.delta-overlap-ms:5000}") long deltaOverlapMs
+  ) {
+    this.eventRepository = eventRepository;
+    this.qrCodeRepository = qrCodeRepository;
+    this.deltaOverlapMicros = deltaOverlapMs * 1_000L;
+  }
+
+  @Override
+  public byte[] getManifest(UUID eventId, Long since) {
+    if (!eventRepository.existsById(eventId)) {
+      throw new EventNotFoundException("Event not found: " + eventId);
+    }
+
+    List<ManifestEntry> entries;
+    long version;
+    if (since == null) {
+      entries = qrCodeRepository.findManifestEntriesByEventId(
+          eventId, QrCodeStatusEnum.ACTIVE, MANIFEST_TICKET_STATUSES);
+      version = 0;
+    } else {
+      // Changes are stamped before they commit, so one committing late can carry a time
+      // the scanner has already passed. Re-sending a short window catches those; applying
+      // an entry twice is harmless.
+      entries = qrCodeRepository.findManifestEntriesByEventIdChangedSince(
+          eventId, toTimestamp(Math.max(0, since - deltaOverlapMicros)));
+      version = since;
+    }
+
+    for (ManifestEntry entry : entries) {
+      version = Math.max(version, toVersion(entry.changedAt()));
+    }
+    return EventManifestEncoder.encode(version, entries);
+  }
+
+  /**
+   * Manifest versions are modification times in microseconds, the precision they are
+   * stored with.
+   */
+  static long toVersion(LocalDateTime timestamp) {
+    return timestamp.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + timestamp.getNano() / 1_000;
+  }
+
+  static LocalDateTime toTimestamp(long version) {
+    return LocalDateTime.ofEpochSecond(
+        Math.floorDiv(version, 1_000_000L),
+        (int) Math.floorMod(version, 1_000_000L) * 1_000,
+        ZoneOffset.UTC);
+  }
+}
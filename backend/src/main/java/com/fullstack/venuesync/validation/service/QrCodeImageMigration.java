@@ -0,0 +1,60 @@
+package com.fullstack.venuesync.validation.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fullstack.venuesync.validation.domain.QrCode;
+import com.fullstack.venuesync.validation.repository.QrCodeRepository;
+
+/**
+ * Strips the Base64 PNG images that QR codes used to store, leaving only their payload.
+ * Runs once at startup, before the application reports itself ready for traffic, in
+ * short transactions so that the table is never locked for long. Finding nothing to
+ * strip costs a single query. The space is reclaimed by (auto)vacuum.
+ * <p>
+ * A failure is logged and does not stop startup; the remaining images are stripped on
+ * the next start.
+ */
+@Component
+@Slf4j
+public class QrCodeImageMigration {
+
+  private final QrCodeRepository qrCodeRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final int batchSize;
+
+  public QrCodeImageMigration(
+      QrCodeRepository qrCodeRepository,
+      PlatformTransactionManager transactionManager,
+      @Value("${app.qr.image-migration.batch-size:1000}") int batchSize
+  ) {
+    this.qrCodeRepository = qrCodeRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.batchSize = batchSize;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void stripRenderedImages() {
+    long stripped = 0;
+    try {
+      int batch;
+      do {
+        batch = transactionTemplate.execute(status ->
+            qrCodeRepository.stripRenderedImages(QrCode.MAX_PAYLOAD_LENGTH, batchSize));
+        stripped += batch;
+      } while (batch == batchSize);
+    } catch (RuntimeException ex) {
+      log.error("Failed to strip stored images from QR codes after {} rows", stripped, ex);
+      return;
+    }
+
+    if (stripped > 0) {
+      log.info("Stripped stored images from {} QR codes", stripped);
+    }
+  }
+}
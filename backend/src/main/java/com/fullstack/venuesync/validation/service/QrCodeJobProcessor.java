@@ -0,0 +1,101 @@
+package com.fullstack.venuesync.validation.service;
+
+import jakarta.annotation.PreDestroy;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.fullstack.venuesync.validation.domain.QrCodeJobsEnqueuedEvent;
+
+/**
+ * Drains the QR code outbox on a small worker pool, outside of any purchase transaction.
+ * A drain is triggered right after a purchase commits and by a periodic poll, which also
+ * picks up retries and jobs left behind by a crashed instance.
+ */
+@Component
+@Slf4j
+public class QrCodeJobProcessor {
+
+  private final QrCodeJobService qrCodeJobService;
+  private final int batchSize;
+  private final ExecutorService dispatcher;
+  private final ExecutorService workers;
+  private final AtomicBoolean drainRequested = new AtomicBoolean();
+
+  public QrCodeJobProcessor(
+      QrCodeJobService qrCodeJobService,
+      @Value("${app.qr.jobs.batch-size:50}") int batchSize,
+      @Value("${app.qr.jobs.workers:2}") int workerCount
+  ) {
+    this.qrCodeJobService = qrCodeJobService;
+    this.batchSize = batchSize;
+    this.dispatcher = Executors.newSingleThreadExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "qr-code-dispatcher");
+      thread.setDaemon(true);
+      return thread;
+    });
+    this.workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+      Thread thread = new Thread(runnable, "qr-code-worker");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onQrCodeJobsEnqueued(QrCodeJobsEnqueuedEvent event) {
+    requestDrain();
+  }
+
+  /**
+   * Schedules a drain of the outbox unless one is already pending.
+   */
+  public void requestDrain() {
+    if (drainRequested.compareAndSet(false, true)) {
+      dispatcher.execute(this::drain);
+    }
+  }
+
+  private void drain() {
+    // Clear first so that jobs enqueued while we drain trigger another pass
+    drainRequested.set(false);
+
+    try {
+      List<UUID> jobIds;
+      do {
+        jobIds = qrCodeJobService.claimDueQrCodeJobs(batchSize);
+        if (!jobIds.isEmpty()) {
+          workers.invokeAll(jobIds.stream().map(this::toTask).toList());
+        }
+      } while (jobIds.size() == batchSize);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (Exception e) {
+      log.error("Error while draining QR code jobs", e);
+    }
+  }
+
+  private Callable<Void> toTask(UUID jobId) {
+    return () -> {
+      try {
+        qrCodeJobService.processQrCodeJob(jobId);
+      } catch (Exception e) {
+        log.warn("QR code job {} failed", jobId, e);
+        qrCodeJobService.recordQrCodeJobFailure(jobId, e.getMessage());
+      }
+      return null;
+    };
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    dispatcher.shutdownNow();
+    workers.shutdownNow();
+  }
+}
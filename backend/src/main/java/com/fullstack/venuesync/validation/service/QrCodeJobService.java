@@ -0,0 +1,52 @@
+package com.fullstack.venuesync.validation.service;
+
+import java.util.List;
+import java.util.UUID;
+
+import com.fullstack.venuesync.tickets.domain.Ticket;
+
+public interface QrCodeJobService {
+
+  /**
+   * Records that a QR code must be created for a ticket. Must be called inside the
+   * transaction that creates the ticket, so the job commits or rolls back with it.
+   *
+   * @param ticket the newly created ticket
+   */
+  void enqueueQrCode(Ticket ticket);
+
+  /**
+   * Records that QR codes must be created for several tickets, inserting the jobs
+   * in a single batch. Must be called inside the transaction that creates the tickets.
+   *
+   * @param tickets the newly created tickets
+   */
+  void enqueueQrCodes(List<Ticket> tickets);
+
+  /**
+   * Claims up to {@code limit} due jobs for this worker. Claimed jobs are pushed back
+   * by the lease timeout so that no other worker picks them up while they are processed.
+   *
+   * @param limit the maximum number of jobs to claim
+   * @return the IDs of the claimed jobs
+   */
+  List<UUID> claimDueQrCodeJobs(int limit);
+
+  /**
+   * Creates and stores the QR code for a claimed job, then deletes the job.
+   * Jobs whose ticket no longer exists are discarded.
+   *
+   * @param jobId the UUID of the job
+   * @throws com.fullstack.venuesync.validation.exception.QrCodeGenerationException if QR code generation fails
+   */
+  void processQrCodeJob(UUID jobId);
+
+  /**
+   * Records a failed attempt and schedules a retry with exponential backoff,
+   * or marks the job FAILED once the maximum number of attempts is reached.
+   *
+   * @param jobId the UUID of the job
+   * @param error a description of the failure
+   */
+  void recordQrCodeJobFailure(UUID jobId, String error);
+}
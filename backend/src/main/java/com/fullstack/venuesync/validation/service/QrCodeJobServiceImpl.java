@@ -0,0 +1,124 @@
+package com.fullstack.venuesync.validation.service;
+
+import jakarta.transaction.Transactional;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import com.fullstack.venuesync.tickets.domain.Ticket;
+import com.fullstack.venuesync.tickets.repository.TicketRepository;
+import com.fullstack.venuesync.validation.domain.QrCodeJob;
+import com.fullstack.venuesync.validation.domain.QrCodeJobStatusEnum;
+import com.fullstack.venuesync.validation.domain.QrCodeJobsEnqueuedEvent;
+import com.fullstack.venuesync.validation.repository.QrCodeJobRepository;
+
+@Service
+@Slf4j
+public class QrCodeJobServiceImpl implements QrCodeJobService {
+
+  private static final int MAX_ERROR_LENGTH = 1000;
+  private static final long MAX_BACKOFF_SECONDS = 300;
+
+  private final QrCodeJobRepository qrCodeJobRepository;
+  private final TicketRepository ticketRepository;
+  private final QrCodeService qrCodeService;
+  private final ApplicationEventPublisher applicationEventPublisher;
+  private final int maxAttempts;
+  private final long leaseTimeoutSeconds;
+
+  public QrCodeJobServiceImpl(
+      QrCodeJobRepository qrCodeJobRepository,
+      TicketRepository ticketRepository,
+      QrCodeService qrCodeService,
+      ApplicationEventPublisher applicationEventPublisher,
+      @Value("${app.qr.jobs.max-attempts:5}") int maxAttempts,
+      @Value("${app.qr.jobs.lease-timeout-seconds:60}") long leaseTimeoutSeconds
+  ) {
+    this.qrCodeJobRepository = qrCodeJobRepository;
+    this.ticketRepository = ticketRepository;
+    this.qrCodeService = qrCodeService;
+    this.applicationEventPublisher = applicationEventPublisher;
+    this.maxAttempts = maxAttempts;
+    this.leaseTimeoutSeconds = leaseTimeoutSeconds;
+  }
+
+  @Override
+  public void enqueueQrCode(Ticket ticket) {
+    enqueueQrCodes(List.of(ticket));
+  }
+
+  @Override
+  public void enqueueQrCodes(List<Ticket> tickets) {
+    LocalDateTime now = LocalDateTime.now();
+    List<QrCodeJob> jobs = tickets.stream().map(ticket -> {
+      QrCodeJob job = new QrCodeJob();
+      job.setTicketId(ticket.getId());
+      job.setStatus(QrCodeJobStatusEnum.PENDING);
+      job.setNextAttemptAt(now);
+      return job;
+    }).toList();
+
+    qrCodeJobRepository.saveAll(jobs);
+    applicationEventPublisher.publishEvent(new QrCodeJobsEnqueuedEvent(jobs.size()));
+  }
+
+  @Override
+  @Transactional
+  public List<UUID> claimDueQrCodeJobs(int limit) {
+    LocalDateTime now = LocalDateTime.now();
+    List<QrCodeJob> jobs = qrCodeJobRepository.findDueJobsForUpdate(
+        QrCodeJobStatusEnum.PENDING,
+        now,
+        PageRequest.of(0, limit)
+    );
+
+    // Push the jobs back so they are only retried if this worker dies mid-way
+    LocalDateTime leaseExpiry = now.plusSeconds(leaseTimeoutSeconds);
+    jobs.forEach(job -> job.setNextAttemptAt(leaseExpiry));
+
+    return jobs.stream().map(QrCodeJob::getId).toList();
+  }
+
+  @Override
+  @Transactional
+  public void processQrCodeJob(UUID jobId) {
+    QrCodeJob job = qrCodeJobRepository.findById(jobId).orElse(null);
+    if (job == null || job.getStatus() != QrCodeJobStatusEnum.PENDING) {
+      return;
+    }
+
+    ticketRepository.findById(job.getTicketId()).ifPresentOrElse(
+        qrCodeService::generateQrCode,
+        () -> log.warn("Discarding QR code job {} for missing ticket {}", jobId, job.getTicketId())
+    );
+
+    qrCodeJobRepository.delete(job);
+  }
+
+  @Override
+  @Transactional
+  public void recordQrCodeJobFailure(UUID jobId, String error) {
+    qrCodeJobRepository.findById(jobId).ifPresent(job -> {
+      int attempts = job.getAttempts() + 1;
+      job.setAttempts(attempts);
+      job.setLastError(error != null && error.length() > MAX_ERROR_LENGTH
+          ? error.substring(0, MAX_ERROR_LENGTH)
+          : error);
+
+      if (attempts >= maxAttempts) {
+        job.setStatus(QrCodeJobStatusEnum.FAILED);
+        log.error("QR code job {} for ticket {} failed after {} attempts",
+            jobId, job.getTicketId(), attempts);
+        return;
+      }
+
+      long backoffSeconds = Math.min(MAX_BACKOFF_SECONDS, 1L << attempts);
+      job.setNextAttemptAt(LocalDateTime.now().plusSeconds(backoffSeconds));
+    });
+  }
+}
@@ -3,28 +3,47 @@ package com.fullstack.venuesync.validation.service;
 import java.util.UUID;
 
 import com.fullstack.venuesync.validation.domain.QrCode;
+import com.fullstack.venuesync.validation.domain.QrCodeImageFormatEnum;
 import com.fullstack.venuesync.tickets.domain.Ticket;
 
 public interface QrCodeService {
 
   /**
    * Generates a QR code for a purchased ticket.
-   * Creates a unique UUID for the QR code, encodes it as a PNG image,
-   * stores the Base64-encoded image, and saves the QR code entity.
+   * The payload is a signed token carrying the ticket and event IDs and the validity window,
+   * see {@link com.fullstack.venuesync.validation.token.QrCodeTokenCodec}.
+   * No image is stored; it is rendered from the payload when requested.
    *
    * @param ticket the Ticket entity to generate a QR code for
-   * @return the saved QrCode entity containing the Base64-encoded image
-   * @throws com.fullstack.venuesync.validation.exception.QrCodeGenerationException if QR code generation fails
+   * @return the saved QrCode entity
    */
   QrCode generateQrCode(Ticket ticket);
 
+  /**
+   * Retrieves the ID of the QR code for a specific ticket owned by a user, without
+   * loading or rendering it. A QR code's payload never changes, so its ID identifies
+   * every image rendered from it.
+   *
+   * @param userId the UUID of the ticket owner
+   * @param ticketId the UUID of the ticket
+   * @return the UUID of the QR code
+   * @throws com.fullstack.venuesync.validation.exception.QrCodeNotFoundException if no QR code is found
+   */
+  UUID getQrCodeIdForUserAndTicket(UUID userId, UUID ticketId);
+
   /**
    * Retrieves the QR code image bytes for a specific ticket owned by a user.
+   * Images are rendered from the stored payload and kept in a size-bounded LRU cache.
    *
    * @param userId the UUID of the ticket owner
    * @param ticketId the UUID of the ticket
-   * @return the QR code image as a byte array (PNG format)
+   * @param format the image format to render
+   * @param scale pixels per module for a compact PNG, or null for the default 300x300 PNG;
+   *              ignored for SVG
+   * @return the QR code image as a byte array in the requested format
    * @throws com.fullstack.venuesync.validation.exception.QrCodeNotFoundException if no QR code is found
+   * @throws com.fullstack.venuesync.validation.exception.QrCodeGenerationException if the image cannot be rendered
    */
-  byte[] getQrCodeImageForUserAndTicket(UUID userId, UUID ticketId);
+  byte[] getQrCodeImageForUserAndTicket(
+      UUID userId, UUID ticketId, QrCodeImageFormatEnum format, Integer scale);
 }
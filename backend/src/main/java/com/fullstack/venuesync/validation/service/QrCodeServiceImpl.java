@@ -1,22 +1,21 @@
 package com.fullstack.venuesync.validation.service;
 
+import com.fullstack.venuesync.events.domain.Event;
+import com.fullstack.venuesync.shared.id.UuidV7;
 import com.fullstack.venuesync.validation.domain.QrCode;
+import com.fullstack.venuesync.validation.domain.QrCodeImageFormatEnum;
 import com.fullstack.venuesync.validation.domain.QrCodeStatusEnum;
 import com.fullstack.venuesync.tickets.domain.Ticket;
-import com.fullstack.venuesync.validation.exception.QrCodeGenerationException;
 import com.fullstack.venuesync.validation.exception.QrCodeNotFoundException;
+import com.fullstack.venuesync.validation.filter.QrCodeIdFilter;
+import com.fullstack.venuesync.validation.image.QrCodeImageCache;
+import com.fullstack.venuesync.validation.image.QrCodeImageKey;
+import com.fullstack.venuesync.validation.image.QrCodeRenderer;
 import com.fullstack.venuesync.validation.repository.QrCodeRepository;
-import com.google.zxing.BarcodeFormat;
-import com.google.zxing.WriterException;
-import com.google.zxing.client.j2se.MatrixToImageWriter;
-import com.google.zxing.common.BitMatrix;
-import com.google.zxing.qrcode.QRCodeWriter;
-import java.awt.image.BufferedImage;
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.util.Base64;
+import com.fullstack.venuesync.validation.token.QrCodeToken;
+import com.fullstack.venuesync.validation.token.QrCodeTokenCodec;
+import java.time.LocalDateTime;
 import java.util.UUID;
-import javax.imageio.ImageIO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -26,62 +25,65 @@ import org.springframework.stereotype.Service;
 @Slf4j
 public class QrCodeServiceImpl implements QrCodeService {
 
-  private static final int QR_HEIGHT = 300;
-  private static final int QR_WIDTH = 300;
-
-  private final QRCodeWriter qrCodeWriter;
   private final QrCodeRepository qrCodeRepository;
+  private final QrCodeRenderer qrCodeRenderer;
+  private final QrCodeImageCache qrCodeImageCache;
+  private final QrCodeTokenCodec qrCodeTokenCodec;
+  private final QrCodeIdFilter qrCodeIdFilter;
 
   @Override
   public QrCode generateQrCode(Ticket ticket) {
-    try {
-      UUID uniqueId = UUID.randomUUID();
-      String qrCodeImage = generateQrCodeImage(uniqueId);
-
-      QrCode qrCode = new QrCode();
-      qrCode.setId(uniqueId);
-      qrCode.setStatus(QrCodeStatusEnum.ACTIVE);
-      qrCode.setValue(qrCodeImage);
-      qrCode.setTicket(ticket);
-
-      return qrCodeRepository.saveAndFlush(qrCode);
+    UUID uniqueId = UuidV7.next();
+
+    QrCode qrCode = new QrCode();
+    qrCode.setId(uniqueId);
+    qrCode.setStatus(QrCodeStatusEnum.ACTIVE);
+    // Only the payload is stored, the image is rendered when it is requested. The payload
+    // is a signed token, so scanners can check it before touching the database.
+    Event event = ticket.getTicketType().getEvent();
+    qrCode.setPayload(qrCodeTokenCodec.sign(new QrCodeToken(
+        ticket.getId(),
+        event.getId(),
+        LocalDateTime.now(),
+        event.getEnd()
+    )));
+    qrCode.setTicket(ticket);
+
+    QrCode saved = qrCodeRepository.saveAndFlush(qrCode);
+    qrCodeIdFilter.add(saved.getId());
+    return saved;
+  }
 
-    } catch(IOException | WriterException ex) {
-      throw new QrCodeGenerationException("Failed to generate QR Code", ex);
-    }
+  @Override
+  public UUID getQrCodeIdForUserAndTicket(UUID userId, UUID ticketId) {
+    return qrCodeRepository.findIdByTicketIdAndTicketPurchaserId(ticketId, userId)
+        .orElseThrow(QrCodeNotFoundException::new);
   }
 
   @Override
-  public byte[] getQrCodeImageForUserAndTicket(UUID userId, UUID ticketId) {
+  public byte[] getQrCodeImageForUserAndTicket(
+      UUID userId, UUID ticketId, QrCodeImageFormatEnum format, Integer scale) {
     QrCode qrCode = qrCodeRepository.findByTicketIdAndTicketPurchaserId(ticketId, userId)
         .orElseThrow(QrCodeNotFoundException::new);
 
-    try {
-      return Base64.getDecoder().decode(qrCode.getValue());
-    } catch(IllegalArgumentException ex) {
-      log.error("Invalid base64 QR Code for ticket ID: {}", ticketId, ex);
-      throw new QrCodeNotFoundException();
+    if (format == QrCodeImageFormatEnum.SVG) {
+      return qrCodeImageCache.get(new QrCodeImageKey(qrCode.getId(), format, 0),
+          () -> qrCodeRenderer.renderSvg(payloadOf(qrCode)));
     }
+    if (scale != null) {
+      return qrCodeImageCache.get(new QrCodeImageKey(qrCode.getId(), format, scale),
+          () -> qrCodeRenderer.renderPng(payloadOf(qrCode), scale));
+    }
+    return qrCodeImageCache.get(new QrCodeImageKey(qrCode.getId(), format, 0),
+        () -> qrCodeRenderer.renderPng(payloadOf(qrCode)));
   }
 
-  private String generateQrCodeImage(UUID uniqueId) throws WriterException, IOException {
-    //Bit Matrix -> Buffered Image -> Base 64 Encoded String
-      BitMatrix bitMatrix = qrCodeWriter.encode(
-        uniqueId.toString(),
-        BarcodeFormat.QR_CODE,
-        QR_WIDTH,
-        QR_HEIGHT
-    );
-
-    BufferedImage qrCodeImage = MatrixToImageWriter.toBufferedImage(bitMatrix);
-
-    try(ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-      ImageIO.write(qrCodeImage, "PNG", baos);
-      byte[] imageBytes = baos.toByteArray();
-
-      return Base64.getEncoder().encodeToString(imageBytes);
+  private String payloadOf(QrCode qrCode) {
+    // Rows not yet stripped by QrCodeImageMigration still hold an image of their ID
+    if (qrCode.getPayload().length() > QrCode.MAX_PAYLOAD_LENGTH) {
+      log.debug("QR code {} still holds a stored image", qrCode.getId());
+      return qrCode.getId().toString();
     }
-
+    return qrCode.getPayload();
   }
-
 }
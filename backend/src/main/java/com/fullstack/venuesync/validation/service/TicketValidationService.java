@@ -1,19 +1,24 @@
 package com.fullstack.venuesync.validation.service;
 
+import java.util.List;
 import java.util.UUID;
 
+import com.fullstack.venuesync.validation.domain.TicketScan;
 import com.fullstack.venuesync.validation.domain.TicketValidation;
 
 public interface TicketValidationService {
 
   /**
    * Validates a ticket by scanning its QR code.
-   * Looks up the QR code by ID, checks ticket status, and marks the ticket as USED if valid.
+   * Verifies the signed payload, checks ticket status, and marks the ticket as USED if valid.
+   * Forged codes and codes for another event are rejected without a database lookup and
+   * are not recorded. Payloads issued before signing are looked up by QR code ID.
    *
-   * @param qrCodeId the UUID from the scanned QR code
+   * @param payload the text of the scanned QR code
+   * @param eventId the event being scanned for, or null to accept codes for any event
    * @return a TicketValidation entity with the validation result (VALID, INVALID, EXPIRED, or ALREADY_USED)
    */
-  TicketValidation validateTicketByQrCode(UUID qrCodeId);
+  TicketValidation validateTicketByQrCode(String payload, UUID eventId);
 
   /**
    * Validates a ticket manually by ticket ID.
@@ -23,4 +28,17 @@ public interface TicketValidationService {
    * @return a TicketValidation entity with the validation result (VALID, INVALID, EXPIRED, or ALREADY_USED)
    */
   TicketValidation validateTicketManually(UUID ticketId);
+
+  /**
+   * Validates scans uploaded in bulk by a gate scanner that was offline.
+   * Tickets are read and marked with set-based queries and the validations are inserted
+   * together. Scans are decided in the order they were made, so the first scan of a
+   * ticket wins and later ones are ALREADY_USED; event ends are checked against the
+   * scan time. Scans that match no ticket are INVALID and are not recorded.
+   *
+   * @param scans   the scans, each a QR code payload or, for manual scans, a ticket ID
+   * @param eventId the event being scanned for, or null to accept QR codes for any event
+   * @return one TicketValidation per scan, in the order of {@code scans}
+   */
+  List<TicketValidation> validateTicketScans(List<TicketScan> scans, UUID eventId);
 }
@@ -2,22 +2,42 @@ package com.fullstack.venuesync.validation.service;
 
 import jakarta.transaction.Transactional;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import com.fullstack.venuesync.events.domain.Event;
+import com.fullstack.venuesync.validation.admission.EventAdmissionRegistry;
+import com.fullstack.venuesync.validation.attendance.EventAttendanceTracker;
 import com.fullstack.venuesync.validation.domain.QrCode;
 import com.fullstack.venuesync.validation.domain.QrCodeStatusEnum;
 import com.fullstack.venuesync.tickets.domain.Ticket;
 import com.fullstack.venuesync.tickets.domain.TicketStatusEnum;
+import com.fullstack.venuesync.validation.domain.TicketScan;
 import com.fullstack.venuesync.validation.domain.TicketValidation;
 import com.fullstack.venuesync.validation.domain.TicketValidationMethod;
 import com.fullstack.venuesync.validation.domain.TicketValidationStatusEnum;
+import com.fullstack.venuesync.validation.filter.QrCodeIdFilter;
+import com.fullstack.venuesync.validation.metrics.GateMetrics;
 import com.fullstack.venuesync.validation.repository.QrCodeRepository;
 import com.fullstack.venuesync.tickets.repository.TicketRepository;
 import com.fullstack.venuesync.validation.repository.TicketValidationRepository;
+import com.fullstack.venuesync.validation.token.QrCodeToken;
+import com.fullstack.venuesync.validation.token.QrCodeTokenCodec;
+import com.fullstack.venuesync.validation.writer.TicketValidationWriter;
 
 @Service
 @RequiredArgsConstructor
@@ -27,9 +47,33 @@ public class TicketValidationServiceImpl implements TicketValidationService {
   private final QrCodeRepository qrCodeRepository;
   private final TicketValidationRepository ticketValidationRepository;
   private final TicketRepository ticketRepository;
+  private final QrCodeTokenCodec qrCodeTokenCodec;
+  private final EventAdmissionRegistry eventAdmissionRegistry;
+  private final TicketValidationWriter ticketValidationWriter;
+  private final QrCodeIdFilter qrCodeIdFilter;
+  private final EventAttendanceTracker eventAttendanceTracker;
+  private final GateMetrics gateMetrics;
 
   @Override
-  public TicketValidation validateTicketByQrCode(UUID qrCodeId) {
+  public TicketValidation validateTicketByQrCode(String payload, UUID eventId) {
+    Optional<QrCodeToken> token = qrCodeTokenCodec.verify(payload);
+    if (token.isPresent()) {
+      return validateSignedQrCode(token.get(), eventId);
+    }
+
+    // QR codes issued before payloads were signed carry the QR code ID
+    UUID qrCodeId;
+    try {
+      qrCodeId = UUID.fromString(payload);
+    } catch (IllegalArgumentException | NullPointerException e) {
+      return rejectQrCode();
+    }
+
+    // Codes the filter has never seen are not active; record them without a lookup
+    if (!qrCodeIdFilter.mightContain(qrCodeId)) {
+      return ticketValidationWriter.record(rejectQrCode());
+    }
+
     Optional<QrCode> qrCodeOpt = qrCodeRepository.findByIdAndStatus(qrCodeId, QrCodeStatusEnum.ACTIVE);
     
     // If QR code not found or inactive, return INVALID status
@@ -37,15 +81,87 @@ public class TicketValidationServiceImpl implements TicketValidationService {
       TicketValidation invalidValidation = new TicketValidation();
       invalidValidation.setValidationMethod(TicketValidationMethod.QR_SCAN);
       invalidValidation.setStatus(TicketValidationStatusEnum.INVALID);
-      return ticketValidationRepository.save(invalidValidation);
+      return ticketValidationWriter.record(invalidValidation);
     }
 
     Ticket ticket = qrCodeOpt.get().getTicket();
-    return validateTicket(ticket, TicketValidationMethod.QR_SCAN);
+    if (eventId != null && !eventId.equals(ticket.getTicketType().getEvent().getId())) {
+      return rejectQrCode();
+    }
+    return validateLoadedTicket(ticket, TicketValidationMethod.QR_SCAN);
+  }
+
+  /**
+   * Validates a QR code whose signature has been verified. Its claims are trusted, so
+   * codes for another event are rejected before touching the database, and within the
+   * validity window only the ticket itself is read for the single-use check. Outside
+   * the window the event is checked as well, since its end may have moved since signing.
+   */
+  private TicketValidation validateSignedQrCode(QrCodeToken token, UUID eventId) {
+    if (eventId != null && !eventId.equals(token.eventId())) {
+      return rejectQrCode();
+    }
+
+    boolean inWindow = token.isValidAt(LocalDateTime.now());
+    if (inWindow) {
+      Optional<TicketValidation> admitted = admitFromIndex(
+          token.eventId(), token.ticketId(), TicketValidationMethod.QR_SCAN);
+      if (admitted.isPresent()) {
+        return admitted.get();
+      }
+    }
+
+    // Unclaimed tickets of a pooled ticket type were never sold
+    Optional<Ticket> ticketOpt = ticketRepository.findById(token.ticketId())
+        .filter(ticket -> !TicketStatusEnum.AVAILABLE.equals(ticket.getStatus()));
+    if (ticketOpt.isEmpty()) {
+      return rejectQrCode();
+    }
+
+    return validateTicket(ticketOpt.get(), token.eventId(), TicketValidationMethod.QR_SCAN, !inWindow);
+  }
+
+  /**
+   * Answers a scan from the event's admission bitmap when the event is open for
+   * event-day admission. The outcome is persisted later, so the ticket is only
+   * referenced, not loaded.
+   */
+  private Optional<TicketValidation> admitFromIndex(UUID eventId, UUID ticketId,
+                                                    TicketValidationMethod method) {
+    return eventAdmissionRegistry.admit(eventId, ticketId, method).map(status -> {
+      countScan(eventId, status);
+      TicketValidation ticketValidation = new TicketValidation();
+      ticketValidation.setTicket(ticketRepository.getReferenceById(ticketId));
+      ticketValidation.setValidationMethod(method);
+      ticketValidation.setStatus(status);
+      return ticketValidation;
+    });
+  }
+
+  private TicketValidation validateLoadedTicket(Ticket ticket, TicketValidationMethod method) {
+    UUID eventId = ticket.getTicketType().getEvent().getId();
+    // Go through the bitmap if there is one, so that it stays the single source of truth
+    if (eventAdmissionRegistry.hasOpenEvents()) {
+      Optional<TicketValidation> admitted = admitFromIndex(eventId, ticket.getId(), method);
+      if (admitted.isPresent()) {
+        return admitted.get();
+      }
+    }
+    return validateTicket(ticket, eventId, method, true);
+  }
+
+  /**
+   * Answers a scan of a forged, unreadable or misdirected QR code. Such scans are not
+   * recorded, so that they cost no database I/O.
+   */
+  private TicketValidation rejectQrCode() {
+    return rejectScan(TicketValidationMethod.QR_SCAN);
   }
 
   private TicketValidation validateTicket(Ticket ticket,
-                                          TicketValidationMethod ticketValidationMethod) {
+                                          UUID eventId,
+                                          TicketValidationMethod ticketValidationMethod,
+                                          boolean checkEventEnd) {
     TicketValidation ticketValidation = new TicketValidation();
     ticketValidation.setTicket(ticket);
     ticketValidation.setValidationMethod(ticketValidationMethod);
@@ -53,55 +169,244 @@ public class TicketValidationServiceImpl implements TicketValidationService {
     // Check if ticket is already expired
     if (TicketStatusEnum.EXPIRED.equals(ticket.getStatus())) {
       ticketValidation.setStatus(TicketValidationStatusEnum.EXPIRED);
-      return ticketValidationRepository.save(ticketValidation);
+      return recordScan(ticketValidation, eventId);
     }
 
     // Check if the event has already ended
-    LocalDateTime eventEnd = ticket.getTicketType().getEvent().getEnd();
-    if (eventEnd != null && LocalDateTime.now().isAfter(eventEnd)) {
+    LocalDateTime now = LocalDateTime.now();
+    LocalDateTime eventEnd = checkEventEnd ? ticket.getTicketType().getEvent().getEnd() : null;
+    if (eventEnd != null && now.isAfter(eventEnd)) {
       ticketValidation.setStatus(TicketValidationStatusEnum.EXPIRED);
-      // Also mark the ticket as expired
-      ticket.setStatus(TicketStatusEnum.EXPIRED);
-      ticketRepository.save(ticket);
-      return ticketValidationRepository.save(ticketValidation);
+      // Also mark the ticket as expired, unless it was used in the meantime
+      ticketRepository.updateStatusById(
+          ticket.getId(), TicketStatusEnum.EXPIRED, TicketStatusEnum.PURCHASED, now);
+      return recordScan(ticketValidation, eventId);
     }
 
-    // Check if ticket was already used (has a valid validation or status is USED)
+    // Tickets read as used need no update, and cancelled tickets never admit
     if (TicketStatusEnum.USED.equals(ticket.getStatus())) {
       ticketValidation.setStatus(TicketValidationStatusEnum.ALREADY_USED);
-      return ticketValidationRepository.save(ticketValidation);
+      return recordScan(ticketValidation, eventId);
+    }
+    if (!TicketStatusEnum.PURCHASED.equals(ticket.getStatus())) {
+      ticketValidation.setStatus(TicketValidationStatusEnum.INVALID);
+      return recordScan(ticketValidation, eventId);
     }
 
-    // Check if ticket was already used (has a valid validation)
-    TicketValidationStatusEnum ticketValidationStatus = ticket.getValidations().stream()
-        .filter(v -> TicketValidationStatusEnum.VALID.equals(v.getStatus()))
-        .findFirst()
-        .map(v -> TicketValidationStatusEnum.ALREADY_USED)
-        .orElse(TicketValidationStatusEnum.VALID);
+    // Check and mark in one statement: of concurrent scans only one moves the ticket
+    // to USED, the others find it gone from PURCHASED
+    int admitted = ticketRepository.updateStatusById(
+        ticket.getId(), TicketStatusEnum.USED, TicketStatusEnum.PURCHASED, now);
+    if (admitted == 1) {
+      ticketValidation.setStatus(TicketValidationStatusEnum.VALID);
+    } else {
+      // Not necessarily a concurrent scan: the ticket may have expired or been
+      // cancelled since it was loaded
+      ticketValidation.setStatus(ticketRepository.findStatusById(ticket.getId())
+          .map(TicketValidationServiceImpl::lostRaceStatus)
+          .orElse(TicketValidationStatusEnum.INVALID));
+    }
 
-    ticketValidation.setStatus(ticketValidationStatus);
+    return recordScan(ticketValidation, eventId);
+  }
 
-    // If this is a valid scan (first successful validation), mark the ticket as USED
-    if (TicketValidationStatusEnum.VALID.equals(ticketValidationStatus)) {
-      ticket.setStatus(TicketStatusEnum.USED);
-      ticketRepository.save(ticket);
-    }
+  /**
+   * Maps the status a PURCHASED ticket was found in after failing to admit it.
+   */
+  private static TicketValidationStatusEnum lostRaceStatus(TicketStatusEnum status) {
+    return switch (status) {
+      case USED -> TicketValidationStatusEnum.ALREADY_USED;
+      case EXPIRED -> TicketValidationStatusEnum.EXPIRED;
+      default -> TicketValidationStatusEnum.INVALID;
+    };
+  }
 
-    return ticketValidationRepository.save(ticketValidation);
+  private TicketValidation recordScan(TicketValidation ticketValidation, UUID eventId) {
+    countScan(eventId, ticketValidation.getStatus());
+    return ticketValidationWriter.record(ticketValidation);
+  }
+
+  private void countScan(UUID eventId, TicketValidationStatusEnum status) {
+    eventAttendanceTracker.recordScan(eventId, status);
+    gateMetrics.countScan(eventId);
   }
 
   @Override
   public TicketValidation validateTicketManually(UUID ticketId) {
-    Optional<Ticket> ticketOpt = ticketRepository.findById(Objects.requireNonNull(ticketId));
+    // Unclaimed tickets of a pooled ticket type were never sold
+    Optional<Ticket> ticketOpt = ticketRepository.findById(Objects.requireNonNull(ticketId))
+        .filter(ticket -> !TicketStatusEnum.AVAILABLE.equals(ticket.getStatus()));
     
     // If ticket not found, return INVALID status
     if (ticketOpt.isEmpty()) {
       TicketValidation invalidValidation = new TicketValidation();
       invalidValidation.setValidationMethod(TicketValidationMethod.MANUAL);
       invalidValidation.setStatus(TicketValidationStatusEnum.INVALID);
-      return ticketValidationRepository.save(invalidValidation);
+      return ticketValidationWriter.record(invalidValidation);
     }
     
-    return validateTicket(ticketOpt.get(), TicketValidationMethod.MANUAL);
+    return validateLoadedTicket(ticketOpt.get(), TicketValidationMethod.MANUAL);
+  }
+
+  @Override
+  public List<TicketValidation> validateTicketScans(List<TicketScan> scans, UUID eventId) {
+    LocalDateTime now = LocalDateTime.now();
+    UUID[] ticketIds = resolveTicketIds(scans);
+
+    Set<UUID> distinctTicketIds = new HashSet<>();
+    for (UUID ticketId : ticketIds) {
+      if (ticketId != null) {
+        distinctTicketIds.add(ticketId);
+      }
+    }
+    Map<UUID, Ticket> tickets = distinctTicketIds.isEmpty()
+        ? Map.of()
+        : ticketRepository.findAllByIdForUpdate(distinctTicketIds).stream()
+            .collect(Collectors.toMap(Ticket::getId, Function.identity()));
+
+    // First scan wins: decide in scan order, scans made at the same time in upload order
+    List<Integer> scanOrder = IntStream.range(0, scans.size()).boxed()
+        .sorted(Comparator.comparing(i -> scans.get(i).scannedAt()))
+        .toList();
+
+    TicketValidation[] results = new TicketValidation[scans.size()];
+    List<TicketValidation> validations = new ArrayList<>(scans.size());
+    // Statuses the batch moves PURCHASED tickets to
+    Map<UUID, TicketStatusEnum> transitions = new HashMap<>();
+
+    for (int i : scanOrder) {
+      TicketScan scan = scans.get(i);
+      Ticket ticket = ticketIds[i] != null ? tickets.get(ticketIds[i]) : null;
+      // Unclaimed tickets of a pooled ticket type were never sold
+      if (ticket == null || TicketStatusEnum.AVAILABLE.equals(ticket.getStatus())) {
+        results[i] = rejectScan(scan.method());
+        continue;
+      }
+      Event event = ticket.getTicketType().getEvent();
+      if (eventId != null && TicketValidationMethod.QR_SCAN.equals(scan.method())
+          && !eventId.equals(event.getId())) {
+        results[i] = rejectScan(scan.method());
+        continue;
+      }
+
+      TicketValidation ticketValidation = new TicketValidation();
+      ticketValidation.setTicket(ticket);
+      ticketValidation.setValidationMethod(scan.method());
+      results[i] = ticketValidation;
+
+      // The admission bitmap of an open event decides, and records, its own scans
+      if (eventAdmissionRegistry.hasOpenEvents()) {
+        Optional<TicketValidationStatusEnum> admitted =
+            eventAdmissionRegistry.admit(event.getId(), ticket.getId(), scan.method());
+        if (admitted.isPresent()) {
+          ticketValidation.setStatus(admitted.get());
+          countScan(event.getId(), admitted.get());
+          continue;
+        }
+      }
+
+      // A scanner clock running ahead must not make a scan look later than it can be
+      LocalDateTime scannedAt = scan.scannedAt().isAfter(now) ? now : scan.scannedAt();
+      TicketStatusEnum status = transitions.getOrDefault(ticket.getId(), ticket.getStatus());
+      ticketValidation.setStatus(decideScan(ticket, status, event.getEnd(), scannedAt, transitions));
+      countScan(event.getId(), ticketValidation.getStatus());
+      validations.add(ticketValidation);
+    }
+
+    List<UUID> usedTicketIds = new ArrayList<>();
+    List<UUID> expiredTicketIds = new ArrayList<>();
+    transitions.forEach((ticketId, status) ->
+        (TicketStatusEnum.USED.equals(status) ? usedTicketIds : expiredTicketIds).add(ticketId));
+    if (!usedTicketIds.isEmpty()) {
+      ticketRepository.updateStatusByIds(
+          usedTicketIds, TicketStatusEnum.USED, TicketStatusEnum.PURCHASED, now);
+    }
+    if (!expiredTicketIds.isEmpty()) {
+      ticketRepository.updateStatusByIds(
+          expiredTicketIds, TicketStatusEnum.EXPIRED, TicketStatusEnum.PURCHASED, now);
+    }
+    ticketValidationRepository.saveAll(validations);
+
+    return Arrays.asList(results);
+  }
+
+  /**
+   * Resolves each scan to the ID of its ticket, or null if it names none. QR code IDs
+   * of codes issued before signing are looked up together.
+   */
+  private UUID[] resolveTicketIds(List<TicketScan> scans) {
+    UUID[] ticketIds = new UUID[scans.size()];
+    Map<UUID, List<Integer>> scansByQrCodeId = new HashMap<>();
+
+    for (int i = 0; i < scans.size(); i++) {
+      TicketScan scan = scans.get(i);
+      if (TicketValidationMethod.MANUAL.equals(scan.method())) {
+        ticketIds[i] = parseUuid(scan.payload());
+        continue;
+      }
+      Optional<QrCodeToken> token = qrCodeTokenCodec.verify(scan.payload());
+      if (token.isPresent()) {
+        ticketIds[i] = token.get().ticketId();
+        continue;
+      }
+      UUID qrCodeId = parseUuid(scan.payload());
+      if (qrCodeId != null && qrCodeIdFilter.mightContain(qrCodeId)) {
+        scansByQrCodeId.computeIfAbsent(qrCodeId, id -> new ArrayList<>()).add(i);
+      }
+    }
+
+    if (!scansByQrCodeId.isEmpty()) {
+      for (QrCode qrCode : qrCodeRepository.findByIdInAndStatus(
+          scansByQrCodeId.keySet(), QrCodeStatusEnum.ACTIVE)) {
+        for (int i : scansByQrCodeId.get(qrCode.getId())) {
+          ticketIds[i] = qrCode.getTicket().getId();
+        }
+      }
+    }
+    return ticketIds;
+  }
+
+  /**
+   * Decides one scan of an uploaded batch with the same rules as
+   * {@link #validateTicket}, recording in {@code transitions} the status a PURCHASED
+   * ticket moves to so that later scans in the batch see it.
+   */
+  private static TicketValidationStatusEnum decideScan(Ticket ticket,
+                                                       TicketStatusEnum status,
+                                                       LocalDateTime eventEnd,
+                                                       LocalDateTime scannedAt,
+                                                       Map<UUID, TicketStatusEnum> transitions) {
+    if (TicketStatusEnum.EXPIRED.equals(status)) {
+      return TicketValidationStatusEnum.EXPIRED;
+    }
+    if (eventEnd != null && scannedAt.isAfter(eventEnd)) {
+      if (TicketStatusEnum.PURCHASED.equals(status)) {
+        transitions.put(ticket.getId(), TicketStatusEnum.EXPIRED);
+      }
+      return TicketValidationStatusEnum.EXPIRED;
+    }
+    if (TicketStatusEnum.USED.equals(status)) {
+      return TicketValidationStatusEnum.ALREADY_USED;
+    }
+    if (!TicketStatusEnum.PURCHASED.equals(status)) {
+      return TicketValidationStatusEnum.INVALID;
+    }
+    transitions.put(ticket.getId(), TicketStatusEnum.USED);
+    return TicketValidationStatusEnum.VALID;
+  }
+
+  private static TicketValidation rejectScan(TicketValidationMethod method) {
+    TicketValidation invalidValidation = new TicketValidation();
+    invalidValidation.setValidationMethod(method);
+    invalidValidation.setStatus(TicketValidationStatusEnum.INVALID);
+    return invalidValidation;
+  }
+
+  private static UUID parseUuid(String value) {
+    try {
+      return UUID.fromString(value);
+    } catch (IllegalArgumentException | NullPointerException e) {
+      return null;
+    }
   }
 }
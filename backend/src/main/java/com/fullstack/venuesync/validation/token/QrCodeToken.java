@@ -0,0 +1,20 @@
+package com.fullstack.venuesync.validation.token;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * The claims carried by a signed QR code payload. A null {@code validUntil} means the
+ * event has no end, so the ticket does not lapse.
+ */
+public record QrCodeToken(
+    UUID ticketId,
+    UUID eventId,
+    LocalDateTime validFrom,
+    LocalDateTime validUntil
+) {
+
+  public boolean isValidAt(LocalDateTime time) {
+    return !time.isBefore(validFrom) && (validUntil == null || !time.isAfter(validUntil));
+  }
+}
@@ -0,0 +1,128 @@
+package com.fullstack.venuesync.validation.token;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.UUID;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Signs and verifies QR code payloads, so that scanners can reject forged codes and
+ * codes for another event without a database lookup.
+ * <p>
+ * A token is the URL-safe Base64 of a version byte, the ticket and event IDs, the
+ * validity window as wall-clock epoch seconds and a truncated HMAC-SHA256 of all of
+ * those, 76 characters in total.
+ */
+@Component
+public class QrCodeTokenCodec {
+
+  private static final String ALGORITHM = "HmacSHA256";
+  private static final int MIN_SECRET_BYTES = 32;
+
+  private static final byte VERSION = 1;
+  private static final int CLAIMS_LENGTH = 1 + 16 + 16 + 4 + 4;
+  private static final int MAC_LENGTH = 16;
+  private static final int TOKEN_LENGTH = ((CLAIMS_LENGTH + MAC_LENGTH) * 8 + 5) / 6;
+  private static final int NO_END = -1;
+
+  private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+  private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+  private final ThreadLocal<Mac> macs;
+
+  public QrCodeTokenCodec(@Value("${app.qr.signing.secret}") String secret) {
+    byte[] key = secret.getBytes(StandardCharsets.UTF_8);
+    if (key.length < MIN_SECRET_BYTES) {
+      throw new IllegalStateException(
+          "app.qr.signing.secret must be at least " + MIN_SECRET_BYTES + " bytes long");
+    }
+    SecretKeySpec keySpec = new SecretKeySpec(key, ALGORITHM);
+    this.macs = ThreadLocal.withInitial(() -> {
+      try {
+        Mac mac = Mac.getInstance(ALGORITHM);
+        mac.init(keySpec);
+        return mac;
+      } catch (GeneralSecurityException ex) {
+        throw new IllegalStateException("HMAC-SHA256 is not available", ex);
+      }
+    });
+  }
+
+  public String sign(QrCodeToken token) {
+    ByteBuffer buffer = ByteBuffer.allocate(CLAIMS_LENGTH + MAC_LENGTH)
+        .put(VERSION)
+        .putLong(token.ticketId().getMostSignificantBits())
+        .putLong(token.ticketId().getLeastSignificantBits())
+        .putLong(token.eventId().getMostSignificantBits())
+        .putLong(token.eventId().getLeastSignificantBits())
+        .putInt(toSeconds(token.validFrom()))
+        .putInt(token.validUntil() != null ? toSeconds(token.validUntil()) : NO_END);
+    byte[] bytes = buffer.array();
+    buffer.put(mac(bytes));
+    return ENCODER.encodeToString(bytes);
+  }
+
+  /**
+   * Decodes a payload, returning its claims only if it is a well-formed token whose
+   * signature matches. Anything else, including legacy UUID payloads, yields empty.
+   */
+  public Optional<QrCodeToken> verify(String payload) {
+    if (payload == null || payload.length() != TOKEN_LENGTH) {
+      return Optional.empty();
+    }
+
+    byte[] bytes;
+    try {
+      bytes = DECODER.decode(payload);
+    } catch (IllegalArgumentException ex) {
+      return Optional.empty();
+    }
+    if (bytes[0] != VERSION) {
+      return Optional.empty();
+    }
+
+    byte[] expected = mac(bytes);
+    byte[] actual = Arrays.copyOfRange(bytes, CLAIMS_LENGTH, CLAIMS_LENGTH + MAC_LENGTH);
+    if (!MessageDigest.isEqual(expected, actual)) {
+      return Optional.empty();
+    }
+
+    ByteBuffer buffer = ByteBuffer.wrap(bytes, 1, CLAIMS_LENGTH - 1);
+    UUID ticketId = new UUID(buffer.getLong(), buffer.getLong());
+    UUID eventId = new UUID(buffer.getLong(), buffer.getLong());
+    LocalDateTime validFrom = fromSeconds(buffer.getInt());
+    int validUntil = buffer.getInt();
+    return Optional.of(new QrCodeToken(
+        ticketId,
+        eventId,
+        validFrom,
+        validUntil != NO_END ? fromSeconds(validUntil) : null
+    ));
+  }
+
+  private byte[] mac(byte[] bytes) {
+    Mac mac = macs.get();
+    mac.update(bytes, 0, CLAIMS_LENGTH);
+    return Arrays.copyOf(mac.doFinal(), MAC_LENGTH);
+  }
+
+  // Times are wall-clock, like every LocalDateTime in the application, and fit an
+  // unsigned 32-bit count of seconds until 2106
+  private static int toSeconds(LocalDateTime time) {
+    return (int) time.toEpochSecond(ZoneOffset.UTC);
+  }
+
+  private static LocalDateTime fromSeconds(int seconds) {
+    return LocalDateTime.ofEpochSecond(Integer.toUnsignedLong(seconds), 0, ZoneOffset.UTC);
+  }
+}
@@ -0,0 +1,24 @@
+package com.fullstack.venuesync.validation.writer;
+
+import java.util.UUID;
+
+import com.fullstack.venuesync.validation.domain.TicketValidationMethod;
+import com.fullstack.venuesync.validation.domain.TicketValidationStatusEnum;
+
+/**
+ * A validation whose row is not yet written. The ticket is null for scans that matched
+ * none; {@code markUsed} is set for admissions answered in memory, whose ticket has yet
+ * to be moved to USED.
+ */
+record PendingValidation(
+    UUID ticketId,
+    TicketValidationStatusEnum status,
+    TicketValidationMethod method,
+    boolean markUsed,
+    int attempts
+) {
+
+  PendingValidation retried() {
+    return new PendingValidation(ticketId, status, method, markUsed, attempts + 1);
+  }
+}
@@ -0,0 +1,282 @@
+package com.fullstack.venuesync.validation.writer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fullstack.venuesync.tickets.domain.TicketStatusEnum;
+import com.fullstack.venuesync.tickets.repository.TicketRepository;
+import com.fullstack.venuesync.validation.domain.TicketValidation;
+import com.fullstack.venuesync.validation.domain.TicketValidationMethod;
+import com.fullstack.venuesync.validation.domain.TicketValidationStatusEnum;
+import com.fullstack.venuesync.validation.repository.TicketValidationRepository;
+
+/**
+ * Writes ticket validation rows off the request thread. Validations are queued in a
+ * bounded buffer and inserted in JDBC batches, one transaction per batch, whenever a
+ * batch has filled up and at least every flush interval by
+ * {@link com.fullstack.venuesync.shared.config.ScheduledTasksConfig}. Admissions answered
+ * from admission bitmaps also mark their tickets USED, with a single update per batch.
+ * <p>
+ * Validations in one of the durable statuses (VALID by default) are written before the
+ * scan is answered instead, admissions included. When the buffer is full, the scan is
+ * written by the caller. Every write the writer makes commits in its own transaction,
+ * even on a caller inside one, so that an admission already answered from a bitmap is
+ * not undone by the caller rolling back.
+ * Queued validations are lost if the instance dies before a flush.
+ */
+@Component
+@Slf4j
+public class TicketValidationWriter {
+
+  private final TicketRepository ticketRepository;
+  private final TicketValidationRepository ticketValidationRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final int batchSize;
+  private final int maxAttempts;
+  private final Set<TicketValidationStatusEnum> durableStatuses;
+  private final BlockingQueue<PendingValidation> pending;
+  private final ExecutorService flusher;
+  private final AtomicBoolean flushRequested = new AtomicBoolean();
+  private final Counter writtenCounter;
+  private final Counter callerWrittenCounter;
+  private final Counter droppedCounter;
+
+  public TicketValidationWriter(
+      TicketRepository ticketRepository,
+      TicketValidationRepository ticketValidationRepository,
+      PlatformTransactionManager transactionManager,
+      MeterRegistry meterRegistry,
+      @Value("${app.validation.writer.capacity:10000}") int capacity,
+      @Value("${app.validation.writer.batch-size:500}") int batchSize,
+      @Value("${app.validation.writer.max-attempts:5}") int maxAttempts,
+      @Value("${app.validation.writer.durable-statuses:VALID}") Set<TicketValidationStatusEnum> durableStatuses
+  ) {
+    this.ticketRepository = ticketRepository;
+    this.ticketValidationRepository = ticketValidationRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.batchSize = batchSize;
+    this.maxAttempts = maxAttempts;
+    this.durableStatuses = durableStatuses.isEmpty()
+        ? EnumSet.noneOf(TicketValidationStatusEnum.class)
+        : EnumSet.copyOf(durableStatuses);
+    this.pending = new ArrayBlockingQueue<>(capacity);
+    this.flusher = Executors.newSingleThreadExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "ticket-validation-writer");
+      thread.setDaemon(true);
+      return thread;
+    });
+
+    Gauge.builder("venuesync.validation.writer.queue.depth", pending, BlockingQueue::size)
+        .description("Ticket validations waiting to be written")
+        .register(meterRegistry);
+    Gauge.builder("venuesync.validation.writer.queue.remaining", pending, BlockingQueue::remainingCapacity)
+        .description("Free slots in the ticket validation write buffer")
+        .register(meterRegistry);
+    this.writtenCounter = Counter.builder("venuesync.validation.writer.written")
+        .description("Ticket validations written in batches")
+        .register(meterRegistry);
+    this.callerWrittenCounter = Counter.builder("venuesync.validation.writer.caller.written")
+        .description("Ticket validations written on the request thread because the buffer was full")
+        .register(meterRegistry);
+    this.droppedCounter = Counter.builder("venuesync.validation.writer.dropped")
+        .description("Ticket validations dropped after failing to be written")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Records a validation decided by the caller, whose ticket status is already up to
+   * date. Durable statuses are saved right away and returned as saved; others are
+   * queued and returned without an ID.
+   */
+  public TicketValidation record(TicketValidation ticketValidation) {
+    if (durableStatuses.contains(ticketValidation.getStatus())) {
+      return ticketValidationRepository.save(ticketValidation);
+    }
+    UUID ticketId = ticketValidation.getTicket() != null ? ticketValidation.getTicket().getId() : null;
+    enqueue(new PendingValidation(
+        ticketId, ticketValidation.getStatus(), ticketValidation.getValidationMethod(), false, 0));
+    return ticketValidation;
+  }
+
+  /**
+   * Queues an admission answered from an admission bitmap, or writes it right away if
+   * its status is durable. Its ticket is marked USED together with the row if the
+   * admission is VALID.
+   */
+  public void enqueueAdmission(UUID ticketId, TicketValidationStatusEnum status,
+                               TicketValidationMethod method) {
+    PendingValidation validation = new PendingValidation(
+        ticketId, status, method, TicketValidationStatusEnum.VALID.equals(status), 0);
+    if (durableStatuses.contains(status)) {
+      transactionTemplate.executeWithoutResult(transactionStatus -> write(List.of(validation)));
+      return;
+    }
+    enqueue(validation);
+  }
+
+  private void enqueue(PendingValidation validation) {
+    if (!pending.offer(validation)) {
+      // Writing on the caller slows scans down instead of losing them
+      transactionTemplate.executeWithoutResult(status -> write(List.of(validation)));
+      callerWrittenCounter.increment();
+      return;
+    }
+    if (pending.size() >= batchSize) {
+      requestFlush();
+    }
+  }
+
+  public int pendingCount() {
+    return pending.size();
+  }
+
+  /**
+   * Schedules a flush on the writer thread unless one is already pending.
+   */
+  public void requestFlush() {
+    if (flushRequested.compareAndSet(false, true)) {
+      flusher.execute(() -> {
+        // Clear first so that a batch filling up while we write triggers another pass
+        flushRequested.set(false);
+        try {
+          flush();
+        } catch (Exception e) {
+          log.error("Error while writing ticket validations", e);
+        }
+      });
+    }
+  }
+
+  /**
+   * Writes every validation queued so far, one transaction per batch. When a batch
+   * fails, its validations are written one by one so that a single bad row does not
+   * hold back the others; those that still fail are queued again and retried on the
+   * next flush, up to the configured attempts.
+   *
+   * @return the number of validations written
+   */
+  public int flush() {
+    int written = 0;
+    int remaining = pending.size();
+    while (remaining > 0) {
+      List<PendingValidation> batch = new ArrayList<>(Math.min(batchSize, remaining));
+      pending.drainTo(batch, batchSize);
+      if (batch.isEmpty()) {
+        break;
+      }
+      remaining -= batch.size();
+
+      try {
+        transactionTemplate.executeWithoutResult(status -> write(batch));
+        written += batch.size();
+        writtenCounter.increment(batch.size());
+      } catch (RuntimeException ex) {
+        log.error("Failed to write {} ticket validations", batch.size(), ex);
+        if (batch.size() == 1) {
+          requeue(batch);
+          break;
+        }
+        int writtenOneByOne = writeOneByOne(batch);
+        written += writtenOneByOne;
+        if (writtenOneByOne == 0) {
+          // Nothing gets through, most likely the database is down
+          break;
+        }
+      }
+    }
+    return written;
+  }
+
+  /**
+   * Writes each validation of a failed batch in its own transaction, queueing the
+   * failures again.
+   *
+   * @return the number of validations written
+   */
+  private int writeOneByOne(List<PendingValidation> batch) {
+    int written = 0;
+    List<PendingValidation> failed = new ArrayList<>();
+    for (PendingValidation validation : batch) {
+      try {
+        transactionTemplate.executeWithoutResult(status -> write(List.of(validation)));
+        written++;
+      } catch (RuntimeException ex) {
+        log.warn("Failed to write {} validation of ticket {}: {}",
+            validation.status(), validation.ticketId(), ex.getMessage());
+        failed.add(validation);
+      }
+    }
+    writtenCounter.increment(written);
+    requeue(failed);
+    return written;
+  }
+
+  private void write(List<PendingValidation> batch) {
+    List<UUID> admittedTicketIds = batch.stream()
+        .filter(PendingValidation::markUsed)
+        .map(PendingValidation::ticketId)
+        .toList();
+    if (!admittedTicketIds.isEmpty()) {
+      ticketRepository.updateStatusByIds(
+          admittedTicketIds,
+          TicketStatusEnum.USED,
+          TicketStatusEnum.PURCHASED,
+          LocalDateTime.now()
+      );
+    }
+
+    List<TicketValidation> validations = batch.stream().map(pendingValidation -> {
+      TicketValidation validation = new TicketValidation();
+      if (pendingValidation.ticketId() != null) {
+        validation.setTicket(ticketRepository.getReferenceById(pendingValidation.ticketId()));
+      }
+      validation.setStatus(pendingValidation.status());
+      validation.setValidationMethod(pendingValidation.method());
+      return validation;
+    }).toList();
+    ticketValidationRepository.saveAll(validations);
+  }
+
+  private void requeue(List<PendingValidation> batch) {
+    for (PendingValidation validation : batch) {
+      PendingValidation retry = validation.retried();
+      if (retry.attempts() >= maxAttempts || !pending.offer(retry)) {
+        log.error("Dropping {} validation of ticket {} after {} attempts",
+            validation.status(), validation.ticketId(), retry.attempts());
+        droppedCounter.increment();
+      }
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    flusher.shutdown();
+    int written = flush();
+    if (written > 0) {
+      log.info("Wrote {} ticket validations on shutdown", written);
+    }
+    if (!pending.isEmpty()) {
+      log.error("{} ticket validations could not be written before shutdown", pending.size());
+    }
+  }
+}
@@ -28,6 +28,7 @@ import org.springframework.http.MediaType;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fullstack.venuesync.events.domain.CreateEventRequest;
@@ -44,6 +45,7 @@ import com.fullstack.venuesync.shared.domain.UserRepository;
 import com.fullstack.venuesync.shared.exceptions.GlobalExceptionHandler;
 import com.fullstack.venuesync.shared.filters.UserProvisioningFilter;
 import com.fullstack.venuesync.tickets.domain.TicketType;
+import com.fullstack.venuesync.validation.attendance.EventAttendanceTracker;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletRequest;
@@ -65,6 +67,9 @@ class EventControllerTest {
   @MockitoBean
   private EventMapper eventMapper;
 
+  @MockitoBean
+  private EventAttendanceTracker eventAttendanceTracker;
+
   @MockitoBean
   private JwtDecoder jwtDecoder;
 
@@ -270,6 +275,42 @@ class EventControllerTest {
     }
   }
 
+  @Nested
+  @DisplayName("GET /api/v1/events/{id}/attendance")
+  class StreamAttendanceEndpoint {
+
+    @Test
+    @DisplayName("should open an attendance stream for the organizer's event")
+    void shouldStreamAttendance() throws Exception {
+      when(eventService.getEventForOrganizer(any(UUID.class), eq(eventId)))
+          .thenReturn(Optional.of(event));
+      when(eventAttendanceTracker.subscribe(eventId)).thenReturn(new SseEmitter());
+
+      mockMvc.perform(get("/api/v1/events/{eventId}/attendance", eventId)
+              .accept(MediaType.TEXT_EVENT_STREAM)
+              .with(jwt().jwt(createJwt()).authorities(
+                  new org.springframework.security.core.authority.SimpleGrantedAuthority("ROLE_ORGANIZER"))))
+          .andExpect(request().asyncStarted());
+
+      verify(eventAttendanceTracker).subscribe(eventId);
+    }
+
+    @Test
+    @DisplayName("should return 404 for events of other organizers")
+    void shouldReturn404WhenNotFound() throws Exception {
+      when(eventService.getEventForOrganizer(any(UUID.class), eq(eventId)))
+          .thenReturn(Optional.empty());
+
+      mockMvc.perform(get("/api/v1/events/{eventId}/attendance", eventId)
+              .accept(MediaType.TEXT_EVENT_STREAM)
+              .with(jwt().jwt(createJwt()).authorities(
+                  new org.springframework.security.core.authority.SimpleGrantedAuthority("ROLE_ORGANIZER"))))
+          .andExpect(status().isNotFound());
+
+      verifyNoInteractions(eventAttendanceTracker);
+    }
+  }
+
   @Nested
   @DisplayName("DELETE /api/v1/events/{id}")
   class DeleteEventEndpoint {
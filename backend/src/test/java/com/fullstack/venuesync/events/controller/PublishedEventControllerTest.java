@@ -35,6 +35,7 @@ import com.fullstack.venuesync.shared.config.JwtAuthenticationConverter;
 import com.fullstack.venuesync.shared.domain.UserRepository;
 import com.fullstack.venuesync.shared.exceptions.GlobalExceptionHandler;
 import com.fullstack.venuesync.shared.filters.UserProvisioningFilter;
+import com.fullstack.venuesync.tickets.inventory.SoldOutRegistry;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletRequest;
@@ -53,6 +54,9 @@ class PublishedEventControllerTest {
   @MockitoBean
   private EventMapper eventMapper;
 
+  @MockitoBean
+  private SoldOutRegistry soldOutRegistry;
+
   @MockitoBean
   private JwtDecoder jwtDecoder;
 
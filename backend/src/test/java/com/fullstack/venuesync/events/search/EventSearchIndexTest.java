@@ -0,0 +1,123 @@
+package com.fullstack.venuesync.events.search;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class EventSearchIndexTest {
+
+  @Mock
+  private JdbcTemplate jdbcTemplate;
+
+  private EventSearchIndex eventSearchIndex;
+
+  @BeforeEach
+  void setUp() {
+    eventSearchIndex = new EventSearchIndex(jdbcTemplate, true);
+  }
+
+  private void stubDatabase(String product) {
+    when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn(product);
+  }
+
+  private void stubExtensionInstalled(int count) {
+    when(jdbcTemplate.queryForObject(contains("pg_extension"), eq(Integer.class))).thenReturn(count);
+  }
+
+  private void stubIndexes(List<String> invalid, List<String> valid) {
+    when(jdbcTemplate.queryForList(contains("indisvalid"), eq(String.class), eq(false))).thenReturn(invalid);
+    when(jdbcTemplate.queryForList(contains("indisvalid"), eq(String.class), eq(true))).thenReturn(valid);
+  }
+
+  @Test
+  @DisplayName("should create the extension and trigram indexes on PostgreSQL")
+  void shouldCreateIndexesOnPostgres() {
+    stubDatabase("PostgreSQL");
+    stubExtensionInstalled(1);
+    stubIndexes(List.of(), EventSearchIndex.INDEX_NAMES);
+
+    eventSearchIndex.createIndexes();
+
+    verify(jdbcTemplate).execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+    verify(jdbcTemplate, never()).execute(startsWith("DROP INDEX"));
+    verify(jdbcTemplate).execute(contains("idx_events_name_trgm"));
+    verify(jdbcTemplate).execute(contains("idx_events_venue_trgm"));
+    assertTrue(eventSearchIndex.isTrigramAvailable());
+  }
+
+  @Test
+  @DisplayName("should fall back to LIKE matching on other databases")
+  void shouldFallBackOnOtherDatabases() {
+    stubDatabase("H2");
+
+    eventSearchIndex.createIndexes();
+
+    verify(jdbcTemplate, never()).execute(anyString());
+    assertFalse(eventSearchIndex.isTrigramAvailable());
+  }
+
+  @Test
+  @DisplayName("should fall back to LIKE matching when the extension cannot be installed")
+  void shouldFallBackWithoutExtension() {
+    stubDatabase("PostgreSQL");
+    doThrow(new DataAccessResourceFailureException("permission denied"))
+        .when(jdbcTemplate).execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+    stubExtensionInstalled(0);
+
+    eventSearchIndex.createIndexes();
+
+    verify(jdbcTemplate, never()).execute(contains("CREATE INDEX"));
+    assertFalse(eventSearchIndex.isTrigramAvailable());
+  }
+
+  @Test
+  @DisplayName("should fall back to LIKE matching when an index cannot be built")
+  void shouldFallBackWhenIndexFails() {
+    stubDatabase("PostgreSQL");
+    stubExtensionInstalled(1);
+    stubIndexes(List.of(), List.of("idx_events_venue_trgm"));
+    lenient().doThrow(new DataAccessResourceFailureException("lock timeout"))
+        .when(jdbcTemplate).execute(contains("idx_events_name_trgm"));
+
+    eventSearchIndex.createIndexes();
+
+    verify(jdbcTemplate).execute(contains("idx_events_venue_trgm"));
+    assertFalse(eventSearchIndex.isTrigramAvailable());
+  }
+
+  @Test
+  @DisplayName("should drop an index left invalid by a failed build and create it again")
+  void shouldRebuildInvalidIndex() {
+    stubDatabase("PostgreSQL");
+    stubExtensionInstalled(1);
+    stubIndexes(List.of("idx_events_name_trgm"), EventSearchIndex.INDEX_NAMES);
+
+    eventSearchIndex.createIndexes();
+
+    var inOrder = inOrder(jdbcTemplate);
+    inOrder.verify(jdbcTemplate).execute("DROP INDEX CONCURRENTLY IF EXISTS idx_events_name_trgm");
+    inOrder.verify(jdbcTemplate).execute(contains("CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_events_name_trgm"));
+    assertTrue(eventSearchIndex.isTrigramAvailable());
+  }
+
+  @Test
+  @DisplayName("should not touch the database when disabled")
+  void shouldSkipWhenDisabled() {
+    new EventSearchIndex(jdbcTemplate, false).createIndexes();
+
+    verifyNoInteractions(jdbcTemplate);
+  }
+}
@@ -19,6 +19,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -31,13 +32,17 @@ import com.fullstack.venuesync.events.domain.UpdateEventRequest;
 import com.fullstack.venuesync.events.exception.EventNotFoundException;
 import com.fullstack.venuesync.events.exception.EventUpdateException;
 import com.fullstack.venuesync.events.repository.EventRepository;
+import com.fullstack.venuesync.events.search.EventSearchIndex;
 import com.fullstack.venuesync.shared.domain.User;
 import com.fullstack.venuesync.shared.domain.UserRepository;
 import com.fullstack.venuesync.shared.exceptions.UserNotFoundException;
 import com.fullstack.venuesync.tickets.domain.CreateTicketTypeRequest;
+import com.fullstack.venuesync.tickets.domain.TicketInventoryStrategyEnum;
 import com.fullstack.venuesync.tickets.domain.TicketType;
 import com.fullstack.venuesync.tickets.domain.UpdateTicketTypeRequest;
+import com.fullstack.venuesync.tickets.exception.InventoryStrategyException;
 import com.fullstack.venuesync.tickets.exception.TicketTypeNotFoundException;
+import com.fullstack.venuesync.tickets.service.TicketPoolService;
 
 @ExtendWith(MockitoExtension.class)
 class EventServiceImplTest {
@@ -48,6 +53,15 @@ class EventServiceImplTest {
   @Mock
   private EventRepository eventRepository;
 
+  @Mock
+  private ApplicationEventPublisher applicationEventPublisher;
+
+  @Mock
+  private TicketPoolService ticketPoolService;
+
+  @Mock
+  private EventSearchIndex eventSearchIndex;
+
   @InjectMocks
   private EventServiceImpl eventService;
 
@@ -82,7 +96,7 @@ class EventServiceImplTest {
     @Test
     @DisplayName("should create event successfully")
     void shouldCreateEventSuccessfully() {
-      CreateTicketTypeRequest ticketTypeReq = new CreateTicketTypeRequest("VIP", 100.0, "VIP Access", 50);
+      CreateTicketTypeRequest ticketTypeReq = new CreateTicketTypeRequest("VIP", 100.0, "VIP Access", 50, null);
       CreateEventRequest request = new CreateEventRequest();
       request.setName("New Event");
       request.setVenue("Big Arena");
@@ -109,6 +123,29 @@ class EventServiceImplTest {
       assertEquals("VIP", result.getTicketTypes().get(0).getName());
 
       verify(eventRepository).save(any(Event.class));
+      assertEquals(TicketInventoryStrategyEnum.COUNTER,
+          result.getTicketTypes().get(0).getInventoryStrategy());
+      verifyNoInteractions(ticketPoolService);
+    }
+
+    @Test
+    @DisplayName("should mint the tickets of pooled ticket types")
+    void shouldMintPooledTicketTypes() {
+      CreateTicketTypeRequest ticketTypeReq = new CreateTicketTypeRequest(
+          "VIP", 100.0, "VIP Access", 50, TicketInventoryStrategyEnum.POOL);
+      CreateEventRequest request = new CreateEventRequest();
+      request.setName("New Event");
+      request.setStatus(EventStatusEnum.DRAFT);
+      request.setTicketTypes(List.of(ticketTypeReq));
+
+      when(userRepository.findById(organizerId)).thenReturn(Optional.of(organizer));
+      when(eventRepository.save(any(Event.class))).thenAnswer(i -> i.getArgument(0));
+
+      Event result = eventService.createEvent(organizerId, request);
+
+      TicketType created = result.getTicketTypes().get(0);
+      assertEquals(TicketInventoryStrategyEnum.POOL, created.getInventoryStrategy());
+      verify(ticketPoolService).resizePool(created);
     }
 
     @Test
@@ -238,6 +275,35 @@ class EventServiceImplTest {
       assertEquals(60.0, result.getTicketTypes().get(0).getPrice());
     }
 
+    @Test
+    @DisplayName("should refuse to change the inventory strategy of a ticket type")
+    void shouldRefuseInventoryStrategyChange() {
+      UUID ticketTypeId = UUID.randomUUID();
+      TicketType existingTicketType = new TicketType();
+      existingTicketType.setId(ticketTypeId);
+      existingTicketType.setName("General");
+      existingTicketType.setEvent(event);
+      event.setTicketTypes(new ArrayList<>(List.of(existingTicketType)));
+
+      UpdateTicketTypeRequest updateTT = new UpdateTicketTypeRequest();
+      updateTT.setId(ticketTypeId);
+      updateTT.setName("General");
+      updateTT.setPrice(50.0);
+      updateTT.setInventoryStrategy(TicketInventoryStrategyEnum.POOL);
+
+      UpdateEventRequest request = new UpdateEventRequest();
+      request.setId(eventId);
+      request.setName("Event");
+      request.setTicketTypes(List.of(updateTT));
+
+      when(eventRepository.findByIdAndOrganizerId(eventId, organizerId))
+          .thenReturn(Optional.of(event));
+
+      assertThrows(InventoryStrategyException.class,
+          () -> eventService.updateEventForOrganizer(organizerId, eventId, request));
+      verify(eventRepository, never()).save(any(Event.class));
+    }
+
     @Test
     @DisplayName("should throw EventUpdateException when ID is null")
     void shouldThrowEventUpdateExceptionWhenIdIsNull() {
@@ -381,6 +447,22 @@ class EventServiceImplTest {
       Page<Event> result = eventService.searchPublishedEvents("test", pageable);
 
       assertEquals(1, result.getTotalElements());
+      verify(eventRepository, never()).searchEventsRanked(any(), any());
+    }
+
+    @Test
+    @DisplayName("should rank search results when trigram indexes are available")
+    void shouldSearchRankedWhenTrigramAvailable() {
+      Pageable pageable = PageRequest.of(0, 10);
+      Page<Event> expectedPage = new PageImpl<>(List.of(event));
+
+      when(eventSearchIndex.isTrigramAvailable()).thenReturn(true);
+      when(eventRepository.searchEventsRanked("test", pageable)).thenReturn(expectedPage);
+
+      Page<Event> result = eventService.searchPublishedEvents("test", pageable);
+
+      assertEquals(1, result.getTotalElements());
+      verify(eventRepository, never()).searchEvents(any(), any());
     }
 
     @Test
@@ -0,0 +1,40 @@
+package com.fullstack.venuesync.shared.http;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ETagsTest {
+
+  @Test
+  @DisplayName("should join the parts into a quoted entity tag")
+  void shouldBuildStrongETag() {
+    assertEquals("\"a-1-b\"", ETags.strong("a", 1, "b"));
+  }
+
+  @Test
+  @DisplayName("should change the version with every stored microsecond")
+  void shouldEncodeVersionToMicroseconds() {
+    LocalDateTime timestamp = LocalDateTime.of(2026, 3, 1, 12, 0, 0, 1_000);
+
+    assertNotEquals(ETags.version(timestamp), ETags.version(timestamp.plusNanos(1_000)));
+    assertEquals(ETags.version(timestamp), ETags.version(timestamp.plusNanos(999)));
+  }
+
+  @Test
+  @DisplayName("should match any listed tag, weak or strong, and the wildcard")
+  void shouldMatchIfNoneMatch() {
+    String etag = "\"abc\"";
+
+    assertTrue(ETags.matches("\"abc\"", etag));
+    assertTrue(ETags.matches("\"x\", W/\"abc\"", etag));
+    assertTrue(ETags.matches("*", etag));
+    assertFalse(ETags.matches("\"abcd\"", etag));
+    assertFalse(ETags.matches("abc", etag));
+    assertFalse(ETags.matches(null, etag));
+    assertFalse(ETags.matches(" ", etag));
+  }
+}
@@ -0,0 +1,104 @@
+package com.fullstack.venuesync.shared.id;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+/**
+ * Compares insert throughput and primary key index size of random (v4) and
+ * time-ordered (v7) UUID keys on a real PostgreSQL database. Skipped unless
+ * {@code BENCHMARK_JDBC_URL} is set, for example:
+ *
+ * <pre>
+ * BENCHMARK_JDBC_URL=jdbc:postgresql://localhost:5432/venuesync \
+ * BENCHMARK_JDBC_USER=postgres BENCHMARK_JDBC_PASSWORD=postgres \
+ * ./mvnw test -Dtest=UuidInsertBenchmarkTest
+ * </pre>
+ *
+ * <p>{@code BENCHMARK_ROWS} sets the number of rows per run (default 500000).</p>
+ */
+@Tag("benchmark")
+@EnabledIfEnvironmentVariable(named = "BENCHMARK_JDBC_URL", matches = ".+")
+@Slf4j
+class UuidInsertBenchmarkTest {
+
+  private static final int BATCH_SIZE = 1000;
+
+  @Test
+  @DisplayName("time-ordered keys should insert faster into a smaller index than random keys")
+  void compareRandomAndTimeOrderedKeys() throws SQLException {
+    int rows = Integer.parseInt(System.getenv().getOrDefault("BENCHMARK_ROWS", "500000"));
+
+    try (Connection connection = DriverManager.getConnection(
+        System.getenv("BENCHMARK_JDBC_URL"),
+        System.getenv("BENCHMARK_JDBC_USER"),
+        System.getenv("BENCHMARK_JDBC_PASSWORD"))) {
+      connection.setAutoCommit(false);
+
+      Result random = run(connection, "uuid_benchmark_v4", rows, UUID::randomUUID);
+      Result timeOrdered = run(connection, "uuid_benchmark_v7", rows, UuidV7::next);
+
+      log.info(String.format("%-6s %12s %16s", "keys", "rows/s", "pkey index size"));
+      log.info(String.format("%-6s %12.0f %16s", "v4", random.rowsPerSecond(), random.indexSize()));
+      log.info(String.format("%-6s %12.0f %16s", "v7", timeOrdered.rowsPerSecond(), timeOrdered.indexSize()));
+
+      assertTrue(timeOrdered.indexBytes() <= random.indexBytes());
+    }
+  }
+
+  private Result run(Connection connection, String table, int rows, Supplier<UUID> ids)
+      throws SQLException {
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("DROP TABLE IF EXISTS " + table);
+      // Shaped like the tickets table: a UUID key, a foreign key and a few columns
+      statement.execute("CREATE TABLE " + table + " (" +
+          "id uuid PRIMARY KEY, ticket_type_id uuid NOT NULL, status varchar(32) NOT NULL, " +
+          "created_at timestamp NOT NULL DEFAULT now())");
+    }
+    connection.commit();
+
+    UUID ticketTypeId = UUID.randomUUID();
+    long start = System.nanoTime();
+    try (PreparedStatement insert = connection.prepareStatement(
+        "INSERT INTO " + table + " (id, ticket_type_id, status) VALUES (?, ?, 'PURCHASED')")) {
+      for (int i = 1; i <= rows; i++) {
+        insert.setObject(1, ids.get());
+        insert.setObject(2, ticketTypeId);
+        insert.addBatch();
+        if (i % BATCH_SIZE == 0 || i == rows) {
+          insert.executeBatch();
+          connection.commit();
+        }
+      }
+    }
+    double seconds = (System.nanoTime() - start) / 1e9;
+
+    try (Statement statement = connection.createStatement();
+         ResultSet resultSet = statement.executeQuery(
+             "SELECT pg_relation_size('" + table + "_pkey'), " +
+             "pg_size_pretty(pg_relation_size('" + table + "_pkey'))")) {
+      resultSet.next();
+      Result result = new Result(rows / seconds, resultSet.getLong(1), resultSet.getString(2));
+
+      statement.execute("DROP TABLE " + table);
+      connection.commit();
+      return result;
+    }
+  }
+
+  private record Result(double rowsPerSecond, long indexBytes, String indexSize) {
+  }
+}
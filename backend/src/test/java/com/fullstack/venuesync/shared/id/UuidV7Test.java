@@ -0,0 +1,63 @@
+package com.fullstack.venuesync.shared.id;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class UuidV7Test {
+
+  @Test
+  @DisplayName("should generate RFC 9562 version 7 UUIDs")
+  void shouldGenerateVersion7() {
+    UUID uuid = UuidV7.next();
+
+    assertEquals(7, uuid.version());
+    assertEquals(2, uuid.variant());
+  }
+
+  @Test
+  @DisplayName("should embed the current time in milliseconds")
+  void shouldEmbedTimestamp() {
+    long before = System.currentTimeMillis();
+    UUID uuid = UuidV7.next();
+    long after = System.currentTimeMillis();
+
+    long timestamp = UuidV7.timestamp(uuid);
+    // The sequence may borrow a millisecond when it overflows
+    assertTrue(timestamp >= before && timestamp <= after + 1);
+  }
+
+  @Test
+  @DisplayName("should generate strictly increasing UUIDs")
+  void shouldBeMonotonic() {
+    UUID previous = UuidV7.next();
+    for (int i = 0; i < 100_000; i++) {
+      UUID next = UuidV7.next();
+      assertTrue(next.compareTo(previous) > 0);
+      previous = next;
+    }
+  }
+
+  @Test
+  @DisplayName("should keep increasing when the clock goes backwards")
+  void shouldSurviveClockGoingBackwards() {
+    UUID first = UuidV7.next();
+    UUID second = UuidV7.next(System.currentTimeMillis() - 1_000);
+
+    assertTrue(second.compareTo(first) > 0);
+  }
+
+  @Test
+  @DisplayName("should not repeat UUIDs")
+  void shouldBeUnique() {
+    Set<UUID> seen = new HashSet<>();
+    for (int i = 0; i < 100_000; i++) {
+      assertTrue(seen.add(UuidV7.next()));
+    }
+  }
+}
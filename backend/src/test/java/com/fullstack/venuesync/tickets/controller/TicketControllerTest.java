@@ -1,14 +1,21 @@
 package com.fullstack.venuesync.tickets.controller;
 
+import static org.hamcrest.Matchers.hasItem;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -24,6 +31,7 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.oauth2.jwt.Jwt;
@@ -39,12 +47,16 @@ import com.fullstack.venuesync.shared.filters.UserProvisioningFilter;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletRequest;
 import jakarta.servlet.ServletResponse;
+import com.fullstack.venuesync.events.domain.Event;
 import com.fullstack.venuesync.tickets.domain.Ticket;
 import com.fullstack.venuesync.tickets.domain.TicketStatusEnum;
+import com.fullstack.venuesync.tickets.domain.TicketType;
+import com.fullstack.venuesync.tickets.domain.TicketVersion;
 import com.fullstack.venuesync.tickets.dto.GetTicketResponseDto;
 import com.fullstack.venuesync.tickets.dto.ListTicketResponseDto;
 import com.fullstack.venuesync.tickets.mapper.TicketMapper;
 import com.fullstack.venuesync.tickets.service.TicketService;
+import com.fullstack.venuesync.validation.domain.QrCodeImageFormatEnum;
 import com.fullstack.venuesync.validation.service.QrCodeService;
 
 @WebMvcTest(TicketController.class)
@@ -90,9 +102,17 @@ class TicketControllerTest {
     userId = UUID.randomUUID();
     ticketId = UUID.randomUUID();
 
+    Event event = new Event();
+    event.setUpdatedAt(LocalDateTime.of(2026, 1, 1, 9, 0));
+    TicketType ticketType = new TicketType();
+    ticketType.setEvent(event);
+    ticketType.setUpdatedAt(LocalDateTime.of(2026, 1, 1, 10, 0));
+
     ticket = new Ticket();
     ticket.setId(ticketId);
     ticket.setStatus(TicketStatusEnum.PURCHASED);
+    ticket.setTicketType(ticketType);
+    ticket.setUpdatedAt(LocalDateTime.of(2026, 1, 2, 12, 30, 15, 123_456_000));
   }
 
   private Jwt createAttendeeJwt() {
@@ -180,25 +200,213 @@ class TicketControllerTest {
                   new SimpleGrantedAuthority("ROLE_ATTENDEE"))))
           .andExpect(status().isNotFound());
     }
+
+    @Test
+    @DisplayName("should send an ETag that must be revalidated")
+    void shouldSendETag() throws Exception {
+      when(ticketService.getTicketForUser(any(UUID.class), eq(ticketId)))
+          .thenReturn(Optional.of(ticket));
+      when(ticketMapper.toGetTicketResponseDto(any(Ticket.class))).thenReturn(new GetTicketResponseDto());
+
+      mockMvc.perform(get("/api/v1/tickets/{ticketId}", ticketId)
+              .with(jwt().jwt(createAttendeeJwt()).authorities(
+                  new SimpleGrantedAuthority("ROLE_ATTENDEE"))))
+          .andExpect(status().isOk())
+          .andExpect(header().exists(HttpHeaders.ETAG))
+          .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"));
+
+      verify(ticketService, never()).getTicketVersionForUser(any(UUID.class), any(UUID.class));
+    }
+
+    @Test
+    @DisplayName("should answer 304 without loading the ticket when the ETag matches")
+    void shouldReturn304WhenETagMatches() throws Exception {
+      when(ticketService.getTicketForUser(any(UUID.class), eq(ticketId)))
+          .thenReturn(Optional.of(ticket));
+      when(ticketService.getTicketVersionForUser(any(UUID.class), eq(ticketId)))
+          .thenReturn(Optional.of(TicketVersion.of(ticket)));
+      when(ticketMapper.toGetTicketResponseDto(any(Ticket.class))).thenReturn(new GetTicketResponseDto());
+
+      String etag = mockMvc.perform(get("/api/v1/tickets/{ticketId}", ticketId)
+              .with(jwt().jwt(createAttendeeJwt()).authorities(
+                  new SimpleGrantedAuthority("ROLE_ATTENDEE"))))
+          .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+      mockMvc.perform(get("/api/v1/tickets/{ticketId}", ticketId)
+              .header(HttpHeaders.IF_NONE_MATCH, etag)
+              .with(jwt().jwt(createAttendeeJwt()).authorities(
+                  new SimpleGrantedAuthority("ROLE_ATTENDEE"))))
+          .andExpect(status().isNotModified())
+          .andExpect(header().string(HttpHeaders.ETAG, etag))
+          .andExpect(content().bytes(new byte[0]));
+
+      verify(ticketService, times(1)).getTicketForUser(any(UUID.class), eq(ticketId));
+      verify(ticketMapper, times(1)).toGetTicketResponseDto(any(Ticket.class));
+    }
+
+    @Test
+    @DisplayName("should send the full ticket again once it has changed")
+    void shouldReturnTicketWhenETagIsStale() throws Exception {
+      when(ticketService.getTicketVersionForUser(any(UUID.class), eq(ticketId)))
+          .thenReturn(Optional.of(TicketVersion.of(ticket)));
+      when(ticketService.getTicketForUser(any(UUID.class), eq(ticketId)))
+          .thenReturn(Optional.of(ticket));
+      when(ticketMapper.toGetTicketResponseDto(any(Ticket.class))).thenReturn(new GetTicketResponseDto());
+
+      mockMvc.perform(get("/api/v1/tickets/{ticketId}", ticketId)
+              .header(HttpHeaders.IF_NONE_MATCH, "\"stale\"")
+              .with(jwt().jwt(createAttendeeJwt()).authorities(
+                  new SimpleGrantedAuthority("ROLE_ATTENDEE"))))
+          .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("should return 404 for a conditional request on an unknown ticket")
+    void shouldReturn404ForConditionalRequestWhenNotFound() throws Exception {
+      when(ticketService.getTicketVersionForUser(any(UUID.class), eq(ticketId)))
+          .thenReturn(Optional.empty());
+
+      mockMvc.perform(get("/api/v1/tickets/{ticketId}", ticketId)
+              .header(HttpHeaders.IF_NONE_MATCH, "*")
+              .with(jwt().jwt(createAttendeeJwt()).authorities(
+                  new SimpleGrantedAuthority("ROLE_ATTENDEE"))))
+          .andExpect(status().isNotFound());
+    }
   }
 
   @Nested
   @DisplayName("GET /api/v1/tickets/{id}/qr-codes")
   class GetQrCodeEndpoint {
 
+    private UUID qrCodeId;
+
+    @BeforeEach
+    void setUp() {
+      qrCodeId = UUID.randomUUID();
+      when(qrCodeService.getQrCodeIdForUserAndTicket(any(UUID.class), eq(ticketId)))
+          .thenReturn(qrCodeId);
+    }
+
     @Test
     @DisplayName("should return QR code image")
     void shouldReturnQrCodeImage() throws Exception {
       byte[] imageBytes = new byte[]{1, 2, 3, 4, 5};
 
-      when(qrCodeService.getQrCodeImageForUserAndTicket(any(UUID.class), eq(ticketId)))
+      when(qrCodeService.getQrCodeImageForUserAndTicket(
+          any(UUID.class), eq(ticketId), eq(QrCodeImageFormatEnum.PNG), isNull()))
           .thenReturn(imageBytes);
 
       mockMvc.perform(get("/api/v1/tickets/{ticketId}/qr-codes", ticketId)
               .with(jwt().jwt(createAttendeeJwt()).authorities(
                   new SimpleGrantedAuthority("ROLE_ATTENDEE"))))
           .andExpect(status().isOk())
+          .andExpect(content().contentType(MediaType.IMAGE_PNG))
+          .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)));
+    }
+
+    @Test
+    @DisplayName("should mark QR code images immutable")
+    void shouldMarkImageImmutable() throws Exception {
+      when(qrCodeService.getQrCodeImageForUserAndTicket(
+          any(UUID.class), eq(ticketId), eq(QrCodeImageFormatEnum.PNG), isNull()))
+          .thenReturn(new byte[]{1});
+
+      mockMvc.perform(get("/api/v1/tickets/{ticketId}/qr-codes", ticketId)
+              .with(jwt().jwt(createAttendeeJwt()).authorities(
+                  new SimpleGrantedAuthority("ROLE_ATTENDEE"))))
+          .andExpect(status().isOk())
+          .andExpect(header().string(HttpHeaders.ETAG, "\"" + qrCodeId + "-png-default\""))
+          .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, private, immutable"));
+    }
+
+    @Test
+    @DisplayName("should answer 304 without rendering when the ETag matches")
+    void shouldReturn304WhenETagMatches() throws Exception {
+      mockMvc.perform(get("/api/v1/tickets/{ticketId}/qr-codes", ticketId)
+              .header(HttpHeaders.IF_NONE_MATCH, "\"" + qrCodeId + "-png-default\"")
+              .with(jwt().jwt(createAttendeeJwt()).authorities(
+                  new SimpleGrantedAuthority("ROLE_ATTENDEE"))))
+          .andExpect(status().isNotModified())
+          .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, private, immutable"));
+
+      verify(qrCodeService, never()).getQrCodeImageForUserAndTicket(
+          any(UUID.class), any(UUID.class), any(QrCodeImageFormatEnum.class), any());
+    }
+
+    @Test
+    @DisplayName("should not match the ETag of another format")
+    void shouldNotMatchOtherFormat() throws Exception {
+      when(qrCodeService.getQrCodeImageForUserAndTicket(
+          any(UUID.class), eq(ticketId), eq(QrCodeImageFormatEnum.SVG), isNull()))
+          .thenReturn("<svg/>".getBytes());
+
+      mockMvc.perform(get("/api/v1/tickets/{ticketId}/qr-codes", ticketId)
+              .header(HttpHeaders.ACCEPT, "image/svg+xml")
+              .header(HttpHeaders.IF_NONE_MATCH, "\"" + qrCodeId + "-png-default\"")
+              .with(jwt().jwt(createAttendeeJwt()).authorities(
+                  new SimpleGrantedAuthority("ROLE_ATTENDEE"))))
+          .andExpect(status().isOk())
+          .andExpect(content().contentType("image/svg+xml"));
+    }
+
+    @Test
+    @DisplayName("should return an SVG when the Accept header prefers it")
+    void shouldReturnSvgWhenPreferred() throws Exception {
+      byte[] svgBytes = "<svg/>".getBytes();
+
+      when(qrCodeService.getQrCodeImageForUserAndTicket(
+          any(UUID.class), eq(ticketId), eq(QrCodeImageFormatEnum.SVG), isNull()))
+          .thenReturn(svgBytes);
+
+      mockMvc.perform(get("/api/v1/tickets/{ticketId}/qr-codes", ticketId)
+              .header(HttpHeaders.ACCEPT, "image/png;q=0.5, image/svg+xml")
+              .with(jwt().jwt(createAttendeeJwt()).authorities(
+                  new SimpleGrantedAuthority("ROLE_ATTENDEE"))))
+          .andExpect(status().isOk())
+          .andExpect(content().contentType("image/svg+xml"))
+          .andExpect(content().bytes(svgBytes));
+    }
+
+    @Test
+    @DisplayName("should return a PNG when it is preferred over SVG")
+    void shouldReturnPngWhenPreferred() throws Exception {
+      when(qrCodeService.getQrCodeImageForUserAndTicket(
+          any(UUID.class), eq(ticketId), eq(QrCodeImageFormatEnum.PNG), isNull()))
+          .thenReturn(new byte[]{1});
+
+      mockMvc.perform(get("/api/v1/tickets/{ticketId}/qr-codes", ticketId)
+              .header(HttpHeaders.ACCEPT, "image/png, image/svg+xml;q=0.9")
+              .with(jwt().jwt(createAttendeeJwt()).authorities(
+                  new SimpleGrantedAuthority("ROLE_ATTENDEE"))))
+          .andExpect(status().isOk())
           .andExpect(content().contentType(MediaType.IMAGE_PNG));
     }
+
+    @Test
+    @DisplayName("should pass the requested scale through for a compact PNG")
+    void shouldReturnScaledPng() throws Exception {
+      when(qrCodeService.getQrCodeImageForUserAndTicket(
+          any(UUID.class), eq(ticketId), eq(QrCodeImageFormatEnum.PNG), eq(2)))
+          .thenReturn(new byte[]{1});
+
+      mockMvc.perform(get("/api/v1/tickets/{ticketId}/qr-codes", ticketId)
+              .param("scale", "2")
+              .with(jwt().jwt(createAttendeeJwt()).authorities(
+                  new SimpleGrantedAuthority("ROLE_ATTENDEE"))))
+          .andExpect(status().isOk())
+          .andExpect(content().contentType(MediaType.IMAGE_PNG));
+    }
+
+    @Test
+    @DisplayName("should return 400 for a scale outside the supported range")
+    void shouldRejectInvalidScale() throws Exception {
+      mockMvc.perform(get("/api/v1/tickets/{ticketId}/qr-codes", ticketId)
+              .param("scale", "0")
+              .with(jwt().jwt(createAttendeeJwt()).authorities(
+                  new SimpleGrantedAuthority("ROLE_ATTENDEE"))))
+          .andExpect(status().isBadRequest());
+
+      verify(qrCodeService, never()).getQrCodeIdForUserAndTicket(any(UUID.class), any(UUID.class));
+    }
   }
 }
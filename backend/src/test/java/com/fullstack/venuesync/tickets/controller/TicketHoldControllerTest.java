@@ -0,0 +1,132 @@
+package com.fullstack.venuesync.tickets.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fullstack.venuesync.shared.config.SecurityConfig;
+import com.fullstack.venuesync.shared.config.JwtAuthenticationConverter;
+import com.fullstack.venuesync.shared.domain.UserRepository;
+import com.fullstack.venuesync.shared.exceptions.GlobalExceptionHandler;
+import com.fullstack.venuesync.shared.filters.UserProvisioningFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import com.fullstack.venuesync.tickets.domain.Ticket;
+import com.fullstack.venuesync.tickets.exception.TicketHoldExpiredException;
+import com.fullstack.venuesync.tickets.service.TicketTypeService;
+
+@WebMvcTest(TicketHoldController.class)
+@Import({SecurityConfig.class, JwtAuthenticationConverter.class, GlobalExceptionHandler.class})
+class TicketHoldControllerTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @MockitoBean
+  private TicketTypeService ticketTypeService;
+
+  @MockitoBean
+  private JwtDecoder jwtDecoder;
+
+  @MockitoBean
+  private UserProvisioningFilter userProvisioningFilter;
+
+  @MockitoBean
+  private UserRepository userRepository;
+
+  private UUID userId;
+  private UUID holdId;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    // Configure mocked filter to pass through the filter chain
+    doAnswer(invocation -> {
+      ((FilterChain) invocation.getArgument(2)).doFilter(
+          (ServletRequest) invocation.getArgument(0),
+          (ServletResponse) invocation.getArgument(1));
+      return null;
+    }).when(userProvisioningFilter).doFilter(
+        any(ServletRequest.class), any(ServletResponse.class), any(FilterChain.class));
+
+    userId = UUID.randomUUID();
+    holdId = UUID.randomUUID();
+  }
+
+  private Jwt createAttendeeJwt() {
+    return Jwt.withTokenValue("token")
+        .header("alg", "RS256")
+        .subject(userId.toString())
+        .claim("realm_access", java.util.Map.of("roles", List.of("ROLE_ATTENDEE")))
+        .build();
+  }
+
+  @Test
+  @DisplayName("should confirm a hold and return the ticket IDs")
+  void shouldConfirmHold() throws Exception {
+    Ticket ticket = new Ticket();
+    ticket.setId(UUID.randomUUID());
+    when(ticketTypeService.confirmHold(any(UUID.class), eq(holdId))).thenReturn(List.of(ticket));
+
+    mockMvc.perform(post("/api/v1/ticket-holds/{holdId}/confirm", holdId)
+            .with(jwt().jwt(createAttendeeJwt()).authorities(
+                new SimpleGrantedAuthority("ROLE_ATTENDEE"))))
+        .andExpect(status().isCreated())
+        .andExpect(jsonPath("$.ticketIds[0]").value(ticket.getId().toString()));
+  }
+
+  @Test
+  @DisplayName("should return conflict when the hold has expired")
+  void shouldReturnConflictForExpiredHold() throws Exception {
+    when(ticketTypeService.confirmHold(any(UUID.class), eq(holdId)))
+        .thenThrow(new TicketHoldExpiredException());
+
+    mockMvc.perform(post("/api/v1/ticket-holds/{holdId}/confirm", holdId)
+            .with(jwt().jwt(createAttendeeJwt()).authorities(
+                new SimpleGrantedAuthority("ROLE_ATTENDEE"))))
+        .andExpect(status().isConflict());
+  }
+
+  @Test
+  @DisplayName("should release a hold")
+  void shouldReleaseHold() throws Exception {
+    mockMvc.perform(delete("/api/v1/ticket-holds/{holdId}", holdId)
+            .with(jwt().jwt(createAttendeeJwt()).authorities(
+                new SimpleGrantedAuthority("ROLE_ATTENDEE"))))
+        .andExpect(status().isNoContent());
+
+    verify(ticketTypeService).releaseHold(any(UUID.class), eq(holdId));
+  }
+
+  @Test
+  @DisplayName("should reject hold operations without ATTENDEE role")
+  void shouldRejectWithoutAttendeeRole() throws Exception {
+    mockMvc.perform(delete("/api/v1/ticket-holds/{holdId}", holdId)
+            .with(jwt().jwt(createAttendeeJwt()).authorities(
+                new SimpleGrantedAuthority("ROLE_STAFF"))))
+        .andExpect(status().isForbidden());
+  }
+}
@@ -2,10 +2,14 @@ package com.fullstack.venuesync.tickets.controller;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.util.List;
@@ -18,6 +22,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
@@ -32,9 +37,13 @@ import com.fullstack.venuesync.shared.filters.UserProvisioningFilter;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletRequest;
 import jakarta.servlet.ServletResponse;
-import com.fullstack.venuesync.tickets.domain.Ticket;
-import com.fullstack.venuesync.tickets.domain.TicketStatusEnum;
+import com.fullstack.venuesync.tickets.domain.PurchaseResult;
+import com.fullstack.venuesync.tickets.domain.QueuedPurchase;
+import com.fullstack.venuesync.tickets.domain.QueuedPurchaseStatusEnum;
+import com.fullstack.venuesync.tickets.exception.IdempotencyKeyMismatchException;
+import com.fullstack.venuesync.tickets.mapper.TicketMapper;
 import com.fullstack.venuesync.tickets.service.TicketTypeService;
+import com.fullstack.venuesync.tickets.service.WaitingRoomService;
 
 @WebMvcTest(TicketTypeController.class)
 @Import({SecurityConfig.class, JwtAuthenticationConverter.class, GlobalExceptionHandler.class})
@@ -46,6 +55,12 @@ class TicketTypeControllerTest {
   @MockitoBean
   private TicketTypeService ticketTypeService;
 
+  @MockitoBean
+  private WaitingRoomService waitingRoomService;
+
+  @MockitoBean
+  private TicketMapper ticketMapper;
+
   @MockitoBean
   private JwtDecoder jwtDecoder;
 
@@ -86,12 +101,8 @@ class TicketTypeControllerTest {
   @Test
   @DisplayName("should purchase ticket with ATTENDEE role")
   void shouldPurchaseTicketWithAttendeeRole() throws Exception {
-    Ticket ticket = new Ticket();
-    ticket.setId(UUID.randomUUID());
-    ticket.setStatus(TicketStatusEnum.PURCHASED);
-
-    when(ticketTypeService.purchaseTicket(any(UUID.class), eq(ticketTypeId)))
-        .thenReturn(ticket);
+    when(ticketTypeService.purchaseTickets(any(UUID.class), eq(ticketTypeId), eq(1), isNull()))
+        .thenReturn(new PurchaseResult(List.of(UUID.randomUUID()), false));
 
     mockMvc.perform(post("/api/v1/events/{eventId}/ticket-types/{ticketTypeId}/tickets",
             eventId, ticketTypeId)
@@ -100,6 +111,35 @@ class TicketTypeControllerTest {
         .andExpect(status().isNoContent());
   }
 
+  @Test
+  @DisplayName("should replay a purchase retried with the same Idempotency-Key")
+  void shouldReplayPurchaseWithIdempotencyKey() throws Exception {
+    when(ticketTypeService.purchaseTickets(any(UUID.class), eq(ticketTypeId), eq(1), eq("retry-1")))
+        .thenReturn(new PurchaseResult(List.of(UUID.randomUUID()), true));
+
+    mockMvc.perform(post("/api/v1/events/{eventId}/ticket-types/{ticketTypeId}/tickets",
+            eventId, ticketTypeId)
+            .header("Idempotency-Key", "retry-1")
+            .with(jwt().jwt(createAttendeeJwt()).authorities(
+                new SimpleGrantedAuthority("ROLE_ATTENDEE"))))
+        .andExpect(status().isNoContent())
+        .andExpect(header().string("Idempotent-Replayed", "true"));
+  }
+
+  @Test
+  @DisplayName("should reject an Idempotency-Key reused for a different purchase")
+  void shouldRejectMismatchedIdempotencyKey() throws Exception {
+    when(ticketTypeService.purchaseTickets(any(UUID.class), eq(ticketTypeId), eq(1), eq("retry-1")))
+        .thenThrow(new IdempotencyKeyMismatchException());
+
+    mockMvc.perform(post("/api/v1/events/{eventId}/ticket-types/{ticketTypeId}/tickets",
+            eventId, ticketTypeId)
+            .header("Idempotency-Key", "retry-1")
+            .with(jwt().jwt(createAttendeeJwt()).authorities(
+                new SimpleGrantedAuthority("ROLE_ATTENDEE"))))
+        .andExpect(status().isUnprocessableEntity());
+  }
+
   @Test
   @DisplayName("should reject purchase without ATTENDEE role")
   void shouldRejectPurchaseWithoutAttendeeRole() throws Exception {
@@ -117,4 +157,86 @@ class TicketTypeControllerTest {
             eventId, ticketTypeId))
         .andExpect(status().isUnauthorized());
   }
+
+  @Test
+  @DisplayName("should purchase several tickets and return their IDs")
+  void shouldPurchaseSeveralTickets() throws Exception {
+    UUID first = UUID.randomUUID();
+    UUID second = UUID.randomUUID();
+
+    when(ticketTypeService.purchaseTickets(any(UUID.class), eq(ticketTypeId), eq(2), isNull()))
+        .thenReturn(new PurchaseResult(List.of(first, second), false));
+
+    mockMvc.perform(post("/api/v1/events/{eventId}/ticket-types/{ticketTypeId}/tickets/batch",
+            eventId, ticketTypeId)
+            .with(jwt().jwt(createAttendeeJwt()).authorities(
+                new SimpleGrantedAuthority("ROLE_ATTENDEE")))
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"quantity\": 2}"))
+        .andExpect(status().isCreated())
+        .andExpect(jsonPath("$.ticketIds.length()").value(2))
+        .andExpect(jsonPath("$.ticketIds[0]").value(first.toString()));
+  }
+
+  @Test
+  @DisplayName("should reject batch purchase with quantity above the limit")
+  void shouldRejectBatchPurchaseAboveLimit() throws Exception {
+    mockMvc.perform(post("/api/v1/events/{eventId}/ticket-types/{ticketTypeId}/tickets/batch",
+            eventId, ticketTypeId)
+            .with(jwt().jwt(createAttendeeJwt()).authorities(
+                new SimpleGrantedAuthority("ROLE_ATTENDEE")))
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"quantity\": 11}"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  @DisplayName("should reject direct purchase while the waiting room is enabled")
+  void shouldRejectDirectPurchaseWhenWaitingRoomEnabled() throws Exception {
+    when(waitingRoomService.isEnabled()).thenReturn(true);
+
+    mockMvc.perform(post("/api/v1/events/{eventId}/ticket-types/{ticketTypeId}/tickets",
+            eventId, ticketTypeId)
+            .with(jwt().jwt(createAttendeeJwt()).authorities(
+                new SimpleGrantedAuthority("ROLE_ATTENDEE"))))
+        .andExpect(status().isConflict());
+  }
+
+  @Test
+  @DisplayName("should join the waiting room and return the position")
+  void shouldJoinWaitingRoom() throws Exception {
+    QueuedPurchase queuedPurchase = new QueuedPurchase(userId, ticketTypeId, 2, 7);
+    when(waitingRoomService.joinWaitingRoom(any(UUID.class), eq(ticketTypeId), eq(2)))
+        .thenReturn(queuedPurchase);
+    when(waitingRoomService.getPosition(queuedPurchase)).thenReturn(7L);
+
+    mockMvc.perform(post("/api/v1/events/{eventId}/ticket-types/{ticketTypeId}/queue",
+            eventId, ticketTypeId)
+            .with(jwt().jwt(createAttendeeJwt()).authorities(
+                new SimpleGrantedAuthority("ROLE_ATTENDEE")))
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"quantity\": 2}"))
+        .andExpect(status().isAccepted())
+        .andExpect(jsonPath("$.id").value(queuedPurchase.getId().toString()))
+        .andExpect(jsonPath("$.status").value("WAITING"))
+        .andExpect(jsonPath("$.position").value(7));
+  }
+
+  @Test
+  @DisplayName("should return the status of a queued purchase")
+  void shouldGetQueuedPurchase() throws Exception {
+    QueuedPurchase queuedPurchase = new QueuedPurchase(userId, ticketTypeId, 1, 1);
+    queuedPurchase.setStatus(QueuedPurchaseStatusEnum.COMPLETED);
+    queuedPurchase.setTicketIds(List.of(UUID.randomUUID()));
+    when(waitingRoomService.getQueuedPurchase(any(UUID.class), eq(queuedPurchase.getId())))
+        .thenReturn(queuedPurchase);
+
+    mockMvc.perform(get("/api/v1/events/{eventId}/ticket-types/{ticketTypeId}/queue/{id}",
+            eventId, ticketTypeId, queuedPurchase.getId())
+            .with(jwt().jwt(createAttendeeJwt()).authorities(
+                new SimpleGrantedAuthority("ROLE_ATTENDEE"))))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.status").value("COMPLETED"))
+        .andExpect(jsonPath("$.ticketIds.length()").value(1));
+  }
 }
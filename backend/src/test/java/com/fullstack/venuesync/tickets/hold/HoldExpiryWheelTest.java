@@ -0,0 +1,74 @@
+package com.fullstack.venuesync.tickets.hold;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class HoldExpiryWheelTest {
+
+  private static final long TICK = 1000;
+
+  @Test
+  @DisplayName("should return holds only once their deadline has passed")
+  void shouldExpireAtDeadline() {
+    HoldExpiryWheel wheel = new HoldExpiryWheel(8, TICK, 0);
+    UUID holdId = UUID.randomUUID();
+    wheel.schedule(holdId, 3 * TICK);
+
+    assertTrue(wheel.advance(2 * TICK).isEmpty());
+    assertEquals(List.of(holdId), wheel.advance(3 * TICK));
+    assertTrue(wheel.advance(4 * TICK).isEmpty());
+  }
+
+  @Test
+  @DisplayName("should keep deadlines beyond one revolution until they are due")
+  void shouldHandleDeadlinesBeyondOneRevolution() {
+    HoldExpiryWheel wheel = new HoldExpiryWheel(8, TICK, 0);
+    UUID holdId = UUID.randomUUID();
+    wheel.schedule(holdId, 20 * TICK);
+
+    for (long t = 0; t < 20; t++) {
+      assertTrue(wheel.advance(t * TICK).isEmpty(), "expired early at tick " + t);
+    }
+    assertEquals(List.of(holdId), wheel.advance(20 * TICK));
+  }
+
+  @Test
+  @DisplayName("should expire overdue holds on the next advance")
+  void shouldExpireOverdueHolds() {
+    HoldExpiryWheel wheel = new HoldExpiryWheel(8, TICK, 10 * TICK);
+    wheel.advance(10 * TICK);
+    UUID holdId = UUID.randomUUID();
+    wheel.schedule(holdId, 2 * TICK);
+
+    assertEquals(List.of(holdId), wheel.advance(11 * TICK));
+  }
+
+  @Test
+  @DisplayName("should find all due holds after a pause longer than the wheel")
+  void shouldCatchUpAfterLongPause() {
+    HoldExpiryWheel wheel = new HoldExpiryWheel(8, TICK, 0);
+    UUID first = UUID.randomUUID();
+    UUID second = UUID.randomUUID();
+    UUID later = UUID.randomUUID();
+    wheel.schedule(first, 5 * TICK);
+    wheel.schedule(second, 30 * TICK);
+    wheel.schedule(later, 200 * TICK);
+
+    List<UUID> due = wheel.advance(100 * TICK);
+
+    assertEquals(2, due.size());
+    assertTrue(due.containsAll(List.of(first, second)));
+    assertEquals(List.of(later), wheel.advance(200 * TICK));
+  }
+
+  @Test
+  @DisplayName("should reject wheel sizes that are not a power of two")
+  void shouldRejectInvalidWheelSize() {
+    assertThrows(IllegalArgumentException.class, () -> new HoldExpiryWheel(10, TICK, 0));
+  }
+}
@@ -0,0 +1,79 @@
+package com.fullstack.venuesync.tickets.inventory;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.fullstack.venuesync.tickets.domain.TicketInventoryChangedEvent;
+import com.fullstack.venuesync.tickets.domain.TicketType;
+
+@ExtendWith(MockitoExtension.class)
+class SoldOutRegistryTest {
+
+  @Mock
+  private TicketInventoryEngine ticketInventoryEngine;
+
+  private SoldOutRegistry registry;
+  private UUID ticketTypeId;
+
+  @BeforeEach
+  void setUp() {
+    registry = new SoldOutRegistry(ticketInventoryEngine, 30);
+    ticketTypeId = UUID.randomUUID();
+  }
+
+  @Test
+  @DisplayName("should report a marked ticket type as sold out until it is replenished")
+  void shouldTrackMarks() {
+    assertFalse(registry.isSoldOut(ticketTypeId));
+
+    registry.markSoldOut(ticketTypeId);
+    assertTrue(registry.isSoldOut(ticketTypeId));
+
+    registry.markReplenished(ticketTypeId);
+    assertFalse(registry.isSoldOut(ticketTypeId));
+  }
+
+  @Test
+  @DisplayName("should clear the mark when the inventory of a ticket type changes")
+  void shouldClearOnInventoryChange() {
+    registry.markSoldOut(ticketTypeId);
+
+    registry.onTicketInventoryChanged(new TicketInventoryChangedEvent(ticketTypeId));
+
+    assertFalse(registry.isSoldOut(ticketTypeId));
+  }
+
+  @Test
+  @DisplayName("should let marks lapse once the TTL has passed")
+  void shouldExpireMarks() {
+    registry = new SoldOutRegistry(ticketInventoryEngine, 0);
+
+    registry.markSoldOut(ticketTypeId);
+
+    assertFalse(registry.isSoldOut(ticketTypeId));
+  }
+
+  @Test
+  @DisplayName("should trust the sold counter only when the engine does not lease from it")
+  void shouldUseSoldCounterForUnmanagedTypes() {
+    TicketType ticketType = new TicketType();
+    ticketType.setId(ticketTypeId);
+    ticketType.setTotalAvailable(10);
+    ticketType.setSold(10);
+
+    when(ticketInventoryEngine.handles(ticketType)).thenReturn(false);
+    assertTrue(registry.isSoldOut(ticketType));
+
+    when(ticketInventoryEngine.handles(ticketType)).thenReturn(true);
+    assertFalse(registry.isSoldOut(ticketType));
+  }
+}
@@ -0,0 +1,189 @@
+package com.fullstack.venuesync.tickets.inventory;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.fullstack.venuesync.tickets.domain.TicketInventoryChangedEvent;
+import com.fullstack.venuesync.tickets.domain.TicketType;
+import com.fullstack.venuesync.tickets.repository.TicketTypeRepository;
+
+@ExtendWith(MockitoExtension.class)
+class TicketInventoryEngineTest {
+
+  @Mock
+  private TicketTypeRepository ticketTypeRepository;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  private TicketInventoryEngine engine;
+  private UUID ticketTypeId;
+
+  @BeforeEach
+  void setUp() {
+    engine = new TicketInventoryEngine(ticketTypeRepository, transactionManager, true, 10);
+    ticketTypeId = UUID.randomUUID();
+  }
+
+  /**
+   * Simulates the database row: leases succeed while the remaining stock allows them.
+   */
+  private AtomicInteger stubDatabaseInventory(int totalAvailable) {
+    AtomicInteger sold = new AtomicInteger();
+    lenient().when(ticketTypeRepository.findRemainingInventory(ticketTypeId))
+        .thenAnswer(i -> totalAvailable - sold.get());
+    lenient().when(ticketTypeRepository.leaseInventory(eq(ticketTypeId), anyInt())).thenAnswer(i -> {
+      int quantity = i.getArgument(1);
+      synchronized (sold) {
+        if (sold.get() + quantity > totalAvailable) {
+          return 0;
+        }
+        sold.addAndGet(quantity);
+        return 1;
+      }
+    });
+    lenient().when(ticketTypeRepository.returnInventory(eq(ticketTypeId), anyInt())).thenAnswer(i -> {
+      sold.addAndGet(-(int) i.getArgument(1));
+      return 1;
+    });
+    return sold;
+  }
+
+  @Test
+  @DisplayName("should only handle limited ticket types when enabled")
+  void shouldOnlyHandleLimitedTicketTypes() {
+    TicketType limited = new TicketType();
+    limited.setTotalAvailable(100);
+    TicketType unlimited = new TicketType();
+
+    assertTrue(engine.handles(limited));
+    assertFalse(engine.handles(unlimited));
+
+    TicketInventoryEngine disabled =
+        new TicketInventoryEngine(ticketTypeRepository, transactionManager, false, 10);
+    assertFalse(disabled.handles(limited));
+  }
+
+  @Test
+  @DisplayName("should lease a block from the database and serve later reservations from memory")
+  void shouldLeaseBlockAndServeFromMemory() {
+    AtomicInteger sold = stubDatabaseInventory(100);
+
+    for (int i = 0; i < 10; i++) {
+      assertNotNull(engine.tryReserve(ticketTypeId, 1));
+    }
+
+    assertEquals(10, sold.get());
+    verify(ticketTypeRepository, times(1)).leaseInventory(eq(ticketTypeId), anyInt());
+  }
+
+  @Test
+  @DisplayName("should lease only what remains and then report sold out")
+  void shouldLeaseRemainderThenReportSoldOut() {
+    AtomicInteger sold = stubDatabaseInventory(3);
+
+    assertNotNull(engine.tryReserve(ticketTypeId, 2));
+    assertNotNull(engine.tryReserve(ticketTypeId, 1));
+    assertNull(engine.tryReserve(ticketTypeId, 1));
+    assertEquals(3, sold.get());
+  }
+
+  @Test
+  @DisplayName("should return unsold leased units on shutdown")
+  void shouldReturnLeasedUnitsOnShutdown() {
+    AtomicInteger sold = stubDatabaseInventory(100);
+
+    engine.tryReserve(ticketTypeId, 3).bindToTransaction();
+    assertEquals(10, sold.get());
+
+    engine.shutdown();
+    assertEquals(3, sold.get());
+  }
+
+  @Test
+  @DisplayName("should keep leased units in stock when returning them fails")
+  void shouldKeepLeasedUnitsWhenReturnFails() {
+    AtomicInteger sold = stubDatabaseInventory(10);
+    engine.tryReserve(ticketTypeId, 1).bindToTransaction();
+    when(ticketTypeRepository.returnInventory(eq(ticketTypeId), anyInt()))
+        .thenThrow(new IllegalStateException("connection lost"));
+
+    engine.shutdown();
+
+    assertEquals(10, sold.get());
+    for (int i = 0; i < 9; i++) {
+      assertNotNull(engine.tryReserve(ticketTypeId, 1));
+    }
+    assertNull(engine.tryReserve(ticketTypeId, 1));
+  }
+
+  @Test
+  @DisplayName("should hand released units back to the next buyer")
+  void shouldReuseReleasedUnits() {
+    AtomicInteger sold = stubDatabaseInventory(2);
+
+    InventoryReservation first = engine.tryReserve(ticketTypeId, 2);
+    assertNull(engine.tryReserve(ticketTypeId, 1));
+
+    first.releaseIfUnbound();
+
+    assertNotNull(engine.tryReserve(ticketTypeId, 2));
+    assertEquals(2, sold.get());
+  }
+
+  @Test
+  @DisplayName("should return unsold leased units when the capacity changes")
+  void shouldReturnLeasedUnitsWhenCapacityChanges() {
+    AtomicInteger sold = stubDatabaseInventory(100);
+
+    engine.tryReserve(ticketTypeId, 1).bindToTransaction();
+    engine.onTicketInventoryChanged(new TicketInventoryChangedEvent(ticketTypeId));
+
+    assertEquals(1, sold.get());
+  }
+
+  @Test
+  @DisplayName("should never hand out more units than the database allows under contention")
+  void shouldNotOversellUnderContention() throws Exception {
+    stubDatabaseInventory(500);
+    int threads = 8;
+    AtomicInteger reserved = new AtomicInteger();
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+    for (int t = 0; t < threads; t++) {
+      executor.submit(() -> {
+        start.await();
+        for (int i = 0; i < 200; i++) {
+          InventoryReservation reservation = engine.tryReserve(ticketTypeId, 1);
+          if (reservation != null) {
+            reservation.bindToTransaction();
+            reserved.incrementAndGet();
+          }
+        }
+        return null;
+      });
+    }
+
+    start.countDown();
+    executor.shutdown();
+    assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    assertEquals(500, reserved.get());
+  }
+}
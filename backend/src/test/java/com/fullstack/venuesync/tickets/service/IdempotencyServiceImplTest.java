@@ -0,0 +1,133 @@
+package com.fullstack.venuesync.tickets.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.fullstack.venuesync.tickets.domain.IdempotencyRecord;
+import com.fullstack.venuesync.tickets.domain.PurchaseResult;
+import com.fullstack.venuesync.tickets.domain.Ticket;
+import com.fullstack.venuesync.tickets.exception.IdempotencyKeyMismatchException;
+import com.fullstack.venuesync.tickets.repository.IdempotencyRecordRepository;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceImplTest {
+
+  private static final String KEY = "retry-1";
+
+  @Mock
+  private IdempotencyRecordRepository idempotencyRecordRepository;
+
+  private IdempotencyServiceImpl idempotencyService;
+
+  private UUID userId;
+  private UUID ticketTypeId;
+
+  @BeforeEach
+  void setUp() {
+    idempotencyService = new IdempotencyServiceImpl(idempotencyRecordRepository, 24, 2);
+    userId = UUID.randomUUID();
+    ticketTypeId = UUID.randomUUID();
+  }
+
+  private IdempotencyRecord completedRecord(UUID ticketId) {
+    IdempotencyRecord record = new IdempotencyRecord();
+    record.setUserId(userId);
+    record.setIdempotencyKey(KEY);
+    record.setTicketTypeId(ticketTypeId);
+    record.setQuantity(1);
+    record.setTicketIds(ticketId.toString());
+    record.setExpiresAt(LocalDateTime.now().plusHours(1));
+    return record;
+  }
+
+  @Test
+  @DisplayName("should return null for an unused key")
+  void shouldReturnNullForUnusedKey() {
+    when(idempotencyRecordRepository.findByUserIdAndIdempotencyKey(userId, KEY))
+        .thenReturn(Optional.empty());
+
+    assertNull(idempotencyService.findReplay(userId, KEY, ticketTypeId, 1));
+  }
+
+  @Test
+  @DisplayName("should replay from the database and then from the cache")
+  void shouldReplayFromDatabaseThenCache() {
+    UUID ticketId = UUID.randomUUID();
+    when(idempotencyRecordRepository.findByUserIdAndIdempotencyKey(userId, KEY))
+        .thenReturn(Optional.of(completedRecord(ticketId)));
+
+    PurchaseResult first = idempotencyService.findReplay(userId, KEY, ticketTypeId, 1);
+    PurchaseResult second = idempotencyService.findReplay(userId, KEY, ticketTypeId, 1);
+
+    assertTrue(first.replayed());
+    assertEquals(List.of(ticketId), first.ticketIds());
+    assertEquals(first, second);
+    verify(idempotencyRecordRepository, times(1)).findByUserIdAndIdempotencyKey(userId, KEY);
+  }
+
+  @Test
+  @DisplayName("should ignore expired records")
+  void shouldIgnoreExpiredRecords() {
+    IdempotencyRecord record = completedRecord(UUID.randomUUID());
+    record.setExpiresAt(LocalDateTime.now().minusMinutes(1));
+    when(idempotencyRecordRepository.findByUserIdAndIdempotencyKey(userId, KEY))
+        .thenReturn(Optional.of(record));
+
+    assertNull(idempotencyService.findReplay(userId, KEY, ticketTypeId, 1));
+  }
+
+  @Test
+  @DisplayName("should reject a key reused for a different ticket type")
+  void shouldRejectMismatchedKey() {
+    when(idempotencyRecordRepository.findByUserIdAndIdempotencyKey(userId, KEY))
+        .thenReturn(Optional.of(completedRecord(UUID.randomUUID())));
+
+    assertThrows(IdempotencyKeyMismatchException.class,
+        () -> idempotencyService.findReplay(userId, KEY, UUID.randomUUID(), 1));
+  }
+
+  @Test
+  @DisplayName("should free a key whose expired record was not purged yet before reserving it")
+  void shouldDeleteExpiredRecordBeforeReserving() {
+    when(idempotencyRecordRepository.saveAndFlush(any(IdempotencyRecord.class)))
+        .thenAnswer(i -> i.getArgument(0));
+
+    IdempotencyRecord record = idempotencyService.reserve(userId, KEY, ticketTypeId, 1);
+
+    var inOrder = inOrder(idempotencyRecordRepository);
+    inOrder.verify(idempotencyRecordRepository)
+        .deleteExpiredByUserIdAndIdempotencyKey(eq(userId), eq(KEY), any(LocalDateTime.class));
+    inOrder.verify(idempotencyRecordRepository).saveAndFlush(record);
+    assertTrue(record.getExpiresAt().isAfter(LocalDateTime.now()));
+  }
+
+  @Test
+  @DisplayName("should cache completed purchases without a database lookup")
+  void shouldCacheCompletedPurchase() {
+    when(idempotencyRecordRepository.saveAndFlush(any(IdempotencyRecord.class)))
+        .thenAnswer(i -> i.getArgument(0));
+    Ticket ticket = new Ticket();
+    ticket.setId(UUID.randomUUID());
+
+    IdempotencyRecord record = idempotencyService.reserve(userId, KEY, ticketTypeId, 1);
+    idempotencyService.complete(record, List.of(ticket));
+    PurchaseResult replay = idempotencyService.findReplay(userId, KEY, ticketTypeId, 1);
+
+    assertEquals(ticket.getId().toString(), record.getTicketIds());
+    assertEquals(List.of(ticket.getId()), replay.ticketIds());
+    verify(idempotencyRecordRepository, never()).findByUserIdAndIdempotencyKey(any(), any());
+  }
+}
@@ -0,0 +1,91 @@
+package com.fullstack.venuesync.tickets.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.fullstack.venuesync.tickets.domain.TicketType;
+import com.fullstack.venuesync.tickets.inventory.TicketInventoryEngine;
+import com.fullstack.venuesync.tickets.repository.TicketTypeRepository;
+
+@ExtendWith(MockitoExtension.class)
+class TicketInventoryReconciliationServiceImplTest {
+
+  @Mock
+  private TicketTypeRepository ticketTypeRepository;
+
+  @Mock
+  private TicketInventoryEngine ticketInventoryEngine;
+
+  @InjectMocks
+  private TicketInventoryReconciliationServiceImpl reconciliationService;
+
+  @Test
+  @DisplayName("should lock and recompute each drifted ticket type")
+  void shouldLockAndRecomputeDriftedTicketTypes() {
+    UUID firstId = UUID.randomUUID();
+    UUID secondId = UUID.randomUUID();
+
+    when(ticketTypeRepository.findIdsWithDriftedSoldCounter(true)).thenReturn(List.of(firstId, secondId));
+    when(ticketTypeRepository.findByIdWithLock(any(UUID.class)))
+        .thenReturn(Optional.of(new TicketType()));
+    when(ticketTypeRepository.reconcileSoldCounter(any(UUID.class))).thenReturn(1);
+
+    int result = reconciliationService.reconcileSoldCounters();
+
+    assertEquals(2, result);
+    InOrder inOrder = inOrder(ticketTypeRepository);
+    inOrder.verify(ticketTypeRepository).findByIdWithLock(firstId);
+    inOrder.verify(ticketTypeRepository).reconcileSoldCounter(firstId);
+    inOrder.verify(ticketTypeRepository).findByIdWithLock(secondId);
+    inOrder.verify(ticketTypeRepository).reconcileSoldCounter(secondId);
+  }
+
+  @Test
+  @DisplayName("should leave limited ticket types alone while the inventory engine leases stock")
+  void shouldSkipLimitedTicketTypesWhenEngineEnabled() {
+    when(ticketInventoryEngine.isEnabled()).thenReturn(true);
+    when(ticketTypeRepository.findIdsWithDriftedSoldCounter(false)).thenReturn(List.of());
+
+    assertEquals(0, reconciliationService.reconcileSoldCounters());
+
+    verify(ticketTypeRepository, never()).findIdsWithDriftedSoldCounter(true);
+  }
+
+  @Test
+  @DisplayName("should skip ticket types deleted before they could be locked")
+  void shouldSkipDeletedTicketTypes() {
+    UUID ticketTypeId = UUID.randomUUID();
+
+    when(ticketTypeRepository.findIdsWithDriftedSoldCounter(true)).thenReturn(List.of(ticketTypeId));
+    when(ticketTypeRepository.findByIdWithLock(ticketTypeId)).thenReturn(Optional.empty());
+
+    int result = reconciliationService.reconcileSoldCounters();
+
+    assertEquals(0, result);
+    verify(ticketTypeRepository, never()).reconcileSoldCounter(any(UUID.class));
+  }
+
+  @Test
+  @DisplayName("should return zero when no counters drifted")
+  void shouldReturnZeroWhenNothingDrifted() {
+    when(ticketTypeRepository.findIdsWithDriftedSoldCounter(true)).thenReturn(List.of());
+
+    int result = reconciliationService.reconcileSoldCounters();
+
+    assertEquals(0, result);
+    verify(ticketTypeRepository, never()).findByIdWithLock(any(UUID.class));
+  }
+}
@@ -0,0 +1,105 @@
+package com.fullstack.venuesync.tickets.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.fullstack.venuesync.tickets.domain.Ticket;
+import com.fullstack.venuesync.tickets.domain.TicketInventoryStrategyEnum;
+import com.fullstack.venuesync.tickets.domain.TicketStatusEnum;
+import com.fullstack.venuesync.tickets.domain.TicketType;
+import com.fullstack.venuesync.tickets.exception.InventoryStrategyException;
+import com.fullstack.venuesync.tickets.repository.TicketRepository;
+
+@ExtendWith(MockitoExtension.class)
+class TicketPoolServiceImplTest {
+
+  @Mock
+  private TicketRepository ticketRepository;
+
+  @InjectMocks
+  private TicketPoolServiceImpl ticketPoolService;
+
+  private UUID ticketTypeId;
+  private TicketType ticketType;
+
+  @BeforeEach
+  void setUp() {
+    ticketTypeId = UUID.randomUUID();
+    ticketType = new TicketType();
+    ticketType.setId(ticketTypeId);
+    ticketType.setInventoryStrategy(TicketInventoryStrategyEnum.POOL);
+  }
+
+  private void stubPool(int claimed, int available) {
+    when(ticketRepository.countByTicketTypeIdAndStatusNot(ticketTypeId, TicketStatusEnum.AVAILABLE))
+        .thenReturn(claimed);
+    when(ticketRepository.countByTicketTypeIdAndStatus(ticketTypeId, TicketStatusEnum.AVAILABLE))
+        .thenReturn(available);
+  }
+
+  @Test
+  @DisplayName("should mint the missing AVAILABLE tickets")
+  @SuppressWarnings("unchecked")
+  void shouldMintMissingTickets() {
+    ticketType.setTotalAvailable(10);
+    stubPool(3, 4);
+
+    int result = ticketPoolService.resizePool(ticketType);
+
+    assertEquals(3, result);
+    ArgumentCaptor<List<Ticket>> captor = ArgumentCaptor.forClass(List.class);
+    verify(ticketRepository).saveAll(captor.capture());
+    assertEquals(3, captor.getValue().size());
+    captor.getValue().forEach(ticket -> {
+      assertEquals(TicketStatusEnum.AVAILABLE, ticket.getStatus());
+      assertEquals(ticketType, ticket.getTicketType());
+      assertNull(ticket.getPurchaser());
+    });
+  }
+
+  @Test
+  @DisplayName("should delete surplus AVAILABLE tickets when the total shrinks")
+  void shouldDeleteSurplusTickets() {
+    ticketType.setTotalAvailable(5);
+    stubPool(3, 6);
+    when(ticketRepository.deleteAvailable(ticketTypeId, 4)).thenReturn(4);
+
+    int result = ticketPoolService.resizePool(ticketType);
+
+    assertEquals(-4, result);
+    verify(ticketRepository, never()).saveAll(anyList());
+  }
+
+  @Test
+  @DisplayName("should never go below the tickets already claimed")
+  void shouldKeepClaimedTickets() {
+    ticketType.setTotalAvailable(2);
+    stubPool(3, 0);
+
+    assertEquals(0, ticketPoolService.resizePool(ticketType));
+    verify(ticketRepository, never()).saveAll(anyList());
+    verify(ticketRepository, never()).deleteAvailable(any(UUID.class), anyInt());
+  }
+
+  @Test
+  @DisplayName("should reject pooled ticket types without a total available")
+  void shouldRejectUnlimitedPool() {
+    ticketType.setTotalAvailable(null);
+
+    assertThrows(InventoryStrategyException.class, () -> ticketPoolService.resizePool(ticketType));
+    verifyNoInteractions(ticketRepository);
+  }
+}
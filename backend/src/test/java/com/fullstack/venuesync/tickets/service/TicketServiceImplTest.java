@@ -24,6 +24,7 @@ import org.springframework.data.domain.Pageable;
 
 import com.fullstack.venuesync.tickets.domain.Ticket;
 import com.fullstack.venuesync.tickets.domain.TicketStatusEnum;
+import com.fullstack.venuesync.tickets.domain.TicketVersion;
 import com.fullstack.venuesync.tickets.repository.TicketRepository;
 
 @ExtendWith(MockitoExtension.class)
@@ -113,4 +114,16 @@ class TicketServiceImplTest {
 
     assertFalse(result.isPresent());
   }
+
+  @Test
+  @DisplayName("should return the version of a ticket owned by the user")
+  void shouldGetTicketVersionForUser() {
+    TicketVersion version = new TicketVersion(ticketId, LocalDateTime.now(), LocalDateTime.now(), LocalDateTime.now());
+    when(ticketRepository.findVersionByIdAndPurchaserId(ticketId, userId))
+        .thenReturn(Optional.of(version));
+
+    Optional<TicketVersion> result = ticketService.getTicketVersionForUser(userId, ticketId);
+
+    assertEquals(Optional.of(version), result);
+  }
 }
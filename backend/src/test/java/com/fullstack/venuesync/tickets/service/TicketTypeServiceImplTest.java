@@ -6,6 +6,7 @@ import static org.mockito.Mockito.*;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -17,6 +18,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.fullstack.venuesync.events.domain.Event;
 import com.fullstack.venuesync.events.domain.EventStatusEnum;
@@ -24,14 +29,27 @@ import com.fullstack.venuesync.events.exception.SalesPeriodException;
 import com.fullstack.venuesync.shared.domain.User;
 import com.fullstack.venuesync.shared.domain.UserRepository;
 import com.fullstack.venuesync.shared.exceptions.UserNotFoundException;
+import com.fullstack.venuesync.tickets.domain.IdempotencyRecord;
+import com.fullstack.venuesync.tickets.domain.PurchaseResult;
 import com.fullstack.venuesync.tickets.domain.Ticket;
+import com.fullstack.venuesync.tickets.domain.TicketHold;
+import com.fullstack.venuesync.tickets.domain.TicketHoldStatusEnum;
+import com.fullstack.venuesync.tickets.domain.TicketInventoryStrategyEnum;
 import com.fullstack.venuesync.tickets.domain.TicketStatusEnum;
 import com.fullstack.venuesync.tickets.domain.TicketType;
+import com.fullstack.venuesync.tickets.exception.InventoryStrategyException;
+import com.fullstack.venuesync.tickets.exception.TicketHoldExpiredException;
+import com.fullstack.venuesync.tickets.exception.TicketHoldNotFoundException;
 import com.fullstack.venuesync.tickets.exception.TicketTypeNotFoundException;
 import com.fullstack.venuesync.tickets.exception.TicketsSoldOutException;
+import com.fullstack.venuesync.tickets.hold.TicketHoldExpirer;
+import com.fullstack.venuesync.tickets.inventory.InventoryReservation;
+import com.fullstack.venuesync.tickets.inventory.SoldOutRegistry;
+import com.fullstack.venuesync.tickets.inventory.TicketInventoryEngine;
+import com.fullstack.venuesync.tickets.repository.TicketHoldRepository;
 import com.fullstack.venuesync.tickets.repository.TicketRepository;
 import com.fullstack.venuesync.tickets.repository.TicketTypeRepository;
-import com.fullstack.venuesync.validation.service.QrCodeService;
+import com.fullstack.venuesync.validation.service.QrCodeJobService;
 
 @ExtendWith(MockitoExtension.class)
 class TicketTypeServiceImplTest {
@@ -46,7 +64,25 @@ class TicketTypeServiceImplTest {
   private TicketRepository ticketRepository;
 
   @Mock
-  private QrCodeService qrCodeService;
+  private QrCodeJobService qrCodeJobService;
+
+  @Mock
+  private TicketInventoryEngine ticketInventoryEngine;
+
+  @Mock
+  private TicketHoldRepository ticketHoldRepository;
+
+  @Mock
+  private TicketHoldExpirer ticketHoldExpirer;
+
+  @Mock
+  private IdempotencyService idempotencyService;
+
+  @Mock
+  private SoldOutRegistry soldOutRegistry;
+
+  @Mock
+  private TransactionTemplate transactionTemplate;
 
   @InjectMocks
   private TicketTypeServiceImpl ticketTypeService;
@@ -81,6 +117,9 @@ class TicketTypeServiceImplTest {
     ticketType.setPrice(50.0);
     ticketType.setTotalAvailable(100);
     ticketType.setEvent(event);
+
+    lenient().when(transactionTemplate.execute(any())).thenAnswer(
+        i -> ((TransactionCallback<?>) i.getArgument(0)).doInTransaction(null));
   }
 
   @Nested
@@ -91,12 +130,12 @@ class TicketTypeServiceImplTest {
     @DisplayName("should purchase ticket successfully")
     void shouldPurchaseTicketSuccessfully() {
       when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-      when(ticketTypeRepository.findByIdWithLock(ticketTypeId)).thenReturn(Optional.of(ticketType));
-      when(ticketRepository.countByTicketTypeId(ticketTypeId)).thenReturn(10);
-      when(ticketRepository.save(any(Ticket.class))).thenAnswer(i -> {
-        Ticket t = i.getArgument(0);
-        t.setId(UUID.randomUUID());
-        return t;
+      when(ticketTypeRepository.findByIdWithEvent(ticketTypeId)).thenReturn(Optional.of(ticketType));
+      when(ticketTypeRepository.incrementSold(ticketTypeId, 1)).thenReturn(1);
+      when(ticketRepository.saveAll(anyList())).thenAnswer(i -> {
+        List<Ticket> tickets = i.getArgument(0);
+        tickets.forEach(t -> t.setId(UUID.randomUUID()));
+        return tickets;
       });
 
       Ticket result = ticketTypeService.purchaseTicket(userId, ticketTypeId);
@@ -105,7 +144,7 @@ class TicketTypeServiceImplTest {
       assertEquals(TicketStatusEnum.PURCHASED, result.getStatus());
       assertEquals(user, result.getPurchaser());
       assertEquals(ticketType, result.getTicketType());
-      verify(qrCodeService).generateQrCode(any(Ticket.class));
+      verify(qrCodeJobService).enqueueQrCodes(List.of(result));
     }
 
     @Test
@@ -121,7 +160,7 @@ class TicketTypeServiceImplTest {
     @DisplayName("should throw TicketTypeNotFoundException when ticket type not found")
     void shouldThrowTicketTypeNotFoundWhenNotFound() {
       when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-      when(ticketTypeRepository.findByIdWithLock(ticketTypeId)).thenReturn(Optional.empty());
+      when(ticketTypeRepository.findByIdWithEvent(ticketTypeId)).thenReturn(Optional.empty());
 
       assertThrows(TicketTypeNotFoundException.class,
           () -> ticketTypeService.purchaseTicket(userId, ticketTypeId));
@@ -133,7 +172,7 @@ class TicketTypeServiceImplTest {
       event.setSalesStart(LocalDateTime.now().plusDays(1));
 
       when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-      when(ticketTypeRepository.findByIdWithLock(ticketTypeId)).thenReturn(Optional.of(ticketType));
+      when(ticketTypeRepository.findByIdWithEvent(ticketTypeId)).thenReturn(Optional.of(ticketType));
 
       assertThrows(SalesPeriodException.class,
           () -> ticketTypeService.purchaseTicket(userId, ticketTypeId));
@@ -146,7 +185,7 @@ class TicketTypeServiceImplTest {
       event.setSalesEnd(LocalDateTime.now().minusDays(1));
 
       when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-      when(ticketTypeRepository.findByIdWithLock(ticketTypeId)).thenReturn(Optional.of(ticketType));
+      when(ticketTypeRepository.findByIdWithEvent(ticketTypeId)).thenReturn(Optional.of(ticketType));
 
       assertThrows(SalesPeriodException.class,
           () -> ticketTypeService.purchaseTicket(userId, ticketTypeId));
@@ -160,7 +199,7 @@ class TicketTypeServiceImplTest {
       event.setEnd(LocalDateTime.now().minusDays(1));
 
       when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-      when(ticketTypeRepository.findByIdWithLock(ticketTypeId)).thenReturn(Optional.of(ticketType));
+      when(ticketTypeRepository.findByIdWithEvent(ticketTypeId)).thenReturn(Optional.of(ticketType));
 
       assertThrows(SalesPeriodException.class,
           () -> ticketTypeService.purchaseTicket(userId, ticketTypeId));
@@ -172,11 +211,25 @@ class TicketTypeServiceImplTest {
       ticketType.setTotalAvailable(10);
 
       when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-      when(ticketTypeRepository.findByIdWithLock(ticketTypeId)).thenReturn(Optional.of(ticketType));
-      when(ticketRepository.countByTicketTypeId(ticketTypeId)).thenReturn(10);
+      when(ticketTypeRepository.findByIdWithEvent(ticketTypeId)).thenReturn(Optional.of(ticketType));
+      when(ticketTypeRepository.incrementSold(ticketTypeId, 1)).thenReturn(0);
 
       assertThrows(TicketsSoldOutException.class,
           () -> ticketTypeService.purchaseTicket(userId, ticketTypeId));
+      verify(ticketRepository, never()).saveAll(anyList());
+      verify(soldOutRegistry).markSoldOut(ticketTypeId);
+    }
+
+    @Test
+    @DisplayName("should reject a sold-out ticket type without touching the database")
+    void shouldFastRejectKnownSoldOut() {
+      when(soldOutRegistry.isSoldOut(ticketTypeId)).thenReturn(true);
+
+      TicketsSoldOutException ex = assertThrows(TicketsSoldOutException.class,
+          () -> ticketTypeService.purchaseTicket(userId, ticketTypeId));
+
+      assertEquals(0, ex.getStackTrace().length);
+      verifyNoInteractions(userRepository, ticketTypeRepository, transactionTemplate);
     }
 
     @Test
@@ -185,12 +238,12 @@ class TicketTypeServiceImplTest {
       ticketType.setTotalAvailable(null);
 
       when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-      when(ticketTypeRepository.findByIdWithLock(ticketTypeId)).thenReturn(Optional.of(ticketType));
-      when(ticketRepository.countByTicketTypeId(ticketTypeId)).thenReturn(1000);
-      when(ticketRepository.save(any(Ticket.class))).thenAnswer(i -> {
-        Ticket t = i.getArgument(0);
-        t.setId(UUID.randomUUID());
-        return t;
+      when(ticketTypeRepository.findByIdWithEvent(ticketTypeId)).thenReturn(Optional.of(ticketType));
+      when(ticketTypeRepository.incrementSold(ticketTypeId, 1)).thenReturn(1);
+      when(ticketRepository.saveAll(anyList())).thenAnswer(i -> {
+        List<Ticket> tickets = i.getArgument(0);
+        tickets.forEach(t -> t.setId(UUID.randomUUID()));
+        return tickets;
       });
 
       Ticket result = ticketTypeService.purchaseTicket(userId, ticketTypeId);
@@ -198,4 +251,347 @@ class TicketTypeServiceImplTest {
       assertNotNull(result);
     }
   }
+
+  @Nested
+  @DisplayName("purchaseTickets")
+  class PurchaseTicketsTests {
+
+    @Test
+    @DisplayName("should claim the whole quantity with a single counter update")
+    void shouldClaimQuantityWithSingleUpdate() {
+      when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+      when(ticketTypeRepository.findByIdWithEvent(ticketTypeId)).thenReturn(Optional.of(ticketType));
+      when(ticketTypeRepository.incrementSold(ticketTypeId, 5)).thenReturn(1);
+      when(ticketRepository.saveAll(anyList())).thenAnswer(i -> i.getArgument(0));
+
+      List<Ticket> result = ticketTypeService.purchaseTickets(userId, ticketTypeId, 5);
+
+      assertEquals(5, result.size());
+      result.forEach(t -> assertEquals(TicketStatusEnum.PURCHASED, t.getStatus()));
+      verify(ticketTypeRepository).incrementSold(ticketTypeId, 5);
+      verify(qrCodeJobService).enqueueQrCodes(result);
+    }
+
+    @Test
+    @DisplayName("should issue no tickets when the quantity is not available")
+    void shouldIssueNoTicketsWhenQuantityUnavailable() {
+      when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+      when(ticketTypeRepository.findByIdWithEvent(ticketTypeId)).thenReturn(Optional.of(ticketType));
+      when(ticketTypeRepository.incrementSold(ticketTypeId, 5)).thenReturn(0);
+
+      assertThrows(TicketsSoldOutException.class,
+          () -> ticketTypeService.purchaseTickets(userId, ticketTypeId, 5));
+      verify(ticketRepository, never()).saveAll(anyList());
+      // Fewer than five left does not mean none are left
+      verify(soldOutRegistry, never()).markSoldOut(any(UUID.class));
+      verify(qrCodeJobService, never()).enqueueQrCodes(anyList());
+    }
+
+    @Test
+    @DisplayName("should reject a quantity below 1")
+    void shouldRejectNonPositiveQuantity() {
+      assertThrows(IllegalArgumentException.class,
+          () -> ticketTypeService.purchaseTickets(userId, ticketTypeId, 0));
+      verifyNoInteractions(ticketTypeRepository);
+    }
+  }
+
+  @Nested
+  @DisplayName("purchaseTickets with an idempotency key")
+  class IdempotentPurchaseTests {
+
+    private static final String KEY = "retry-1";
+
+    @Test
+    @DisplayName("should replay a recorded purchase without touching inventory")
+    void shouldReplayRecordedPurchase() {
+      PurchaseResult replay = new PurchaseResult(List.of(UUID.randomUUID()), true);
+      when(idempotencyService.findReplay(userId, KEY, ticketTypeId, 1)).thenReturn(replay);
+
+      PurchaseResult result = ticketTypeService.purchaseTickets(userId, ticketTypeId, 1, KEY);
+
+      assertSame(replay, result);
+      verifyNoInteractions(ticketTypeRepository, ticketRepository, userRepository);
+    }
+
+    @Test
+    @DisplayName("should record the outcome of a new keyed purchase")
+    void shouldRecordNewPurchase() {
+      IdempotencyRecord record = new IdempotencyRecord();
+      when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+      when(ticketTypeRepository.findByIdWithEvent(ticketTypeId)).thenReturn(Optional.of(ticketType));
+      when(idempotencyService.reserve(userId, KEY, ticketTypeId, 1)).thenReturn(record);
+      when(ticketTypeRepository.incrementSold(ticketTypeId, 1)).thenReturn(1);
+      when(ticketRepository.saveAll(anyList())).thenAnswer(i -> {
+        List<Ticket> tickets = i.getArgument(0);
+        tickets.forEach(t -> t.setId(UUID.randomUUID()));
+        return tickets;
+      });
+
+      PurchaseResult result = ticketTypeService.purchaseTickets(userId, ticketTypeId, 1, KEY);
+
+      assertFalse(result.replayed());
+      assertEquals(1, result.ticketIds().size());
+      verify(idempotencyService).complete(eq(record), anyList());
+    }
+
+    @Test
+    @DisplayName("should replay when a concurrent request with the same key won")
+    void shouldReplayAfterConcurrentDuplicate() {
+      PurchaseResult replay = new PurchaseResult(List.of(UUID.randomUUID()), true);
+      when(idempotencyService.findReplay(userId, KEY, ticketTypeId, 1)).thenReturn(null, replay);
+      when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+      when(ticketTypeRepository.findByIdWithEvent(ticketTypeId)).thenReturn(Optional.of(ticketType));
+      when(idempotencyService.reserve(userId, KEY, ticketTypeId, 1))
+          .thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+      PurchaseResult result = ticketTypeService.purchaseTickets(userId, ticketTypeId, 1, KEY);
+
+      assertSame(replay, result);
+      verify(ticketTypeRepository, never()).incrementSold(any(UUID.class), anyInt());
+    }
+  }
+
+  @Nested
+  @DisplayName("ticket holds")
+  class TicketHoldTests {
+
+    private TicketHold hold;
+    private UUID holdId;
+
+    @BeforeEach
+    void setUp() {
+      holdId = UUID.randomUUID();
+      hold = new TicketHold();
+      hold.setId(holdId);
+      hold.setTicketType(ticketType);
+      hold.setPurchaser(user);
+      hold.setQuantity(2);
+      hold.setStatus(TicketHoldStatusEnum.ACTIVE);
+      hold.setExpiresAt(LocalDateTime.now().plusMinutes(10));
+    }
+
+    @Test
+    @DisplayName("should claim inventory and schedule expiry when holding tickets")
+    void shouldHoldTickets() {
+      LocalDateTime expiresAt = LocalDateTime.now().plusMinutes(10);
+      when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+      when(ticketTypeRepository.findByIdWithEvent(ticketTypeId)).thenReturn(Optional.of(ticketType));
+      when(ticketTypeRepository.incrementSold(ticketTypeId, 2)).thenReturn(1);
+      when(ticketHoldExpirer.nextExpiry()).thenReturn(expiresAt);
+      when(ticketHoldRepository.save(any(TicketHold.class))).thenAnswer(i -> {
+        TicketHold h = i.getArgument(0);
+        h.setId(holdId);
+        return h;
+      });
+
+      TicketHold result = ticketTypeService.holdTickets(userId, ticketTypeId, 2);
+
+      assertEquals(TicketHoldStatusEnum.ACTIVE, result.getStatus());
+      assertEquals(2, result.getQuantity());
+      verify(ticketHoldExpirer).schedule(holdId, expiresAt);
+    }
+
+    @Test
+    @DisplayName("should not create a hold when tickets are sold out")
+    void shouldNotHoldWhenSoldOut() {
+      when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+      when(ticketTypeRepository.findByIdWithEvent(ticketTypeId)).thenReturn(Optional.of(ticketType));
+      when(ticketTypeRepository.incrementSold(ticketTypeId, 2)).thenReturn(0);
+
+      assertThrows(TicketsSoldOutException.class,
+          () -> ticketTypeService.holdTickets(userId, ticketTypeId, 2));
+      verify(ticketHoldRepository, never()).save(any(TicketHold.class));
+      verify(ticketHoldExpirer, never()).schedule(any(UUID.class), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("should issue tickets without claiming inventory again when confirming")
+    void shouldConfirmHold() {
+      when(ticketHoldRepository.findByIdAndPurchaserId(holdId, userId)).thenReturn(Optional.of(hold));
+      when(ticketHoldRepository.confirmHold(eq(holdId), any(LocalDateTime.class))).thenReturn(1);
+      when(ticketRepository.saveAll(anyList())).thenAnswer(i -> i.getArgument(0));
+
+      List<Ticket> result = ticketTypeService.confirmHold(userId, holdId);
+
+      assertEquals(2, result.size());
+      verify(ticketTypeRepository, never()).incrementSold(any(UUID.class), anyInt());
+      verify(qrCodeJobService).enqueueQrCodes(result);
+    }
+
+    @Test
+    @DisplayName("should reject confirming an expired hold")
+    void shouldRejectExpiredHold() {
+      when(ticketHoldRepository.findByIdAndPurchaserId(holdId, userId)).thenReturn(Optional.of(hold));
+      when(ticketHoldRepository.confirmHold(eq(holdId), any(LocalDateTime.class))).thenReturn(0);
+
+      assertThrows(TicketHoldExpiredException.class,
+          () -> ticketTypeService.confirmHold(userId, holdId));
+      verify(ticketRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("should throw TicketHoldNotFoundException for holds of other users")
+    void shouldRejectHoldOfOtherUser() {
+      when(ticketHoldRepository.findByIdAndPurchaserId(holdId, userId)).thenReturn(Optional.empty());
+
+      assertThrows(TicketHoldNotFoundException.class,
+          () -> ticketTypeService.releaseHold(userId, holdId));
+      verify(ticketHoldExpirer, never()).endHold(any(UUID.class), any(TicketHoldStatusEnum.class));
+    }
+
+    @Test
+    @DisplayName("should release a hold through the expirer")
+    void shouldReleaseHold() {
+      when(ticketHoldRepository.findByIdAndPurchaserId(holdId, userId)).thenReturn(Optional.of(hold));
+
+      ticketTypeService.releaseHold(userId, holdId);
+
+      verify(ticketHoldExpirer).endHold(holdId, TicketHoldStatusEnum.RELEASED);
+    }
+  }
+
+  @Nested
+  @DisplayName("purchaseTicket with inventory engine")
+  class PurchaseTicketWithInventoryEngineTests {
+
+    @BeforeEach
+    void setUp() {
+      when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+      when(ticketTypeRepository.findByIdWithEvent(ticketTypeId)).thenReturn(Optional.of(ticketType));
+      when(ticketInventoryEngine.handles(ticketType)).thenReturn(true);
+    }
+
+    @Test
+    @DisplayName("should bind the reservation to the purchase transaction")
+    void shouldBindReservationToTransaction() {
+      InventoryReservation reservation = mock(InventoryReservation.class);
+      when(ticketInventoryEngine.tryReserve(ticketTypeId, 1)).thenReturn(reservation);
+      when(ticketRepository.saveAll(anyList())).thenAnswer(i -> i.getArgument(0));
+
+      Ticket result = ticketTypeService.purchaseTicket(userId, ticketTypeId);
+
+      assertNotNull(result);
+      verify(reservation).bindToTransaction();
+      verify(reservation).releaseIfUnbound();
+      verify(ticketTypeRepository, never()).incrementSold(any(UUID.class), anyInt());
+    }
+
+    @Test
+    @DisplayName("should throw TicketsSoldOutException when the engine has no stock")
+    void shouldThrowTicketsSoldOutWhenEngineEmpty() {
+      when(ticketInventoryEngine.tryReserve(ticketTypeId, 1)).thenReturn(null);
+
+      assertThrows(TicketsSoldOutException.class,
+          () -> ticketTypeService.purchaseTicket(userId, ticketTypeId));
+      verify(transactionTemplate, never()).execute(any());
+    }
+
+    @Test
+    @DisplayName("should release the reservation when the ticket cannot be saved")
+    void shouldReleaseReservationOnFailure() {
+      InventoryReservation reservation = mock(InventoryReservation.class);
+      when(ticketInventoryEngine.tryReserve(ticketTypeId, 1)).thenReturn(reservation);
+      doThrow(new IllegalStateException("no connection")).when(transactionTemplate).execute(any());
+
+      assertThrows(IllegalStateException.class,
+          () -> ticketTypeService.purchaseTicket(userId, ticketTypeId));
+      verify(reservation, never()).bindToTransaction();
+      verify(reservation).releaseIfUnbound();
+    }
+  }
+
+  @Nested
+  @DisplayName("purchaseTickets from a ticket pool")
+  class PooledPurchaseTests {
+
+    @BeforeEach
+    void setUp() {
+      ticketType.setInventoryStrategy(TicketInventoryStrategyEnum.POOL);
+      when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+      when(ticketTypeRepository.findByIdWithEvent(ticketTypeId)).thenReturn(Optional.of(ticketType));
+    }
+
+    private Ticket availableTicket() {
+      Ticket ticket = new Ticket();
+      ticket.setId(UUID.randomUUID());
+      ticket.setStatus(TicketStatusEnum.AVAILABLE);
+      ticket.setTicketType(ticketType);
+      return ticket;
+    }
+
+    @Test
+    @DisplayName("should claim pre-created tickets without touching the sold counter")
+    void shouldClaimPooledTickets() {
+      List<Ticket> pool = List.of(availableTicket(), availableTicket());
+      when(ticketRepository.findAvailableForUpdate(
+          eq(ticketTypeId), eq(TicketStatusEnum.AVAILABLE), any(Pageable.class))).thenReturn(pool);
+
+      List<Ticket> result = ticketTypeService.purchaseTickets(userId, ticketTypeId, 2);
+
+      assertEquals(pool, result);
+      result.forEach(ticket -> {
+        assertEquals(TicketStatusEnum.PURCHASED, ticket.getStatus());
+        assertEquals(user, ticket.getPurchaser());
+      });
+      verify(qrCodeJobService).enqueueQrCodes(pool);
+      verify(ticketTypeRepository, never()).incrementSold(any(UUID.class), anyInt());
+      verify(ticketRepository, never()).saveAll(anyList());
+      verifyNoInteractions(ticketInventoryEngine);
+    }
+
+    @Test
+    @DisplayName("should throw TicketsSoldOutException when the pool has too few tickets")
+    void shouldThrowWhenPoolIsShort() {
+      Ticket last = availableTicket();
+      when(ticketRepository.findAvailableForUpdate(
+          eq(ticketTypeId), eq(TicketStatusEnum.AVAILABLE), any(Pageable.class)))
+          .thenReturn(List.of(last));
+      when(ticketRepository.countByTicketTypeIdAndStatus(ticketTypeId, TicketStatusEnum.AVAILABLE))
+          .thenReturn(1);
+
+      assertThrows(TicketsSoldOutException.class,
+          () -> ticketTypeService.purchaseTickets(userId, ticketTypeId, 2));
+      assertEquals(TicketStatusEnum.AVAILABLE, last.getStatus());
+      verify(qrCodeJobService, never()).enqueueQrCodes(anyList());
+      verify(soldOutRegistry, never()).markSoldOut(any(UUID.class));
+    }
+
+    @Test
+    @DisplayName("should not mark the pool sold out while skipped tickets may be released")
+    void shouldNotMarkSoldOutWhenTicketsAreLocked() {
+      when(ticketRepository.findAvailableForUpdate(
+          eq(ticketTypeId), eq(TicketStatusEnum.AVAILABLE), any(Pageable.class)))
+          .thenReturn(List.of());
+      when(ticketRepository.countByTicketTypeIdAndStatus(ticketTypeId, TicketStatusEnum.AVAILABLE))
+          .thenReturn(3);
+
+      assertThrows(TicketsSoldOutException.class,
+          () -> ticketTypeService.purchaseTickets(userId, ticketTypeId, 1));
+      verify(soldOutRegistry, never()).markSoldOut(any(UUID.class));
+    }
+
+    @Test
+    @DisplayName("should mark the pool sold out once no ticket is left")
+    void shouldMarkSoldOutWhenPoolIsEmpty() {
+      when(ticketRepository.findAvailableForUpdate(
+          eq(ticketTypeId), eq(TicketStatusEnum.AVAILABLE), any(Pageable.class)))
+          .thenReturn(List.of());
+      when(ticketRepository.countByTicketTypeIdAndStatus(ticketTypeId, TicketStatusEnum.AVAILABLE))
+          .thenReturn(0);
+
+      assertThrows(TicketsSoldOutException.class,
+          () -> ticketTypeService.purchaseTickets(userId, ticketTypeId, 1));
+      verify(soldOutRegistry).markSoldOut(ticketTypeId);
+    }
+
+    @Test
+    @DisplayName("should refuse to hold tickets of a pooled ticket type")
+    void shouldRefuseHolds() {
+      assertThrows(InventoryStrategyException.class,
+          () -> ticketTypeService.holdTickets(userId, ticketTypeId, 1));
+      verify(ticketTypeRepository, never()).incrementSold(any(UUID.class), anyInt());
+      verifyNoInteractions(ticketHoldRepository);
+    }
+  }
 }
@@ -0,0 +1,160 @@
+package com.fullstack.venuesync.tickets.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.fullstack.venuesync.tickets.domain.QueuedPurchase;
+import com.fullstack.venuesync.tickets.domain.QueuedPurchaseStatusEnum;
+import com.fullstack.venuesync.tickets.domain.Ticket;
+import com.fullstack.venuesync.tickets.exception.QueuedPurchaseNotFoundException;
+import com.fullstack.venuesync.tickets.exception.TicketTypeNotFoundException;
+import com.fullstack.venuesync.tickets.exception.TicketsSoldOutException;
+import com.fullstack.venuesync.tickets.exception.WaitingRoomFullException;
+import com.fullstack.venuesync.tickets.inventory.SoldOutRegistry;
+import com.fullstack.venuesync.tickets.repository.TicketTypeRepository;
+
+@ExtendWith(MockitoExtension.class)
+class WaitingRoomServiceImplTest {
+
+  @Mock
+  private TicketTypeService ticketTypeService;
+
+  @Mock
+  private TicketTypeRepository ticketTypeRepository;
+
+  @Mock
+  private SoldOutRegistry soldOutRegistry;
+
+  private WaitingRoomServiceImpl waitingRoomService;
+
+  private UUID userId;
+  private UUID ticketTypeId;
+
+  @BeforeEach
+  void setUp() {
+    waitingRoomService = new WaitingRoomServiceImpl(
+        ticketTypeService, ticketTypeRepository, soldOutRegistry, true, 2, 10, 1, 15);
+    userId = UUID.randomUUID();
+    ticketTypeId = UUID.randomUUID();
+  }
+
+  @AfterEach
+  void tearDown() {
+    waitingRoomService.shutdown();
+  }
+
+  @Test
+  @DisplayName("should complete a queued purchase with the issued ticket IDs")
+  void shouldCompleteQueuedPurchase() throws Exception {
+    Ticket ticket = new Ticket();
+    ticket.setId(UUID.randomUUID());
+    when(ticketTypeRepository.existsById(ticketTypeId)).thenReturn(true);
+    when(ticketTypeService.purchaseTickets(userId, ticketTypeId, 1)).thenReturn(List.of(ticket));
+
+    QueuedPurchase queuedPurchase = waitingRoomService.joinWaitingRoom(userId, ticketTypeId, 1);
+    awaitFinished(queuedPurchase);
+
+    assertEquals(QueuedPurchaseStatusEnum.COMPLETED, queuedPurchase.getStatus());
+    assertEquals(List.of(ticket.getId()), queuedPurchase.getTicketIds());
+    assertEquals(0, waitingRoomService.getPosition(queuedPurchase));
+    assertSame(queuedPurchase, waitingRoomService.getQueuedPurchase(userId, queuedPurchase.getId()));
+  }
+
+  @Test
+  @DisplayName("should fail a queued purchase when tickets are sold out")
+  void shouldFailQueuedPurchaseWhenSoldOut() throws Exception {
+    when(ticketTypeRepository.existsById(ticketTypeId)).thenReturn(true);
+    when(ticketTypeService.purchaseTickets(userId, ticketTypeId, 2))
+        .thenThrow(new TicketsSoldOutException());
+
+    QueuedPurchase queuedPurchase = waitingRoomService.joinWaitingRoom(userId, ticketTypeId, 2);
+    awaitFinished(queuedPurchase);
+
+    assertEquals(QueuedPurchaseStatusEnum.FAILED, queuedPurchase.getStatus());
+    assertNotNull(queuedPurchase.getError());
+  }
+
+  @Test
+  @DisplayName("should issue positions in order and reject buyers once full")
+  void shouldIssuePositionsAndRejectWhenFull() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch started = new CountDownLatch(1);
+    when(ticketTypeRepository.existsById(ticketTypeId)).thenReturn(true);
+    when(ticketTypeService.purchaseTickets(any(UUID.class), eq(ticketTypeId), anyInt()))
+        .thenAnswer(i -> {
+          started.countDown();
+          release.await(5, TimeUnit.SECONDS);
+          return List.of();
+        });
+
+    // The first buyer is taken by the writer, which then blocks
+    waitingRoomService.joinWaitingRoom(UUID.randomUUID(), ticketTypeId, 1);
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+
+    QueuedPurchase second = waitingRoomService.joinWaitingRoom(userId, ticketTypeId, 1);
+    QueuedPurchase third = waitingRoomService.joinWaitingRoom(UUID.randomUUID(), ticketTypeId, 1);
+
+    assertEquals(1, waitingRoomService.getPosition(second));
+    assertEquals(2, waitingRoomService.getPosition(third));
+    assertSame(second, waitingRoomService.joinWaitingRoom(userId, ticketTypeId, 1));
+    assertThrows(WaitingRoomFullException.class,
+        () -> waitingRoomService.joinWaitingRoom(UUID.randomUUID(), ticketTypeId, 1));
+
+    release.countDown();
+    awaitFinished(third);
+  }
+
+  @Test
+  @DisplayName("should reject buyers of a ticket type known to be sold out")
+  void shouldRejectSoldOutTicketType() {
+    when(soldOutRegistry.isSoldOut(ticketTypeId)).thenReturn(true);
+
+    assertThrows(TicketsSoldOutException.class,
+        () -> waitingRoomService.joinWaitingRoom(userId, ticketTypeId, 1));
+    verifyNoInteractions(ticketTypeRepository, ticketTypeService);
+  }
+
+  @Test
+  @DisplayName("should reject unknown ticket types")
+  void shouldRejectUnknownTicketType() {
+    when(ticketTypeRepository.existsById(ticketTypeId)).thenReturn(false);
+
+    assertThrows(TicketTypeNotFoundException.class,
+        () -> waitingRoomService.joinWaitingRoom(userId, ticketTypeId, 1));
+  }
+
+  @Test
+  @DisplayName("should hide queued purchases of other users")
+  void shouldHideQueuedPurchasesOfOtherUsers() throws Exception {
+    when(ticketTypeRepository.existsById(ticketTypeId)).thenReturn(true);
+    when(ticketTypeService.purchaseTickets(userId, ticketTypeId, 1)).thenReturn(List.of());
+
+    QueuedPurchase queuedPurchase = waitingRoomService.joinWaitingRoom(userId, ticketTypeId, 1);
+    awaitFinished(queuedPurchase);
+
+    assertThrows(QueuedPurchaseNotFoundException.class,
+        () -> waitingRoomService.getQueuedPurchase(UUID.randomUUID(), queuedPurchase.getId()));
+  }
+
+  private void awaitFinished(QueuedPurchase queuedPurchase) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (queuedPurchase.getFinishedAt() == null) {
+      assertTrue(System.nanoTime() < deadline, "Queued purchase did not finish in time");
+      Thread.sleep(10);
+    }
+  }
+}
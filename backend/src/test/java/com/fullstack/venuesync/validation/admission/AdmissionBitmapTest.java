@@ -0,0 +1,97 @@
+package com.fullstack.venuesync.validation.admission;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class AdmissionBitmapTest {
+
+  @Test
+  @DisplayName("should find every loaded ticket and no other")
+  void shouldFindLoadedTickets() {
+    List<UUID> unused = new ArrayList<>();
+    for (int i = 0; i < 200; i++) {
+      unused.add(UUID.randomUUID());
+    }
+
+    AdmissionBitmap bitmap = new AdmissionBitmap(unused, List.of());
+
+    assertEquals(200, bitmap.size());
+    for (UUID ticketId : unused) {
+      assertTrue(bitmap.slotOf(ticketId) >= 0);
+    }
+    assertEquals(-1, bitmap.slotOf(UUID.randomUUID()));
+  }
+
+  @Test
+  @DisplayName("should admit a ticket only once")
+  void shouldAdmitOnce() {
+    UUID ticketId = UUID.randomUUID();
+    AdmissionBitmap bitmap = new AdmissionBitmap(List.of(ticketId), List.of());
+    int slot = bitmap.slotOf(ticketId);
+
+    assertFalse(bitmap.isAdmitted(slot));
+    assertTrue(bitmap.admit(slot));
+    assertFalse(bitmap.admit(slot));
+    assertTrue(bitmap.isAdmitted(slot));
+  }
+
+  @Test
+  @DisplayName("should load used tickets as already admitted")
+  void shouldPreAdmitUsedTickets() {
+    UUID unusedId = UUID.randomUUID();
+    UUID usedId = UUID.randomUUID();
+
+    AdmissionBitmap bitmap = new AdmissionBitmap(List.of(unusedId), List.of(usedId));
+
+    assertFalse(bitmap.isAdmitted(bitmap.slotOf(unusedId)));
+    assertFalse(bitmap.admit(bitmap.slotOf(usedId)));
+  }
+
+  @Test
+  @DisplayName("should let exactly one of many concurrent scans admit a ticket")
+  void shouldAdmitOnceUnderContention() throws Exception {
+    List<UUID> unused = new ArrayList<>();
+    for (int i = 0; i < 128; i++) {
+      unused.add(UUID.randomUUID());
+    }
+    AdmissionBitmap bitmap = new AdmissionBitmap(unused, List.of());
+    int threads = 8;
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+    try {
+      List<Future<Integer>> results = new ArrayList<>();
+      for (int t = 0; t < threads; t++) {
+        results.add(executor.submit(() -> {
+          start.await();
+          int admitted = 0;
+          for (UUID ticketId : unused) {
+            if (bitmap.admit(bitmap.slotOf(ticketId))) {
+              admitted++;
+            }
+          }
+          return admitted;
+        }));
+      }
+      start.countDown();
+
+      int total = 0;
+      for (Future<Integer> result : results) {
+        total += result.get();
+      }
+      assertEquals(unused.size(), total);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
@@ -0,0 +1,198 @@
+package com.fullstack.venuesync.validation.admission;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.fullstack.venuesync.events.domain.Event;
+import com.fullstack.venuesync.events.exception.EventNotFoundException;
+import com.fullstack.venuesync.events.repository.EventRepository;
+import com.fullstack.venuesync.tickets.domain.TicketStatusEnum;
+import com.fullstack.venuesync.tickets.repository.TicketRepository;
+import com.fullstack.venuesync.validation.domain.TicketValidationMethod;
+import com.fullstack.venuesync.validation.domain.TicketValidationStatusEnum;
+import com.fullstack.venuesync.validation.writer.TicketValidationWriter;
+
+@ExtendWith(MockitoExtension.class)
+class EventAdmissionRegistryTest {
+
+  @Mock
+  private EventRepository eventRepository;
+
+  @Mock
+  private TicketRepository ticketRepository;
+
+  @Mock
+  private TicketValidationWriter ticketValidationWriter;
+
+  private EventAdmissionRegistry registry;
+  private Event event;
+  private UUID unusedTicketId;
+  private UUID usedTicketId;
+
+  @BeforeEach
+  void setUp() {
+    registry = new EventAdmissionRegistry(eventRepository, ticketRepository, ticketValidationWriter);
+
+    event = new Event();
+    event.setId(UUID.randomUUID());
+    event.setEnd(LocalDateTime.now().plusHours(4));
+    unusedTicketId = UUID.randomUUID();
+    usedTicketId = UUID.randomUUID();
+  }
+
+  private void openEvent() {
+    when(eventRepository.findById(event.getId())).thenReturn(Optional.of(event));
+    when(ticketRepository.findIdsByEventIdAndStatus(event.getId(), TicketStatusEnum.PURCHASED))
+        .thenReturn(List.of(unusedTicketId));
+    when(ticketRepository.findIdsByEventIdAndStatus(event.getId(), TicketStatusEnum.USED))
+        .thenReturn(List.of(usedTicketId));
+    registry.open(event.getId());
+  }
+
+  @Test
+  @DisplayName("should load purchased and used tickets after flushing queued admissions")
+  void shouldOpenEvent() {
+    when(eventRepository.findById(event.getId())).thenReturn(Optional.of(event));
+    when(ticketRepository.findIdsByEventIdAndStatus(event.getId(), TicketStatusEnum.PURCHASED))
+        .thenReturn(List.of(unusedTicketId));
+    when(ticketRepository.findIdsByEventIdAndStatus(event.getId(), TicketStatusEnum.USED))
+        .thenReturn(List.of(usedTicketId));
+
+    assertEquals(2, registry.open(event.getId()));
+    assertTrue(registry.isOpen(event.getId()));
+    assertTrue(registry.hasOpenEvents());
+
+    var inOrder = inOrder(ticketValidationWriter, ticketRepository);
+    inOrder.verify(ticketValidationWriter).flush();
+    inOrder.verify(ticketRepository).findIdsByEventIdAndStatus(event.getId(), TicketStatusEnum.PURCHASED);
+    inOrder.verify(ticketValidationWriter).flush();
+    inOrder.verify(ticketRepository).findIdsByEventIdAndStatus(event.getId(), TicketStatusEnum.USED);
+  }
+
+  @Test
+  @DisplayName("should not admit again a ticket used while the event was loading")
+  void shouldApplyAdmissionsWhileLoading() {
+    when(ticketRepository.findIdsByEventIdAndStatus(event.getId(), TicketStatusEnum.PURCHASED))
+        .thenReturn(List.of(unusedTicketId));
+    when(ticketRepository.findIdsByEventIdAndStatus(event.getId(), TicketStatusEnum.USED))
+        .thenReturn(List.of(usedTicketId), List.of(usedTicketId, unusedTicketId));
+
+    registry.open(event);
+
+    assertEquals(Optional.of(TicketValidationStatusEnum.ALREADY_USED),
+        registry.admit(event.getId(), unusedTicketId, TicketValidationMethod.QR_SCAN));
+  }
+
+  @Test
+  @DisplayName("should carry admissions over when an event is reopened")
+  void shouldKeepAdmissionsOnReopen() {
+    openEvent();
+    registry.admit(event.getId(), unusedTicketId, TicketValidationMethod.QR_SCAN);
+
+    registry.open(event);
+
+    assertEquals(Optional.of(TicketValidationStatusEnum.ALREADY_USED),
+        registry.admit(event.getId(), unusedTicketId, TicketValidationMethod.QR_SCAN));
+  }
+
+  @Test
+  @DisplayName("should throw EventNotFoundException when opening an unknown event")
+  void shouldThrowForUnknownEvent() {
+    when(eventRepository.findById(event.getId())).thenReturn(Optional.empty());
+
+    assertThrows(EventNotFoundException.class, () -> registry.open(event.getId()));
+    assertFalse(registry.hasOpenEvents());
+  }
+
+  @Test
+  @DisplayName("should admit a ticket once and queue every outcome")
+  void shouldAdmitOnce() {
+    openEvent();
+
+    assertEquals(Optional.of(TicketValidationStatusEnum.VALID),
+        registry.admit(event.getId(), unusedTicketId, TicketValidationMethod.QR_SCAN));
+    assertEquals(Optional.of(TicketValidationStatusEnum.ALREADY_USED),
+        registry.admit(event.getId(), unusedTicketId, TicketValidationMethod.QR_SCAN));
+    assertEquals(Optional.of(TicketValidationStatusEnum.ALREADY_USED),
+        registry.admit(event.getId(), usedTicketId, TicketValidationMethod.MANUAL));
+
+    verify(ticketValidationWriter).enqueueAdmission(
+        unusedTicketId, TicketValidationStatusEnum.VALID, TicketValidationMethod.QR_SCAN);
+    verify(ticketValidationWriter).enqueueAdmission(
+        usedTicketId, TicketValidationStatusEnum.ALREADY_USED, TicketValidationMethod.MANUAL);
+  }
+
+  @Test
+  @DisplayName("should undo an admission whose outcome could not be written")
+  void shouldReleaseAdmissionWhenWriteFails() {
+    openEvent();
+    doThrow(new IllegalStateException("down")).doNothing().when(ticketValidationWriter)
+        .enqueueAdmission(unusedTicketId, TicketValidationStatusEnum.VALID, TicketValidationMethod.QR_SCAN);
+
+    assertThrows(IllegalStateException.class,
+        () -> registry.admit(event.getId(), unusedTicketId, TicketValidationMethod.QR_SCAN));
+    assertEquals(Optional.of(TicketValidationStatusEnum.VALID),
+        registry.admit(event.getId(), unusedTicketId, TicketValidationMethod.QR_SCAN));
+  }
+
+  @Test
+  @DisplayName("should defer to the database for tickets and events it does not hold")
+  void shouldDeferUnknownScans() {
+    openEvent();
+
+    assertTrue(registry.admit(event.getId(), UUID.randomUUID(), TicketValidationMethod.QR_SCAN).isEmpty());
+    assertTrue(registry.admit(UUID.randomUUID(), unusedTicketId, TicketValidationMethod.QR_SCAN).isEmpty());
+    verify(ticketValidationWriter, never()).enqueueAdmission(any(), any(), any());
+  }
+
+  @Test
+  @DisplayName("should defer to the database once the event has ended")
+  void shouldDeferAfterEventEnd() {
+    event.setEnd(LocalDateTime.now().minusMinutes(1));
+    openEvent();
+
+    assertTrue(registry.admit(event.getId(), unusedTicketId, TicketValidationMethod.QR_SCAN).isEmpty());
+    verify(ticketValidationWriter, never()).enqueueAdmission(any(), any(), any());
+  }
+
+  @Test
+  @DisplayName("should flush queued admissions when an event is closed")
+  void shouldFlushOnClose() {
+    openEvent();
+    clearInvocations(ticketValidationWriter);
+
+    assertTrue(registry.close(event.getId()));
+    assertFalse(registry.close(event.getId()));
+    assertFalse(registry.hasOpenEvents());
+    assertTrue(registry.admit(event.getId(), unusedTicketId, TicketValidationMethod.QR_SCAN).isEmpty());
+    verify(ticketValidationWriter, times(2)).flush();
+  }
+
+  @Test
+  @DisplayName("should close only events that have ended")
+  void shouldCloseEndedEvents() {
+    Event ended = new Event();
+    ended.setId(UUID.randomUUID());
+    ended.setEnd(LocalDateTime.now().minusMinutes(1));
+    when(ticketRepository.findIdsByEventIdAndStatus(eq(ended.getId()), any())).thenReturn(List.of());
+    openEvent();
+    registry.open(ended);
+
+    assertEquals(1, registry.closeEndedEvents());
+
+    assertTrue(registry.isOpen(event.getId()));
+    assertFalse(registry.isOpen(ended.getId()));
+  }
+}
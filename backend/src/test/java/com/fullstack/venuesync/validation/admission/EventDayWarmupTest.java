@@ -0,0 +1,171 @@
+package com.fullstack.venuesync.validation.admission;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.health.Status;
+
+import com.fullstack.venuesync.events.domain.Event;
+import com.fullstack.venuesync.events.domain.EventStatusEnum;
+import com.fullstack.venuesync.events.repository.EventRepository;
+import com.fullstack.venuesync.validation.filter.QrCodeIdFilter;
+import com.fullstack.venuesync.validation.token.QrCodeTokenCodec;
+
+@ExtendWith(MockitoExtension.class)
+class EventDayWarmupTest {
+
+  @Mock
+  private EventRepository eventRepository;
+
+  @Mock
+  private EventAdmissionRegistry eventAdmissionRegistry;
+
+  @Mock
+  private QrCodeIdFilter qrCodeIdFilter;
+
+  private EventDayWarmup warmup;
+  private Event event;
+
+  @BeforeEach
+  void setUp() {
+    warmup = new EventDayWarmup(
+        eventRepository,
+        eventAdmissionRegistry,
+        new QrCodeTokenCodec("test_qr_signing_secret_of_at_least_32_bytes"),
+        qrCodeIdFilter,
+        60,
+        100,
+        true
+    );
+
+    event = new Event();
+    event.setId(UUID.randomUUID());
+    event.setStart(LocalDateTime.now().plusMinutes(30));
+    event.setEnd(LocalDateTime.now().plusHours(4));
+  }
+
+  @Test
+  @DisplayName("should not report ready before the first warm-up")
+  void shouldBeOutOfServiceBeforeFirstPass() {
+    assertFalse(warmup.isReady());
+    assertEquals(Status.OUT_OF_SERVICE, warmup.health().getStatus());
+  }
+
+  @Test
+  @DisplayName("should open events starting within the lead time and warm the validation path")
+  void shouldOpenUpcomingEvents() {
+    when(eventRepository.findStartingBefore(eq(EventStatusEnum.PUBLISHED), any(), any()))
+        .thenReturn(List.of(event));
+
+    assertEquals(1, warmup.warmUpcomingEvents());
+
+    verify(eventAdmissionRegistry).closeEndedEvents();
+    verify(eventAdmissionRegistry).open(event);
+    verify(qrCodeIdFilter, times(100)).mightContain(any());
+    assertTrue(warmup.isReady());
+    assertEquals(Status.UP, warmup.health().getStatus());
+    assertEquals(true, warmup.health().getDetails().get("jitWarmed"));
+  }
+
+  @Test
+  @DisplayName("should only warm the validation path when auto-open is disabled")
+  void shouldNotOpenEventsWithoutAutoOpen() {
+    EventDayWarmup manualWarmup = new EventDayWarmup(
+        eventRepository,
+        eventAdmissionRegistry,
+        new QrCodeTokenCodec("test_qr_signing_secret_of_at_least_32_bytes"),
+        qrCodeIdFilter,
+        60,
+        100,
+        false
+    );
+    when(eventRepository.findStartingBefore(eq(EventStatusEnum.PUBLISHED), any(), any()))
+        .thenReturn(List.of(event));
+
+    assertEquals(0, manualWarmup.warmUpcomingEvents());
+
+    verify(eventAdmissionRegistry).closeEndedEvents();
+    verify(eventAdmissionRegistry, never()).open(any(Event.class));
+    verify(qrCodeIdFilter, times(100)).mightContain(any());
+    assertTrue(manualWarmup.isReady());
+  }
+
+  @Test
+  @DisplayName("should skip events that are already open")
+  void shouldSkipOpenEvents() {
+    when(eventRepository.findStartingBefore(eq(EventStatusEnum.PUBLISHED), any(), any()))
+        .thenReturn(List.of(event));
+    when(eventAdmissionRegistry.isOpen(event.getId())).thenReturn(true);
+
+    assertEquals(0, warmup.warmUpcomingEvents());
+
+    verify(eventAdmissionRegistry, never()).open(any(Event.class));
+    assertTrue(warmup.isReady());
+  }
+
+  @Test
+  @DisplayName("should warm the validation path when no event is coming up")
+  void shouldWarmWithoutUpcomingEvents() {
+    when(eventRepository.findStartingBefore(eq(EventStatusEnum.PUBLISHED), any(), any()))
+        .thenReturn(List.of());
+
+    assertEquals(0, warmup.warmUpcomingEvents());
+
+    verify(qrCodeIdFilter, times(100)).mightContain(any());
+    assertTrue(warmup.isReady());
+    assertEquals(true, warmup.health().getDetails().get("jitWarmed"));
+  }
+
+  @Test
+  @DisplayName("should warm the validation path on every pass")
+  void shouldWarmEveryPass() {
+    Event next = new Event();
+    next.setId(UUID.randomUUID());
+    when(eventRepository.findStartingBefore(eq(EventStatusEnum.PUBLISHED), any(), any()))
+        .thenReturn(List.of(event))
+        .thenReturn(List.of(next));
+
+    warmup.warmUpcomingEvents();
+    warmup.warmUpcomingEvents();
+
+    verify(eventAdmissionRegistry).open(next);
+    verify(qrCodeIdFilter, times(200)).mightContain(any());
+  }
+
+  @Test
+  @DisplayName("should keep opening other events when one fails")
+  void shouldContinueAfterFailure() {
+    Event next = new Event();
+    next.setId(UUID.randomUUID());
+    when(eventRepository.findStartingBefore(eq(EventStatusEnum.PUBLISHED), any(), any()))
+        .thenReturn(List.of(event, next));
+    when(eventAdmissionRegistry.open(event)).thenThrow(new IllegalStateException("down"));
+
+    assertEquals(1, warmup.warmUpcomingEvents());
+
+    verify(eventAdmissionRegistry).open(next);
+    assertTrue(warmup.isReady());
+  }
+
+  @Test
+  @DisplayName("should stay out of service when the first pass fails")
+  void shouldStayOutOfServiceOnFailure() {
+    when(eventRepository.findStartingBefore(any(), any(), any()))
+        .thenThrow(new IllegalStateException("down"));
+
+    assertThrows(IllegalStateException.class, () -> warmup.warmUpcomingEvents());
+
+    assertFalse(warmup.isReady());
+  }
+}
@@ -0,0 +1,143 @@
+package com.fullstack.venuesync.validation.attendance;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.fullstack.venuesync.tickets.domain.TicketStatusEnum;
+import com.fullstack.venuesync.tickets.repository.TicketRepository;
+import com.fullstack.venuesync.validation.domain.TicketValidationStatusEnum;
+import com.fullstack.venuesync.validation.dto.EventAttendanceResponseDto;
+import com.fullstack.venuesync.validation.repository.TicketValidationRepository;
+import com.fullstack.venuesync.validation.writer.TicketValidationWriter;
+
+@ExtendWith(MockitoExtension.class)
+class EventAttendanceTrackerTest {
+
+  @Mock
+  private TicketRepository ticketRepository;
+
+  @Mock
+  private TicketValidationRepository ticketValidationRepository;
+
+  @Mock
+  private TicketValidationWriter ticketValidationWriter;
+
+  private EventAttendanceTracker tracker;
+  private UUID eventId;
+
+  @BeforeEach
+  void setUp() {
+    tracker = new EventAttendanceTracker(
+        ticketRepository, ticketValidationRepository, ticketValidationWriter, 60000, 0);
+    eventId = UUID.randomUUID();
+  }
+
+  private void stubCounts(long admitted, long scanned) {
+    when(ticketRepository.countByTicketTypeEventIdAndStatus(eventId, TicketStatusEnum.USED))
+        .thenReturn(admitted);
+    when(ticketValidationRepository.countByTicketTicketTypeEventId(eventId)).thenReturn(scanned);
+  }
+
+  @Test
+  @DisplayName("should read an event's counts from the database once")
+  void shouldSeedCountsOnce() {
+    stubCounts(3, 5);
+
+    assertEquals(new EventAttendanceResponseDto(eventId, 3, 5), tracker.getAttendance(eventId));
+    assertEquals(new EventAttendanceResponseDto(eventId, 3, 5), tracker.getAttendance(eventId));
+
+    var inOrder = inOrder(ticketValidationWriter, ticketRepository);
+    inOrder.verify(ticketValidationWriter).flush();
+    inOrder.verify(ticketRepository).countByTicketTypeEventIdAndStatus(eventId, TicketStatusEnum.USED);
+    verify(ticketValidationRepository, times(1)).countByTicketTicketTypeEventId(eventId);
+  }
+
+  @Test
+  @DisplayName("should count scans in memory once the event is watched")
+  void shouldCountScans() {
+    stubCounts(3, 5);
+    tracker.recordScan(eventId, TicketValidationStatusEnum.VALID);
+    tracker.getAttendance(eventId);
+
+    tracker.recordScan(eventId, TicketValidationStatusEnum.VALID);
+    tracker.recordScan(eventId, TicketValidationStatusEnum.ALREADY_USED);
+
+    assertEquals(new EventAttendanceResponseDto(eventId, 4, 7), tracker.getAttendance(eventId));
+  }
+
+  @Test
+  @DisplayName("should send one update per interval for events that changed")
+  void shouldCoalesceUpdates() {
+    stubCounts(0, 0);
+    assertNotNull(tracker.subscribe(eventId));
+    assertEquals(1, tracker.subscriberCount(eventId));
+
+    assertEquals(0, tracker.publish());
+
+    tracker.recordScan(eventId, TicketValidationStatusEnum.VALID);
+    tracker.recordScan(eventId, TicketValidationStatusEnum.VALID);
+    assertEquals(1, tracker.publish());
+    assertEquals(0, tracker.publish());
+  }
+
+  @Test
+  @DisplayName("should not publish events nobody is watching")
+  void shouldSkipEventsWithoutSubscribers() {
+    stubCounts(0, 0);
+    tracker.getAttendance(eventId);
+
+    tracker.recordScan(eventId, TicketValidationStatusEnum.VALID);
+
+    assertEquals(0, tracker.publish());
+    assertEquals(0, tracker.subscriberCount(eventId));
+  }
+
+  @Test
+  @DisplayName("should count scans answered while the counts are read")
+  void shouldCountScansDuringSeed() {
+    doAnswer(i -> {
+      tracker.recordScan(eventId, TicketValidationStatusEnum.VALID);
+      return null;
+    }).when(ticketValidationWriter).flush();
+    stubCounts(3, 5);
+
+    assertEquals(new EventAttendanceResponseDto(eventId, 4, 6), tracker.getAttendance(eventId));
+  }
+
+  @Test
+  @DisplayName("should forget idle events nobody is watching")
+  void shouldEvictIdleEvents() {
+    stubCounts(0, 0);
+    tracker.getAttendance(eventId);
+    tracker.subscribe(eventId);
+
+    tracker.publish();
+    tracker.getAttendance(eventId);
+    verify(ticketValidationRepository, times(1)).countByTicketTicketTypeEventId(eventId);
+
+    tracker.recordScan(eventId, TicketValidationStatusEnum.VALID);
+    tracker.publish();
+    assertEquals(1, tracker.subscriberCount(eventId));
+  }
+
+  @Test
+  @DisplayName("should read the counts again once an idle event is watched")
+  void shouldReseedEvictedEvents() {
+    stubCounts(0, 0);
+    tracker.getAttendance(eventId);
+
+    tracker.publish();
+    tracker.getAttendance(eventId);
+
+    verify(ticketValidationRepository, times(2)).countByTicketTicketTypeEventId(eventId);
+  }
+}
@@ -2,13 +2,20 @@ package com.fullstack.venuesync.validation.controller;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -36,12 +43,18 @@ import com.fullstack.venuesync.shared.config.JwtAuthenticationConverter;
 import com.fullstack.venuesync.shared.domain.UserRepository;
 import com.fullstack.venuesync.shared.exceptions.GlobalExceptionHandler;
 import com.fullstack.venuesync.shared.filters.UserProvisioningFilter;
+import com.fullstack.venuesync.validation.admission.EventAdmissionRegistry;
+import com.fullstack.venuesync.validation.domain.TicketScan;
 import com.fullstack.venuesync.validation.domain.TicketValidation;
 import com.fullstack.venuesync.validation.domain.TicketValidationMethod;
 import com.fullstack.venuesync.validation.domain.TicketValidationStatusEnum;
+import com.fullstack.venuesync.validation.dto.TicketScanDto;
+import com.fullstack.venuesync.validation.dto.TicketValidationBatchRequestDto;
 import com.fullstack.venuesync.validation.dto.TicketValidationRequestDto;
 import com.fullstack.venuesync.validation.dto.TicketValidationResponseDto;
 import com.fullstack.venuesync.validation.mapper.TicketValidationMapper;
+import com.fullstack.venuesync.validation.metrics.GateMetrics;
+import com.fullstack.venuesync.validation.service.EventManifestService;
 import com.fullstack.venuesync.validation.service.TicketValidationService;
 
 @WebMvcTest(TicketValidationController.class)
@@ -60,6 +73,15 @@ class TicketValidationControllerTest {
   @MockitoBean
   private TicketValidationMapper ticketValidationMapper;
 
+  @MockitoBean
+  private EventAdmissionRegistry eventAdmissionRegistry;
+
+  @MockitoBean
+  private EventManifestService eventManifestService;
+
+  @MockitoBean
+  private GateMetrics gateMetrics;
+
   @MockitoBean
   private JwtDecoder jwtDecoder;
 
@@ -110,7 +132,7 @@ class TicketValidationControllerTest {
     responseDto.setTicketId(ticketId);
     responseDto.setStatus(TicketValidationStatusEnum.VALID);
 
-    when(ticketValidationService.validateTicketByQrCode(any(UUID.class)))
+    when(ticketValidationService.validateTicketByQrCode(eq(ticketId.toString()), isNull()))
         .thenReturn(validation);
     when(ticketValidationMapper.toTicketValidationResponseDto(any(TicketValidation.class)))
         .thenReturn(responseDto);
@@ -122,6 +144,194 @@ class TicketValidationControllerTest {
                 new SimpleGrantedAuthority("ROLE_STAFF"))))
         .andExpect(status().isOk())
         .andExpect(jsonPath("$.status").value("VALID"));
+
+    verify(gateMetrics).recordScan(any(), eq(TicketValidationMethod.QR_SCAN), eq(TicketValidationStatusEnum.VALID));
+  }
+
+  @Test
+  @DisplayName("should time a failed scan under the error outcome")
+  void shouldTimeFailedScan() throws Exception {
+    TicketValidationRequestDto request = new TicketValidationRequestDto();
+    request.setId(ticketId.toString());
+    request.setMethod(TicketValidationMethod.MANUAL);
+
+    when(ticketValidationService.validateTicketManually(ticketId))
+        .thenThrow(new IllegalStateException("database unavailable"));
+
+    mockMvc.perform(post("/api/v1/ticket-validations")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(request))
+            .with(jwt().jwt(createStaffJwt()).authorities(
+                new SimpleGrantedAuthority("ROLE_STAFF"))))
+        .andExpect(status().isInternalServerError());
+
+    verify(gateMetrics).recordScan(any(), eq(TicketValidationMethod.MANUAL), isNull());
+  }
+
+  @Test
+  @DisplayName("should pass the scanned payload and event through for QR scans")
+  void shouldPassPayloadAndEventForQrScan() throws Exception {
+    UUID eventId = UUID.randomUUID();
+    TicketValidationRequestDto request = new TicketValidationRequestDto();
+    request.setId("signed-token");
+    request.setMethod(TicketValidationMethod.QR_SCAN);
+    request.setEventId(eventId.toString());
+
+    TicketValidation validation = new TicketValidation();
+    validation.setStatus(TicketValidationStatusEnum.INVALID);
+
+    TicketValidationResponseDto responseDto = new TicketValidationResponseDto();
+    responseDto.setStatus(TicketValidationStatusEnum.INVALID);
+
+    when(ticketValidationService.validateTicketByQrCode("signed-token", eventId))
+        .thenReturn(validation);
+    when(ticketValidationMapper.toTicketValidationResponseDto(any(TicketValidation.class)))
+        .thenReturn(responseDto);
+
+    mockMvc.perform(post("/api/v1/ticket-validations")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(request))
+            .with(jwt().jwt(createStaffJwt()).authorities(
+                new SimpleGrantedAuthority("ROLE_STAFF"))))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.status").value("INVALID"));
+  }
+
+  @Test
+  @DisplayName("should return INVALID for a malformed event ID")
+  void shouldReturnInvalidForMalformedEventId() throws Exception {
+    TicketValidationRequestDto request = new TicketValidationRequestDto();
+    request.setId("signed-token");
+    request.setMethod(TicketValidationMethod.QR_SCAN);
+    request.setEventId("not-a-uuid");
+
+    mockMvc.perform(post("/api/v1/ticket-validations")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(request))
+            .with(jwt().jwt(createStaffJwt()).authorities(
+                new SimpleGrantedAuthority("ROLE_STAFF"))))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.status").value("INVALID"));
+
+    verifyNoInteractions(ticketValidationService);
+  }
+
+  @Test
+  @DisplayName("should validate uploaded scans and answer each in upload order")
+  void shouldValidateScanBatch() throws Exception {
+    UUID eventId = UUID.randomUUID();
+    LocalDateTime scannedAt = LocalDateTime.now().minusMinutes(5);
+    TicketValidationBatchRequestDto request = new TicketValidationBatchRequestDto(eventId.toString(), List.of(
+        new TicketScanDto("signed-token", TicketValidationMethod.QR_SCAN, scannedAt),
+        new TicketScanDto(ticketId.toString(), TicketValidationMethod.MANUAL, scannedAt.plusSeconds(1))));
+
+    TicketValidation valid = new TicketValidation();
+    valid.setStatus(TicketValidationStatusEnum.VALID);
+    TicketValidation alreadyUsed = new TicketValidation();
+    alreadyUsed.setStatus(TicketValidationStatusEnum.ALREADY_USED);
+
+    when(ticketValidationService.validateTicketScans(List.of(
+        new TicketScan("signed-token", TicketValidationMethod.QR_SCAN, scannedAt),
+        new TicketScan(ticketId.toString(), TicketValidationMethod.MANUAL, scannedAt.plusSeconds(1))), eventId))
+        .thenReturn(List.of(valid, alreadyUsed));
+    when(ticketValidationMapper.toTicketValidationResponseDto(valid))
+        .thenReturn(new TicketValidationResponseDto(ticketId, TicketValidationStatusEnum.VALID));
+    when(ticketValidationMapper.toTicketValidationResponseDto(alreadyUsed))
+        .thenReturn(new TicketValidationResponseDto(ticketId, TicketValidationStatusEnum.ALREADY_USED));
+
+    mockMvc.perform(post("/api/v1/ticket-validations/batch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(request))
+            .with(jwt().jwt(createStaffJwt()).authorities(
+                new SimpleGrantedAuthority("ROLE_STAFF"))))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.results[0].status").value("VALID"))
+        .andExpect(jsonPath("$.results[1].status").value("ALREADY_USED"));
+  }
+
+  @Test
+  @DisplayName("should return 400 for a scan batch with a scan missing its time")
+  void shouldReturn400ForScanWithoutTime() throws Exception {
+    TicketValidationBatchRequestDto request = new TicketValidationBatchRequestDto(null, List.of(
+        new TicketScanDto(ticketId.toString(), TicketValidationMethod.MANUAL, null)));
+
+    mockMvc.perform(post("/api/v1/ticket-validations/batch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(request))
+            .with(jwt().jwt(createStaffJwt()).authorities(
+                new SimpleGrantedAuthority("ROLE_STAFF"))))
+        .andExpect(status().isBadRequest());
+
+    verifyNoInteractions(ticketValidationService);
+  }
+
+  @Test
+  @DisplayName("should download an event manifest as binary")
+  void shouldDownloadManifest() throws Exception {
+    UUID eventId = UUID.randomUUID();
+    byte[] manifest = new byte[]{1, 42, 0};
+    when(eventManifestService.getManifest(eventId, 41L)).thenReturn(manifest);
+
+    mockMvc.perform(get("/api/v1/ticket-validations/events/{eventId}/manifest", eventId)
+            .param("since", "41")
+            .with(jwt().jwt(createStaffJwt()).authorities(
+                new SimpleGrantedAuthority("ROLE_STAFF"))))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType(MediaType.APPLICATION_OCTET_STREAM))
+        .andExpect(content().bytes(manifest));
+  }
+
+  @Test
+  @DisplayName("should return 400 for a negative manifest version")
+  void shouldRejectNegativeManifestVersion() throws Exception {
+    mockMvc.perform(get("/api/v1/ticket-validations/events/{eventId}/manifest", UUID.randomUUID())
+            .param("since", "-1")
+            .with(jwt().jwt(createStaffJwt()).authorities(
+                new SimpleGrantedAuthority("ROLE_STAFF"))))
+        .andExpect(status().isBadRequest());
+
+    verifyNoInteractions(eventManifestService);
+  }
+
+  @Test
+  @DisplayName("should open an event for in-memory admission")
+  void shouldOpenEventAdmission() throws Exception {
+    UUID eventId = UUID.randomUUID();
+    when(eventAdmissionRegistry.open(eventId)).thenReturn(1200);
+
+    mockMvc.perform(post("/api/v1/ticket-validations/events/{eventId}/admission", eventId)
+            .with(jwt().jwt(createStaffJwt()).authorities(
+                new SimpleGrantedAuthority("ROLE_STAFF"))))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.eventId").value(eventId.toString()))
+        .andExpect(jsonPath("$.ticketCount").value(1200));
+  }
+
+  @Test
+  @DisplayName("should close an open event and return 404 for one that is not open")
+  void shouldCloseEventAdmission() throws Exception {
+    UUID openEventId = UUID.randomUUID();
+    when(eventAdmissionRegistry.close(openEventId)).thenReturn(true);
+
+    mockMvc.perform(delete("/api/v1/ticket-validations/events/{eventId}/admission", openEventId)
+            .with(jwt().jwt(createStaffJwt()).authorities(
+                new SimpleGrantedAuthority("ROLE_STAFF"))))
+        .andExpect(status().isNoContent());
+    mockMvc.perform(delete("/api/v1/ticket-validations/events/{eventId}/admission", UUID.randomUUID())
+            .with(jwt().jwt(createStaffJwt()).authorities(
+                new SimpleGrantedAuthority("ROLE_STAFF"))))
+        .andExpect(status().isNotFound());
+  }
+
+  @Test
+  @DisplayName("should reject opening admission without STAFF role")
+  void shouldRejectOpenEventAdmissionWithoutStaffRole() throws Exception {
+    mockMvc.perform(post("/api/v1/ticket-validations/events/{eventId}/admission", UUID.randomUUID())
+            .with(jwt().jwt(createStaffJwt()).authorities(
+                new SimpleGrantedAuthority("ROLE_ATTENDEE"))))
+        .andExpect(status().isForbidden());
+
+    verifyNoInteractions(eventAdmissionRegistry);
   }
 
   @Test
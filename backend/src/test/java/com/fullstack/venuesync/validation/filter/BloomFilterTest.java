@@ -0,0 +1,58 @@
+package com.fullstack.venuesync.validation.filter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.fullstack.venuesync.shared.id.UuidV7;
+
+class BloomFilterTest {
+
+  @Test
+  @DisplayName("should contain every added ID")
+  void shouldHaveNoFalseNegatives() {
+    BloomFilter filter = new BloomFilter(10_000, 0.01);
+    List<UUID> ids = new ArrayList<>();
+    for (int i = 0; i < 10_000; i++) {
+      UUID id = UuidV7.next();
+      ids.add(id);
+      filter.add(id);
+    }
+
+    for (UUID id : ids) {
+      assertTrue(filter.mightContain(id));
+    }
+    assertEquals(10_000, filter.size());
+  }
+
+  @Test
+  @DisplayName("should keep false positives near the rate it was sized for")
+  void shouldKeepFalsePositiveRate() {
+    BloomFilter filter = new BloomFilter(10_000, 0.01);
+    for (int i = 0; i < 10_000; i++) {
+      filter.add(UuidV7.next());
+    }
+
+    int falsePositives = 0;
+    for (int i = 0; i < 100_000; i++) {
+      if (filter.mightContain(UUID.randomUUID())) {
+        falsePositives++;
+      }
+    }
+    // 1% expected; allow for variance
+    assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+  }
+
+  @Test
+  @DisplayName("should contain nothing when empty")
+  void shouldBeEmpty() {
+    BloomFilter filter = new BloomFilter(100, 0.01);
+
+    assertFalse(filter.mightContain(UUID.randomUUID()));
+  }
+}
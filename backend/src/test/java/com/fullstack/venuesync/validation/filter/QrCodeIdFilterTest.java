@@ -0,0 +1,78 @@
+package com.fullstack.venuesync.validation.filter;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.fullstack.venuesync.shared.id.UuidV7;
+import com.fullstack.venuesync.validation.domain.QrCodeStatusEnum;
+import com.fullstack.venuesync.validation.repository.QrCodeRepository;
+
+@ExtendWith(MockitoExtension.class)
+class QrCodeIdFilterTest {
+
+  @Mock
+  private QrCodeRepository qrCodeRepository;
+
+  private QrCodeIdFilter qrCodeIdFilter;
+
+  @BeforeEach
+  void setUp() {
+    qrCodeIdFilter = new QrCodeIdFilter(qrCodeRepository, 0.001, 1000);
+  }
+
+  @Test
+  @DisplayName("should let every code through until it is first built")
+  void shouldPassEverythingBeforeBuild() {
+    assertTrue(qrCodeIdFilter.mightContain(UUID.randomUUID()));
+  }
+
+  @Test
+  @DisplayName("should page through active codes and reject codes it did not load")
+  void shouldRebuildFromActiveCodes() {
+    List<UUID> firstPage = new ArrayList<>();
+    for (int i = 0; i < 10_000; i++) {
+      firstPage.add(UuidV7.next());
+    }
+    UUID lastCode = UuidV7.next();
+    when(qrCodeRepository.countByStatus(QrCodeStatusEnum.ACTIVE)).thenReturn(10_001L);
+    when(qrCodeRepository.findIdsByStatusAfter(eq(QrCodeStatusEnum.ACTIVE), eq(new UUID(0, 0)), any()))
+        .thenReturn(firstPage);
+    when(qrCodeRepository.findIdsByStatusAfter(eq(QrCodeStatusEnum.ACTIVE), eq(firstPage.getLast()), any()))
+        .thenReturn(List.of(lastCode));
+
+    assertEquals(10_001, qrCodeIdFilter.rebuild());
+
+    assertTrue(qrCodeIdFilter.mightContain(firstPage.getFirst()));
+    assertTrue(qrCodeIdFilter.mightContain(lastCode));
+    long unknownPassed = IntStream.range(0, 1000)
+        .filter(i -> qrCodeIdFilter.mightContain(UUID.randomUUID()))
+        .count();
+    assertTrue(unknownPassed < 20, "unknown codes let through: " + unknownPassed);
+  }
+
+  @Test
+  @DisplayName("should contain codes added after the build")
+  void shouldAddNewCodes() {
+    when(qrCodeRepository.countByStatus(QrCodeStatusEnum.ACTIVE)).thenReturn(0L);
+    when(qrCodeRepository.findIdsByStatusAfter(any(), any(), any())).thenReturn(List.of());
+    qrCodeIdFilter.rebuild();
+    UUID qrCodeId = UuidV7.next();
+
+    qrCodeIdFilter.add(qrCodeId);
+
+    assertTrue(qrCodeIdFilter.mightContain(qrCodeId));
+  }
+}
@@ -0,0 +1,89 @@
+package com.fullstack.venuesync.validation.image;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.qrcode.QRCodeWriter;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.util.Random;
+import java.util.UUID;
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class BitMatrixPngEncoderTest {
+
+  private static void assertSamePixels(BitMatrix matrix, byte[] png) throws Exception {
+    BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+    assertNotNull(image);
+    assertEquals(matrix.getWidth(), image.getWidth());
+    assertEquals(matrix.getHeight(), image.getHeight());
+    for (int y = 0; y < matrix.getHeight(); y++) {
+      for (int x = 0; x < matrix.getWidth(); x++) {
+        boolean black = (image.getRGB(x, y) & 0xFFFFFF) == 0;
+        assertEquals(matrix.get(x, y), black, "pixel " + x + "," + y);
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("should encode a QR code that decodes to the same pixels")
+  void shouldEncodeQrCode() throws Exception {
+    BitMatrix matrix = new QRCodeWriter().encode(
+        UUID.randomUUID().toString(), BarcodeFormat.QR_CODE, 300, 300);
+
+    assertSamePixels(matrix, BitMatrixPngEncoder.encode(matrix));
+  }
+
+  @Test
+  @DisplayName("should encode widths that are not a multiple of a byte or a word")
+  void shouldEncodeAnyWidth() throws Exception {
+    Random random = new Random(42);
+    int[][] sizes = {{1, 1}, {7, 3}, {32, 32}, {33, 40}, {301, 299}};
+
+    for (int[] size : sizes) {
+      BitMatrix matrix = new BitMatrix(size[0], size[1]);
+      for (int y = 0; y < size[1]; y++) {
+        for (int x = 0; x < size[0]; x++) {
+          if (random.nextBoolean()) {
+            matrix.set(x, y);
+          }
+        }
+      }
+
+      assertSamePixels(matrix, BitMatrixPngEncoder.encode(matrix));
+    }
+  }
+
+  @Test
+  @DisplayName("should reuse its per-thread buffers between images of different sizes")
+  void shouldReuseScratchBuffers() throws Exception {
+    BitMatrix large = new QRCodeWriter().encode("large", BarcodeFormat.QR_CODE, 600, 600);
+    BitMatrix small = new QRCodeWriter().encode("small", BarcodeFormat.QR_CODE, 100, 100);
+
+    BitMatrixPngEncoder.encode(large);
+    assertSamePixels(small, BitMatrixPngEncoder.encode(small));
+    assertSamePixels(large, BitMatrixPngEncoder.encode(large));
+  }
+
+  @Test
+  @DisplayName("should draw every bit as a square when encoding at a scale")
+  void shouldEncodeScaled() throws Exception {
+    BitMatrix matrix = new QRCodeWriter().encode("scaled", BarcodeFormat.QR_CODE, 0, 0);
+    int scale = 3;
+
+    BufferedImage image = ImageIO.read(new ByteArrayInputStream(BitMatrixPngEncoder.encode(matrix, scale)));
+
+    assertEquals(matrix.getWidth() * scale, image.getWidth());
+    assertEquals(matrix.getHeight() * scale, image.getHeight());
+    for (int y = 0; y < image.getHeight(); y++) {
+      for (int x = 0; x < image.getWidth(); x++) {
+        boolean black = (image.getRGB(x, y) & 0xFFFFFF) == 0;
+        assertEquals(matrix.get(x / scale, y / scale), black, "pixel " + x + "," + y);
+      }
+    }
+  }
+}
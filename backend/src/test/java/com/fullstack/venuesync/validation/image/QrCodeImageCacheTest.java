@@ -0,0 +1,102 @@
+package com.fullstack.venuesync.validation.image;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fullstack.venuesync.validation.domain.QrCodeImageFormatEnum;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class QrCodeImageCacheTest {
+
+  private final AtomicInteger renders = new AtomicInteger();
+
+  private byte[] render(int size) {
+    renders.incrementAndGet();
+    return new byte[size];
+  }
+
+  private static QrCodeImageKey png(UUID qrCodeId) {
+    return new QrCodeImageKey(qrCodeId, QrCodeImageFormatEnum.PNG, 0);
+  }
+
+  @Test
+  @DisplayName("should render on a miss and serve the cached bytes on a hit")
+  void shouldCacheRenderedImages() {
+    QrCodeImageCache cache = new QrCodeImageCache(100);
+    UUID id = UUID.randomUUID();
+
+    byte[] first = cache.get(png(id), () -> render(10));
+    byte[] second = cache.get(png(id), () -> render(10));
+
+    assertSame(first, second);
+    assertEquals(1, renders.get());
+    assertEquals(10, cache.totalBytes());
+  }
+
+  @Test
+  @DisplayName("should evict the least recently used images once the byte budget is exceeded")
+  void shouldEvictLeastRecentlyUsed() {
+    QrCodeImageCache cache = new QrCodeImageCache(100);
+    UUID first = UUID.randomUUID();
+    UUID second = UUID.randomUUID();
+    UUID third = UUID.randomUUID();
+
+    cache.get(png(first), () -> render(40));
+    cache.get(png(second), () -> render(40));
+    // Touch the first image so that the second one becomes the eldest
+    cache.get(png(first), () -> render(40));
+    cache.get(png(third), () -> render(40));
+
+    assertEquals(80, cache.totalBytes());
+    cache.get(png(first), () -> render(40));
+    assertEquals(3, renders.get());
+    cache.get(png(second), () -> render(40));
+    assertEquals(4, renders.get());
+  }
+
+  @Test
+  @DisplayName("should not cache an image larger than the whole budget")
+  void shouldSkipOversizedImages() {
+    QrCodeImageCache cache = new QrCodeImageCache(100);
+    UUID id = UUID.randomUUID();
+
+    cache.get(png(id), () -> render(101));
+    cache.get(png(id), () -> render(101));
+
+    assertEquals(2, renders.get());
+    assertEquals(0, cache.totalBytes());
+  }
+
+  @Test
+  @DisplayName("should release the bytes of every evicted rendering of a QR code")
+  void shouldEvict() {
+    QrCodeImageCache cache = new QrCodeImageCache(100);
+    UUID id = UUID.randomUUID();
+    UUID other = UUID.randomUUID();
+    cache.get(png(id), () -> render(30));
+    cache.get(new QrCodeImageKey(id, QrCodeImageFormatEnum.SVG, 0), () -> render(20));
+    cache.get(png(other), () -> render(10));
+
+    cache.evict(id);
+
+    assertEquals(10, cache.totalBytes());
+  }
+
+  @Test
+  @DisplayName("should cache each format and scale of a QR code separately")
+  void shouldKeyByFormatAndScale() {
+    QrCodeImageCache cache = new QrCodeImageCache(100);
+    UUID id = UUID.randomUUID();
+
+    cache.get(png(id), () -> render(10));
+    cache.get(new QrCodeImageKey(id, QrCodeImageFormatEnum.PNG, 2), () -> render(10));
+    cache.get(new QrCodeImageKey(id, QrCodeImageFormatEnum.SVG, 0), () -> render(10));
+    cache.get(new QrCodeImageKey(id, QrCodeImageFormatEnum.PNG, 2), () -> render(10));
+
+    assertEquals(3, renders.get());
+    assertEquals(30, cache.totalBytes());
+  }
+}
@@ -0,0 +1,93 @@
+package com.fullstack.venuesync.validation.image;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.client.j2se.MatrixToImageWriter;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.qrcode.QRCodeWriter;
+import java.io.ByteArrayOutputStream;
+import java.lang.management.ManagementFactory;
+import java.util.Base64;
+import java.util.UUID;
+import javax.imageio.ImageIO;
+import lombok.extern.slf4j.Slf4j;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+/**
+ * Compares the time and memory allocated per image of the previous QR rendering path
+ * ({@code BitMatrix} to {@code BufferedImage} to {@code ImageIO} to a Base64 string)
+ * with {@link BitMatrixPngEncoder}. Skipped unless {@code BENCHMARK=true}:
+ *
+ * <pre>
+ * BENCHMARK=true ./mvnw test -Dtest=QrCodeRenderBenchmarkTest
+ * </pre>
+ */
+@Tag("benchmark")
+@EnabledIfEnvironmentVariable(named = "BENCHMARK", matches = "true")
+@Slf4j
+class QrCodeRenderBenchmarkTest {
+
+  private static final int WARMUP_ITERATIONS = 20_000;
+  private static final int MEASURED_ITERATIONS = 20_000;
+
+  private interface Renderer {
+    Object render(BitMatrix matrix) throws Exception;
+  }
+
+  @Test
+  @DisplayName("the PNG encoder should allocate less per image than the ImageIO path")
+  void compareRenderingPaths() throws Exception {
+    BitMatrix matrix = new QRCodeWriter().encode(
+        UUID.randomUUID().toString(), BarcodeFormat.QR_CODE, 300, 300);
+
+    Renderer imageIo = m -> {
+      try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+        ImageIO.write(MatrixToImageWriter.toBufferedImage(m), "PNG", baos);
+        return Base64.getEncoder().encodeToString(baos.toByteArray());
+      }
+    };
+    Renderer encoder = BitMatrixPngEncoder::encode;
+
+    double[] imageIoResult = measure(imageIo, matrix);
+    double[] encoderResult = measure(encoder, matrix);
+
+    log.info(String.format("%-10s %12s %16s", "path", "us/op", "bytes/op"));
+    log.info(String.format("%-10s %12.1f %16.0f", "ImageIO", imageIoResult[0], imageIoResult[1]));
+    log.info(String.format("%-10s %12.1f %16.0f", "encoder", encoderResult[0], encoderResult[1]));
+
+    assertTrue(encoderResult[1] < imageIoResult[1]);
+  }
+
+  /**
+   * Returns microseconds and bytes allocated by the current thread per rendered image.
+   */
+  private double[] measure(Renderer renderer, BitMatrix matrix) throws Exception {
+    com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long threadId = Thread.currentThread().threadId();
+    Object sink = null;
+
+    for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+      sink = renderer.render(matrix);
+    }
+
+    long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+    long start = System.nanoTime();
+    for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+      sink = renderer.render(matrix);
+    }
+    long elapsed = System.nanoTime() - start;
+    long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+    assertNotNull(sink);
+    return new double[] {
+        elapsed / 1_000.0 / MEASURED_ITERATIONS,
+        (double) allocated / MEASURED_ITERATIONS
+    };
+  }
+}
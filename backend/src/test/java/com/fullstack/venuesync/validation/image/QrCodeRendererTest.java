@@ -0,0 +1,77 @@
+package com.fullstack.venuesync.validation.image;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.qrcode.QRCodeWriter;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.imageio.ImageIO;
+import javax.xml.parsers.DocumentBuilderFactory;
+import org.w3c.dom.Element;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class QrCodeRendererTest {
+
+  private final QrCodeRenderer renderer = new QrCodeRenderer(new QRCodeWriter());
+
+  @Test
+  @DisplayName("should render a payload as a 300x300 PNG")
+  void shouldRenderPng() throws Exception {
+    byte[] png = renderer.renderPng(UUID.randomUUID().toString());
+
+    BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+    assertNotNull(image);
+    assertEquals(300, image.getWidth());
+    assertEquals(300, image.getHeight());
+  }
+
+  @Test
+  @DisplayName("should render a PNG of the scaled module size")
+  void shouldRenderScaledPng() throws Exception {
+    String payload = UUID.randomUUID().toString();
+    BitMatrix modules = new QRCodeWriter().encode(payload, BarcodeFormat.QR_CODE, 0, 0);
+
+    BufferedImage image = ImageIO.read(new ByteArrayInputStream(renderer.renderPng(payload, 4)));
+
+    assertEquals(modules.getWidth() * 4, image.getWidth());
+    assertEquals(modules.getHeight() * 4, image.getHeight());
+  }
+
+  @Test
+  @DisplayName("should reject a scale outside the supported range")
+  void shouldRejectInvalidScale() {
+    assertThrows(IllegalArgumentException.class, () -> renderer.renderPng("payload", 0));
+    assertThrows(IllegalArgumentException.class,
+        () -> renderer.renderPng("payload", QrCodeRenderer.MAX_SCALE + 1));
+  }
+
+  @Test
+  @DisplayName("should render an SVG that draws exactly the dark modules")
+  void shouldRenderSvg() throws Exception {
+    String payload = UUID.randomUUID().toString();
+    BitMatrix modules = new QRCodeWriter().encode(payload, BarcodeFormat.QR_CODE, 0, 0);
+
+    byte[] svg = renderer.renderSvg(payload);
+
+    Element root = DocumentBuilderFactory.newInstance().newDocumentBuilder()
+        .parse(new ByteArrayInputStream(svg)).getDocumentElement();
+    assertEquals("svg", root.getTagName());
+    assertEquals("0 0 " + modules.getWidth() + " " + modules.getHeight(), root.getAttribute("viewBox"));
+
+    String path = ((Element) root.getElementsByTagName("path").item(0)).getAttribute("d");
+    BitMatrix drawn = new BitMatrix(modules.getWidth(), modules.getHeight());
+    Matcher run = Pattern.compile("M(\\d+) (\\d+)h(\\d+)").matcher(path);
+    while (run.find()) {
+      drawn.setRegion(Integer.parseInt(run.group(1)), Integer.parseInt(run.group(2)),
+          Integer.parseInt(run.group(3)), 1);
+    }
+    assertEquals(modules, drawn);
+  }
+}
@@ -0,0 +1,97 @@
+package com.fullstack.venuesync.validation.manifest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.fullstack.venuesync.tickets.domain.TicketStatusEnum;
+import com.fullstack.venuesync.validation.domain.ManifestEntry;
+import com.fullstack.venuesync.validation.domain.QrCode;
+import com.fullstack.venuesync.validation.domain.QrCodeStatusEnum;
+
+class EventManifestEncoderTest {
+
+  private static ManifestEntry entry(String payload, QrCodeStatusEnum qrCodeStatus,
+                                     TicketStatusEnum ticketStatus) {
+    LocalDateTime now = LocalDateTime.now();
+    return new ManifestEntry(UUID.randomUUID(), payload, qrCodeStatus, ticketStatus, now, now);
+  }
+
+  private static long readVarint(ByteArrayInputStream in) {
+    long value = 0;
+    for (int shift = 0; ; shift += 7) {
+      int b = in.read();
+      value |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("should write the header and every entry sorted by hash")
+  void shouldEncodeSortedEntries() {
+    List<ManifestEntry> entries = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      entries.add(entry("payload-" + i, QrCodeStatusEnum.ACTIVE, TicketStatusEnum.PURCHASED));
+    }
+    entries.add(entry("used", QrCodeStatusEnum.ACTIVE, TicketStatusEnum.USED));
+    entries.add(entry("cancelled", QrCodeStatusEnum.ACTIVE, TicketStatusEnum.CANCELLED));
+    entries.add(entry("replaced", QrCodeStatusEnum.EXPIRED, TicketStatusEnum.PURCHASED));
+
+    ByteArrayInputStream in = new ByteArrayInputStream(EventManifestEncoder.encode(1234567L, entries));
+
+    assertEquals(EventManifestEncoder.FORMAT_VERSION, readVarint(in));
+    assertEquals(1234567L, readVarint(in));
+    assertEquals(entries.size(), readVarint(in));
+
+    var sha256 = EventManifestEncoder.sha256();
+    long hash = 0;
+    int admissible = 0;
+    for (int i = 0; i < entries.size(); i++) {
+      long next = hash + readVarint(in);
+      assertTrue(i == 0 || Long.compareUnsigned(next, hash) > 0);
+      hash = next;
+      int state = in.read();
+      if (hash == EventManifestEncoder.hash(sha256, "used")) {
+        assertEquals(ManifestEntryState.USED.getCode(), state);
+      } else if (hash == EventManifestEncoder.hash(sha256, "cancelled")
+          || hash == EventManifestEncoder.hash(sha256, "replaced")) {
+        assertEquals(ManifestEntryState.REVOKED.getCode(), state);
+      } else {
+        assertEquals(ManifestEntryState.ADMISSIBLE.getCode(), state);
+        admissible++;
+      }
+    }
+    assertEquals(100, admissible);
+    assertEquals(-1, in.read());
+  }
+
+  @Test
+  @DisplayName("should hash the QR code ID of a code that still holds a stored image")
+  void shouldHashIdOfLegacyCode() {
+    ManifestEntry legacy = entry("A".repeat(QrCode.MAX_PAYLOAD_LENGTH + 1),
+        QrCodeStatusEnum.ACTIVE, TicketStatusEnum.PURCHASED);
+
+    ByteArrayInputStream in = new ByteArrayInputStream(EventManifestEncoder.encode(0, List.of(legacy)));
+    readVarint(in);
+    readVarint(in);
+    readVarint(in);
+
+    assertEquals(EventManifestEncoder.hash(EventManifestEncoder.sha256(), legacy.qrCodeId().toString()),
+        readVarint(in));
+  }
+
+  @Test
+  @DisplayName("should encode an empty manifest in three bytes")
+  void shouldEncodeEmptyManifest() {
+    assertArrayEquals(new byte[]{1, 0, 0}, EventManifestEncoder.encode(0, List.of()));
+  }
+}
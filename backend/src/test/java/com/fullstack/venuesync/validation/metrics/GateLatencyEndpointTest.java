@@ -0,0 +1,65 @@
+package com.fullstack.venuesync.validation.metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.micrometer.core.instrument.MockClock;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.fullstack.venuesync.validation.domain.TicketValidationMethod;
+import com.fullstack.venuesync.validation.domain.TicketValidationStatusEnum;
+
+class GateLatencyEndpointTest {
+
+  private MockClock clock;
+  private GateMetrics gateMetrics;
+  private GateLatencyEndpoint endpoint;
+
+  @BeforeEach
+  void setUp() {
+    clock = new MockClock();
+    gateMetrics = new GateMetrics(new SimpleMeterRegistry(SimpleConfig.DEFAULT, clock));
+    endpoint = new GateLatencyEndpoint(gateMetrics);
+  }
+
+  @Test
+  @DisplayName("should report percentiles only for outcomes that were scanned")
+  void shouldReportScannedOutcomes() {
+    for (int i = 1; i <= 100; i++) {
+      Timer.Sample sample = gateMetrics.startScan();
+      clock.add(Duration.ofMillis(i));
+      gateMetrics.recordScan(sample, TicketValidationMethod.QR_SCAN, TicketValidationStatusEnum.VALID);
+    }
+
+    GateLatencyEndpoint.GateLatencyReport report = endpoint.report();
+
+    assertEquals(1, report.scans().size());
+    GateLatencyEndpoint.ScanLatency latency = report.scans().getFirst();
+    assertEquals(TicketValidationMethod.QR_SCAN, latency.method());
+    assertEquals(TicketValidationStatusEnum.VALID, latency.outcome());
+    assertEquals(100, latency.count());
+    assertTrue(latency.p50Ms() > 0);
+    assertTrue(latency.p50Ms() <= latency.p99Ms());
+    assertTrue(latency.p99Ms() <= latency.p999Ms());
+    assertEquals(100, latency.maxMs(), 0.001);
+  }
+
+  @Test
+  @DisplayName("should report scans per event")
+  void shouldReportEventScans() {
+    UUID eventId = UUID.randomUUID();
+    gateMetrics.countScan(eventId);
+
+    GateLatencyEndpoint.GateLatencyReport report = endpoint.report();
+
+    assertTrue(report.scans().isEmpty());
+    assertEquals(new GateLatencyEndpoint.EventScans(eventId, 0, 1), report.events().getFirst());
+  }
+}
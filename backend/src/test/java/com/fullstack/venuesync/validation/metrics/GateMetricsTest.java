@@ -0,0 +1,106 @@
+package com.fullstack.venuesync.validation.metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.micrometer.core.instrument.MockClock;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.fullstack.venuesync.validation.domain.TicketValidationMethod;
+import com.fullstack.venuesync.validation.domain.TicketValidationStatusEnum;
+
+class GateMetricsTest {
+
+  private MockClock clock;
+  private SimpleMeterRegistry meterRegistry;
+  private GateMetrics gateMetrics;
+
+  @BeforeEach
+  void setUp() {
+    clock = new MockClock();
+    meterRegistry = new SimpleMeterRegistry(SimpleConfig.DEFAULT, clock);
+    gateMetrics = new GateMetrics(meterRegistry);
+  }
+
+  @Test
+  @DisplayName("should time scans by method and outcome")
+  void shouldTimeScansByMethodAndOutcome() {
+    Timer.Sample sample = gateMetrics.startScan();
+    clock.add(Duration.ofMillis(20));
+    gateMetrics.recordScan(sample, TicketValidationMethod.QR_SCAN, TicketValidationStatusEnum.ALREADY_USED);
+
+    Timer timer = meterRegistry.get(GateMetrics.SCAN_TIMER)
+        .tag("method", "QR_SCAN")
+        .tag("outcome", "ALREADY_USED")
+        .timer();
+    assertEquals(1, timer.count());
+    assertEquals(20, timer.totalTime(TimeUnit.MILLISECONDS), 0.001);
+    assertEquals(0, gateMetrics.timer(TicketValidationMethod.QR_SCAN, TicketValidationStatusEnum.VALID).count());
+  }
+
+  @Test
+  @DisplayName("should time failed scans under the error outcome")
+  void shouldTimeFailedScans() {
+    Timer.Sample sample = gateMetrics.startScan();
+    clock.add(Duration.ofMillis(5));
+    gateMetrics.recordScan(sample, TicketValidationMethod.MANUAL, null);
+
+    Timer timer = meterRegistry.get(GateMetrics.SCAN_TIMER)
+        .tag("method", "MANUAL")
+        .tag("outcome", GateMetrics.ERROR_OUTCOME)
+        .timer();
+    assertEquals(1, timer.count());
+    assertSame(timer, gateMetrics.errorTimer(TicketValidationMethod.MANUAL));
+  }
+
+  @Test
+  @DisplayName("should publish the p50, p99 and p999 of every timer")
+  void shouldPublishPercentiles() {
+    Timer timer = gateMetrics.timer(TicketValidationMethod.MANUAL, TicketValidationStatusEnum.VALID);
+
+    assertEquals(GateMetrics.PERCENTILES.length, timer.takeSnapshot().percentileValues().length);
+  }
+
+  @Test
+  @DisplayName("should count scans per event and report the last complete minute")
+  void shouldCountScansPerMinute() {
+    UUID eventId = UUID.randomUUID();
+    gateMetrics.countScan(eventId);
+    gateMetrics.countScan(eventId);
+    assertEquals(0, gateMetrics.eventScanRates().get(eventId).lastMinute());
+
+    clock.add(Duration.ofMinutes(1));
+    gateMetrics.countScan(eventId);
+    assertEquals(2, gateMetrics.eventScanRates().get(eventId).lastMinute());
+
+    clock.add(Duration.ofMinutes(2));
+    GateMetrics.EventScanRate rate = gateMetrics.eventScanRates().get(eventId);
+    assertEquals(0, rate.lastMinute());
+    assertEquals(3, rate.total());
+    assertTrue(meterRegistry.find("venuesync.validation.event.scans").meters().isEmpty());
+  }
+
+  @Test
+  @DisplayName("should forget events that have had no scans for a while")
+  void shouldForgetIdleEvents() {
+    UUID idleEventId = UUID.randomUUID();
+    UUID activeEventId = UUID.randomUUID();
+    gateMetrics.countScan(idleEventId);
+    gateMetrics.countScan(activeEventId);
+
+    clock.add(Duration.ofMinutes(GateMetrics.EVENT_IDLE_MINUTES));
+    gateMetrics.countScan(activeEventId);
+    clock.add(Duration.ofMinutes(1));
+
+    assertEquals(Set.of(activeEventId), gateMetrics.eventScanRates().keySet());
+  }
+}
@@ -0,0 +1,107 @@
+package com.fullstack.venuesync.validation.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayInputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.fullstack.venuesync.events.exception.EventNotFoundException;
+import com.fullstack.venuesync.events.repository.EventRepository;
+import com.fullstack.venuesync.tickets.domain.TicketStatusEnum;
+import com.fullstack.venuesync.validation.domain.ManifestEntry;
+import com.fullstack.venuesync.validation.domain.QrCodeStatusEnum;
+import com.fullstack.venuesync.validation.repository.QrCodeRepository;
+
+@ExtendWith(MockitoExtension.class)
+class EventManifestServiceImplTest {
+
+  @Mock
+  private EventRepository eventRepository;
+
+  @Mock
+  private QrCodeRepository qrCodeRepository;
+
+  private EventManifestServiceImpl eventManifestService;
+  private UUID eventId;
+
+  @BeforeEach
+  void setUp() {
+    eventManifestService = new EventManifestServiceImpl(eventRepository, qrCodeRepository, 5000);
+    eventId = UUID.randomUUID();
+  }
+
+  private static long readVersion(byte[] manifest) {
+    ByteArrayInputStream in = new ByteArrayInputStream(manifest);
+    in.read();
+    long value = 0;
+    for (int shift = 0; ; shift += 7) {
+      int b = in.read();
+      value |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("should list admissible and used QR codes with the latest change as version")
+  void shouldBuildFullManifest() {
+    LocalDateTime earlier = LocalDateTime.of(2026, 5, 1, 10, 0);
+    LocalDateTime later = earlier.plusSeconds(30);
+    when(eventRepository.existsById(eventId)).thenReturn(true);
+    when(qrCodeRepository.findManifestEntriesByEventId(eventId, QrCodeStatusEnum.ACTIVE,
+        List.of(TicketStatusEnum.PURCHASED, TicketStatusEnum.USED)))
+        .thenReturn(List.of(
+            new ManifestEntry(UUID.randomUUID(), "a", QrCodeStatusEnum.ACTIVE,
+                TicketStatusEnum.PURCHASED, earlier, earlier),
+            new ManifestEntry(UUID.randomUUID(), "b", QrCodeStatusEnum.ACTIVE,
+                TicketStatusEnum.USED, earlier, later)));
+
+    byte[] manifest = eventManifestService.getManifest(eventId, null);
+
+    assertEquals(EventManifestServiceImpl.toVersion(later), readVersion(manifest));
+    verify(qrCodeRepository, never()).findManifestEntriesByEventIdChangedSince(any(), any());
+  }
+
+  @Test
+  @DisplayName("should re-send a short overlap before the version and keep it when nothing changed")
+  void shouldBuildDelta() {
+    LocalDateTime synced = LocalDateTime.of(2026, 5, 1, 10, 0, 0, 123_456_000);
+    long since = EventManifestServiceImpl.toVersion(synced);
+    when(eventRepository.existsById(eventId)).thenReturn(true);
+    when(qrCodeRepository.findManifestEntriesByEventIdChangedSince(eventId, synced.minusSeconds(5)))
+        .thenReturn(List.of());
+
+    byte[] manifest = eventManifestService.getManifest(eventId, since);
+
+    assertEquals(since, readVersion(manifest));
+  }
+
+  @Test
+  @DisplayName("should convert versions back to the timestamps they were taken from")
+  void shouldRoundTripVersions() {
+    LocalDateTime timestamp = LocalDateTime.of(2026, 10, 17, 18, 30, 5, 987_654_000);
+
+    assertEquals(timestamp, EventManifestServiceImpl.toTimestamp(EventManifestServiceImpl.toVersion(timestamp)));
+  }
+
+  @Test
+  @DisplayName("should throw EventNotFoundException for an unknown event")
+  void shouldThrowForUnknownEvent() {
+    when(eventRepository.existsById(eventId)).thenReturn(false);
+
+    assertThrows(EventNotFoundException.class, () -> eventManifestService.getManifest(eventId, null));
+    verifyNoInteractions(qrCodeRepository);
+  }
+}
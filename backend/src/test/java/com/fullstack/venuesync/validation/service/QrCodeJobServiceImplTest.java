@@ -0,0 +1,167 @@
+package com.fullstack.venuesync.validation.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+
+import com.fullstack.venuesync.tickets.domain.Ticket;
+import com.fullstack.venuesync.tickets.repository.TicketRepository;
+import com.fullstack.venuesync.validation.domain.QrCodeJob;
+import com.fullstack.venuesync.validation.domain.QrCodeJobStatusEnum;
+import com.fullstack.venuesync.validation.domain.QrCodeJobsEnqueuedEvent;
+import com.fullstack.venuesync.validation.repository.QrCodeJobRepository;
+
+@ExtendWith(MockitoExtension.class)
+class QrCodeJobServiceImplTest {
+
+  @Mock
+  private QrCodeJobRepository qrCodeJobRepository;
+
+  @Mock
+  private TicketRepository ticketRepository;
+
+  @Mock
+  private QrCodeService qrCodeService;
+
+  @Mock
+  private ApplicationEventPublisher applicationEventPublisher;
+
+  private QrCodeJobServiceImpl qrCodeJobService;
+
+  private Ticket ticket;
+  private QrCodeJob job;
+  private UUID jobId;
+
+  @BeforeEach
+  void setUp() {
+    qrCodeJobService = new QrCodeJobServiceImpl(
+        qrCodeJobRepository, ticketRepository, qrCodeService, applicationEventPublisher, 3, 60);
+
+    ticket = new Ticket();
+    ticket.setId(UUID.randomUUID());
+
+    jobId = UUID.randomUUID();
+    job = new QrCodeJob();
+    job.setId(jobId);
+    job.setTicketId(ticket.getId());
+    job.setStatus(QrCodeJobStatusEnum.PENDING);
+    job.setNextAttemptAt(LocalDateTime.now());
+  }
+
+  @Test
+  @DisplayName("enqueueQrCodes should persist a pending job per ticket and publish an event")
+  @SuppressWarnings("unchecked")
+  void shouldEnqueuePendingJobs() {
+    Ticket other = new Ticket();
+    other.setId(UUID.randomUUID());
+
+    qrCodeJobService.enqueueQrCodes(List.of(ticket, other));
+
+    ArgumentCaptor<List<QrCodeJob>> captor = ArgumentCaptor.forClass(List.class);
+    verify(qrCodeJobRepository).saveAll(captor.capture());
+    assertEquals(List.of(ticket.getId(), other.getId()),
+        captor.getValue().stream().map(QrCodeJob::getTicketId).toList());
+    captor.getValue().forEach(job -> assertEquals(QrCodeJobStatusEnum.PENDING, job.getStatus()));
+    verify(applicationEventPublisher).publishEvent(new QrCodeJobsEnqueuedEvent(2));
+  }
+
+  @Test
+  @DisplayName("claimDueQrCodeJobs should lease claimed jobs")
+  void shouldLeaseClaimedJobs() {
+    when(qrCodeJobRepository.findDueJobsForUpdate(
+        eq(QrCodeJobStatusEnum.PENDING), any(LocalDateTime.class), any(Pageable.class)))
+        .thenReturn(List.of(job));
+
+    List<UUID> result = qrCodeJobService.claimDueQrCodeJobs(10);
+
+    assertEquals(List.of(jobId), result);
+    assertTrue(job.getNextAttemptAt().isAfter(LocalDateTime.now().plusSeconds(30)));
+  }
+
+  @Nested
+  @DisplayName("processQrCodeJob")
+  class ProcessQrCodeJobTests {
+
+    @Test
+    @DisplayName("should generate the QR code and delete the job")
+    void shouldGenerateQrCodeAndDeleteJob() {
+      when(qrCodeJobRepository.findById(jobId)).thenReturn(Optional.of(job));
+      when(ticketRepository.findById(ticket.getId())).thenReturn(Optional.of(ticket));
+
+      qrCodeJobService.processQrCodeJob(jobId);
+
+      verify(qrCodeService).generateQrCode(ticket);
+      verify(qrCodeJobRepository).delete(job);
+    }
+
+    @Test
+    @DisplayName("should discard the job when the ticket no longer exists")
+    void shouldDiscardJobForMissingTicket() {
+      when(qrCodeJobRepository.findById(jobId)).thenReturn(Optional.of(job));
+      when(ticketRepository.findById(ticket.getId())).thenReturn(Optional.empty());
+
+      qrCodeJobService.processQrCodeJob(jobId);
+
+      verify(qrCodeService, never()).generateQrCode(any(Ticket.class));
+      verify(qrCodeJobRepository).delete(job);
+    }
+
+    @Test
+    @DisplayName("should skip failed jobs")
+    void shouldSkipFailedJobs() {
+      job.setStatus(QrCodeJobStatusEnum.FAILED);
+      when(qrCodeJobRepository.findById(jobId)).thenReturn(Optional.of(job));
+
+      qrCodeJobService.processQrCodeJob(jobId);
+
+      verify(qrCodeService, never()).generateQrCode(any(Ticket.class));
+      verify(qrCodeJobRepository, never()).delete(any(QrCodeJob.class));
+    }
+  }
+
+  @Nested
+  @DisplayName("recordQrCodeJobFailure")
+  class RecordQrCodeJobFailureTests {
+
+    @Test
+    @DisplayName("should back off and keep the job pending")
+    void shouldBackOffAndKeepPending() {
+      when(qrCodeJobRepository.findById(jobId)).thenReturn(Optional.of(job));
+
+      qrCodeJobService.recordQrCodeJobFailure(jobId, "boom");
+
+      assertEquals(1, job.getAttempts());
+      assertEquals("boom", job.getLastError());
+      assertEquals(QrCodeJobStatusEnum.PENDING, job.getStatus());
+      assertTrue(job.getNextAttemptAt().isAfter(LocalDateTime.now()));
+    }
+
+    @Test
+    @DisplayName("should mark the job failed after max attempts")
+    void shouldMarkFailedAfterMaxAttempts() {
+      job.setAttempts(2);
+      when(qrCodeJobRepository.findById(jobId)).thenReturn(Optional.of(job));
+
+      qrCodeJobService.recordQrCodeJobFailure(jobId, "boom");
+
+      assertEquals(3, job.getAttempts());
+      assertEquals(QrCodeJobStatusEnum.FAILED, job.getStatus());
+    }
+  }
+}
@@ -4,7 +4,7 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
-import java.util.Base64;
+import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -13,45 +13,65 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.fullstack.venuesync.events.domain.Event;
 import com.fullstack.venuesync.tickets.domain.Ticket;
 import com.fullstack.venuesync.tickets.domain.TicketStatusEnum;
+import com.fullstack.venuesync.tickets.domain.TicketType;
 import com.fullstack.venuesync.validation.domain.QrCode;
+import com.fullstack.venuesync.validation.domain.QrCodeImageFormatEnum;
 import com.fullstack.venuesync.validation.domain.QrCodeStatusEnum;
+import com.fullstack.venuesync.validation.exception.QrCodeGenerationException;
 import com.fullstack.venuesync.validation.exception.QrCodeNotFoundException;
+import com.fullstack.venuesync.validation.filter.QrCodeIdFilter;
+import com.fullstack.venuesync.validation.image.QrCodeImageCache;
+import com.fullstack.venuesync.validation.image.QrCodeRenderer;
 import com.fullstack.venuesync.validation.repository.QrCodeRepository;
-import com.google.zxing.WriterException;
-import com.google.zxing.qrcode.QRCodeWriter;
-import com.google.zxing.common.BitMatrix;
-import com.google.zxing.BarcodeFormat;
+import com.fullstack.venuesync.validation.token.QrCodeToken;
+import com.fullstack.venuesync.validation.token.QrCodeTokenCodec;
 
 @ExtendWith(MockitoExtension.class)
 class QrCodeServiceImplTest {
 
   @Mock
-  private QRCodeWriter qrCodeWriter;
+  private QrCodeRepository qrCodeRepository;
 
   @Mock
-  private QrCodeRepository qrCodeRepository;
+  private QrCodeRenderer qrCodeRenderer;
+
+  @Mock
+  private QrCodeIdFilter qrCodeIdFilter;
+
+  private final QrCodeTokenCodec qrCodeTokenCodec =
+      new QrCodeTokenCodec("test_qr_signing_secret_of_at_least_32_bytes");
 
-  @InjectMocks
   private QrCodeServiceImpl qrCodeService;
 
+  private Event event;
   private Ticket ticket;
   private UUID ticketId;
   private UUID userId;
 
   @BeforeEach
   void setUp() {
+    qrCodeService = new QrCodeServiceImpl(
+        qrCodeRepository, qrCodeRenderer, new QrCodeImageCache(1024), qrCodeTokenCodec, qrCodeIdFilter);
+
     ticketId = UUID.randomUUID();
     userId = UUID.randomUUID();
 
+    event = new Event();
+    event.setId(UUID.randomUUID());
+    event.setEnd(LocalDateTime.now().plusDays(1).withNano(0));
+    TicketType ticketType = new TicketType();
+    ticketType.setEvent(event);
+
     ticket = new Ticket();
     ticket.setId(ticketId);
     ticket.setStatus(TicketStatusEnum.PURCHASED);
+    ticket.setTicketType(ticketType);
   }
 
   @Nested
@@ -59,11 +79,8 @@ class QrCodeServiceImplTest {
   class GenerateQrCodeTests {
 
     @Test
-    @DisplayName("should generate QR code successfully")
-    void shouldGenerateQrCodeSuccessfully() throws Exception {
-      BitMatrix bitMatrix = new BitMatrix(300, 300);
-      when(qrCodeWriter.encode(anyString(), eq(BarcodeFormat.QR_CODE), eq(300), eq(300)))
-          .thenReturn(bitMatrix);
+    @DisplayName("should store a signed payload without rendering an image")
+    void shouldGenerateQrCodeSuccessfully() {
       when(qrCodeRepository.saveAndFlush(any(QrCode.class))).thenAnswer(i -> i.getArgument(0));
 
       QrCode result = qrCodeService.generateQrCode(ticket);
@@ -71,20 +88,40 @@ class QrCodeServiceImplTest {
       assertNotNull(result);
       assertEquals(QrCodeStatusEnum.ACTIVE, result.getStatus());
       assertEquals(ticket, result.getTicket());
-      assertNotNull(result.getValue());
-      verify(qrCodeRepository).saveAndFlush(any(QrCode.class));
+      assertTrue(result.getPayload().length() <= QrCode.MAX_PAYLOAD_LENGTH);
+      verifyNoInteractions(qrCodeRenderer);
+      verify(qrCodeIdFilter).add(result.getId());
+
+      QrCodeToken token = qrCodeTokenCodec.verify(result.getPayload()).orElseThrow();
+      assertEquals(ticketId, token.ticketId());
+      assertEquals(event.getId(), token.eventId());
+      assertEquals(event.getEnd(), token.validUntil());
     }
+  }
+
+  @Nested
+  @DisplayName("getQrCodeIdForUserAndTicket")
+  class GetQrCodeIdTests {
 
     @Test
-    @DisplayName("should throw QrCodeGenerationException when encoding fails")
-    void shouldThrowQrCodeGenerationExceptionOnFailure() throws Exception {
-      when(qrCodeWriter.encode(anyString(), eq(BarcodeFormat.QR_CODE), eq(300), eq(300)))
-          .thenThrow(new WriterException("Encoding failed"));
-
-      assertThrows(
-          com.fullstack.venuesync.validation.exception.QrCodeGenerationException.class,
-          () -> qrCodeService.generateQrCode(ticket)
-      );
+    @DisplayName("should return the QR code ID without loading the QR code")
+    void shouldReturnId() {
+      UUID qrCodeId = UUID.randomUUID();
+      when(qrCodeRepository.findIdByTicketIdAndTicketPurchaserId(ticketId, userId))
+          .thenReturn(Optional.of(qrCodeId));
+
+      assertEquals(qrCodeId, qrCodeService.getQrCodeIdForUserAndTicket(userId, ticketId));
+      verify(qrCodeRepository, never()).findByTicketIdAndTicketPurchaserId(any(), any());
+    }
+
+    @Test
+    @DisplayName("should throw QrCodeNotFoundException when QR code not found")
+    void shouldThrowWhenNotFound() {
+      when(qrCodeRepository.findIdByTicketIdAndTicketPurchaserId(ticketId, userId))
+          .thenReturn(Optional.empty());
+
+      assertThrows(QrCodeNotFoundException.class,
+          () -> qrCodeService.getQrCodeIdForUserAndTicket(userId, ticketId));
     }
   }
 
@@ -92,24 +129,77 @@ class QrCodeServiceImplTest {
   @DisplayName("getQrCodeImageForUserAndTicket")
   class GetQrCodeImageTests {
 
-    @Test
-    @DisplayName("should return QR code image bytes")
-    void shouldReturnQrCodeImageBytes() {
-      byte[] imageBytes = new byte[]{1, 2, 3, 4, 5};
-      String base64Value = Base64.getEncoder().encodeToString(imageBytes);
+    private QrCode qrCode;
 
-      QrCode qrCode = new QrCode();
+    @BeforeEach
+    void setUp() {
+      qrCode = new QrCode();
       qrCode.setId(UUID.randomUUID());
-      qrCode.setValue(base64Value);
+      qrCode.setPayload(qrCode.getId().toString());
       qrCode.setStatus(QrCodeStatusEnum.ACTIVE);
+    }
 
+    @Test
+    @DisplayName("should render the payload once and serve later requests from the cache")
+    void shouldRenderOnceAndCache() {
+      byte[] imageBytes = new byte[]{1, 2, 3, 4, 5};
       when(qrCodeRepository.findByTicketIdAndTicketPurchaserId(ticketId, userId))
           .thenReturn(Optional.of(qrCode));
+      when(qrCodeRenderer.renderPng(qrCode.getPayload())).thenReturn(imageBytes);
 
-      byte[] result = qrCodeService.getQrCodeImageForUserAndTicket(userId, ticketId);
+      byte[] first = qrCodeService.getQrCodeImageForUserAndTicket(userId, ticketId, QrCodeImageFormatEnum.PNG, null);
+      byte[] second = qrCodeService.getQrCodeImageForUserAndTicket(userId, ticketId, QrCodeImageFormatEnum.PNG, null);
 
-      assertNotNull(result);
-      assertArrayEquals(imageBytes, result);
+      assertArrayEquals(imageBytes, first);
+      assertArrayEquals(imageBytes, second);
+      verify(qrCodeRenderer, times(1)).renderPng(anyString());
+    }
+
+    @Test
+    @DisplayName("should render an SVG when asked for one")
+    void shouldRenderSvg() {
+      byte[] svgBytes = "<svg/>".getBytes();
+      when(qrCodeRepository.findByTicketIdAndTicketPurchaserId(ticketId, userId))
+          .thenReturn(Optional.of(qrCode));
+      when(qrCodeRenderer.renderSvg(qrCode.getPayload())).thenReturn(svgBytes);
+
+      byte[] result = qrCodeService.getQrCodeImageForUserAndTicket(
+          userId, ticketId, QrCodeImageFormatEnum.SVG, null);
+
+      assertArrayEquals(svgBytes, result);
+      verify(qrCodeRenderer, never()).renderPng(anyString());
+    }
+
+    @Test
+    @DisplayName("should render and cache a scaled PNG separately from the default one")
+    void shouldRenderScaledPng() {
+      when(qrCodeRepository.findByTicketIdAndTicketPurchaserId(ticketId, userId))
+          .thenReturn(Optional.of(qrCode));
+      when(qrCodeRenderer.renderPng(qrCode.getPayload())).thenReturn(new byte[]{1});
+      when(qrCodeRenderer.renderPng(qrCode.getPayload(), 2)).thenReturn(new byte[]{2});
+
+      byte[] standard = qrCodeService.getQrCodeImageForUserAndTicket(
+          userId, ticketId, QrCodeImageFormatEnum.PNG, null);
+      byte[] scaled = qrCodeService.getQrCodeImageForUserAndTicket(
+          userId, ticketId, QrCodeImageFormatEnum.PNG, 2);
+      qrCodeService.getQrCodeImageForUserAndTicket(userId, ticketId, QrCodeImageFormatEnum.PNG, 2);
+
+      assertArrayEquals(new byte[]{1}, standard);
+      assertArrayEquals(new byte[]{2}, scaled);
+      verify(qrCodeRenderer, times(1)).renderPng(qrCode.getPayload(), 2);
+    }
+
+    @Test
+    @DisplayName("should render the ID of a QR code that still holds a stored image")
+    void shouldRenderIdOfLegacyQrCode() {
+      qrCode.setPayload("A".repeat(QrCode.MAX_PAYLOAD_LENGTH + 1));
+      when(qrCodeRepository.findByTicketIdAndTicketPurchaserId(ticketId, userId))
+          .thenReturn(Optional.of(qrCode));
+      when(qrCodeRenderer.renderPng(qrCode.getId().toString())).thenReturn(new byte[]{1});
+
+      qrCodeService.getQrCodeImageForUserAndTicket(userId, ticketId, QrCodeImageFormatEnum.PNG, null);
+
+      verify(qrCodeRenderer).renderPng(qrCode.getId().toString());
     }
 
     @Test
@@ -119,22 +209,21 @@ class QrCodeServiceImplTest {
           .thenReturn(Optional.empty());
 
       assertThrows(QrCodeNotFoundException.class,
-          () -> qrCodeService.getQrCodeImageForUserAndTicket(userId, ticketId));
+          () -> qrCodeService.getQrCodeImageForUserAndTicket(userId, ticketId, QrCodeImageFormatEnum.PNG, null));
     }
 
     @Test
-    @DisplayName("should throw QrCodeNotFoundException when base64 is invalid")
-    void shouldThrowQrCodeNotFoundWhenBase64Invalid() {
-      QrCode qrCode = new QrCode();
-      qrCode.setId(UUID.randomUUID());
-      qrCode.setValue("not-valid-base64!!!");
-      qrCode.setStatus(QrCodeStatusEnum.ACTIVE);
-
+    @DisplayName("should not cache a failed rendering")
+    void shouldNotCacheFailures() {
       when(qrCodeRepository.findByTicketIdAndTicketPurchaserId(ticketId, userId))
           .thenReturn(Optional.of(qrCode));
+      when(qrCodeRenderer.renderPng(anyString()))
+          .thenThrow(new QrCodeGenerationException("Failed to render QR Code"))
+          .thenReturn(new byte[]{1});
 
-      assertThrows(QrCodeNotFoundException.class,
-          () -> qrCodeService.getQrCodeImageForUserAndTicket(userId, ticketId));
+      assertThrows(QrCodeGenerationException.class,
+          () -> qrCodeService.getQrCodeImageForUserAndTicket(userId, ticketId, QrCodeImageFormatEnum.PNG, null));
+      assertArrayEquals(new byte[]{1}, qrCodeService.getQrCodeImageForUserAndTicket(userId, ticketId, QrCodeImageFormatEnum.PNG, null));
     }
   }
 }
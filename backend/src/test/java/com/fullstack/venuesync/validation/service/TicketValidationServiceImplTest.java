@@ -6,6 +6,7 @@ import static org.mockito.Mockito.*;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -16,6 +17,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.fullstack.venuesync.events.domain.Event;
@@ -24,13 +26,21 @@ import com.fullstack.venuesync.tickets.domain.Ticket;
 import com.fullstack.venuesync.tickets.domain.TicketStatusEnum;
 import com.fullstack.venuesync.tickets.domain.TicketType;
 import com.fullstack.venuesync.tickets.repository.TicketRepository;
+import com.fullstack.venuesync.validation.admission.EventAdmissionRegistry;
+import com.fullstack.venuesync.validation.attendance.EventAttendanceTracker;
 import com.fullstack.venuesync.validation.domain.QrCode;
 import com.fullstack.venuesync.validation.domain.QrCodeStatusEnum;
+import com.fullstack.venuesync.validation.domain.TicketScan;
 import com.fullstack.venuesync.validation.domain.TicketValidation;
 import com.fullstack.venuesync.validation.domain.TicketValidationMethod;
 import com.fullstack.venuesync.validation.domain.TicketValidationStatusEnum;
+import com.fullstack.venuesync.validation.filter.QrCodeIdFilter;
+import com.fullstack.venuesync.validation.metrics.GateMetrics;
 import com.fullstack.venuesync.validation.repository.QrCodeRepository;
 import com.fullstack.venuesync.validation.repository.TicketValidationRepository;
+import com.fullstack.venuesync.validation.token.QrCodeToken;
+import com.fullstack.venuesync.validation.token.QrCodeTokenCodec;
+import com.fullstack.venuesync.validation.writer.TicketValidationWriter;
 
 @ExtendWith(MockitoExtension.class)
 class TicketValidationServiceImplTest {
@@ -44,6 +54,25 @@ class TicketValidationServiceImplTest {
   @Mock
   private TicketRepository ticketRepository;
 
+  @Mock
+  private EventAdmissionRegistry eventAdmissionRegistry;
+
+  @Mock
+  private TicketValidationWriter ticketValidationWriter;
+
+  @Mock
+  private QrCodeIdFilter qrCodeIdFilter;
+
+  @Mock
+  private EventAttendanceTracker eventAttendanceTracker;
+
+  @Mock
+  private GateMetrics gateMetrics;
+
+  @Spy
+  private QrCodeTokenCodec qrCodeTokenCodec =
+      new QrCodeTokenCodec("test_qr_signing_secret_of_at_least_32_bytes");
+
   @InjectMocks
   private TicketValidationServiceImpl ticketValidationService;
 
@@ -78,6 +107,14 @@ class TicketValidationServiceImplTest {
     qrCode.setId(qrCodeId);
     qrCode.setTicket(ticket);
     qrCode.setStatus(QrCodeStatusEnum.ACTIVE);
+
+    lenient().when(qrCodeIdFilter.mightContain(any())).thenReturn(true);
+  }
+
+  private void stubMarkUsed(int updatedRows) {
+    when(ticketRepository.updateStatusById(
+        eq(ticketId), eq(TicketStatusEnum.USED), eq(TicketStatusEnum.PURCHASED), any()))
+        .thenReturn(updatedRows);
   }
 
   @Nested
@@ -89,15 +126,17 @@ class TicketValidationServiceImplTest {
     void shouldReturnValidForPurchasedTicket() {
       when(qrCodeRepository.findByIdAndStatus(qrCodeId, QrCodeStatusEnum.ACTIVE))
           .thenReturn(Optional.of(qrCode));
-      when(ticketRepository.save(any(Ticket.class))).thenAnswer(i -> i.getArgument(0));
-      when(ticketValidationRepository.save(any(TicketValidation.class)))
+      stubMarkUsed(1);
+      when(ticketValidationWriter.record(any(TicketValidation.class)))
           .thenAnswer(i -> i.getArgument(0));
 
-      TicketValidation result = ticketValidationService.validateTicketByQrCode(qrCodeId);
+      TicketValidation result = ticketValidationService.validateTicketByQrCode(qrCodeId.toString(), null);
 
       assertEquals(TicketValidationStatusEnum.VALID, result.getStatus());
       assertEquals(TicketValidationMethod.QR_SCAN, result.getValidationMethod());
       assertEquals(ticket, result.getTicket());
+      verify(eventAttendanceTracker).recordScan(event.getId(), TicketValidationStatusEnum.VALID);
+      verify(gateMetrics).countScan(event.getId());
     }
 
     @Test
@@ -105,15 +144,28 @@ class TicketValidationServiceImplTest {
     void shouldReturnInvalidWhenQrCodeNotFound() {
       when(qrCodeRepository.findByIdAndStatus(qrCodeId, QrCodeStatusEnum.ACTIVE))
           .thenReturn(Optional.empty());
-      when(ticketValidationRepository.save(any(TicketValidation.class)))
+      when(ticketValidationWriter.record(any(TicketValidation.class)))
           .thenAnswer(i -> i.getArgument(0));
 
-      TicketValidation result = ticketValidationService.validateTicketByQrCode(qrCodeId);
+      TicketValidation result = ticketValidationService.validateTicketByQrCode(qrCodeId.toString(), null);
 
       assertEquals(TicketValidationStatusEnum.INVALID, result.getStatus());
       assertEquals(TicketValidationMethod.QR_SCAN, result.getValidationMethod());
     }
 
+    @Test
+    @DisplayName("should reject a QR code ID missing from the filter without a lookup")
+    void shouldRejectUnknownQrCodeFromFilter() {
+      when(qrCodeIdFilter.mightContain(qrCodeId)).thenReturn(false);
+      when(ticketValidationWriter.record(any(TicketValidation.class))).thenAnswer(i -> i.getArgument(0));
+
+      TicketValidation result = ticketValidationService.validateTicketByQrCode(qrCodeId.toString(), null);
+
+      assertEquals(TicketValidationStatusEnum.INVALID, result.getStatus());
+      verify(ticketValidationWriter).record(result);
+      verifyNoInteractions(qrCodeRepository, ticketValidationRepository);
+    }
+
     @Test
     @DisplayName("should return EXPIRED when ticket is expired")
     void shouldReturnExpiredWhenTicketExpired() {
@@ -121,10 +173,10 @@ class TicketValidationServiceImplTest {
 
       when(qrCodeRepository.findByIdAndStatus(qrCodeId, QrCodeStatusEnum.ACTIVE))
           .thenReturn(Optional.of(qrCode));
-      when(ticketValidationRepository.save(any(TicketValidation.class)))
+      when(ticketValidationWriter.record(any(TicketValidation.class)))
           .thenAnswer(i -> i.getArgument(0));
 
-      TicketValidation result = ticketValidationService.validateTicketByQrCode(qrCodeId);
+      TicketValidation result = ticketValidationService.validateTicketByQrCode(qrCodeId.toString(), null);
 
       assertEquals(TicketValidationStatusEnum.EXPIRED, result.getStatus());
     }
@@ -136,15 +188,27 @@ class TicketValidationServiceImplTest {
 
       when(qrCodeRepository.findByIdAndStatus(qrCodeId, QrCodeStatusEnum.ACTIVE))
           .thenReturn(Optional.of(qrCode));
-      when(ticketRepository.save(any(Ticket.class))).thenAnswer(i -> i.getArgument(0));
-      when(ticketValidationRepository.save(any(TicketValidation.class)))
+      when(ticketValidationWriter.record(any(TicketValidation.class)))
           .thenAnswer(i -> i.getArgument(0));
 
-      TicketValidation result = ticketValidationService.validateTicketByQrCode(qrCodeId);
+      TicketValidation result = ticketValidationService.validateTicketByQrCode(qrCodeId.toString(), null);
 
       assertEquals(TicketValidationStatusEnum.EXPIRED, result.getStatus());
     }
 
+    @Test
+    @DisplayName("should return INVALID for a QR code ID of another event")
+    void shouldReturnInvalidForOtherEvent() {
+      when(qrCodeRepository.findByIdAndStatus(qrCodeId, QrCodeStatusEnum.ACTIVE))
+          .thenReturn(Optional.of(qrCode));
+
+      TicketValidation result = ticketValidationService.validateTicketByQrCode(
+          qrCodeId.toString(), UUID.randomUUID());
+
+      assertEquals(TicketValidationStatusEnum.INVALID, result.getStatus());
+      verify(ticketValidationWriter, never()).record(any(TicketValidation.class));
+    }
+
     @Test
     @DisplayName("should return ALREADY_USED when ticket was already used")
     void shouldReturnAlreadyUsedWhenTicketUsed() {
@@ -152,10 +216,196 @@ class TicketValidationServiceImplTest {
 
       when(qrCodeRepository.findByIdAndStatus(qrCodeId, QrCodeStatusEnum.ACTIVE))
           .thenReturn(Optional.of(qrCode));
-      when(ticketValidationRepository.save(any(TicketValidation.class)))
+      when(ticketValidationWriter.record(any(TicketValidation.class)))
           .thenAnswer(i -> i.getArgument(0));
 
-      TicketValidation result = ticketValidationService.validateTicketByQrCode(qrCodeId);
+      TicketValidation result = ticketValidationService.validateTicketByQrCode(qrCodeId.toString(), null);
+
+      assertEquals(TicketValidationStatusEnum.ALREADY_USED, result.getStatus());
+      verify(ticketRepository, never()).updateStatusById(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("should return ALREADY_USED when a concurrent scan marked the ticket first")
+    void shouldReturnAlreadyUsedWhenConcurrentScanWon() {
+      // Loaded as PURCHASED, but another gate moved it to USED before our update
+      when(qrCodeRepository.findByIdAndStatus(qrCodeId, QrCodeStatusEnum.ACTIVE))
+          .thenReturn(Optional.of(qrCode));
+      stubMarkUsed(0);
+      when(ticketRepository.findStatusById(ticketId)).thenReturn(Optional.of(TicketStatusEnum.USED));
+      when(ticketValidationWriter.record(any(TicketValidation.class)))
+          .thenAnswer(i -> i.getArgument(0));
+
+      TicketValidation result = ticketValidationService.validateTicketByQrCode(qrCodeId.toString(), null);
+
+      assertEquals(TicketValidationStatusEnum.ALREADY_USED, result.getStatus());
+      verify(ticketRepository, never()).save(any(Ticket.class));
+    }
+
+    @Test
+    @DisplayName("should return EXPIRED when the ticket expired after it was loaded")
+    void shouldReturnExpiredWhenExpiredConcurrently() {
+      // Loaded as PURCHASED, but the expiration job moved it to EXPIRED before our update
+      when(qrCodeRepository.findByIdAndStatus(qrCodeId, QrCodeStatusEnum.ACTIVE))
+          .thenReturn(Optional.of(qrCode));
+      stubMarkUsed(0);
+      when(ticketRepository.findStatusById(ticketId)).thenReturn(Optional.of(TicketStatusEnum.EXPIRED));
+      when(ticketValidationWriter.record(any(TicketValidation.class)))
+          .thenAnswer(i -> i.getArgument(0));
+
+      TicketValidation result = ticketValidationService.validateTicketByQrCode(qrCodeId.toString(), null);
+
+      assertEquals(TicketValidationStatusEnum.EXPIRED, result.getStatus());
+    }
+
+    @Test
+    @DisplayName("should return INVALID for a cancelled ticket")
+    void shouldReturnInvalidWhenTicketCancelled() {
+      ticket.setStatus(TicketStatusEnum.CANCELLED);
+
+      when(qrCodeRepository.findByIdAndStatus(qrCodeId, QrCodeStatusEnum.ACTIVE))
+          .thenReturn(Optional.of(qrCode));
+      when(ticketValidationWriter.record(any(TicketValidation.class)))
+          .thenAnswer(i -> i.getArgument(0));
+
+      TicketValidation result = ticketValidationService.validateTicketByQrCode(qrCodeId.toString(), null);
+
+      assertEquals(TicketValidationStatusEnum.INVALID, result.getStatus());
+      verify(ticketRepository, never()).updateStatusById(any(), any(), any(), any());
+    }
+  }
+
+  @Nested
+  @DisplayName("validateTicketByQrCode with a signed payload")
+  class ValidateBySignedQrCodeTests {
+
+    private String sign(LocalDateTime validUntil) {
+      return qrCodeTokenCodec.sign(new QrCodeToken(
+          ticketId, event.getId(), LocalDateTime.now().minusHours(1), validUntil));
+    }
+
+    @Test
+    @DisplayName("should return VALID reading only the ticket")
+    void shouldReturnValidForSignedPayload() {
+      // The event has since ended, which only a lookup of the event would reveal
+      event.setEnd(LocalDateTime.now().minusMinutes(1));
+      when(ticketRepository.findById(ticketId)).thenReturn(Optional.of(ticket));
+      stubMarkUsed(1);
+      when(ticketValidationWriter.record(any(TicketValidation.class)))
+          .thenAnswer(i -> i.getArgument(0));
+
+      TicketValidation result = ticketValidationService.validateTicketByQrCode(
+          sign(LocalDateTime.now().plusHours(1)), event.getId());
+
+      assertEquals(TicketValidationStatusEnum.VALID, result.getStatus());
+      assertEquals(ticket, result.getTicket());
+      verifyNoInteractions(qrCodeRepository);
+    }
+
+    @Test
+    @DisplayName("should reject a forged payload without touching the database")
+    void shouldRejectForgedPayload() {
+      String forged = new QrCodeTokenCodec("another_secret_that_is_also_32_bytes_long").sign(
+          new QrCodeToken(ticketId, event.getId(), LocalDateTime.now(), null));
+
+      TicketValidation result = ticketValidationService.validateTicketByQrCode(forged, null);
+
+      assertEquals(TicketValidationStatusEnum.INVALID, result.getStatus());
+      verifyNoInteractions(qrCodeRepository, ticketRepository, ticketValidationRepository);
+    }
+
+    @Test
+    @DisplayName("should reject a payload for another event without touching the database")
+    void shouldRejectOtherEvent() {
+      TicketValidation result = ticketValidationService.validateTicketByQrCode(
+          sign(null), UUID.randomUUID());
+
+      assertEquals(TicketValidationStatusEnum.INVALID, result.getStatus());
+      verifyNoInteractions(qrCodeRepository, ticketRepository, ticketValidationRepository);
+    }
+
+    @Test
+    @DisplayName("should reject unreadable payloads without touching the database")
+    void shouldRejectGarbage() {
+      TicketValidation result = ticketValidationService.validateTicketByQrCode("garbage", null);
+
+      assertEquals(TicketValidationStatusEnum.INVALID, result.getStatus());
+      verifyNoInteractions(qrCodeRepository, ticketRepository, ticketValidationRepository);
+    }
+
+    @Test
+    @DisplayName("should check the event once the validity window has passed")
+    void shouldCheckEventOutsideWindow() {
+      event.setEnd(LocalDateTime.now().minusMinutes(1));
+      when(ticketRepository.findById(ticketId)).thenReturn(Optional.of(ticket));
+      when(ticketValidationWriter.record(any(TicketValidation.class)))
+          .thenAnswer(i -> i.getArgument(0));
+
+      TicketValidation result = ticketValidationService.validateTicketByQrCode(
+          sign(LocalDateTime.now().minusMinutes(1)), null);
+
+      assertEquals(TicketValidationStatusEnum.EXPIRED, result.getStatus());
+      verify(ticketRepository).updateStatusById(
+          eq(ticketId), eq(TicketStatusEnum.EXPIRED), eq(TicketStatusEnum.PURCHASED), any());
+    }
+
+    @Test
+    @DisplayName("should accept the ticket if the event was extended after signing")
+    void shouldAcceptWhenEventExtended() {
+      when(ticketRepository.findById(ticketId)).thenReturn(Optional.of(ticket));
+      stubMarkUsed(1);
+      when(ticketValidationWriter.record(any(TicketValidation.class)))
+          .thenAnswer(i -> i.getArgument(0));
+
+      TicketValidation result = ticketValidationService.validateTicketByQrCode(
+          sign(LocalDateTime.now().minusMinutes(1)), null);
+
+      assertEquals(TicketValidationStatusEnum.VALID, result.getStatus());
+    }
+
+    @Test
+    @DisplayName("should answer from the admission bitmap of an open event without reading the ticket")
+    void shouldAdmitFromBitmap() {
+      Ticket reference = new Ticket();
+      reference.setId(ticketId);
+      when(eventAdmissionRegistry.admit(event.getId(), ticketId, TicketValidationMethod.QR_SCAN))
+          .thenReturn(Optional.of(TicketValidationStatusEnum.VALID));
+      when(ticketRepository.getReferenceById(ticketId)).thenReturn(reference);
+
+      TicketValidation result = ticketValidationService.validateTicketByQrCode(sign(null), event.getId());
+
+      assertEquals(TicketValidationStatusEnum.VALID, result.getStatus());
+      assertEquals(ticketId, result.getTicket().getId());
+      verify(ticketRepository, never()).findById(any());
+      verifyNoInteractions(ticketValidationRepository);
+      verify(eventAttendanceTracker).recordScan(event.getId(), TicketValidationStatusEnum.VALID);
+    }
+
+    @Test
+    @DisplayName("should fall back to the database for tickets outside the bitmap")
+    void shouldFallBackWhenNotInBitmap() {
+      when(eventAdmissionRegistry.admit(event.getId(), ticketId, TicketValidationMethod.QR_SCAN))
+          .thenReturn(Optional.empty());
+      when(ticketRepository.findById(ticketId)).thenReturn(Optional.of(ticket));
+      stubMarkUsed(1);
+      when(ticketValidationWriter.record(any(TicketValidation.class)))
+          .thenAnswer(i -> i.getArgument(0));
+
+      TicketValidation result = ticketValidationService.validateTicketByQrCode(sign(null), null);
+
+      assertEquals(TicketValidationStatusEnum.VALID, result.getStatus());
+      verify(ticketRepository).findById(ticketId);
+    }
+
+    @Test
+    @DisplayName("should return ALREADY_USED for a used ticket")
+    void shouldReturnAlreadyUsed() {
+      ticket.setStatus(TicketStatusEnum.USED);
+      when(ticketRepository.findById(ticketId)).thenReturn(Optional.of(ticket));
+      when(ticketValidationWriter.record(any(TicketValidation.class)))
+          .thenAnswer(i -> i.getArgument(0));
+
+      TicketValidation result = ticketValidationService.validateTicketByQrCode(sign(null), null);
 
       assertEquals(TicketValidationStatusEnum.ALREADY_USED, result.getStatus());
     }
@@ -165,12 +415,28 @@ class TicketValidationServiceImplTest {
   @DisplayName("validateTicketManually")
   class ValidateManuallyTests {
 
+    @Test
+    @DisplayName("should admit through the bitmap while the ticket's event is open")
+    void shouldAdmitManuallyFromBitmap() {
+      when(ticketRepository.findById(ticketId)).thenReturn(Optional.of(ticket));
+      when(eventAdmissionRegistry.hasOpenEvents()).thenReturn(true);
+      when(eventAdmissionRegistry.admit(event.getId(), ticketId, TicketValidationMethod.MANUAL))
+          .thenReturn(Optional.of(TicketValidationStatusEnum.ALREADY_USED));
+      when(ticketRepository.getReferenceById(ticketId)).thenReturn(ticket);
+
+      TicketValidation result = ticketValidationService.validateTicketManually(ticketId);
+
+      assertEquals(TicketValidationStatusEnum.ALREADY_USED, result.getStatus());
+      assertEquals(TicketValidationMethod.MANUAL, result.getValidationMethod());
+      verifyNoInteractions(ticketValidationRepository);
+    }
+
     @Test
     @DisplayName("should return VALID for manual validation of purchased ticket")
     void shouldReturnValidForManualValidation() {
       when(ticketRepository.findById(ticketId)).thenReturn(Optional.of(ticket));
-      when(ticketRepository.save(any(Ticket.class))).thenAnswer(i -> i.getArgument(0));
-      when(ticketValidationRepository.save(any(TicketValidation.class)))
+      stubMarkUsed(1);
+      when(ticketValidationWriter.record(any(TicketValidation.class)))
           .thenAnswer(i -> i.getArgument(0));
 
       TicketValidation result = ticketValidationService.validateTicketManually(ticketId);
@@ -183,7 +449,7 @@ class TicketValidationServiceImplTest {
     @DisplayName("should return INVALID when ticket not found manually")
     void shouldReturnInvalidWhenTicketNotFound() {
       when(ticketRepository.findById(ticketId)).thenReturn(Optional.empty());
-      when(ticketValidationRepository.save(any(TicketValidation.class)))
+      when(ticketValidationWriter.record(any(TicketValidation.class)))
           .thenAnswer(i -> i.getArgument(0));
 
       TicketValidation result = ticketValidationService.validateTicketManually(ticketId);
@@ -191,5 +457,114 @@ class TicketValidationServiceImplTest {
       assertEquals(TicketValidationStatusEnum.INVALID, result.getStatus());
       assertEquals(TicketValidationMethod.MANUAL, result.getValidationMethod());
     }
+
+    @Test
+    @DisplayName("should return INVALID for an unclaimed ticket of a pooled ticket type")
+    void shouldReturnInvalidForUnclaimedPoolTicket() {
+      ticket.setStatus(TicketStatusEnum.AVAILABLE);
+      when(ticketRepository.findById(ticketId)).thenReturn(Optional.of(ticket));
+      when(ticketValidationWriter.record(any(TicketValidation.class)))
+          .thenAnswer(i -> i.getArgument(0));
+
+      TicketValidation result = ticketValidationService.validateTicketManually(ticketId);
+
+      assertEquals(TicketValidationStatusEnum.INVALID, result.getStatus());
+      assertNull(result.getTicket());
+      verify(ticketRepository, never()).updateStatusById(any(), any(), any(), any());
+    }
+  }
+
+  @Nested
+  @DisplayName("validateTicketScans")
+  class ValidateTicketScansTests {
+
+    private final LocalDateTime scannedAt = LocalDateTime.now().minusMinutes(10);
+
+    private String sign() {
+      return qrCodeTokenCodec.sign(new QrCodeToken(
+          ticketId, event.getId(), LocalDateTime.now().minusDays(1), null));
+    }
+
+    @Test
+    @DisplayName("should let the earliest scan of a ticket win regardless of upload order")
+    void shouldLetFirstScanWin() {
+      when(ticketRepository.findAllByIdForUpdate(anyCollection())).thenReturn(List.of(ticket));
+
+      List<TicketValidation> results = ticketValidationService.validateTicketScans(List.of(
+          new TicketScan(sign(), TicketValidationMethod.QR_SCAN, scannedAt.plusMinutes(1)),
+          new TicketScan(ticketId.toString(), TicketValidationMethod.MANUAL, scannedAt)
+      ), event.getId());
+
+      assertEquals(TicketValidationStatusEnum.ALREADY_USED, results.get(0).getStatus());
+      assertEquals(TicketValidationStatusEnum.VALID, results.get(1).getStatus());
+      assertEquals(TicketValidationMethod.MANUAL, results.get(1).getValidationMethod());
+      verify(ticketRepository).updateStatusByIds(
+          eq(List.of(ticketId)), eq(TicketStatusEnum.USED), eq(TicketStatusEnum.PURCHASED), any());
+      verify(ticketValidationRepository).saveAll(argThat((List<TicketValidation> saved) -> saved.size() == 2));
+      verify(ticketRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("should resolve QR code IDs of unsigned codes with one query")
+    void shouldResolveLegacyQrCodes() {
+      when(qrCodeRepository.findByIdInAndStatus(anyCollection(), eq(QrCodeStatusEnum.ACTIVE)))
+          .thenReturn(List.of(qrCode));
+      when(ticketRepository.findAllByIdForUpdate(anyCollection())).thenReturn(List.of(ticket));
+
+      List<TicketValidation> results = ticketValidationService.validateTicketScans(List.of(
+          new TicketScan(qrCodeId.toString(), TicketValidationMethod.QR_SCAN, scannedAt)
+      ), null);
+
+      assertEquals(TicketValidationStatusEnum.VALID, results.get(0).getStatus());
+      assertEquals(ticket, results.get(0).getTicket());
+    }
+
+    @Test
+    @DisplayName("should judge the event end by the time of the scan")
+    void shouldExpireScansAfterEventEnd() {
+      event.setEnd(scannedAt.minusMinutes(1));
+      when(ticketRepository.findAllByIdForUpdate(anyCollection())).thenReturn(List.of(ticket));
+
+      List<TicketValidation> results = ticketValidationService.validateTicketScans(List.of(
+          new TicketScan(ticketId.toString(), TicketValidationMethod.MANUAL, scannedAt)
+      ), null);
+
+      assertEquals(TicketValidationStatusEnum.EXPIRED, results.get(0).getStatus());
+      verify(ticketRepository).updateStatusByIds(
+          eq(List.of(ticketId)), eq(TicketStatusEnum.EXPIRED), eq(TicketStatusEnum.PURCHASED), any());
+    }
+
+    @Test
+    @DisplayName("should answer unreadable scans and QR codes of another event as INVALID without recording them")
+    void shouldRejectUnmatchedScans() {
+      when(ticketRepository.findAllByIdForUpdate(anyCollection())).thenReturn(List.of(ticket));
+
+      List<TicketValidation> results = ticketValidationService.validateTicketScans(List.of(
+          new TicketScan("garbage", TicketValidationMethod.QR_SCAN, scannedAt),
+          new TicketScan(sign(), TicketValidationMethod.QR_SCAN, scannedAt)
+      ), UUID.randomUUID());
+
+      assertEquals(TicketValidationStatusEnum.INVALID, results.get(0).getStatus());
+      assertEquals(TicketValidationStatusEnum.INVALID, results.get(1).getStatus());
+      verify(ticketRepository, never()).updateStatusByIds(any(), any(), any(), any());
+      verify(ticketValidationRepository).saveAll(argThat((List<TicketValidation> saved) -> saved.isEmpty()));
+    }
+
+    @Test
+    @DisplayName("should leave scans of an open event to its admission bitmap")
+    void shouldAdmitFromBitmap() {
+      when(ticketRepository.findAllByIdForUpdate(anyCollection())).thenReturn(List.of(ticket));
+      when(eventAdmissionRegistry.hasOpenEvents()).thenReturn(true);
+      when(eventAdmissionRegistry.admit(event.getId(), ticketId, TicketValidationMethod.QR_SCAN))
+          .thenReturn(Optional.of(TicketValidationStatusEnum.VALID));
+
+      List<TicketValidation> results = ticketValidationService.validateTicketScans(List.of(
+          new TicketScan(sign(), TicketValidationMethod.QR_SCAN, scannedAt)
+      ), event.getId());
+
+      assertEquals(TicketValidationStatusEnum.VALID, results.get(0).getStatus());
+      verify(ticketRepository, never()).updateStatusByIds(any(), any(), any(), any());
+      verify(ticketValidationRepository).saveAll(argThat((List<TicketValidation> saved) -> saved.isEmpty()));
+    }
   }
 }
@@ -0,0 +1,96 @@
+package com.fullstack.venuesync.validation.token;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class QrCodeTokenCodecTest {
+
+  private static final String SECRET = "test_qr_signing_secret_of_at_least_32_bytes";
+
+  private final QrCodeTokenCodec codec = new QrCodeTokenCodec(SECRET);
+
+  private static QrCodeToken token(LocalDateTime validUntil) {
+    return new QrCodeToken(
+        UUID.randomUUID(),
+        UUID.randomUUID(),
+        LocalDateTime.of(2026, 5, 1, 18, 0),
+        validUntil
+    );
+  }
+
+  @Test
+  @DisplayName("should verify the claims of a token it signed")
+  void shouldRoundTrip() {
+    QrCodeToken token = token(LocalDateTime.of(2026, 5, 2, 2, 30));
+
+    String payload = codec.sign(token);
+
+    assertEquals(76, payload.length());
+    assertEquals(Optional.of(token), codec.verify(payload));
+  }
+
+  @Test
+  @DisplayName("should keep an open-ended validity window open")
+  void shouldRoundTripWithoutEnd() {
+    QrCodeToken token = token(null);
+
+    QrCodeToken verified = codec.verify(codec.sign(token)).orElseThrow();
+
+    assertNull(verified.validUntil());
+    assertTrue(verified.isValidAt(LocalDateTime.of(2100, 1, 1, 0, 0)));
+  }
+
+  @Test
+  @DisplayName("should reject a token with any altered byte")
+  void shouldRejectTamperedToken() {
+    byte[] bytes = Base64.getUrlDecoder().decode(codec.sign(token(null)));
+
+    for (int i = 0; i < bytes.length; i++) {
+      byte[] tampered = bytes.clone();
+      tampered[i] ^= 0x01;
+      String payload = Base64.getUrlEncoder().withoutPadding().encodeToString(tampered);
+
+      assertTrue(codec.verify(payload).isEmpty(), "byte " + i);
+    }
+  }
+
+  @Test
+  @DisplayName("should reject a token signed with another secret")
+  void shouldRejectOtherSecret() {
+    QrCodeTokenCodec other = new QrCodeTokenCodec(SECRET.toUpperCase());
+
+    assertTrue(codec.verify(other.sign(token(null))).isEmpty());
+  }
+
+  @Test
+  @DisplayName("should reject payloads that are not tokens")
+  void shouldRejectOtherPayloads() {
+    assertTrue(codec.verify(null).isEmpty());
+    assertTrue(codec.verify(UUID.randomUUID().toString()).isEmpty());
+    assertTrue(codec.verify("!".repeat(76)).isEmpty());
+  }
+
+  @Test
+  @DisplayName("should refuse a secret shorter than 32 bytes")
+  void shouldRejectShortSecret() {
+    assertThrows(IllegalStateException.class, () -> new QrCodeTokenCodec("too-short"));
+  }
+
+  @Test
+  @DisplayName("should only be valid inside its window")
+  void shouldCheckValidityWindow() {
+    QrCodeToken token = token(LocalDateTime.of(2026, 5, 2, 2, 30));
+
+    assertFalse(token.isValidAt(token.validFrom().minusSeconds(1)));
+    assertTrue(token.isValidAt(token.validFrom()));
+    assertTrue(token.isValidAt(token.validUntil()));
+    assertFalse(token.isValidAt(token.validUntil().plusSeconds(1)));
+  }
+}
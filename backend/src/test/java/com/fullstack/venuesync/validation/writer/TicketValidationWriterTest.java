@@ -0,0 +1,236 @@
+package com.fullstack.venuesync.validation.writer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import com.fullstack.venuesync.tickets.domain.Ticket;
+import com.fullstack.venuesync.tickets.domain.TicketStatusEnum;
+import com.fullstack.venuesync.tickets.repository.TicketRepository;
+import com.fullstack.venuesync.validation.domain.TicketValidation;
+import com.fullstack.venuesync.validation.domain.TicketValidationMethod;
+import com.fullstack.venuesync.validation.domain.TicketValidationStatusEnum;
+import com.fullstack.venuesync.validation.repository.TicketValidationRepository;
+
+@ExtendWith(MockitoExtension.class)
+class TicketValidationWriterTest {
+
+  @Mock
+  private TicketRepository ticketRepository;
+
+  @Mock
+  private TicketValidationRepository ticketValidationRepository;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  @Captor
+  private ArgumentCaptor<List<TicketValidation>> validationsCaptor;
+
+  private SimpleMeterRegistry meterRegistry;
+  private TicketValidationWriter writer;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    writer = writer(10, 500);
+    lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+  }
+
+  @AfterEach
+  void tearDown() {
+    writer.shutdown();
+  }
+
+  private TicketValidationWriter writer(int capacity, int batchSize) {
+    return writer(capacity, batchSize, Set.of(TicketValidationStatusEnum.VALID));
+  }
+
+  private TicketValidationWriter writer(int capacity, int batchSize,
+                                        Set<TicketValidationStatusEnum> durableStatuses) {
+    return new TicketValidationWriter(
+        ticketRepository, ticketValidationRepository, transactionManager, meterRegistry,
+        capacity, batchSize, 2, durableStatuses);
+  }
+
+  private TicketValidation validation(TicketValidationStatusEnum status) {
+    Ticket ticket = new Ticket();
+    ticket.setId(UUID.randomUUID());
+    TicketValidation validation = new TicketValidation();
+    validation.setTicket(ticket);
+    validation.setStatus(status);
+    validation.setValidationMethod(TicketValidationMethod.QR_SCAN);
+    return validation;
+  }
+
+  @Test
+  @DisplayName("should save durable validations before returning")
+  void shouldSaveDurableValidationsSynchronously() {
+    TicketValidation validation = validation(TicketValidationStatusEnum.VALID);
+    TicketValidation saved = validation(TicketValidationStatusEnum.VALID);
+    when(ticketValidationRepository.save(validation)).thenReturn(saved);
+
+    assertSame(saved, writer.record(validation));
+    assertEquals(0, writer.pendingCount());
+  }
+
+  @Test
+  @DisplayName("should queue other validations and write them in one batch")
+  void shouldQueueNonDurableValidations() {
+    TicketValidation alreadyUsed = validation(TicketValidationStatusEnum.ALREADY_USED);
+
+    assertSame(alreadyUsed, writer.record(alreadyUsed));
+    writer.record(validation(TicketValidationStatusEnum.INVALID));
+    assertEquals(2, writer.pendingCount());
+    verify(ticketValidationRepository, never()).save(any());
+
+    assertEquals(2, writer.flush());
+
+    verify(ticketValidationRepository).saveAll(validationsCaptor.capture());
+    assertEquals(2, validationsCaptor.getValue().size());
+    verify(ticketRepository, never()).updateStatusByIds(any(), any(), any(), any());
+    assertEquals(2.0, meterRegistry.get("venuesync.validation.writer.written").counter().count());
+  }
+
+  @Test
+  @DisplayName("should write durable admissions before returning")
+  void shouldWriteDurableAdmissionsSynchronously() {
+    UUID admittedTicketId = UUID.randomUUID();
+    writer.enqueueAdmission(admittedTicketId, TicketValidationStatusEnum.VALID, TicketValidationMethod.QR_SCAN);
+
+    assertEquals(0, writer.pendingCount());
+    verify(ticketRepository).updateStatusByIds(
+        eq(List.of(admittedTicketId)), eq(TicketStatusEnum.USED), eq(TicketStatusEnum.PURCHASED), any());
+    verify(ticketValidationRepository).saveAll(argThat((List<TicketValidation> batch) -> batch.size() == 1));
+  }
+
+  @Test
+  @DisplayName("should write admissions in their own transaction")
+  void shouldWriteAdmissionsInNewTransaction() {
+    writer.enqueueAdmission(UUID.randomUUID(), TicketValidationStatusEnum.VALID, TicketValidationMethod.QR_SCAN);
+
+    verify(transactionManager).getTransaction(argThat(definition ->
+        definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+  }
+
+  @Test
+  @DisplayName("should mark only admitted tickets used")
+  void shouldMarkAdmittedTicketsUsed() {
+    writer.shutdown();
+    writer = writer(10, 500, Set.of());
+    UUID admittedTicketId = UUID.randomUUID();
+    writer.enqueueAdmission(admittedTicketId, TicketValidationStatusEnum.VALID, TicketValidationMethod.QR_SCAN);
+    writer.enqueueAdmission(UUID.randomUUID(), TicketValidationStatusEnum.ALREADY_USED, TicketValidationMethod.QR_SCAN);
+
+    assertEquals(2, writer.flush());
+
+    verify(ticketRepository).updateStatusByIds(
+        eq(List.of(admittedTicketId)), eq(TicketStatusEnum.USED), eq(TicketStatusEnum.PURCHASED), any());
+  }
+
+  @Test
+  @DisplayName("should record rejected scans without a ticket")
+  void shouldWriteValidationsWithoutTicket() {
+    TicketValidation rejected = new TicketValidation();
+    rejected.setStatus(TicketValidationStatusEnum.INVALID);
+    rejected.setValidationMethod(TicketValidationMethod.QR_SCAN);
+    writer.record(rejected);
+
+    assertEquals(1, writer.flush());
+
+    verify(ticketRepository, never()).getReferenceById(any());
+    verify(ticketValidationRepository).saveAll(validationsCaptor.capture());
+    assertNull(validationsCaptor.getValue().getFirst().getTicket());
+  }
+
+  @Test
+  @DisplayName("should write in the background once a batch fills up")
+  void shouldFlushFullBatch() {
+    writer.shutdown();
+    writer = writer(10, 2);
+
+    writer.record(validation(TicketValidationStatusEnum.ALREADY_USED));
+    writer.record(validation(TicketValidationStatusEnum.ALREADY_USED));
+
+    verify(ticketValidationRepository, timeout(1000))
+        .saveAll(argThat((List<TicketValidation> batch) -> batch.size() == 2));
+  }
+
+  @Test
+  @DisplayName("should write on the caller when the buffer is full")
+  void shouldWriteOnCallerWhenFull() {
+    writer.shutdown();
+    writer = writer(1, 500);
+
+    writer.record(validation(TicketValidationStatusEnum.ALREADY_USED));
+    writer.record(validation(TicketValidationStatusEnum.ALREADY_USED));
+
+    assertEquals(1, writer.pendingCount());
+    verify(ticketValidationRepository).saveAll(argThat((List<TicketValidation> batch) -> batch.size() == 1));
+    assertEquals(1.0, meterRegistry.get("venuesync.validation.writer.caller.written").counter().count());
+  }
+
+  @Test
+  @DisplayName("should retry a failed batch and drop it after the maximum attempts")
+  void shouldRetryThenDrop() {
+    when(ticketValidationRepository.saveAll(anyList())).thenThrow(new IllegalStateException("down"));
+    writer.record(validation(TicketValidationStatusEnum.INVALID));
+
+    assertEquals(0, writer.flush());
+    assertEquals(1, writer.pendingCount());
+
+    assertEquals(0, writer.flush());
+    assertEquals(0, writer.pendingCount());
+    verify(ticketValidationRepository, times(2)).saveAll(anyList());
+    assertEquals(1.0, meterRegistry.get("venuesync.validation.writer.dropped").counter().count());
+  }
+
+  @Test
+  @DisplayName("should write the rest of a failed batch one by one and retry only the failing row")
+  void shouldIsolateFailingRow() {
+    TicketValidation poison = validation(TicketValidationStatusEnum.INVALID);
+    UUID poisonTicketId = poison.getTicket().getId();
+    when(ticketValidationRepository.saveAll(anyList())).thenAnswer(invocation -> {
+      List<TicketValidation> batch = invocation.getArgument(0);
+      if (batch.stream().anyMatch(v -> v.getTicket() != null
+          && poisonTicketId.equals(v.getTicket().getId()))) {
+        throw new IllegalStateException("constraint violation");
+      }
+      return batch;
+    });
+    when(ticketRepository.getReferenceById(any(UUID.class))).thenAnswer(invocation -> {
+      Ticket ticket = new Ticket();
+      ticket.setId(invocation.getArgument(0));
+      return ticket;
+    });
+    writer.record(validation(TicketValidationStatusEnum.INVALID));
+    writer.record(poison);
+    writer.record(validation(TicketValidationStatusEnum.ALREADY_USED));
+
+    assertEquals(2, writer.flush());
+    assertEquals(1, writer.pendingCount());
+    assertEquals(2.0, meterRegistry.get("venuesync.validation.writer.written").counter().count());
+
+    assertEquals(0, writer.flush());
+    assertEquals(0, writer.pendingCount());
+    assertEquals(1.0, meterRegistry.get("venuesync.validation.writer.dropped").counter().count());
+  }
+}